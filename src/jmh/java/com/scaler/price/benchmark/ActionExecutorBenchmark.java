@@ -0,0 +1,73 @@
+package com.scaler.price.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.actions.CustomActionRegistry;
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.rule.dto.RuleEvaluationResult;
+import com.scaler.price.rule.plan.CompiledAction;
+import com.scaler.price.rule.service.ActionExecutorServiceImpl;
+import com.scaler.price.rule.service.RulePlanCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One action of each type applied to a product. {@code executeActions} parses the JSON
+ * parameters on every call; {@code executeCompiledActions} starts from the parameters
+ * parsed into the cached rule plan. CUSTOM depends on the registered handler and is
+ * left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionExecutorBenchmark {
+    private static final int PRODUCTS = 10_000;
+    private static final BigDecimal PRICE = new BigDecimal("150.00");
+
+    @Param({"SET_PRICE", "DISCOUNT_PERCENTAGE", "DISCOUNT_AMOUNT", "MATCH_COMPETITOR_PRICE", "BEAT_COMPETITOR",
+            "SET_MARGIN", "QUANTITY_DISCOUNT", "BUNDLE_DISCOUNT"})
+    public ActionType actionType;
+
+    private ActionExecutorServiceImpl executor;
+    private Set<RuleAction> actions;
+    private List<CompiledAction> compiled;
+    private long productId;
+
+    @Setup
+    public void setUp() throws Throwable {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        RulePlanCompiler compiler = new RulePlanCompiler(objectMapper);
+        executor = new ActionExecutorServiceImpl(
+                objectMapper,
+                BenchmarkFixtures.competitorPrices(PRODUCTS, 5),
+                BenchmarkFixtures.eligibleBundles(),
+                new CustomActionRegistry());
+        actions = Set.of(BenchmarkFixtures.action(objectMapper, actionType, 1));
+        compiled = actions.stream().map(compiler::compileAction).toList();
+        // Fails setup rather than measuring the error path
+        executeActions();
+        executeCompiledActions();
+    }
+
+    @Benchmark
+    public RuleEvaluationResult executeActions() throws Throwable {
+        return executor.executeActions(actions, BenchmarkFixtures.context(nextProduct(), PRICE), PRICE);
+    }
+
+    @Benchmark
+    public RuleEvaluationResult executeCompiledActions() throws Throwable {
+        return executor.executeCompiledActions(compiled, BenchmarkFixtures.context(nextProduct(), PRICE), PRICE);
+    }
+
+    private long nextProduct() {
+        productId = (productId + 1) % PRODUCTS;
+        return productId;
+    }
+}
@@ -0,0 +1,194 @@
+package com.scaler.price.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.scaler.price.core.config.CompetitorPriceProperties;
+import com.scaler.price.core.management.service.ConfigurationService;
+import com.scaler.price.core.management.service.InventoryService;
+import com.scaler.price.rule.competitor.CompetitorPriceUpdate;
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.Operator;
+import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.rule.domain.RuleCondition;
+import com.scaler.price.rule.dto.RuleEvaluationContext;
+import com.scaler.price.rule.service.BundleEligibility;
+import com.scaler.price.rule.service.BundleService;
+import com.scaler.price.rule.service.CompetitorPriceService;
+import com.scaler.price.rule.service.ProductAttributeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Synthetic fixtures shared by the benchmarks. Collaborators that would reach a database
+ * are replaced by in-memory stand-ins that answer in constant time, so a benchmark
+ * measures the service under test and not its I/O.
+ */
+final class BenchmarkFixtures {
+    static final long COMPETITOR_ID = 3L;
+    static final long BUNDLE_ID = 9L;
+    static final long CATEGORY_ID = 42L;
+    static final long BRAND_ID = 7L;
+    static final long COLOUR_ATTRIBUTE = 1L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static JsonNode json(ObjectMapper objectMapper, String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid fixture: " + json, e);
+        }
+    }
+
+    /**
+     * The real store, seeded with a fresh price of every product at every competitor.
+     */
+    static CompetitorPriceService competitorPrices(int products, int competitors) {
+        CompetitorPriceService service = new CompetitorPriceService(
+                new CompetitorPriceProperties(), new SimpleMeterRegistry());
+        Instant now = Instant.now();
+        for (long product = 0; product < products; product++) {
+            for (long competitor = 0; competitor < competitors; competitor++) {
+                service.record(new CompetitorPriceUpdate(product, competitor,
+                        BigDecimal.valueOf(9_000 + (product * 31 + competitor * 17) % 2_000, 2), now));
+            }
+        }
+        return service;
+    }
+
+    static InventoryService inventory(int level) {
+        return new InventoryService() {
+            @Override
+            public Integer getInventoryLevel(Long productId, Long sellerId, Long siteId) {
+                return level;
+            }
+        };
+    }
+
+    static ProductAttributeService productAttributes(String value) {
+        return new ProductAttributeService(null, null, null, null, null, null) {
+            @Override
+            public String getAttributeValue(Long productId, Long attribute) {
+                return value;
+            }
+        };
+    }
+
+    static BundleService eligibleBundles() {
+        BundleEligibility eligibility = BundleEligibility.builder().eligible(true).bundleId(BUNDLE_ID).build();
+        return new BundleService() {
+            @Override
+            public BundleEligibility checkEligibility(Long bundleId, Long productId, Map<String, Object> attributes) {
+                return eligibility;
+            }
+        };
+    }
+
+    static ConfigurationService margins(BigDecimal defaultMargin, BigDecimal minimum, BigDecimal maximum) {
+        return new ConfigurationService(null, null, null, null, null) {
+            @Override
+            public BigDecimal getDefaultMargin() {
+                return defaultMargin;
+            }
+
+            @Override
+            public BigDecimal getMinimumMargin() {
+                return minimum;
+            }
+
+            @Override
+            public BigDecimal getMaximumMargin() {
+                return maximum;
+            }
+        };
+    }
+
+    /**
+     * A product in category {@link #CATEGORY_ID} and brand {@link #BRAND_ID} selling at
+     * {@code price} with a 30% cost share, ordered 23 at a time.
+     */
+    static RuleEvaluationContext context(long productId, BigDecimal price) {
+        return RuleEvaluationContext.builder()
+                .productId(productId)
+                .sellerId(1L)
+                .siteId(1L)
+                .categoryId(CATEGORY_ID)
+                .brandId(BRAND_ID)
+                .quantity(23)
+                .basePrice(price)
+                .costPrice(price.multiply(new BigDecimal("0.70")))
+                .currentPrice(price)
+                .evaluationTime(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * A condition of the given type that the product of {@link #context} satisfies.
+     */
+    static RuleCondition condition(ConditionType type, long id) {
+        RuleCondition.RuleConditionBuilder builder = RuleCondition.builder()
+                .id(id)
+                .type(type)
+                .conditionType(type.name())
+                .sequence((int) id)
+                .isEnabled(true)
+                .attribute(COLOUR_ATTRIBUTE);
+        return switch (type) {
+            case PRICE_RANGE -> builder.operator(Operator.BETWEEN).value("{\"min\": 50, \"max\": 500}").build();
+            case MARGIN_RANGE -> builder.operator(Operator.BETWEEN).value("{\"min\": 10, \"max\": 80}").build();
+            case MIN_MARGIN_PERCENTAGE -> builder.operator(Operator.GREATER_THAN).value("{\"value\": 5}").build();
+            case INVENTORY_LEVEL -> builder.operator(Operator.GREATER_THAN).value("{\"value\": 10}").build();
+            case DATE_RANGE -> builder.operator(Operator.BETWEEN)
+                    .value("{\"startDate\": \"2020-01-01T00:00:00\", \"endDate\": \"2099-12-31T23:59:59\"}").build();
+            case TIME_BASED -> builder.operator(Operator.BETWEEN)
+                    .value("{\"startTime\": \"00:00:00\", \"endTime\": \"23:59:59.999\"}").build();
+            case COMPETITOR_PRICE -> builder.operator(Operator.GREATER_THAN).value(String.valueOf(COMPETITOR_ID)).build();
+            case CATEGORY_MATCH -> builder.operator(Operator.IN).value(LongStream.rangeClosed(1, 50)
+                    .mapToObj(String::valueOf).collect(Collectors.joining(","))).build();
+            case BRAND_MATCH -> builder.operator(Operator.EQUALS).value(String.valueOf(BRAND_ID)).build();
+            case CATEGORY_ATTRIBUTE -> builder.operator(Operator.EQUALS).value("red").build();
+            case PRODUCT_ATTRIBUTE -> builder.operator(Operator.IN).value("[\"red\", \"green\", \"blue\"]").build();
+            default -> throw new IllegalArgumentException("No fixture for condition type " + type);
+        };
+    }
+
+    /**
+     * An action of the given type with the parameters it needs to apply to the product of
+     * {@link #context}.
+     */
+    static RuleAction action(ObjectMapper objectMapper, ActionType type, long id) {
+        String parameters = switch (type) {
+            case SET_PRICE -> "{\"value\": \"199.99\"}";
+            case DISCOUNT_PERCENTAGE -> "{\"discountPercentage\": 12.5}";
+            case DISCOUNT_AMOUNT -> "{\"discountAmount\": 15}";
+            case MATCH_COMPETITOR_PRICE -> "{\"competitor\": " + COMPETITOR_ID + "}";
+            case BEAT_COMPETITOR -> "{\"competitor\": " + COMPETITOR_ID + ", \"beatPercentage\": 2}";
+            case SET_MARGIN -> "{\"minimumMargin\": 20}";
+            case QUANTITY_DISCOUNT -> "{\"minQuantity\": \"5\", \"baseDiscount\": 5, \"tierIncrement\": 1}";
+            case BUNDLE_DISCOUNT -> "{\"bundleId\": " + BUNDLE_ID + ", \"bundleDiscountPercentage\": 10}";
+            default -> throw new IllegalArgumentException("No fixture for action type " + type);
+        };
+        return RuleAction.builder()
+                .id(id)
+                .actionType(type)
+                .parameters(json(objectMapper, parameters))
+                .sequence((int) id)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.scaler.price.benchmark;
+
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
+import com.scaler.price.core.management.buybox.service.impl.BuyboxServiceImpl;
+import com.scaler.price.core.management.domain.FulfilmentType;
+import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.management.repository.PriceRepository;
+import com.scaler.price.core.management.service.SellerScoreService;
+import com.scaler.price.rule.service.SellerService;
+import com.scaler.price.rule.service.SiteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buybox winner selection among the competing offers of a product. {@code selectWinner}
+ * drops the materialised winner first, as a price change does, so every call scores all
+ * offers; {@code cachedWinner} is the read path between changes. The repository returns
+ * prebuilt offers, so the database query is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuyboxBenchmark {
+    private static final int PRODUCTS = 1_000;
+    private static final Long SITE_ID = 1L;
+    private static final FulfilmentType[] FULFILMENT_TYPES = FulfilmentType.values();
+
+    @Param({"3", "30", "300"})
+    public int sellers;
+
+    private BuyboxServiceImpl buybox;
+    private long productId;
+
+    @Setup
+    public void setUp() {
+        List<Price> offers = new ArrayList<>(sellers);
+        for (int seller = 0; seller < sellers; seller++) {
+            offers.add(Price.priceBuilder()
+                    .productId(0L)
+                    .sellerId((long) seller)
+                    .siteId(SITE_ID)
+                    .mrp(new BigDecimal("200.00"))
+                    .basePrice(new BigDecimal("180.00"))
+                    .sellingPrice(BigDecimal.valueOf(15_000 + (seller * 37L) % 4_000, 2))
+                    .fulfilmentType(FULFILMENT_TYPES[seller % FULFILMENT_TYPES.length])
+                    .isActive(true)
+                    .isSellerActive(true)
+                    .isSiteActive(true)
+                    .effectiveFrom(LocalDateTime.now().minusDays(1))
+                    .build());
+        }
+        List<Price> eligible = List.copyOf(offers);
+        PriceRepository prices = (PriceRepository) Proxy.newProxyInstance(
+                PriceRepository.class.getClassLoader(),
+                new Class<?>[]{PriceRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findActivePricesForBuybox")) {
+                        return eligible;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        double[] ratings = new double[sellers];
+        for (int seller = 0; seller < sellers; seller++) {
+            ratings[seller] = (seller % 10) / 10.0;
+        }
+        SellerScoreService sellerScores = new SellerScoreService() {
+            @Override
+            public double getSellerRating(Long sellerId) {
+                return ratings[sellerId.intValue()];
+            }
+
+            @Override
+            public void evictSellerRating(Long sellerId) {
+            }
+        };
+
+        // Every seller and site is active; the status lookups are cached in the application
+        SellerService sellerStatus = new SellerService(null) {
+            @Override
+            public boolean isSellerActive(Long sellerId) {
+                return true;
+            }
+        };
+        SiteService siteStatus = new SiteService(null) {
+            @Override
+            public boolean isSiteActive(Long siteId) {
+                return true;
+            }
+        };
+
+        buybox = new BuyboxServiceImpl(prices, sellerScores, sellerStatus, siteStatus,
+                "maximumSize=" + PRODUCTS);
+        ReflectionTestUtils.setField(buybox, "priceWeight", 0.4);
+        ReflectionTestUtils.setField(buybox, "sellerRatingWeight", 0.3);
+        ReflectionTestUtils.setField(buybox, "fulfillmentWeight", 0.2);
+        ReflectionTestUtils.setField(buybox, "stockWeight", 0.1);
+        for (long product = 0; product < PRODUCTS; product++) {
+            buybox.getWinningPrice(product, SITE_ID);
+        }
+    }
+
+    @Benchmark
+    public Optional<Price> selectWinner() {
+        long product = nextProduct();
+        buybox.onPriceWindowTransition(new PriceWindowTransitionEvent(product, 0L, SITE_ID, null));
+        return buybox.getWinningPrice(product, SITE_ID);
+    }
+
+    @Benchmark
+    public Optional<Price> cachedWinner() {
+        return buybox.getWinningPrice(nextProduct(), SITE_ID);
+    }
+
+    private long nextProduct() {
+        productId = (productId + 1) % PRODUCTS;
+        return productId;
+    }
+}
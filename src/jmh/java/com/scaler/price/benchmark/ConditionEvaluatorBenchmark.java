@@ -0,0 +1,76 @@
+package com.scaler.price.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.RuleCondition;
+import com.scaler.price.rule.dto.RuleEvaluationContext;
+import com.scaler.price.rule.exceptions.RuleEvaluationException;
+import com.scaler.price.rule.plan.CompiledCondition;
+import com.scaler.price.rule.service.ConditionEvaluatorService;
+import com.scaler.price.rule.service.ConditionStatistics;
+import com.scaler.price.rule.service.RulePlanCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One condition of each type evaluated against a fresh context, as every evaluation
+ * starts with an empty context cache. {@code evaluateConditions} compiles the condition
+ * on every call; {@code evaluateCompiledConditions} is the cost once the rule plan is
+ * cached. ATTRIBUTE_MATCH, SALES_VELOCITY and CUSTOM are left out as they have no
+ * implementation to measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionEvaluatorBenchmark {
+    private static final int PRODUCTS = 10_000;
+
+    @Param({"PRICE_RANGE", "MARGIN_RANGE", "MIN_MARGIN_PERCENTAGE", "INVENTORY_LEVEL", "DATE_RANGE",
+            "TIME_BASED", "COMPETITOR_PRICE", "CATEGORY_MATCH", "BRAND_MATCH", "CATEGORY_ATTRIBUTE",
+            "PRODUCT_ATTRIBUTE"})
+    public ConditionType conditionType;
+
+    private ConditionEvaluatorService evaluator;
+    private Set<RuleCondition> conditions;
+    private List<CompiledCondition> compiled;
+    private long productId;
+
+    @Setup
+    public void setUp() throws RuleEvaluationException {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        RulePlanCompiler compiler = new RulePlanCompiler(objectMapper);
+        evaluator = new ConditionEvaluatorService(
+                compiler,
+                BenchmarkFixtures.competitorPrices(PRODUCTS, 5),
+                BenchmarkFixtures.inventory(100),
+                BenchmarkFixtures.productAttributes("red"),
+                new ConditionStatistics(0.05, 8));
+        conditions = Set.of(BenchmarkFixtures.condition(conditionType, 1));
+        compiled = conditions.stream().map(compiler::compileCondition).toList();
+        if (!evaluator.evaluateConditions(conditions, context())) {
+            throw new IllegalStateException(conditionType + " fixture does not match");
+        }
+    }
+
+    @Benchmark
+    public boolean evaluateConditions() throws RuleEvaluationException {
+        return evaluator.evaluateConditions(conditions, context());
+    }
+
+    @Benchmark
+    public boolean evaluateCompiledConditions() throws RuleEvaluationException {
+        return evaluator.evaluateCompiledConditions(compiled, context());
+    }
+
+    private RuleEvaluationContext context() {
+        productId = (productId + 1) % PRODUCTS;
+        return BenchmarkFixtures.context(productId, new BigDecimal("150.00"));
+    }
+}
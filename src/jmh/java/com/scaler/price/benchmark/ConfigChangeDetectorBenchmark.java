@@ -0,0 +1,72 @@
+package com.scaler.price.benchmark;
+
+import com.scaler.price.core.management.utils.ConfigChangeDetector;
+import com.scaler.price.rule.domain.ChangeDiff;
+import com.scaler.price.rule.domain.SellerSiteConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffs the seller-site configurations of a rule before and after an update in which a
+ * tenth of the configurations changed price or margin, one in twenty was removed and as
+ * many were added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigChangeDetectorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int configs;
+
+    private final ConfigChangeDetector detector = new ConfigChangeDetector();
+    private Set<SellerSiteConfig> oldConfigs;
+    private Set<SellerSiteConfig> newConfigs;
+
+    @Setup
+    public void setUp() {
+        oldConfigs = new HashSet<>(configs);
+        newConfigs = new HashSet<>(configs);
+        for (int i = 0; i < configs; i++) {
+            oldConfigs.add(config(i, new BigDecimal("100.00"), new BigDecimal("10")));
+            if (i % 20 == 19) {
+                continue;
+            }
+            boolean changed = i % 10 == 0;
+            newConfigs.add(config(i,
+                    changed ? new BigDecimal("95.00") : new BigDecimal("100.00"),
+                    changed ? new BigDecimal("12") : new BigDecimal("10")));
+        }
+        for (int i = 0; i < configs / 20; i++) {
+            newConfigs.add(config(configs + i, new BigDecimal("100.00"), new BigDecimal("10")));
+        }
+    }
+
+    @Benchmark
+    public Map<String, ChangeDiff> detectConfigChanges() {
+        Map<String, ChangeDiff> changes = new HashMap<>();
+        detector.detectConfigChanges(changes, oldConfigs, newConfigs);
+        return changes;
+    }
+
+    private static SellerSiteConfig config(int index, BigDecimal minimumPrice, BigDecimal minimumMargin) {
+        return SellerSiteConfig.builder()
+                .sellerId((long) index)
+                .siteId((long) (index % 5))
+                .minimumPrice(minimumPrice)
+                .maximumPrice(new BigDecimal("500.00"))
+                .minimumMargin(minimumMargin)
+                .maximumMargin(new BigDecimal("60"))
+                .metadata(Map.of("priority", index % 5, "isActive", true))
+                .build();
+    }
+}
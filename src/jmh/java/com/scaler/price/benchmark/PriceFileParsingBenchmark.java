@@ -0,0 +1,108 @@
+package com.scaler.price.benchmark;
+
+import com.scaler.price.core.bulk.parser.PriceFileFormat;
+import com.scaler.price.core.bulk.parser.PriceRowMapper;
+import com.scaler.price.core.bulk.parser.StreamingPriceFileParser;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row parsing of bulk price uploads: {@code BulkPriceUploadServiceImpl} streams files
+ * through {@link StreamingPriceFileParser}, which maps every row with
+ * {@link PriceRowMapper}. {@code readPrices} reads a whole upload in chunks of 500 rows;
+ * {@code mapRow} is the mapping and validation of a single row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceFileParsingBenchmark {
+    private static final int CHUNK_SIZE = 500;
+    private static final List<String> ROW = List.of(
+            "1001", "10", "20", "100.00", "90.00", "120.00", "REGULAR", "INR", "2024-01-01T00:00", "", "TRUE", "ACTIVE");
+
+    @Param({"CSV", "XLSX"})
+    public PriceFileFormat format;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private final PriceRowMapper rowMapper = new PriceRowMapper();
+    private final StreamingPriceFileParser parser = new StreamingPriceFileParser(rowMapper);
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("price-upload-benchmark", "." + format.name().toLowerCase());
+        switch (format) {
+            case CSV -> writeCsv(file);
+            case XLSX -> writeXlsx(file);
+            default -> throw new IllegalArgumentException("No fixture for " + format);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int readPrices(Blackhole blackhole) {
+        return parser.readPrices(file, format, CHUNK_SIZE, blackhole::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object mapRow() {
+        return rowMapper.toPrice(2, ROW);
+    }
+
+    private void writeCsv(Path target) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(target)) {
+            writer.write(String.join(",", PriceRowMapper.HEADERS));
+            writer.write('\n');
+            for (int i = 0; i < rows; i++) {
+                writer.write(String.join(",", row(i)));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeXlsx(Path target) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(target)) {
+            Sheet sheet = workbook.createSheet("Prices");
+            writeRow(sheet.createRow(0), PriceRowMapper.HEADERS);
+            for (int i = 0; i < rows; i++) {
+                writeRow(sheet.createRow(i + 1), row(i));
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeRow(Row row, List<String> cells) {
+        for (int i = 0; i < cells.size(); i++) {
+            row.createCell(i).setCellValue(cells.get(i));
+        }
+    }
+
+    private static List<String> row(int index) {
+        String price = String.valueOf(90 + index % 10);
+        return List.of(String.valueOf(1_000 + index), "10", "20", "100.00", price, "120.00",
+                "REGULAR", "INR", "2024-01-01T00:00", "", "TRUE", "ACTIVE");
+    }
+}
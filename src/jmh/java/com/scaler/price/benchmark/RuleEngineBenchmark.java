@@ -0,0 +1,115 @@
+package com.scaler.price.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.actions.CustomActionRegistry;
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.RuleCondition;
+import com.scaler.price.rule.dto.RuleEvaluationRequest;
+import com.scaler.price.rule.service.ActionExecutorServiceImpl;
+import com.scaler.price.rule.service.RuleEngineService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates every rule of a rule set for one product, the way a price evaluation walks
+ * the applicable rules. Each rule has three conditions and two actions; the price
+ * thresholds are spread so that about half the rules match and the other half fail
+ * their price range. The engine hands its actions only the attribute map, without
+ * the product or the running price, so the rules use SET_PRICE, the one action type
+ * that needs neither.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleEngineBenchmark {
+    private static final int PRODUCTS = 10_000;
+    private static final BigDecimal PRICE = new BigDecimal("150.00");
+
+    @Param({"10", "100", "1000"})
+    public int rules;
+
+    private RuleEngineService ruleEngine;
+    private List<PricingRule> ruleSet;
+    private long productId;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        ruleEngine = new RuleEngineService(
+                objectMapper,
+                new ActionExecutorServiceImpl(
+                        objectMapper,
+                        BenchmarkFixtures.competitorPrices(PRODUCTS, 5),
+                        BenchmarkFixtures.eligibleBundles(),
+                        new CustomActionRegistry()),
+                BenchmarkFixtures.margins(new BigDecimal("25"), new BigDecimal("5"), new BigDecimal("60")));
+        ruleSet = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            ruleSet.add(rule(objectMapper, i));
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) throws Throwable {
+        productId = (productId + 1) % PRODUCTS;
+        RuleEvaluationRequest request = RuleEvaluationRequest.builder()
+                .productId(productId)
+                .sellerId(1L)
+                .siteId(1L)
+                .categoryId(BenchmarkFixtures.CATEGORY_ID)
+                .basePrice(PRICE)
+                .costPrice(new BigDecimal("105.00"))
+                .quantity(23)
+                .customerSegment("REGULAR")
+                .build();
+        for (PricingRule rule : ruleSet) {
+            blackhole.consume(ruleEngine.evaluate(rule, request, PRICE));
+        }
+    }
+
+    private static PricingRule rule(ObjectMapper objectMapper, int index) {
+        // Half of the rules only accept prices above the product's
+        int minPrice = index % 2 == 0 ? 100 : 200;
+        Set<RuleCondition> conditions = new HashSet<>();
+        conditions.add(condition(objectMapper, index * 3L,
+                "{\"type\": \"price_range\", \"minPrice\": \"" + minPrice + "\", \"maxPrice\": \"1000\"}"));
+        conditions.add(condition(objectMapper, index * 3L + 1,
+                "{\"type\": \"quantity_threshold\", \"minQuantity\": 5}"));
+        conditions.add(condition(objectMapper, index * 3L + 2,
+                "{\"type\": \"composite\", \"operator\": \"OR\", \"conditions\": ["
+                        + "{\"type\": \"customer_segment\", \"segments\": [\"VIP\", \"REGULAR\"]},"
+                        + "{\"type\": \"margin_check\", \"minMarginPercent\": \"10\"}]}"));
+        return PricingRule.builder()
+                .id((long) index)
+                .ruleName("benchmark-rule-" + index)
+                .priority(index)
+                .minimumPrice(new BigDecimal("110.00"))
+                .maximumPrice(new BigDecimal("500.00"))
+                .conditions(conditions)
+                .actions(new HashSet<>(List.of(
+                        BenchmarkFixtures.action(objectMapper, ActionType.SET_PRICE, index * 2L),
+                        BenchmarkFixtures.action(objectMapper, ActionType.SET_PRICE, index * 2L + 1))))
+                .build();
+    }
+
+    private static RuleCondition condition(ObjectMapper objectMapper, long id, String parameters) {
+        return RuleCondition.builder()
+                .id(id)
+                .conditionType("json")
+                .parameters(BenchmarkFixtures.json(objectMapper, parameters))
+                .sequence((int) id)
+                .isEnabled(true)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.scaler.price.audit.controller;
 
 import com.scaler.price.audit.domain.AuditEntry;
 import com.scaler.price.audit.domain.AuditEventType;
+import com.scaler.price.audit.dto.AuditSearchCriteria;
 import com.scaler.price.audit.exception.AuditSearchException;
 import com.scaler.price.audit.service.AuditService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -55,6 +56,36 @@ public class AuditController {
                 userId, eventType, startTime, endTime, pageable));
     }
 
+    @Operation(
+            summary = "Search audit events",
+            description = "Retrieve audit events by rule, product, seller, site, user, event type and time range"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Found the audit events",
+                    content = { @Content(schema = @Schema(implementation = Page.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied",
+                    content = @Content)
+    })
+    @GetMapping("/events/search")
+    public ResponseEntity<Page<AuditEntry>> searchAuditEvents(
+            @ModelAttribute AuditSearchCriteria criteria,
+            Pageable pageable) {
+        return ResponseEntity.ok(auditService.search(criteria, pageable));
+    }
+
+    @Operation(summary = "Get audit events by rule",
+            description = "Retrieve audit events of a rule, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Found the audit events",
+                    content = { @Content(schema = @Schema(implementation = Page.class)) })
+    })
+    @GetMapping("/events/rule/{ruleId}")
+    public ResponseEntity<Page<AuditEntry>> getAuditEventsByRule(
+            @PathVariable Long ruleId,
+            Pageable pageable) {
+        return ResponseEntity.ok(auditService.findByRuleId(ruleId, pageable));
+    }
+
     @Operation(summary = "Get audit events by user",
             description = "Retrieve audit events based on user ID")
 
@@ -101,7 +132,8 @@ public class AuditController {
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getAuditStatistics(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
-        return ResponseEntity.ok(auditService.getEventStatistics(startTime, endTime));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String userId) {
+        return ResponseEntity.ok(auditService.getEventStatistics(startTime, endTime, userId));
     }
 }
\ No newline at end of file
@@ -7,10 +7,12 @@ import com.scaler.price.rule.domain.RuleType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scaler.price.rule.mapper.ChangeDiffMapConverter;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -28,6 +30,18 @@ public class AuditEntry extends AuditInfo {
     @Schema(description = "Rule ID", example = "1")
     @Column(nullable = false)
     private Long ruleId;
+
+    @Schema(description = "Product ID", example = "1")
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Schema(description = "Seller ID", example = "1")
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Schema(description = "Site ID", example = "1")
+    @Column(name = "site_id")
+    private Long siteId;
     
     @Column(nullable = false)
     private String ruleName;
@@ -43,10 +57,11 @@ public class AuditEntry extends AuditInfo {
     @Column(nullable = false)
     private AuditEventType type;
 
+    @Type(JsonBinaryType.class)
     @Column(columnDefinition = "jsonb")
     private String data;
 
-    @Column(name = "event_time")
+    @Column(name = "event_time", nullable = false)
     private LocalDateTime eventTime;
 
     @Column(columnDefinition = "jsonb")
@@ -73,6 +88,10 @@ public class AuditEntry extends AuditInfo {
     @PrePersist
     @PreUpdate
     protected void onSave() {
+        // Partition key of audit_log
+        if (eventTime == null) {
+            eventTime = LocalDateTime.now();
+        }
         if (changes != null) {
             try {
                 ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,48 @@
+package com.scaler.price.audit.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of audit entries of one type by one user within one minute, hour or day.
+ * Maintained by {@link com.scaler.price.audit.service.AuditStatisticsService} as
+ * entries are written; entries without a user are counted under an empty user id.
+ */
+@Entity
+@Table(name = "audit_event_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_audit_event_rollup",
+                columnNames = {"granularity", "bucket_start", "event_type", "user_id"}),
+        indexes = @Index(name = "idx_audit_event_rollup_bucket", columnList = "granularity, bucket_start"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private AuditRollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private AuditEventType eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+}
@@ -0,0 +1,35 @@
+package com.scaler.price.audit.domain;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket sizes of {@link AuditEventRollup}. {@code truncUnit} is the matching
+ * PostgreSQL {@code date_trunc} field.
+ */
+public enum AuditRollupGranularity {
+    MINUTE(ChronoUnit.MINUTES, "minute"),
+    HOUR(ChronoUnit.HOURS, "hour"),
+    DAY(ChronoUnit.DAYS, "day");
+
+    private final ChronoUnit unit;
+    private final String truncUnit;
+
+    AuditRollupGranularity(ChronoUnit unit, String truncUnit) {
+        this.unit = unit;
+        this.truncUnit = truncUnit;
+    }
+
+    public LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+}
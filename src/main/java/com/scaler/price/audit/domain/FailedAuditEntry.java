@@ -20,7 +20,8 @@ import java.time.Instant;
 public class FailedAuditEntry extends AuditInfo {
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "audit_entry_id", foreignKey = @ForeignKey(name = "fk_failed_audit_entry"))
+    // audit_log is partitioned, so its id alone cannot back a foreign key
+    @JoinColumn(name = "audit_entry_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private AuditEntry auditEntry;
     
     @Column(columnDefinition = "text")
@@ -0,0 +1,33 @@
+package com.scaler.price.audit.dto;
+
+import com.scaler.price.audit.domain.AuditEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a structured audit search. Null fields do not filter; the time range is
+ * {@code [startTime, endTime)}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditSearchCriteria {
+    private Long ruleId;
+    private Long productId;
+    private Long sellerId;
+    private Long siteId;
+    private String userId;
+    private AuditEventType type;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startTime;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,51 @@
+package com.scaler.price.audit.repository;
+
+import com.scaler.price.audit.domain.AuditEntry;
+import com.scaler.price.audit.dto.AuditSearchCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds audit searches from only the criteria that are set, so PostgreSQL plans each
+ * query against the matching (dimension, event_time) index instead of one generic plan
+ * full of {@code :param IS NULL OR ...} branches.
+ */
+public final class AuditEntrySpecifications {
+
+    private AuditEntrySpecifications() {
+    }
+
+    public static Specification<AuditEntry> matching(AuditSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getRuleId() != null) {
+                predicates.add(cb.equal(root.get("ruleId"), criteria.getRuleId()));
+            }
+            if (criteria.getProductId() != null) {
+                predicates.add(cb.equal(root.get("productId"), criteria.getProductId()));
+            }
+            if (criteria.getSellerId() != null) {
+                predicates.add(cb.equal(root.get("sellerId"), criteria.getSellerId()));
+            }
+            if (criteria.getSiteId() != null) {
+                predicates.add(cb.equal(root.get("siteId"), criteria.getSiteId()));
+            }
+            if (criteria.getUserId() != null) {
+                predicates.add(cb.equal(root.get("userId"), criteria.getUserId()));
+            }
+            if (criteria.getType() != null) {
+                predicates.add(cb.equal(root.get("type"), criteria.getType()));
+            }
+            if (criteria.getStartTime() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("eventTime"), criteria.getStartTime()));
+            }
+            if (criteria.getEndTime() != null) {
+                predicates.add(cb.lessThan(root.get("eventTime"), criteria.getEndTime()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
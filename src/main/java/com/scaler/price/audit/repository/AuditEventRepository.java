@@ -5,6 +5,7 @@ import com.scaler.price.audit.domain.AuditEventType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AuditEventRepository extends JpaRepository<AuditEntry, Long> {
+public interface AuditEventRepository extends JpaRepository<AuditEntry, Long>, JpaSpecificationExecutor<AuditEntry> {
 
     /**
      * Find audit events by user ID
@@ -68,22 +69,24 @@ public interface AuditEventRepository extends JpaRepository<AuditEntry, Long> {
     Page<AuditEntry> findByType(AuditEventType type, Pageable pageable);
 
     /**
-     * Search audit events by event data content
+     * Find audit events whose payload contains the given JSON fragment, e.g.
+     * {"productId": 12}. Served by the GIN index on data.
      */
-    @Query("SELECT ae FROM AuditEntry ae WHERE ae.data LIKE %:searchTerm%")
-    List<AuditEntry> searchByEventData(@Param("searchTerm") String searchTerm);
+    @Query(value = "SELECT * FROM audit_log WHERE data @> CAST(:fragment AS jsonb) ORDER BY event_time DESC",
+            countQuery = "SELECT COUNT(*) FROM audit_log WHERE data @> CAST(:fragment AS jsonb)",
+            nativeQuery = true)
+    Page<AuditEntry> searchByEventData(@Param("fragment") String fragment, Pageable pageable);
 
     /**
-     * Find latest audit event by rule ID
+     * Find the latest audit event by rule ID within [from, to)
      */
-    @Query("SELECT ae FROM AuditEntry ae WHERE ae.data LIKE %:ruleId% ORDER BY ae.eventTime DESC LIMIT 1")
-    Optional<AuditEntry> findLatestByRuleId(@Param("ruleId") String ruleId);
+    Optional<AuditEntry> findFirstByRuleIdAndEventTimeGreaterThanEqualAndEventTimeLessThanOrderByEventTimeDesc(
+            Long ruleId, LocalDateTime from, LocalDateTime to);
 
     /**
-     * Find all audit events for a specific rule
+     * Find audit events for a specific rule, newest first
      */
-    @Query("SELECT ae FROM AuditEntry ae WHERE ae.data LIKE %:ruleId% ORDER BY ae.eventTime DESC")
-    List<AuditEntry> findAllByRuleId(@Param("ruleId") String ruleId);
+    Page<AuditEntry> findByRuleIdOrderByEventTimeDesc(Long ruleId, Pageable pageable);
 
     /**
      * Count events by type within a time range
@@ -111,10 +114,13 @@ public interface AuditEventRepository extends JpaRepository<AuditEntry, Long> {
     List<AuditEntry> findByEventTimeBefore(LocalDateTime timestamp);
 
     /**
-     * Custom query to find events with specific rule modifications
+     * Find rule modifications that set a field to a value, using the GIN index on data
      */
-    @Query("SELECT ae FROM AuditEntry ae WHERE ae.type = 'RULE_MODIFIED' " +
-            "AND ae.data LIKE %:fieldName% AND ae.data LIKE %:fieldValue%")
+    @Query(value = "SELECT * FROM audit_log WHERE type = 'RULE_MODIFIED' " +
+            "AND data @> jsonb_build_object(CAST(:fieldName AS text), " +
+            "jsonb_build_object('newValue', CAST(:fieldValue AS text))) " +
+            "ORDER BY event_time DESC",
+            nativeQuery = true)
     List<AuditEntry> findRuleModificationsByField(@Param("fieldName") String fieldName,
                                                   @Param("fieldValue") String fieldValue);
 
@@ -142,18 +148,4 @@ public interface AuditEventRepository extends JpaRepository<AuditEntry, Long> {
      * Delete old audit events
      */
     void deleteByEventTimeBefore(LocalDateTime timestamp);
-
-    /**
-     * Find events by complex criteria
-     */
-    @Query("SELECT ae FROM AuditEntry ae WHERE " +
-            "(:userId IS NULL OR ae.userId = :userId) AND " +
-            "(:type IS NULL OR ae.type = :type) AND " +
-            "(:startTime IS NULL OR ae.eventTime >= :startTime) AND " +
-            "(:endTime IS NULL OR ae.eventTime <= :endTime)")
-    Page<AuditEntry> findByComplexCriteria(@Param("userId") String userId,
-                                           @Param("type") AuditEventType type,
-                                           @Param("startTime") LocalDateTime startTime,
-                                           @Param("endTime") LocalDateTime endTime,
-                                           Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.scaler.price.audit.repository;
+
+import com.scaler.price.audit.domain.AuditEventRollup;
+import com.scaler.price.audit.domain.AuditRollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditEventRollupRepository extends JpaRepository<AuditEventRollup, Long> {
+
+    /**
+     * Adds events to a bucket, creating the bucket if needed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO audit_event_rollups (granularity, bucket_start, event_type, user_id, event_count)
+        VALUES (:granularity, :bucketStart, :eventType, :userId, :count)
+        ON CONFLICT (granularity, bucket_start, event_type, user_id)
+        DO UPDATE SET event_count = audit_event_rollups.event_count + :count
+        """, nativeQuery = true)
+    void increment(@Param("granularity") String granularity,
+                   @Param("bucketStart") LocalDateTime bucketStart,
+                   @Param("eventType") String eventType,
+                   @Param("userId") String userId,
+                   @Param("count") long count);
+
+    /**
+     * Event counts per type over the buckets starting in [from, to)
+     */
+    @Query("SELECT r.eventType, SUM(r.eventCount) FROM AuditEventRollup r " +
+            "WHERE r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:userId IS NULL OR r.userId = :userId) " +
+            "GROUP BY r.eventType")
+    List<Object[]> sumByType(@Param("granularity") AuditRollupGranularity granularity,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to,
+                             @Param("userId") String userId);
+
+    /**
+     * Builds the buckets of one granularity from the audit log, for entries written
+     * before the rollups existed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO audit_event_rollups (granularity, bucket_start, event_type, user_id, event_count)
+        SELECT :granularity, date_trunc(:truncUnit, event_time), type, COALESCE(user_id, ''), COUNT(*)
+        FROM audit_log
+        WHERE event_time IS NOT NULL AND type IS NOT NULL
+        GROUP BY 2, 3, 4
+        ON CONFLICT (granularity, bucket_start, event_type, user_id) DO NOTHING
+        """, nativeQuery = true)
+    int backfill(@Param("granularity") String granularity, @Param("truncUnit") String truncUnit);
+}
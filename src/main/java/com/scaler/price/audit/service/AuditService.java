@@ -2,23 +2,26 @@ package com.scaler.price.audit.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.scaler.price.audit.AuditEventPublisher;
 import com.scaler.price.audit.domain.AuditEntry;
 import com.scaler.price.audit.domain.AuditEventType;
+import com.scaler.price.audit.dto.AuditSearchCriteria;
 import com.scaler.price.audit.exception.AuditSearchException;
+import com.scaler.price.audit.repository.AuditEntrySpecifications;
 import com.scaler.price.audit.repository.AuditEventRepository;
 import com.scaler.price.core.management.dto.PriceEvent;
 import com.scaler.price.core.management.service.SecurityService;
+import com.scaler.price.core.partition.PartitionManager;
 import com.scaler.price.rule.domain.AuditAction;
 import com.scaler.price.rule.domain.ChangeDiff;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.RuleStatus;
 import com.scaler.price.rule.domain.SellerSiteConfig;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -35,9 +38,10 @@ public class AuditService {
     private final AuditEventRepository auditRepository;
     private final SecurityService securityService;
     private final ObjectMapper objectMapper;
-    private final AuditEventPublisher eventPublisher;
+    private final AuditStatisticsService statisticsService;
+    private final AuditWriter auditWriter;
+    private final PartitionManager partitionManager;
 
-    @Transactional
     public void auditRuleCreation(PricingRule rule) throws AuditSearchException {
         log.debug("Auditing rule creation for rule: {}", rule.getId());
         try {
@@ -57,7 +61,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void auditRuleUpdate(PricingRule newRule, PricingRule oldRule) throws AuditSearchException {
         log.debug("Auditing rule update for rule: {}", newRule.getId());
         try {
@@ -81,7 +84,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void auditRuleActivation(PricingRule rule, String reason) throws AuditSearchException {
         log.debug("Auditing rule activation for rule: {}", rule.getId());
         try {
@@ -103,7 +105,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void auditRuleDeactivation(PricingRule rule, String reason) throws AuditSearchException {
         log.debug("Auditing rule deactivation for rule: {}", rule.getId());
         try {
@@ -125,7 +126,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void auditPriceOverride(
             PricingRule rule,
             BigDecimal oldPrice,
@@ -159,7 +159,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void auditSellerSiteUpdate(
             PricingRule rule,
             Set<String> addedSellers,
@@ -202,7 +201,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void logPriceCreation(PriceEvent priceEvent) {
         log.debug("Auditing price creation event: {}", priceEvent);
         try {
@@ -210,6 +208,9 @@ public class AuditService {
                 .ruleId(priceEvent.getRuleId())
                 .ruleName(priceEvent.getRuleName())
                 .ruleType(priceEvent.getRuleType())
+                .productId(priceEvent.getProductId())
+                .sellerId(priceEvent.getSellerId())
+                .siteId(priceEvent.getSiteId())
                 .action(AuditAction.PRICE_CREATED)
                 .type(AuditEventType.PRICE_CREATED)  // Add this line to set the required type
                 .eventTime(LocalDateTime.now())
@@ -224,7 +225,6 @@ public class AuditService {
         }
     }
 
-    @Transactional
     public void logStatusChange(Long ruleId, RuleStatus oldStatus, RuleStatus newStatus, String reason) throws AuditSearchException {
         log.debug("Logging status change for rule: {} from {} to {}", ruleId, oldStatus, newStatus);
         try {
@@ -378,13 +378,7 @@ public class AuditService {
     }
 
     private void saveAndPublish(AuditEntry audit) {
-        try {
-            auditRepository.save(audit);
-            eventPublisher.publishAuditEvent(audit);
-        } catch (Exception e) {
-            log.error("Error saving audit entry: {}", e.getMessage(), e);
-            // Consider adding retry logic or storing failed audits
-        }
+        auditWriter.submit(audit);
     }
 
     public void auditRuleUpdate(PricingRule savedRule) {
@@ -421,23 +415,15 @@ public class AuditService {
     }
 
     public Map<String, Object> getEventStatistics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<AuditEntry> events = auditRepository.findByEventTimeBetween(startTime, endTime);
-        Map<String, Object> stats = new HashMap<>();
-
-        // Initialize counters
-        Map<AuditEventType, Long> eventTypeCounts = new HashMap<>();
-        for (AuditEventType eventType : AuditEventType.values()) {
-            eventTypeCounts.put(eventType, 0L);
-        }
+        return getEventStatistics(startTime, endTime, null);
+    }
 
-        // Count events by type
-        for (AuditEntry event : events) {
-            AuditEventType eventType = event.getType();
-            eventTypeCounts.put(eventType, eventTypeCounts.get(eventType) + 1);
-        }
+    public Map<String, Object> getEventStatistics(LocalDateTime startTime, LocalDateTime endTime, String userId) {
+        Map<AuditEventType, Long> eventTypeCounts = statisticsService.countByType(startTime, endTime, userId);
+        Map<String, Object> stats = new HashMap<>();
 
         // Calculate total events
-        long totalEvents = events.size();
+        long totalEvents = eventTypeCounts.values().stream().mapToLong(Long::longValue).sum();
 
         // Add counts and percentages to stats
         for (AuditEventType eventType : AuditEventType.values()) {
@@ -487,9 +473,13 @@ public class AuditService {
                 localEndTime = LocalDateTime.now(ZoneOffset.UTC);
             }
 
-            // Use the repository method to fetch the data
-            Page<AuditEntry> results = auditRepository.findByComplexCriteria(
-                    userId, eventType, localStartTime, localEndTime, pageable);
+            // End is inclusive here, the structured search is end-exclusive
+            Page<AuditEntry> results = search(AuditSearchCriteria.builder()
+                    .userId(userId)
+                    .type(eventType)
+                    .startTime(localStartTime)
+                    .endTime(localEndTime != null ? localEndTime.plusNanos(1) : null)
+                    .build(), pageable);
 
             log.debug("Found {} audit entries matching criteria", results.getTotalElements());
 
@@ -503,6 +493,41 @@ public class AuditService {
         }
     }
 
+    /**
+     * Structured search over the indexed dimensions of the audit log, newest first
+     * unless the page asks for another order.
+     */
+    public Page<AuditEntry> search(AuditSearchCriteria criteria, Pageable pageable) {
+        Pageable sorted = pageable.isUnpaged() || pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "eventTime"));
+        return auditRepository.findAll(AuditEntrySpecifications.matching(criteria), sorted);
+    }
+
+    /**
+     * Searches one monthly partition at a time, newest first, instead of probing the
+     * rule's index in every partition.
+     */
+    public Optional<AuditEntry> findLatestForRule(Long ruleId) {
+        return partitionManager.findNewestFirst(PartitionManager.AUDIT_LOG, (from, to) -> auditRepository
+                .findFirstByRuleIdAndEventTimeGreaterThanEqualAndEventTimeLessThanOrderByEventTimeDesc(ruleId, from, to));
+    }
+
+    public Page<AuditEntry> findByRuleId(Long ruleId, Pageable pageable) {
+        return auditRepository.findByRuleIdOrderByEventTimeDesc(ruleId, pageable);
+    }
+
+    /**
+     * Entries whose payload contains all the given fields with the given values
+     */
+    public Page<AuditEntry> searchByEventData(Map<String, Object> fields, Pageable pageable) throws AuditSearchException {
+        try {
+            return auditRepository.searchByEventData(objectMapper.writeValueAsString(fields), pageable);
+        } catch (JsonProcessingException e) {
+            throw new AuditSearchException("Invalid audit payload filter", e);
+        }
+    }
+
     public List<AuditEntry> findByEventType(AuditEventType eventType) {
         return auditRepository.findByType(eventType);
     }
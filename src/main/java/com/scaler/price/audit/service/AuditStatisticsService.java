@@ -0,0 +1,157 @@
+package com.scaler.price.audit.service;
+
+import com.scaler.price.audit.domain.AuditEntry;
+import com.scaler.price.audit.domain.AuditEventType;
+import com.scaler.price.audit.domain.AuditRollupGranularity;
+import com.scaler.price.audit.repository.AuditEventRepository;
+import com.scaler.price.audit.repository.AuditEventRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit statistics served from minute, hour and day rollups per event type and user
+ * instead of the audit log itself. Every written batch of entries increments their
+ * buckets in the same transaction. A time range is answered from whole days in the
+ * middle, whole hours around them and minutes at the edges, so a query reads at most a
+ * few hundred rollup rows whatever the length of the range.
+ *
+ * <p>Statistics have minute resolution: an entry is counted if the minute it was
+ * written in starts within {@code [start, end)}.
+ */
+@Slf4j
+@Service
+public class AuditStatisticsService {
+    private final AuditEventRollupRepository rollupRepository;
+    private final AuditEventRepository auditRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditStatisticsService(AuditEventRollupRepository rollupRepository,
+                                  AuditEventRepository auditRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.auditRepository = auditRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public void record(AuditEntry entry) {
+        recordAll(List.of(entry));
+    }
+
+    /**
+     * Counts a batch of entries with one upsert per distinct bucket rather than per entry.
+     */
+    @Transactional
+    public void recordAll(Collection<AuditEntry> entries) {
+        Map<RollupKey, Long> increments = new HashMap<>();
+        for (AuditEntry entry : entries) {
+            if (entry.getType() == null || entry.getEventTime() == null) {
+                continue;
+            }
+            String userId = entry.getUserId() != null ? entry.getUserId() : "";
+            for (AuditRollupGranularity granularity : AuditRollupGranularity.values()) {
+                increments.merge(new RollupKey(granularity, granularity.floor(entry.getEventTime()),
+                        entry.getType(), userId), 1L, Long::sum);
+            }
+        }
+        increments.forEach((key, count) -> rollupRepository.increment(key.granularity().name(),
+                key.bucketStart(), key.eventType().name(), key.userId(), count));
+    }
+
+    /**
+     * @param userId only count this user's entries, or all entries if null
+     */
+    @Transactional(readOnly = true)
+    public Map<AuditEventType, Long> countByType(LocalDateTime start, LocalDateTime end, String userId) {
+        Map<AuditEventType, Long> counts = new EnumMap<>(AuditEventType.class);
+        for (AuditEventType eventType : AuditEventType.values()) {
+            counts.put(eventType, 0L);
+        }
+        for (BucketRange range : cover(start, end)) {
+            for (Object[] row : rollupRepository.sumByType(range.granularity(), range.from(), range.to(), userId)) {
+                counts.merge((AuditEventType) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Fills the rollups from the audit log on the first start after they were
+     * introduced. Runs in the database, so it does not load any entries. A failure is
+     * logged and rolls the backfill back without failing the start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (rollupRepository.count() > 0 || auditRepository.count() == 0) {
+                    return;
+                }
+                for (AuditRollupGranularity granularity : AuditRollupGranularity.values()) {
+                    int buckets = rollupRepository.backfill(granularity.name(), granularity.getTruncUnit());
+                    log.info("Backfilled {} {} audit rollups", buckets, granularity);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to backfill audit rollups: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits the minutes starting in [start, end) into the fewest minute, hour and day
+     * bucket ranges.
+     */
+    static List<BucketRange> cover(LocalDateTime start, LocalDateTime end) {
+        List<BucketRange> ranges = new ArrayList<>();
+        LocalDateTime from = AuditRollupGranularity.MINUTE.ceil(start);
+        LocalDateTime to = AuditRollupGranularity.MINUTE.ceil(end);
+        if (!from.isBefore(to)) {
+            return ranges;
+        }
+        LocalDateTime hoursFrom = AuditRollupGranularity.HOUR.ceil(from);
+        LocalDateTime hoursTo = AuditRollupGranularity.HOUR.floor(to);
+        if (!hoursFrom.isBefore(hoursTo)) {
+            ranges.add(new BucketRange(AuditRollupGranularity.MINUTE, from, to));
+            return ranges;
+        }
+        LocalDateTime daysFrom = AuditRollupGranularity.DAY.ceil(hoursFrom);
+        LocalDateTime daysTo = AuditRollupGranularity.DAY.floor(hoursTo);
+        addIfNotEmpty(ranges, AuditRollupGranularity.MINUTE, from, hoursFrom);
+        if (daysFrom.isBefore(daysTo)) {
+            addIfNotEmpty(ranges, AuditRollupGranularity.HOUR, hoursFrom, daysFrom);
+            ranges.add(new BucketRange(AuditRollupGranularity.DAY, daysFrom, daysTo));
+            addIfNotEmpty(ranges, AuditRollupGranularity.HOUR, daysTo, hoursTo);
+        } else {
+            ranges.add(new BucketRange(AuditRollupGranularity.HOUR, hoursFrom, hoursTo));
+        }
+        addIfNotEmpty(ranges, AuditRollupGranularity.MINUTE, hoursTo, to);
+        return ranges;
+    }
+
+    private static void addIfNotEmpty(List<BucketRange> ranges, AuditRollupGranularity granularity,
+                                      LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            ranges.add(new BucketRange(granularity, from, to));
+        }
+    }
+
+    record BucketRange(AuditRollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record RollupKey(AuditRollupGranularity granularity, LocalDateTime bucketStart,
+                             AuditEventType eventType, String userId) {
+    }
+}
@@ -0,0 +1,346 @@
+package com.scaler.price.audit.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of pending audit entries, split into segment files named after the
+ * first sequence number they hold. Each record is one {@code seq<TAB>payload} line.
+ * A checkpoint file holds the highest sequence number written to the database;
+ * segments entirely below it are deleted.
+ *
+ * <p>{@link #append} may be called from any thread and returns once the record is
+ * durable. Appends are group committed: callers only queue their record, and a single
+ * flusher thread writes whatever has queued up and syncs it with one {@code force}
+ * before completing all of them, so concurrent callers share a sync instead of taking
+ * turns. Reading and committing are done by the single writer thread only. A torn line
+ * left at the end of the log by a crash mid-append is cut off when the log is opened.
+ *
+ * <p>Records that can never be written to the database are moved to a separate
+ * dead-letter file by {@link #deadLetter}, so they do not hold up the records after them.
+ */
+@Slf4j
+class AuditWriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String DEAD_LETTERS = "dead-letters";
+    private static final int MAX_GROUP = 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final Thread flusher;
+
+    private FileChannel active;
+    private boolean closed;
+    private volatile long lastSeq;
+    private volatile long committedSeq;
+
+    AuditWriteAheadLog(Path directory, long segmentBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        committedSeq = Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).trim()) : 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .forEach(file -> segments.put(firstSeqOf(file), file));
+        }
+        lastSeq = committedSeq;
+        if (!segments.isEmpty()) {
+            // Segments are named after the record following the previous one, even if still empty
+            lastSeq = Math.max(lastSeq, segments.lastKey() - 1);
+            truncateTornTail(segments.lastEntry().getValue());
+            for (Record record : readSegment(segments.lastEntry().getValue(), 0, Long.MAX_VALUE, Integer.MAX_VALUE)) {
+                lastSeq = Math.max(lastSeq, record.seq());
+            }
+        }
+
+        flusher = new Thread(this::flushAppends, "AuditWriteAheadLog");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Waits until the record has been written, and synced if {@code fsync} is on.
+     *
+     * @return the sequence number of the appended record
+     */
+    long append(String payload) throws IOException {
+        Append append = new Append(payload);
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IOException("Audit write-ahead log is closed");
+            }
+            appends.add(append);
+        }
+        try {
+            return append.appended.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the audit log to sync");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Keeps a record that cannot be written to the database, with the reason, out of the
+     * way of the records after it.
+     */
+    synchronized void deadLetter(long seq, String payload, String reason) throws IOException {
+        String line = seq + "\t" + payload + "\t" + reason.replaceAll("\\s+", " ") + "\n";
+        Files.writeString(directory.resolve(DEAD_LETTERS), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    long committedSeq() {
+        return committedSeq;
+    }
+
+    /**
+     * Records with sequence numbers in {@code [fromSeq, toSeq]}, at most {@code max}.
+     */
+    List<Record> read(long fromSeq, long toSeq, int max) throws IOException {
+        List<Record> records = new ArrayList<>();
+        Map.Entry<Long, Path> start;
+        synchronized (this) {
+            start = segments.floorEntry(fromSeq);
+            if (start == null) {
+                start = segments.firstEntry();
+            }
+        }
+        if (start == null) {
+            return records;
+        }
+        long next = fromSeq;
+        Long segmentStart = start.getKey();
+        while (segmentStart != null && records.size() < max && next <= toSeq) {
+            Path segment;
+            synchronized (this) {
+                segment = segments.get(segmentStart);
+                segmentStart = segments.higherKey(segmentStart);
+            }
+            for (Record record : readSegment(segment, next, toSeq, max - records.size())) {
+                records.add(record);
+                next = record.seq() + 1;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Marks everything up to {@code seq} as written and drops the segments that only
+     * hold such records.
+     */
+    synchronized void commit(long seq) throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(temp, Long.toString(seq));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committedSeq = seq;
+
+        // A segment is done when the next one starts at or below the first pending record
+        Map.Entry<Long, Path> first = segments.firstEntry();
+        while (first != null) {
+            Long following = segments.higherKey(first.getKey());
+            if (following == null || following > seq + 1) {
+                break;
+            }
+            Files.deleteIfExists(first.getValue());
+            segments.remove(first.getKey());
+            first = segments.firstEntry();
+        }
+    }
+
+    /**
+     * Completes the appends already queued, then closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            closed = true;
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (active != null) {
+                active.force(false);
+                active.close();
+                active = null;
+            }
+        }
+    }
+
+    private void flushAppends() {
+        List<Append> group = new ArrayList<>();
+        while (true) {
+            Append first;
+            try {
+                first = appends.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                synchronized (appendLock) {
+                    // Nothing can be queued once closed, so an empty queue stays empty
+                    if (closed && appends.isEmpty()) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            group.add(first);
+            appends.drainTo(group, MAX_GROUP - 1);
+            flush(group);
+            group.clear();
+        }
+    }
+
+    private void flush(List<Append> group) {
+        long seq;
+        try {
+            synchronized (this) {
+                seq = lastSeq;
+                for (Append append : group) {
+                    if (active == null || active.size() >= segmentBytes) {
+                        roll(seq + 1);
+                    }
+                    seq++;
+                    ByteBuffer line = ByteBuffer.wrap((seq + "\t" + append.payload + "\n").getBytes(StandardCharsets.UTF_8));
+                    while (line.hasRemaining()) {
+                        active.write(line);
+                    }
+                }
+                if (fsync) {
+                    active.force(false);
+                }
+                // Only published once the lines are complete, so readers never see a partial record
+                lastSeq = seq;
+            }
+        } catch (IOException e) {
+            group.forEach(append -> append.appended.completeExceptionally(e));
+            return;
+        }
+        long firstSeq = seq - group.size() + 1;
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).appended.complete(firstSeq + i);
+        }
+    }
+
+    private void roll(long firstSeq) throws IOException {
+        if (active != null) {
+            active.force(false);
+            active.close();
+        }
+        Path segment = directory.resolve(SEGMENT_PREFIX + String.format("%020d", firstSeq) + SEGMENT_SUFFIX);
+        active = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segments.put(firstSeq, segment);
+    }
+
+    private List<Record> readSegment(Path segment, long fromSeq, long toSeq, int max) throws IOException {
+        List<Record> records = new ArrayList<>();
+        if (segment == null || !Files.exists(segment)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while (records.size() < max && (line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                long seq;
+                try {
+                    seq = tab > 0 ? Long.parseLong(line.substring(0, tab)) : -1;
+                } catch (NumberFormatException e) {
+                    seq = -1;
+                }
+                if (seq < 0) {
+                    log.warn("Ignoring the rest of audit log segment {}: unreadable record", segment.getFileName());
+                    break;
+                }
+                if (seq > toSeq) {
+                    break;
+                }
+                if (seq >= fromSeq) {
+                    records.add(new Record(seq, line.substring(tab + 1)));
+                }
+                if (seq == toSeq) {
+                    // The active segment may hold a line still being appended after this one
+                    break;
+                }
+            }
+        }
+        return records;
+    }
+
+    private static void truncateTornTail(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < size) {
+                log.warn("Cutting torn record off audit log segment {}", segment.getFileName());
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private static long firstSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record Record(long seq, String payload) {
+    }
+
+    private static final class Append {
+        private final String payload;
+        private final CompletableFuture<Long> appended = new CompletableFuture<>();
+
+        private Append(String payload) {
+            this.payload = payload;
+        }
+    }
+}
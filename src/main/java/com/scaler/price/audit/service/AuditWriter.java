@@ -0,0 +1,399 @@
+package com.scaler.price.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.audit.AuditEventPublisher;
+import com.scaler.price.audit.domain.AuditEntry;
+import com.scaler.price.audit.repository.AuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit entries off the caller's thread. {@link #submit} appends the entry to an
+ * {@link AuditWriteAheadLog} once the caller's transaction commits, then hands it to a
+ * bounded buffer. A single writer thread drains the buffer into batches of up to
+ * {@code batch-size} entries, or whatever arrived within {@code flush-interval-ms},
+ * and saves each batch with its statistics in one transaction before checkpointing the
+ * log and publishing the entries.
+ *
+ * <p>Callers only wait for the log's group commit, whose sync they share with every
+ * other entry appended meanwhile, never for the database: when the buffer is full the
+ * entry is only kept in the log, and the writer reads it back from there once it
+ * catches up. Entries left in the log
+ * by a crash are written on the next start. Delivery is at least once; a crash between
+ * the database commit and the checkpoint writes the last batch again.
+ *
+ * <p>Only transient failures, such as a lost connection or a lock timeout, are retried
+ * with the whole batch. Any other failure means some entry can never be written, so the
+ * batch is written again one entry at a time and the entries that still fail are moved
+ * to the log's dead-letter file rather than blocking everything behind them.
+ */
+@Slf4j
+@Service
+public class AuditWriter {
+    // Connection exception, transaction rollback, insufficient resources, operator intervention
+    private static final Set<String> TRANSIENT_SQL_STATE_CLASSES = Set.of("08", "40", "53", "57");
+
+    private final AuditEventRepository auditRepository;
+    private final AuditStatisticsService statisticsService;
+    private final AuditEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditWriteAheadLog writeAheadLog;
+    private final BlockingQueue<Pending> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryBackoffMs;
+    private final long shutdownTimeoutMs;
+    private final Counter spilled;
+    private final Counter deadLettered;
+
+    private volatile boolean running;
+    private ExecutorService writer;
+    private long nextSeq;
+    private Pending carried;
+
+    public AuditWriter(
+            AuditEventRepository auditRepository,
+            AuditStatisticsService statisticsService,
+            AuditEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.writer.wal-dir:./data/audit-wal}") String walDir,
+            @Value("${app.audit.writer.segment-bytes:67108864}") long segmentBytes,
+            @Value("${app.audit.writer.fsync:true}") boolean fsync,
+            @Value("${app.audit.writer.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.audit.writer.batch-size:500}") int batchSize,
+            @Value("${app.audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${app.audit.writer.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${app.audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.auditRepository = auditRepository;
+        this.statisticsService = statisticsService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        try {
+            this.writeAheadLog = new AuditWriteAheadLog(Path.of(walDir), segmentBytes, fsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open audit write-ahead log in " + walDir, e);
+        }
+        this.spilled = Counter.builder("audit.writer.spilled")
+                .description("Audit entries that did not fit in the buffer and were read back from the log")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("audit.writer.dead.letters")
+                .description("Audit entries that could not be written and were set aside")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.backlog", writeAheadLog,
+                        wal -> wal.lastSeq() - wal.committedSeq())
+                .description("Audit entries logged but not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the entry for writing once the current transaction, if any, commits.
+     */
+    public void submit(AuditEntry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(entry);
+                }
+            });
+        } else {
+            append(entry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        nextSeq = writeAheadLog.committedSeq() + 1;
+        long recovered = writeAheadLog.lastSeq() - writeAheadLog.committedSeq();
+        if (recovered > 0) {
+            log.info("Writing {} audit entries left in the write-ahead log", recovered);
+        }
+        running = true;
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AuditWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.execute(this::run);
+    }
+
+    /**
+     * Writes what is still pending for up to {@code shutdown-timeout-ms}; the rest stays
+     * in the log for the next start.
+     */
+    @PreDestroy
+    public synchronized void stop() throws IOException {
+        running = false;
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    writer.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                writer.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeAheadLog.close();
+    }
+
+    private void append(AuditEntry entry) {
+        try {
+            String payload = objectMapper.writeValueAsString(entry);
+            long seq = writeAheadLog.append(payload);
+            if (!buffer.offer(new Pending(seq, payload))) {
+                spilled.increment();
+            }
+        } catch (Exception e) {
+            log.error("Failed to log audit entry for rule {}: {}", entry.getRuleId(), e.getMessage(), e);
+        }
+    }
+
+    private void run() {
+        while (running || nextSeq <= writeAheadLog.lastSeq()) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty() && !write(batch)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Audit writer failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Collects the entries from {@code nextSeq} on, in order. Entries missing from the
+     * buffer, because it was full, because another thread has not offered them yet or
+     * because they were logged before a restart, are read back from the log.
+     */
+    private List<Pending> nextBatch() throws InterruptedException, IOException {
+        List<Pending> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            Pending next = carried != null ? carried : buffer.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            carried = null;
+            if (next == null) {
+                if (writeAheadLog.lastSeq() >= nextSeq) {
+                    readLog(batch, writeAheadLog.lastSeq());
+                } else if (remaining <= 0) {
+                    break;
+                }
+                continue;
+            }
+            if (next.seq() < nextSeq) {
+                // Already read back from the log
+                continue;
+            }
+            if (next.seq() > nextSeq) {
+                readLog(batch, next.seq() - 1);
+                if (next.seq() > nextSeq) {
+                    carried = next;
+                    break;
+                }
+            }
+            batch.add(next);
+            nextSeq++;
+        }
+        return batch;
+    }
+
+    private void readLog(List<Pending> batch, long toSeq) throws IOException {
+        int room = batchSize - batch.size();
+        if (room <= 0) {
+            return;
+        }
+        List<AuditWriteAheadLog.Record> records = writeAheadLog.read(nextSeq, toSeq, room);
+        for (AuditWriteAheadLog.Record record : records) {
+            batch.add(new Pending(record.seq(), record.payload()));
+            nextSeq = record.seq() + 1;
+        }
+        if (records.isEmpty()) {
+            log.warn("Audit entries {} to {} are missing from the write-ahead log", nextSeq, toSeq);
+            nextSeq = toSeq + 1;
+        }
+    }
+
+    /**
+     * @return false if the writer is stopping and gave up on the batch
+     */
+    private boolean write(List<Pending> batch) throws InterruptedException {
+        long lastSeq = batch.get(batch.size() - 1).seq();
+        List<AuditEntry> entries = null;
+        while (entries == null) {
+            try {
+                entries = save(batch);
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    log.warn("Failed to write {} audit entries, writing them one at a time: {}",
+                            batch.size(), e.getMessage());
+                    entries = saveEach(batch);
+                    if (entries == null) {
+                        return false;
+                    }
+                } else if (!awaitRetry(batch.size(), e)) {
+                    return false;
+                }
+            }
+        }
+
+        try {
+            writeAheadLog.commit(lastSeq);
+        } catch (IOException e) {
+            log.error("Failed to checkpoint the audit write-ahead log at {}: {}", lastSeq, e.getMessage(), e);
+        }
+        for (AuditEntry entry : entries) {
+            try {
+                eventPublisher.publishAuditEvent(entry);
+            } catch (Exception e) {
+                log.error("Failed to publish audit event for rule {}: {}", entry.getRuleId(), e.getMessage(), e);
+            }
+        }
+        return true;
+    }
+
+    private List<AuditEntry> save(List<Pending> batch) {
+        // Fresh entities on every attempt, since a failed flush leaves ids behind
+        List<AuditEntry> entries = deserialize(batch);
+        transactionTemplate.executeWithoutResult(status -> {
+            auditRepository.saveAll(entries);
+            statisticsService.recordAll(entries);
+        });
+        return entries;
+    }
+
+    /**
+     * Writes each entry in its own transaction, still retrying transient failures, and
+     * sets aside the entries that fail otherwise.
+     *
+     * @return the entries written, or null if the writer is stopping
+     */
+    private List<AuditEntry> saveEach(List<Pending> batch) throws InterruptedException {
+        List<AuditEntry> written = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            while (true) {
+                try {
+                    written.addAll(save(List.of(pending)));
+                    break;
+                } catch (Exception e) {
+                    if (!isTransient(e)) {
+                        deadLetter(pending, e);
+                        break;
+                    }
+                    if (!awaitRetry(1, e)) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * @return false if the writer is stopping, leaving the entries in the log
+     */
+    private boolean awaitRetry(int entries, Exception e) throws InterruptedException {
+        if (!running) {
+            log.warn("Leaving {} audit entries in the write-ahead log: {}", entries, e.getMessage());
+            return false;
+        }
+        log.error("Failed to write {} audit entries, retrying in {} ms: {}", entries, retryBackoffMs, e.getMessage());
+        Thread.sleep(retryBackoffMs);
+        return true;
+    }
+
+    private void deadLetter(Pending pending, Exception e) {
+        deadLettered.increment();
+        log.error("Setting aside audit entry {} that cannot be written: {}", pending.seq(), e.getMessage());
+        try {
+            writeAheadLog.deadLetter(pending.seq(), pending.payload(), String.valueOf(e.getMessage()));
+        } catch (IOException io) {
+            log.error("Failed to dead-letter audit entry {}, dropping {}: {}",
+                    pending.seq(), pending.payload(), io.getMessage());
+        }
+    }
+
+    /**
+     * Failures that may go away on their own: lost connections, lock and serialization
+     * conflicts, timeouts and an overloaded database.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() != cause ? cause.getCause() : null) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().length() >= 2
+                    && TRANSIENT_SQL_STATE_CLASSES.contains(sql.getSQLState().substring(0, 2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<AuditEntry> deserialize(List<Pending> batch) {
+        List<AuditEntry> entries = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            try {
+                entries.add(objectMapper.readValue(pending.payload(), AuditEntry.class));
+            } catch (IOException e) {
+                log.error("Dropping unreadable audit entry {}: {}", pending.seq(), e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    private record Pending(long seq, String payload) {
+    }
+}
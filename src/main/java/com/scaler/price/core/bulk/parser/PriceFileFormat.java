@@ -0,0 +1,30 @@
+package com.scaler.price.core.bulk.parser;
+
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * File formats accepted by the bulk price upload, resolved from the file extension.
+ */
+public enum PriceFileFormat {
+    XLSX,
+    XLS,
+    CSV;
+
+    public static PriceFileFormat fromFileName(String fileName) {
+        String extension = FilenameUtils.getExtension(fileName);
+        if (extension != null) {
+            switch (extension.toLowerCase()) {
+                case "xlsx":
+                    return XLSX;
+                case "xls":
+                    return XLS;
+                case "csv":
+                    return CSV;
+                default:
+                    break;
+            }
+        }
+        throw new BulkUploadException("Invalid file format. Only Excel (xlsx, xls) and CSV files are supported");
+    }
+}
@@ -0,0 +1,12 @@
+package com.scaler.price.core.bulk.parser;
+
+import java.util.List;
+
+/**
+ * Receives the raw cell values of each row as the upload file is streamed.
+ * Row numbers are 1-based and include the header row.
+ */
+@FunctionalInterface
+public interface PriceRowHandler {
+    void onRow(int rowNumber, List<String> cells);
+}
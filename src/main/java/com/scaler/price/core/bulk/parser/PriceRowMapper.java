@@ -0,0 +1,173 @@
+package com.scaler.price.core.bulk.parser;
+
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the raw cell values of an upload row onto a {@link PriceUploadDTO} and applies the
+ * row level validations. Rows that cannot be parsed or fail validation are still returned,
+ * marked FAILED with the collected error messages, so they end up in the error report.
+ */
+@Component
+public class PriceRowMapper {
+
+    public static final List<String> HEADERS = List.of(
+            "Product ID", "Seller ID", "Site ID", "Base Price", "Selling Price",
+            "MRP", "Price Type", "Currency", "Effective From", "Effective To",
+            "Is Active", "Status"
+    );
+
+    private static final int PRODUCT_ID = 0;
+    private static final int SELLER_ID = 1;
+    private static final int SITE_ID = 2;
+    private static final int BASE_PRICE = 3;
+    private static final int SELLING_PRICE = 4;
+    private static final int MRP = 5;
+    private static final int PRICE_TYPE = 6;
+    private static final int CURRENCY = 7;
+    private static final int EFFECTIVE_FROM = 8;
+    private static final int EFFECTIVE_TO = 9;
+    private static final int IS_ACTIVE = 10;
+    private static final int STATUS = 11;
+
+    public void validateHeaders(List<String> headerCells) {
+        if (headerCells == null || headerCells.stream().allMatch(this::isBlank)) {
+            throw new BulkUploadException("Upload file is missing header row");
+        }
+
+        // Remove asterisk and trim whitespace
+        List<String> actualHeaders = headerCells.stream()
+                .filter(cell -> !isBlank(cell))
+                .map(cell -> cell.replaceAll("\\*", "").trim())
+                .collect(Collectors.toList());
+
+        List<String> missingHeaders = HEADERS.stream()
+                .filter(required -> actualHeaders.stream().noneMatch(actual -> actual.equalsIgnoreCase(required)))
+                .collect(Collectors.toList());
+        if (!missingHeaders.isEmpty()) {
+            throw new BulkUploadException("Missing required headers: " + String.join(", ", missingHeaders));
+        }
+
+        List<String> unknownHeaders = actualHeaders.stream()
+                .filter(actual -> HEADERS.stream().noneMatch(required -> required.equalsIgnoreCase(actual)))
+                .collect(Collectors.toList());
+        if (!unknownHeaders.isEmpty()) {
+            throw new BulkUploadException("Unknown headers found: " + String.join(", ", unknownHeaders));
+        }
+    }
+
+    public boolean isBlankRow(List<String> cells) {
+        return cells.stream().allMatch(this::isBlank);
+    }
+
+    public PriceUploadDTO toPrice(int rowNumber, List<String> cells) {
+        List<String> errors = new ArrayList<>();
+        PriceUploadDTO price = new PriceUploadDTO();
+        price.setRowNumber(rowNumber);
+
+        price.setProductId(parseLong(cells, PRODUCT_ID, errors));
+        price.setSellerId(parseLong(cells, SELLER_ID, errors));
+        price.setSiteId(parseLong(cells, SITE_ID, errors));
+        price.setBasePrice(parseDecimal(cells, BASE_PRICE, errors));
+        price.setSellingPrice(parseDecimal(cells, SELLING_PRICE, errors));
+        price.setMrp(parseDecimal(cells, MRP, errors));
+        price.setPriceType(cell(cells, PRICE_TYPE));
+        price.setCurrency(cell(cells, CURRENCY));
+        price.setEffectiveFrom(cell(cells, EFFECTIVE_FROM));
+        price.setEffectiveTo(cell(cells, EFFECTIVE_TO));
+        String isActive = cell(cells, IS_ACTIVE);
+        price.setIsActive(isActive != null ? Boolean.parseBoolean(isActive.toLowerCase()) : null);
+        price.setStatus(cell(cells, STATUS));
+
+        validate(price, errors);
+        if (!errors.isEmpty()) {
+            price.setStatus("FAILED");
+            price.setErrorMessage(String.join("; ", errors));
+        }
+        return price;
+    }
+
+    private void validate(PriceUploadDTO price, List<String> errors) {
+        if (price.getProductId() == null) {
+            errors.add("Product ID is required");
+        }
+        if (price.getSellerId() == null) {
+            errors.add("Seller ID is required");
+        }
+        if (price.getSiteId() == null) {
+            errors.add("Site ID is required");
+        }
+
+        BigDecimal basePrice = price.getBasePrice();
+        BigDecimal sellingPrice = price.getSellingPrice();
+        BigDecimal mrp = price.getMrp();
+        if (basePrice == null || sellingPrice == null || mrp == null) {
+            errors.add("Invalid price format");
+            return;
+        }
+
+        if (basePrice.compareTo(mrp) > 0) {
+            errors.add("Base Price cannot be greater than MRP");
+        }
+        if (sellingPrice.compareTo(mrp) > 0) {
+            errors.add("Selling Price cannot be greater than MRP");
+        }
+        if (sellingPrice.compareTo(basePrice) > 0) {
+            errors.add("Selling price cannot be greater than base price");
+        }
+        if (basePrice.signum() <= 0) {
+            errors.add("Base Price must be greater than zero");
+        }
+        if (sellingPrice.signum() <= 0) {
+            errors.add("Selling Price must be greater than zero");
+        }
+        if (mrp.signum() <= 0) {
+            errors.add("MRP must be greater than zero");
+        }
+    }
+
+    private Long parseLong(List<String> cells, int column, List<String> errors) {
+        String value = cell(cells, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            // Spreadsheet tools may render whole numbers as "123.0"
+            return new BigDecimal(value).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            errors.add("Invalid numeric value for " + HEADERS.get(column));
+            return null;
+        }
+    }
+
+    private BigDecimal parseDecimal(List<String> cells, int column, List<String> errors) {
+        String value = cell(cells, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            errors.add("Invalid price value for " + HEADERS.get(column));
+            return null;
+        }
+    }
+
+    private String cell(List<String> cells, int column) {
+        if (column >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(column);
+        return isBlank(value) ? null : value.trim();
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
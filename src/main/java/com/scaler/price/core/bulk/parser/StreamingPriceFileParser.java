@@ -0,0 +1,304 @@
+package com.scaler.price.core.bulk.parser;
+
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads bulk price upload files row by row without materialising the workbook.
+ * XLSX sheets are parsed with the POI event (SAX) API and CSV files line by line, so
+ * memory use depends on the chunk size and not on the size of the file. Legacy XLS
+ * files are capped at 65536 rows by the format and are read through the usermodel.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StreamingPriceFileParser {
+    private final PriceRowMapper rowMapper;
+
+    /**
+     * Reads and validates only the header row, so a malformed file can be rejected
+     * before the upload is accepted.
+     */
+    public List<String> readHeader(Path file, PriceFileFormat format) {
+        List<String> header = new ArrayList<>();
+        try {
+            read(file, format, (rowNumber, cells) -> {
+                header.addAll(cells);
+                throw StopReading.INSTANCE;
+            });
+        } catch (StopReading ignored) {
+            // Header captured
+        }
+        rowMapper.validateHeaders(header);
+        return header;
+    }
+
+    /**
+     * Streams the data rows of the file into chunks of at most {@code chunkSize} prices.
+     * Blank rows are skipped; rows that fail parsing or validation are passed on marked FAILED.
+     *
+     * @return the number of data rows read
+     */
+    public int readPrices(Path file, PriceFileFormat format, int chunkSize, Consumer<List<PriceUploadDTO>> chunkConsumer) {
+        return readPrices(file, format, chunkSize, 0, chunkConsumer);
+    }
+
+    /**
+     * Same as {@link #readPrices(Path, PriceFileFormat, int, Consumer)} but does not map or
+     * deliver the first {@code skipRecords} data rows, which is how an interrupted upload
+     * resumes from its checkpoint. Skipped rows are still included in the returned count.
+     */
+    public int readPrices(Path file, PriceFileFormat format, int chunkSize, int skipRecords,
+                          Consumer<List<PriceUploadDTO>> chunkConsumer) {
+        int limit = Math.max(1, chunkSize);
+        List<PriceUploadDTO> chunk = new ArrayList<>(limit);
+        int[] rows = {0};
+        boolean[] headerSeen = {false};
+
+        read(file, format, (rowNumber, cells) -> {
+            if (!headerSeen[0]) {
+                rowMapper.validateHeaders(cells);
+                headerSeen[0] = true;
+                return;
+            }
+            if (rowMapper.isBlankRow(cells)) {
+                return;
+            }
+            if (++rows[0] <= skipRecords) {
+                return;
+            }
+            chunk.add(rowMapper.toPrice(rowNumber, cells));
+            if (chunk.size() >= limit) {
+                chunkConsumer.accept(new ArrayList<>(chunk));
+                chunk.clear();
+            }
+        });
+
+        if (!headerSeen[0]) {
+            throw new BulkUploadException("Upload file is missing header row");
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(new ArrayList<>(chunk));
+        }
+        return rows[0];
+    }
+
+    public void read(Path file, PriceFileFormat format, PriceRowHandler handler) {
+        try {
+            switch (format) {
+                case XLSX -> readXlsx(file, handler);
+                case XLS -> readXls(file, handler);
+                case CSV -> readCsv(file, handler);
+            }
+        } catch (StopReading | BulkUploadException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to read upload file {}: {}", file, e.getMessage(), e);
+            throw new BulkUploadException("Failed to read upload file: " + e.getMessage(), e);
+        }
+    }
+
+    private void readXlsx(Path file, PriceRowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new BulkUploadException("Excel file does not contain any sheet");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new SheetRowCollector(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    private void readXls(Path file, PriceRowHandler handler) throws IOException {
+        DataFormatter formatter = new IsoDateFormatter();
+        try (Workbook workbook = WorkbookFactory.create(file.toFile(), null, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                List<String> cells = new ArrayList<>();
+                for (int column = 0; column < row.getLastCellNum(); column++) {
+                    Cell cell = row.getCell(column);
+                    if (cell != null && cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+                        cells.add(cell.getLocalDateTimeCellValue().toString());
+                    } else {
+                        cells.add(cell == null ? null : formatter.formatCellValue(cell));
+                    }
+                }
+                handler.onRow(row.getRowNum() + 1, cells);
+            }
+        }
+    }
+
+    private void readCsv(Path file, PriceRowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            List<String> cells;
+            int rowNumber = 0;
+            while ((cells = records.next()) != null) {
+                handler.onRow(++rowNumber, cells);
+            }
+        }
+    }
+
+    /**
+     * Collects the cells of each sheet row, filling gaps left by empty cells.
+     */
+    private static final class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final PriceRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int currentColumn = -1;
+
+        private SheetRowCollector(PriceRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.onRow(rowNum + 1, new ArrayList<>(cells));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+            currentColumn = column;
+        }
+    }
+
+    /**
+     * Renders date cells as ISO-8601 date-times, which is what the price conversion parses.
+     */
+    private static final class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas,
+     * doubled quotes and line breaks.
+     */
+    static final class CsvRecordReader {
+        private final BufferedReader reader;
+        private boolean firstLine = true;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            if (firstLine) {
+                firstLine = false;
+                if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"') {
+                            if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new BulkUploadException("Unterminated quoted field in CSV file");
+                }
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Thrown from a row handler to stop reading once the rows of interest have been seen.
+     */
+    private static final class StopReading extends RuntimeException {
+        private static final StopReading INSTANCE = new StopReading();
+
+        private StopReading() {
+            super(null, null, false, false);
+        }
+    }
+}
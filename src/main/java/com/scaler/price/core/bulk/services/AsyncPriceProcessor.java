@@ -1,117 +1,244 @@
 package com.scaler.price.core.bulk.services;
 
+import com.scaler.price.core.bulk.parser.PriceFileFormat;
+import com.scaler.price.core.bulk.parser.StreamingPriceFileParser;
 import com.scaler.price.core.management.domain.BulkUploadTracker;
 import com.scaler.price.core.management.domain.FailedPrice;
 import com.scaler.price.core.management.domain.UploadStatus;
-import com.scaler.price.core.management.dto.PriceDTO;
 import com.scaler.price.core.management.dto.PriceUploadDTO;
 import com.scaler.price.core.management.exceptions.BulkUploadException;
-import com.scaler.price.core.management.exceptions.FileStorageException;
 import com.scaler.price.core.management.exceptions.PriceValidationException;
 import com.scaler.price.core.management.repository.BulkUploadTrackerRepository;
 import com.scaler.price.core.management.repository.FailedPricesRepository;
-import com.scaler.price.core.management.service.PriceService;
 import com.scaler.price.core.management.service.impl.FileStorageService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AsyncPriceProcessor {
-    
-    private final PriceService priceService;
+
+    private final PriceChunkWriter chunkWriter;
     private final BulkUploadTrackerRepository trackerRepository;
     private final FailedPricesRepository failedPricesRepository;
     private final FileStorageService fileStorageService;
+    private final StreamingPriceFileParser fileParser;
+    private final ErrorReportWriter errorReportWriter;
+    private final MeterRegistry meterRegistry;
+    private final Executor workerExecutor;
+    private final TransactionTemplate requiresNew;
+    private final int chunkSize;
+    private final int partitions;
 
-    @Async
-    public void processPrices(String uploadId, List<PriceUploadDTO> prices) throws PriceValidationException {
-        log.info("Starting bulk price processing for upload ID: {}. Total records: {}", uploadId, prices.size());
+    public AsyncPriceProcessor(
+            PriceChunkWriter chunkWriter,
+            BulkUploadTrackerRepository trackerRepository,
+            FailedPricesRepository failedPricesRepository,
+            FileStorageService fileStorageService,
+            StreamingPriceFileParser fileParser,
+            ErrorReportWriter errorReportWriter,
+            MeterRegistry meterRegistry,
+            @Qualifier("bulkUploadWorkerExecutor") Executor workerExecutor,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.pricing.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${app.pricing.bulk.partitions:8}") int partitions) {
+        this.chunkWriter = chunkWriter;
+        this.trackerRepository = trackerRepository;
+        this.failedPricesRepository = failedPricesRepository;
+        this.fileStorageService = fileStorageService;
+        this.fileParser = fileParser;
+        this.errorReportWriter = errorReportWriter;
+        this.meterRegistry = meterRegistry;
+        this.workerExecutor = workerExecutor;
+        // The final status is saved from within this bean, where @Transactional would not apply
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.partitions = Math.max(1, partitions);
+    }
 
+    /**
+     * Streams the stored upload file and processes it chunk by chunk. Each chunk is split
+     * into partitions by (productId, sellerId, siteId) and written by the worker pool, so
+     * only a bounded number of chunks is held in memory at a time.
+     *
+     * <p>Before each chunk is handed to the workers the tracker records the committed
+     * checkpoint and the last dispatched row. If the tracker already carries a checkpoint,
+     * the upload was interrupted and resumes right after it.
+     */
+    @Async
+    public void processUpload(String uploadId, String filePath, PriceFileFormat format) {
         BulkUploadTracker tracker = trackerRepository.findByUploadId(uploadId)
                 .orElseThrow(() -> new BulkUploadException("Tracker not found: " + uploadId));
+        // Every save returns the tracker with its new version; saving a stale copy would fail
+        AtomicReference<BulkUploadTracker> current = new AtomicReference<>(tracker);
+        PartitionedChunkDispatcher.Checkpoint resumeFrom = checkpointOf(tracker);
+        int replayUntilRow = tracker.getDispatchedRow() != null ? tracker.getDispatchedRow() : 0;
 
-        List<PriceUploadDTO> failedRecords = new ArrayList<>();
-        int successCount = 0;
-        int currentRecord = 0;
+        UploadProgress progress = new UploadProgress(resumeFrom);
+        if (replayUntilRow > 0) {
+            log.info("Resuming bulk price processing for upload ID: {} after row {} ({} records committed)",
+                    uploadId, resumeFrom.lastRow(), resumeFrom.records());
+            // Failures past the checkpoint are recorded again when their rows are replayed
+            failedPricesRepository.deleteAfterRow(uploadId, resumeFrom.lastRow());
+        } else {
+            log.info("Starting streaming bulk price processing for upload ID: {}, file: {}", uploadId, filePath);
+        }
 
-        for (PriceUploadDTO price : prices) {
-            currentRecord++;
-            try {
-                PriceDTO priceDTO = convertToPrice(price, tracker);
-                processPrice(priceDTO);
-                successCount++;
-                log.debug("Successfully processed price for Product ID: {}", price.getProductId());
-            } catch (Throwable e) {
-                handlePriceProcessingError(price, e, tracker.getUploadId());
-                failedRecords.add(price);
-            }
+        PartitionedChunkDispatcher dispatcher = newDispatcher(uploadId, progress, replayUntilRow, resumeFrom);
+        try {
+            int totalRecords = fileParser.readPrices(Paths.get(filePath), format, chunkSize, resumeFrom.records(), chunk -> {
+                current.set(saveCheckpoint(current.get(), progress, dispatcher.checkpoint(), lastRowOf(chunk)));
+                dispatcher.dispatch(chunk);
+            });
+            dispatcher.awaitCompletion();
+            finalizeProcessing(current.get(), uploadId, totalRecords, progress.successCount.get());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another node considered this upload abandoned and resumed it
+            log.warn("Upload {} was taken over by another node, stopping: {}", uploadId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Streaming bulk price processing failed for upload ID: {}: {}", uploadId, e.getMessage(), e);
+            BulkUploadTracker failed = current.get();
+            failed.setStatus(UploadStatus.FAILED);
+            failed.setSuccessCount(progress.successCount.get());
+            failed.setFailureCount(progress.failureCount.get());
+            failed.setProcessedRecords(progress.processedRecords.get());
+            trackerRepository.save(failed);
+        }
+    }
 
-            // Update tracker periodically
-            if (currentRecord % 100 == 0) {
-                updateTrackerProgress(tracker, successCount, failedRecords.size(), currentRecord, prices.size());
-            }
+    private PartitionedChunkDispatcher newDispatcher(String uploadId, UploadProgress progress, int replayUntilRow,
+                                                     PartitionedChunkDispatcher.Checkpoint resumeFrom) {
+        // Two batches per partition keeps every worker busy while the next chunk is read
+        return new PartitionedChunkDispatcher(partitions, partitions * 2, workerExecutor,
+                (partition, rows) -> writePartition(uploadId, partition, rows, replayUntilRow, progress),
+                resumeFrom);
+    }
+
+    /**
+     * Runs on a worker thread. Progress is only ever added to, so workers never contend
+     * on the tracker; the reading thread publishes the counters.
+     */
+    private PartitionedChunkDispatcher.BatchOutcome writePartition(String uploadId, int partition, List<PriceUploadDTO> rows,
+                                                                   int replayUntilRow, UploadProgress progress) {
+        String worker = String.valueOf(partition);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        PriceChunkWriter.ChunkResult result = chunkWriter.write(rows, replayUntilRow);
+
+        List<FailedPrice> failedPrices = new ArrayList<>(result.failures().size());
+        for (PriceChunkWriter.RowFailure failure : result.failures()) {
+            failedPrices.add(toFailedPrice(failure.row(), failure.cause(), uploadId));
+        }
+        progress.failureCount.addAndGet(failedPrices.size());
+        if (!failedPrices.isEmpty()) {
+            failedPricesRepository.saveAll(failedPrices);
+        }
+        sample.stop(meterRegistry.timer("bulk.upload.partition.write.time", "worker", worker));
+
+        progress.processedRecords.addAndGet(rows.size());
+        progress.successCount.addAndGet(result.written());
+        meterRegistry.counter("bulk.upload.rows", "worker", worker, "outcome", "written").increment(result.written());
+        meterRegistry.counter("bulk.upload.rows", "worker", worker, "outcome", "failed").increment(failedPrices.size());
+        log.debug("Partition {} of upload {} wrote {} prices, {} failed",
+                partition, uploadId, result.written(), failedPrices.size());
+        return new PartitionedChunkDispatcher.BatchOutcome(result.written(), failedPrices.size());
+    }
+
+    /**
+     * Called by the reading thread before a chunk is dispatched, so the dispatched row on
+     * the tracker is always at or beyond the last row any worker may have committed.
+     * Failures propagate: an upload that cannot record its checkpoint must not keep writing.
+     *
+     * @return the saved tracker, which carries the version the next save must present
+     */
+    private BulkUploadTracker saveCheckpoint(BulkUploadTracker tracker, UploadProgress progress,
+                                PartitionedChunkDispatcher.Checkpoint checkpoint, int dispatchedRow) {
+        tracker.setCheckpointRecords(checkpoint.records());
+        tracker.setCheckpointRow(checkpoint.lastRow());
+        tracker.setCheckpointSuccessCount(checkpoint.written());
+        tracker.setCheckpointFailureCount(checkpoint.failed());
+        if (tracker.getDispatchedRow() == null || dispatchedRow > tracker.getDispatchedRow()) {
+            tracker.setDispatchedRow(dispatchedRow);
         }
+        tracker.setHeartbeatAt(LocalDateTime.now());
+        tracker.setSuccessCount(progress.successCount.get());
+        tracker.setFailureCount(progress.failureCount.get());
+        tracker.setProcessedRecords(progress.processedRecords.get());
+        tracker.setStatus(UploadStatus.IN_PROGRESS);
+        BulkUploadTracker saved = trackerRepository.save(tracker);
+        log.debug("Checkpointed upload {} at row {}, dispatching up to row {}",
+                tracker.getUploadId(), checkpoint.lastRow(), dispatchedRow);
+        return saved;
+    }
 
-        // Final update
-        finalizeProcessing(tracker, uploadId, failedRecords, prices, successCount);
+    private PartitionedChunkDispatcher.Checkpoint checkpointOf(BulkUploadTracker tracker) {
+        if (tracker.getCheckpointRecords() == null) {
+            return PartitionedChunkDispatcher.Checkpoint.EMPTY;
+        }
+        return new PartitionedChunkDispatcher.Checkpoint(
+                tracker.getCheckpointRecords(),
+                valueOrZero(tracker.getCheckpointRow()),
+                valueOrZero(tracker.getCheckpointSuccessCount()),
+                valueOrZero(tracker.getCheckpointFailureCount()));
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    protected void processPrice(PriceDTO priceDTO) throws PriceValidationException {
-        priceService.createPrice(priceDTO);
+    private int valueOrZero(Integer value) {
+        return value != null ? value : 0;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    protected void updateTrackerProgress(BulkUploadTracker tracker, int successCount,
-                                         int failureCount, int currentRecord, int totalRecords) {
-        try {
-            tracker.setSuccessCount(successCount);
-            tracker.setFailureCount(failureCount);
-            tracker.setProcessedRecords(currentRecord);
-            tracker.setStatus(UploadStatus.IN_PROGRESS);
-            trackerRepository.save(tracker);
-            log.debug("Updated tracker progress: {}/{} records processed", currentRecord, totalRecords);
-        } catch (Exception e) {
-            log.error("Failed to update tracker progress: {}", e.getMessage());
+    private int lastRowOf(List<PriceUploadDTO> chunk) {
+        int lastRow = 0;
+        for (PriceUploadDTO row : chunk) {
+            if (row.getRowNumber() != null) {
+                lastRow = Math.max(lastRow, row.getRowNumber());
+            }
         }
+        return lastRow;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    protected void finalizeProcessing(BulkUploadTracker tracker, String uploadId,
-                                      List<PriceUploadDTO> failedRecords, List<PriceUploadDTO> prices, int successCount) {
+    private void finalizeProcessing(BulkUploadTracker tracker, String uploadId, int totalRecords, int successCount) {
+        String storedFilePath = tracker.getStoredFilePath();
         try {
-            if (!failedRecords.isEmpty()) {
-                saveFailedRecords(uploadId, failedRecords);
-                String errorFilePath = generateErrorReport(uploadId, failedRecords);
-                tracker.setErrorFilePath(errorFilePath);
+            UploadStatus finalStatus = requiresNew.execute(status -> {
+                // Failures are persisted as they happen, including those of an interrupted attempt
+                int failureCount = (int) failedPricesRepository.countByUploadId(uploadId);
+                if (failureCount > 0) {
+                    PriceFileFormat reportFormat = tracker.getFileFormat() != null ? tracker.getFileFormat() : PriceFileFormat.XLSX;
+                    tracker.setErrorFilePath(errorReportWriter.write(uploadId, reportFormat));
+                }
+                tracker.setStatus(failureCount == 0 ? UploadStatus.COMPLETED : UploadStatus.COMPLETED_WITH_ERRORS);
+                tracker.setSuccessCount(successCount);
+                tracker.setFailureCount(failureCount);
+                tracker.setTotalRecords(totalRecords);
+                tracker.setProcessedRecords(totalRecords);
+                tracker.setStoredFilePath(null);
+                trackerRepository.save(tracker);
+                return tracker.getStatus();
+            });
+            if (storedFilePath != null) {
+                // Nothing left to resume
+                fileStorageService.deleteFile(storedFilePath);
             }
 
-            UploadStatus finalStatus = failedRecords.isEmpty() ?
-                    UploadStatus.COMPLETED : UploadStatus.COMPLETED_WITH_ERRORS;
-
-            tracker.setStatus(finalStatus);
-            tracker.setSuccessCount(successCount);
-            tracker.setFailureCount(failedRecords.size());
-            tracker.setProcessedRecords(prices.size());
-            trackerRepository.save(tracker);
-
             log.info("Processing completed. Status: {}, Success: {}, Failed: {}",
-                    finalStatus, successCount, failedRecords.size());
+                    finalStatus, successCount, tracker.getFailureCount());
         } catch (Exception e) {
             log.error("Error in finalizing processing: {}", e.getMessage());
             tracker.setStatus(UploadStatus.FAILED);
@@ -119,36 +246,13 @@ public class AsyncPriceProcessor {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    protected void saveFailedRecords(String uploadId, List<PriceUploadDTO> failedRecords) {
-        for (PriceUploadDTO failedRecord : failedRecords) {
-            try {
-                FailedPrice failedPrice = FailedPrice.builder()
-                        .uploadId(uploadId)
-                        .productId(failedRecord.getProductId())
-                        .sellerId(failedRecord.getSellerId())
-                        .siteId(failedRecord.getSiteId())
-                        .basePrice(failedRecord.getBasePrice())
-                        .sellingPrice(failedRecord.getSellingPrice())
-                        .mrp(failedRecord.getMrp())
-                        .errorMessage(failedRecord.getErrorMessage())
-                        .build();
-
-                failedPricesRepository.save(failedPrice);
-            } catch (Exception e) {
-                log.error("Failed to save failed record for Product ID: {}. Error: {}",
-                        failedRecord.getProductId(), e.getMessage());
-            }
-        }
-    }
-
-    private void handlePriceProcessingError(PriceUploadDTO price, Throwable e, String uploadId) {
+    private FailedPrice toFailedPrice(PriceUploadDTO price, Throwable e, String uploadId) {
         String errorMessage;
-        
+
         // Get the root cause of the exception
         Throwable rootCause = getRootCause(e);
         String rootMessage = rootCause.getMessage();
-        
+
         if (e instanceof PriceValidationException) {
             errorMessage = e.getMessage();
         } else if (rootMessage != null && rootMessage.contains("already exists")) {
@@ -158,10 +262,11 @@ public class AsyncPriceProcessor {
         } else {
             errorMessage = "Unexpected error: " + e.getMessage();
         }
-        
-        log.error("Error processing price for Product ID: {}. Error: {}", price.getProductId(), errorMessage, e);
-        
-        FailedPrice failedPrice = FailedPrice.builder()
+
+        log.debug("Error processing price for Product ID: {}. Error: {}", price.getProductId(), errorMessage);
+
+        price.setErrorMessage(errorMessage);
+        return FailedPrice.builder()
                 .uploadId(uploadId)
                 .productId(price.getProductId())
                 .sellerId(price.getSellerId())
@@ -169,10 +274,14 @@ public class AsyncPriceProcessor {
                 .basePrice(price.getBasePrice())
                 .sellingPrice(price.getSellingPrice())
                 .mrp(price.getMrp())
+                .currency(price.getCurrency())
+                .effectiveFrom(price.getEffectiveFrom())
+                .effectiveTo(price.getEffectiveTo())
+                .priceType(price.getPriceType())
+                .status(price.getStatus())
+                .rowNumber(price.getRowNumber())
                 .errorMessage(errorMessage)
                 .build();
-
-        failedPricesRepository.save(failedPrice);
     }
 
     private Throwable getRootCause(Throwable throwable) {
@@ -183,86 +292,15 @@ public class AsyncPriceProcessor {
         return rootCause;
     }
 
-    private PriceDTO convertToPrice(PriceUploadDTO price, BulkUploadTracker tracker) {
-        return PriceDTO.builder()
-                .productId(price.getProductId())
-                .sellerId(price.getSellerId())
-                .siteId(price.getSiteId())
-                .basePrice(price.getBasePrice())
-                .sellingPrice(price.getSellingPrice())
-                .mrp(price.getMrp())
-                .currency(price.getCurrency())
-                .effectiveFrom(LocalDateTime.parse(price.getEffectiveFrom()))
-                .effectiveTo(price.getEffectiveTo() != null ? LocalDateTime.parse(price.getEffectiveTo()) : null)
-                .priceType(price.getPriceType())
-                .isActive(price.getIsActive())
-                .build();
-    }
-
-    private String generateErrorReport(String uploadId, List<PriceUploadDTO> failedRecords) {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Failed Records");
-
-            // Create headers
-            Row headerRow = sheet.createRow(0);
-            createHeaders(headerRow);
-
-            // Add failed records
-            int rowNum = 1;
-            for (PriceUploadDTO record : failedRecords) {
-                Row row = sheet.createRow(rowNum++);
-                try {
-                    populateErrorRow(row, record);
-                } catch (Exception e) {
-                    log.error("Failed to populate error row for record: {}", record, e);
-                }
-            }
-
-            // Auto-size columns for better readability
-            for (int i = 0; i < 11; i++) {
-                sheet.autoSizeColumn(i);
-            }
+    private static final class UploadProgress {
+        private final AtomicInteger successCount = new AtomicInteger();
+        private final AtomicInteger failureCount = new AtomicInteger();
+        private final AtomicInteger processedRecords = new AtomicInteger();
 
-            // Save error report using FileStorageService
-            try {
-                return fileStorageService.saveErrorReport(workbook, uploadId);
-            } catch (FileStorageException e) {
-                log.error("Failed to save error report for upload {}: {}", uploadId, e.getMessage());
-                throw e;
-            }
-        } catch (IOException e) {
-            log.error("Failed to generate error report for upload {}: {}", uploadId, e.getMessage());
-            throw new FileStorageException("Could not generate error report", e);
-        }
-    }
-
-    private void createHeaders(Row headerRow) {
-        String[] headers = {
-            "Row Number", "Product ID", "Error Message", "Base Price",
-            "Selling Price", "MRP", "Currency", "Effective From",
-            "Effective To", "Price Type", "Status"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            headerRow.createCell(i).setCellValue(headers[i]);
+        private UploadProgress(PartitionedChunkDispatcher.Checkpoint resumeFrom) {
+            successCount.set(resumeFrom.written());
+            failureCount.set(resumeFrom.failed());
+            processedRecords.set(resumeFrom.records());
         }
     }
-
-    private void populateErrorRow(Row row, PriceUploadDTO record) {
-        int cellNum = 0;
-        row.createCell(cellNum++).setCellValue(record.getRowNumber());
-        row.createCell(cellNum++).setCellValue(record.getProductId());
-        row.createCell(cellNum++).setCellValue(record.getErrorMessage());
-
-        // Convert BigDecimal to double
-        row.createCell(cellNum++).setCellValue(record.getBasePrice() != null ? record.getBasePrice().doubleValue() : 0.0);
-        row.createCell(cellNum++).setCellValue(record.getSellingPrice() != null ? record.getSellingPrice().doubleValue() : 0.0);
-        row.createCell(cellNum++).setCellValue(record.getMrp() != null ? record.getMrp().doubleValue() : 0.0);
-
-        row.createCell(cellNum++).setCellValue(record.getCurrency());
-        row.createCell(cellNum++).setCellValue(record.getEffectiveFrom());
-        row.createCell(cellNum++).setCellValue(record.getEffectiveTo());
-        row.createCell(cellNum++).setCellValue(record.getPriceType());
-        row.createCell(cellNum).setCellValue(record.getStatus());
-    }
 }
@@ -0,0 +1,91 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.management.domain.BulkUploadTracker;
+import com.scaler.price.core.management.domain.UploadStatus;
+import com.scaler.price.core.management.repository.BulkUploadTrackerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Resumes uploads whose processing node went away. An upload is abandoned when it is
+ * still PENDING or IN_PROGRESS, its stored file is still there and its tracker has not
+ * been checkpointed for {@code staleAfterMinutes}.
+ *
+ * <p>Runs once at startup and then periodically, so uploads left behind by a node that
+ * never comes back are picked up by the others. A node claims an upload by refreshing its
+ * heartbeat; the tracker's version makes sure only one node wins the claim.
+ */
+@Service
+@Slf4j
+public class BulkUploadRecoveryService {
+
+    private static final EnumSet<UploadStatus> RESUMABLE = EnumSet.of(UploadStatus.PENDING, UploadStatus.IN_PROGRESS);
+
+    private final BulkUploadTrackerRepository trackerRepository;
+    private final AsyncPriceProcessor asyncPriceProcessor;
+    private final long staleAfterMinutes;
+
+    public BulkUploadRecoveryService(
+            BulkUploadTrackerRepository trackerRepository,
+            AsyncPriceProcessor asyncPriceProcessor,
+            @Value("${app.pricing.bulk.resume-stale-after-minutes:10}") long staleAfterMinutes) {
+        this.trackerRepository = trackerRepository;
+        this.asyncPriceProcessor = asyncPriceProcessor;
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumeAbandonedUploads();
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.bulk.resume-scan-interval-ms:300000}",
+            initialDelayString = "${app.pricing.bulk.resume-scan-interval-ms:300000}")
+    public void resumeAbandonedUploads() {
+        List<BulkUploadTracker> abandoned;
+        try {
+            abandoned = trackerRepository.findResumableUploads(
+                    RESUMABLE, LocalDateTime.now().minusMinutes(staleAfterMinutes));
+        } catch (Exception e) {
+            log.error("Failed to scan for abandoned bulk uploads: {}", e.getMessage(), e);
+            return;
+        }
+
+        for (BulkUploadTracker tracker : abandoned) {
+            resume(tracker);
+        }
+    }
+
+    private void resume(BulkUploadTracker tracker) {
+        String uploadId = tracker.getUploadId();
+        if (tracker.getFileFormat() == null || !Files.exists(Paths.get(tracker.getStoredFilePath()))) {
+            log.warn("Cannot resume upload {}: stored file {} is missing", uploadId, tracker.getStoredFilePath());
+            tracker.setStatus(UploadStatus.FAILED);
+            tracker.setStoredFilePath(null);
+            trackerRepository.save(tracker);
+            return;
+        }
+
+        try {
+            tracker.setHeartbeatAt(LocalDateTime.now());
+            trackerRepository.save(tracker);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.debug("Upload {} was claimed by another node", uploadId);
+            return;
+        }
+
+        log.info("Resuming abandoned upload {} from row {}", uploadId, tracker.getCheckpointRow());
+        asyncPriceProcessor.processUpload(uploadId, tracker.getStoredFilePath(), tracker.getFileFormat());
+    }
+}
@@ -0,0 +1,186 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.bulk.parser.PriceFileFormat;
+import com.scaler.price.core.management.domain.FailedPrice;
+import com.scaler.price.core.management.repository.FailedPricesRepository;
+import com.scaler.price.core.management.service.impl.FileStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Writes the error report of an upload from the failures already persisted in
+ * {@code failed_prices}. Rows are read page by page in file row order and streamed into
+ * the report file, so neither the failures nor the report are ever held in memory as a
+ * whole, and a resumed upload reports the failures of its earlier attempt too.
+ *
+ * <p>CSV uploads get a CSV report. Excel uploads get an XLSX report written through
+ * {@link SXSSFWorkbook}, which keeps only a small window of rows in memory and flushes
+ * the rest to a temporary file.
+ */
+@Service
+@Slf4j
+public class ErrorReportWriter {
+
+    static final String[] HEADERS = {
+            "Row Number", "Product ID", "Error Message", "Base Price",
+            "Selling Price", "MRP", "Currency", "Effective From",
+            "Effective To", "Price Type", "Status"
+    };
+
+    // Fixed widths instead of autoSizeColumn, which rescans every row of the sheet
+    private static final int[] COLUMN_WIDTHS = {12, 14, 60, 14, 14, 14, 10, 22, 22, 14, 12};
+
+    private final FailedPricesRepository failedPricesRepository;
+    private final FileStorageService fileStorageService;
+    private final int pageSize;
+    private final int rowWindow;
+
+    public ErrorReportWriter(
+            FailedPricesRepository failedPricesRepository,
+            FileStorageService fileStorageService,
+            @Value("${app.pricing.bulk.error-report.page-size:1000}") int pageSize,
+            @Value("${app.pricing.bulk.error-report.row-window:100}") int rowWindow) {
+        this.failedPricesRepository = failedPricesRepository;
+        this.fileStorageService = fileStorageService;
+        this.pageSize = Math.max(1, pageSize);
+        this.rowWindow = Math.max(1, rowWindow);
+    }
+
+    /**
+     * @return the path of the stored report
+     */
+    public String write(String uploadId, PriceFileFormat format) {
+        if (format == PriceFileFormat.CSV) {
+            return fileStorageService.saveErrorReport(uploadId, "csv", out -> writeCsv(failures(uploadId), out));
+        }
+        return fileStorageService.saveErrorReport(uploadId, "xlsx", out -> writeXlsx(failures(uploadId), out));
+    }
+
+    void writeCsv(Iterator<FailedPrice> failures, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", HEADERS));
+        writer.write('\n');
+        while (failures.hasNext()) {
+            Object[] values = values(failures.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    void writeXlsx(Iterator<FailedPrice> failures, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        try {
+            Sheet sheet = workbook.createSheet("Failed Records");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                headerRow.createCell(i).setCellValue(HEADERS[i]);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
+
+            int rowNum = 1;
+            while (failures.hasNext()) {
+                Row row = sheet.createRow(rowNum++);
+                Object[] values = values(failures.next());
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i];
+                    if (value instanceof Number number) {
+                        row.createCell(i).setCellValue(number.doubleValue());
+                    } else if (value != null) {
+                        row.createCell(i).setCellValue(value.toString());
+                    }
+                }
+            }
+            workbook.write(out);
+        } finally {
+            // Removes the temporary files backing the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private Object[] values(FailedPrice failure) {
+        return new Object[]{
+                failure.getRowNumber(),
+                failure.getProductId(),
+                failure.getErrorMessage(),
+                failure.getBasePrice(),
+                failure.getSellingPrice(),
+                failure.getMrp(),
+                failure.getCurrency(),
+                failure.getEffectiveFrom(),
+                failure.getEffectiveTo(),
+                failure.getPriceType(),
+                failure.getStatus()
+        };
+    }
+
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private Iterator<FailedPrice> failures(String uploadId) {
+        return new Iterator<>() {
+            private List<FailedPrice> page = List.of();
+            private int index = 0;
+            private int afterRow = 0;
+            private long afterId = 0;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                if (index < page.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                page = failedPricesRepository.findPageAfter(uploadId, afterRow, afterId, PageRequest.of(0, pageSize));
+                index = 0;
+                exhausted = page.size() < pageSize;
+                if (!page.isEmpty()) {
+                    FailedPrice last = page.get(page.size() - 1);
+                    afterRow = last.getRowNumber() != null ? last.getRowNumber() : 0;
+                    afterId = last.getId();
+                }
+                return !page.isEmpty();
+            }
+
+            @Override
+            public FailedPrice next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+    }
+}
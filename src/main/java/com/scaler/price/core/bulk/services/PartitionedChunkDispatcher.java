@@ -0,0 +1,195 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Spreads the chunks of one upload over a fixed number of partitions keyed by
+ * (productId, sellerId, siteId). Work for a partition is chained on the previous work of
+ * the same partition, so rows with the same key are written in file order while
+ * different partitions run in parallel on the shared executor.
+ *
+ * <p>At most {@code maxInFlight} partition batches are queued or running at a time;
+ * {@link #dispatch} blocks the reading thread until a slot frees up, which keeps memory
+ * bounded however fast the file is read.
+ *
+ * <p>Chunks finish out of order, so the dispatcher also keeps a {@link Checkpoint}: the
+ * longest prefix of the file whose chunks have all been written. An interrupted upload
+ * can safely resume right after it.
+ */
+@Slf4j
+class PartitionedChunkDispatcher {
+    private final int partitions;
+    private final Executor executor;
+    private final PartitionWriter writer;
+    private final Semaphore inFlight;
+    private final CompletableFuture<?>[] tails;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final Map<Long, ChunkState> pendingChunks = new ConcurrentHashMap<>();
+    private long nextChunk = 0;
+    private long nextToCommit = 0;
+    private volatile Checkpoint checkpoint;
+
+    @FunctionalInterface
+    interface PartitionWriter {
+        BatchOutcome write(int partition, List<PriceUploadDTO> rows);
+    }
+
+    record BatchOutcome(int written, int failed) {
+    }
+
+    /**
+     * Rows committed from the start of the file: number of data rows, the file row number of
+     * the last one, and how many of them were written or failed.
+     */
+    record Checkpoint(int records, int lastRow, int written, int failed) {
+        static final Checkpoint EMPTY = new Checkpoint(0, 0, 0, 0);
+
+        private Checkpoint advance(ChunkState chunk) {
+            return new Checkpoint(records + chunk.rows, Math.max(lastRow, chunk.lastRow),
+                    written + chunk.written.get(), failed + chunk.failed.get());
+        }
+    }
+
+    PartitionedChunkDispatcher(int partitions, int maxInFlight, Executor executor, PartitionWriter writer) {
+        this(partitions, maxInFlight, executor, writer, Checkpoint.EMPTY);
+    }
+
+    PartitionedChunkDispatcher(int partitions, int maxInFlight, Executor executor, PartitionWriter writer,
+                               Checkpoint resumeFrom) {
+        this.partitions = Math.max(1, partitions);
+        this.executor = executor;
+        this.writer = writer;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.tails = new CompletableFuture<?>[this.partitions];
+        for (int i = 0; i < this.partitions; i++) {
+            tails[i] = CompletableFuture.completedFuture(null);
+        }
+        this.checkpoint = resumeFrom;
+    }
+
+    Checkpoint checkpoint() {
+        return checkpoint;
+    }
+
+    static int partitionOf(PriceUploadDTO row, int partitions) {
+        return Math.floorMod(Objects.hash(row.getProductId(), row.getSellerId(), row.getSiteId()), partitions);
+    }
+
+    void dispatch(List<PriceUploadDTO> chunk) {
+        throwIfFailed();
+
+        List<List<PriceUploadDTO>> split = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            split.add(new ArrayList<>());
+        }
+        int lastRow = 0;
+        for (PriceUploadDTO row : chunk) {
+            split.get(partitionOf(row, partitions)).add(row);
+            if (row.getRowNumber() != null) {
+                lastRow = Math.max(lastRow, row.getRowNumber());
+            }
+        }
+
+        long chunkId = nextChunk++;
+        ChunkState state = new ChunkState(chunk.size(), lastRow,
+                (int) split.stream().filter(rows -> !rows.isEmpty()).count());
+        pendingChunks.put(chunkId, state);
+        if (chunk.isEmpty()) {
+            state.done = true;
+            advanceCheckpoint();
+            return;
+        }
+
+        for (int partition = 0; partition < partitions; partition++) {
+            List<PriceUploadDTO> rows = split.get(partition);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            acquireSlot();
+            int target = partition;
+            tails[partition] = tails[partition].thenRunAsync(() -> {
+                try {
+                    if (failure.get() == null) {
+                        BatchOutcome outcome = writer.write(target, rows);
+                        state.written.addAndGet(outcome.written());
+                        state.failed.addAndGet(outcome.failed());
+                        if (state.remainingPartitions.decrementAndGet() == 0) {
+                            state.done = true;
+                            advanceCheckpoint();
+                        }
+                    }
+                } catch (Throwable e) {
+                    // Never rethrow: a stage completed exceptionally skips the ones chained
+                    // after it, and their slots would never be released
+                    failure.compareAndSet(null, e);
+                    log.error("Partition {} failed: {}", target, e.getMessage(), e);
+                } finally {
+                    inFlight.release();
+                }
+            }, executor);
+        }
+    }
+
+    /**
+     * Waits until every dispatched batch has been written.
+     */
+    void awaitCompletion() {
+        CompletableFuture.allOf(tails).join();
+        throwIfFailed();
+    }
+
+    private synchronized void advanceCheckpoint() {
+        Checkpoint current = checkpoint;
+        ChunkState next;
+        while ((next = pendingChunks.get(nextToCommit)) != null && next.done) {
+            current = current.advance(next);
+            pendingChunks.remove(nextToCommit++);
+        }
+        checkpoint = current;
+    }
+
+    private void acquireSlot() {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkUploadException("Interrupted while dispatching upload rows", e);
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new BulkUploadException("Bulk upload partition failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static final class ChunkState {
+        private final int rows;
+        private final int lastRow;
+        private final AtomicInteger remainingPartitions;
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile boolean done;
+
+        private ChunkState(int rows, int lastRow, int partitions) {
+            this.rows = rows;
+            this.lastRow = lastRow;
+            this.remainingPartitions = new AtomicInteger(partitions);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.management.domain.PriceType;
+import com.scaler.price.core.management.dto.PriceDTO;
+import com.scaler.price.core.management.dto.PriceKey;
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.PriceValidationException;
+import com.scaler.price.core.management.repository.PriceRepository;
+import com.scaler.price.core.management.service.PriceValidationService;
+import com.scaler.price.rule.repository.SellerRepository;
+import com.scaler.price.rule.repository.SiteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Persists a chunk of uploaded prices in a single transaction. Validation, seller/site
+ * activity and duplicate detection are resolved for the whole chunk up front, and the
+ * inserts go out as JDBC batches (see {@code hibernate.jdbc.batch_size}).
+ *
+ * <p>If the batch still fails, the transaction is rolled back and the chunk is replayed
+ * row by row, each row in its own transaction, so one bad row only fails itself.
+ *
+ * <p>When an interrupted upload is resumed, rows up to {@code replayUntilRow} may already
+ * have been committed by the previous attempt. A row in that range whose key already
+ * exists is counted as written instead of failing as a duplicate.
+ */
+@Service
+@Slf4j
+public class PriceChunkWriter {
+    private final PriceRepository priceRepository;
+    private final PriceValidationService validationService;
+    private final SellerRepository sellerRepository;
+    private final SiteRepository siteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PriceChunkWriter(
+            PriceRepository priceRepository,
+            PriceValidationService validationService,
+            SellerRepository sellerRepository,
+            SiteRepository siteRepository,
+            PlatformTransactionManager transactionManager) {
+        this.priceRepository = priceRepository;
+        this.validationService = validationService;
+        this.sellerRepository = sellerRepository;
+        this.siteRepository = siteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ChunkResult write(List<PriceUploadDTO> chunk) {
+        return write(chunk, 0);
+    }
+
+    public ChunkResult write(List<PriceUploadDTO> chunk, int replayUntilRow) {
+        List<RowFailure> failures = new ArrayList<>();
+        List<PendingRow> pending = new ArrayList<>(chunk.size());
+
+        for (PriceUploadDTO row : chunk) {
+            if (row.getErrorMessage() != null) {
+                // Rejected while parsing, never reaches the database
+                failures.add(new RowFailure(row, new PriceValidationException(row.getErrorMessage())));
+                continue;
+            }
+            try {
+                PriceDTO priceDTO = toPriceDTO(row);
+                validationService.validatePrice(priceDTO);
+                pending.add(new PendingRow(row, toEntity(priceDTO)));
+            } catch (Throwable e) {
+                failures.add(new RowFailure(row, e));
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return new ChunkResult(0, failures);
+        }
+
+        resolveActivity(pending);
+        Deduplicated deduplicated = rejectDuplicates(pending, failures, replayUntilRow);
+        pending = deduplicated.rows();
+        int replayed = deduplicated.replayed();
+        if (pending.isEmpty()) {
+            return new ChunkResult(replayed, failures);
+        }
+
+        int written;
+        try {
+            List<Price> prices = pending.stream().map(PendingRow::price).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                priceRepository.saveAll(prices);
+                priceRepository.flush();
+            });
+            written = pending.size();
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} prices failed, retrying row by row: {}", pending.size(), e.getMessage());
+            written = writeRowByRow(pending, failures);
+        }
+        return new ChunkResult(written + replayed, failures);
+    }
+
+    private int writeRowByRow(List<PendingRow> pending, List<RowFailure> failures) {
+        int written = 0;
+        for (PendingRow row : pending) {
+            // A rolled back batch may have assigned ids and versions to the entity
+            Price price = row.price().toBuilder().id(null).version(null).build();
+            try {
+                transactionTemplate.executeWithoutResult(status -> priceRepository.saveAndFlush(price));
+                written++;
+            } catch (RuntimeException e) {
+                failures.add(new RowFailure(row.row(), e));
+            }
+        }
+        return written;
+    }
+
+    private void resolveActivity(List<PendingRow> pending) {
+        Set<Long> sellerIds = new HashSet<>();
+        Set<Long> siteIds = new HashSet<>();
+        for (PendingRow row : pending) {
+            sellerIds.add(row.price().getSellerId());
+            siteIds.add(row.price().getSiteId());
+        }
+
+        Set<Long> activeSellers = new HashSet<>(sellerRepository.findActiveIds(sellerIds));
+        Set<Long> activeSites = new HashSet<>(siteRepository.findActiveIds(siteIds));
+        for (PendingRow row : pending) {
+            row.price().setIsSellerActive(activeSellers.contains(row.price().getSellerId()));
+            row.price().setIsSiteActive(activeSites.contains(row.price().getSiteId()));
+        }
+    }
+
+    private Deduplicated rejectDuplicates(List<PendingRow> pending, List<RowFailure> failures, int replayUntilRow) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> sellerIds = new HashSet<>();
+        Set<Long> siteIds = new HashSet<>();
+        for (PendingRow row : pending) {
+            productIds.add(row.price().getProductId());
+            sellerIds.add(row.price().getSellerId());
+            siteIds.add(row.price().getSiteId());
+        }
+
+        Set<PriceKey> existing = new HashSet<>(priceRepository.findKeys(productIds, sellerIds, siteIds));
+        Set<PriceKey> seen = new HashSet<>();
+        List<PendingRow> unique = new ArrayList<>(pending.size());
+        int replayed = 0;
+        for (PendingRow row : pending) {
+            PriceKey key = keyOf(row.price());
+            if (existing.contains(key) && isReplayed(row.row(), replayUntilRow)) {
+                // Committed by the interrupted attempt of this upload
+                replayed++;
+                continue;
+            }
+            if (!existing.contains(key) && seen.add(key)) {
+                unique.add(row);
+            } else {
+                failures.add(new RowFailure(row.row(), new PriceValidationException(
+                        "Duplicate price entry: A price already exists for this product, seller, site, date and price type combination")));
+            }
+        }
+        return new Deduplicated(unique, replayed);
+    }
+
+    private boolean isReplayed(PriceUploadDTO row, int replayUntilRow) {
+        return row.getRowNumber() != null && row.getRowNumber() <= replayUntilRow;
+    }
+
+    private PriceKey keyOf(Price price) {
+        return new PriceKey(price.getProductId(), price.getSellerId(), price.getSiteId(),
+                price.getEffectiveFrom(), price.getPriceType());
+    }
+
+    private PriceDTO toPriceDTO(PriceUploadDTO price) {
+        return PriceDTO.builder()
+                .productId(price.getProductId())
+                .sellerId(price.getSellerId())
+                .siteId(price.getSiteId())
+                .basePrice(price.getBasePrice())
+                .sellingPrice(price.getSellingPrice())
+                .mrp(price.getMrp())
+                .currency(price.getCurrency())
+                .effectiveFrom(LocalDateTime.parse(price.getEffectiveFrom()))
+                .effectiveTo(price.getEffectiveTo() != null ? LocalDateTime.parse(price.getEffectiveTo()) : null)
+                .priceType(price.getPriceType())
+                .isActive(price.getIsActive())
+                .build();
+    }
+
+    private Price toEntity(PriceDTO dto) {
+        return Price.priceBuilder()
+                .productId(dto.getProductId())
+                .sellerId(dto.getSellerId())
+                .siteId(dto.getSiteId())
+                .basePrice(dto.getBasePrice())
+                .sellingPrice(dto.getSellingPrice())
+                .mrp(dto.getMrp())
+                .currency(dto.getCurrency())
+                .effectiveFrom(dto.getEffectiveFrom())
+                .effectiveTo(dto.getEffectiveTo())
+                .priceType(dto.getPriceType() != null ? PriceType.valueOf(dto.getPriceType().trim().toUpperCase()) : null)
+                .isActive(dto.getIsActive())
+                .build();
+    }
+
+    public record ChunkResult(int written, List<RowFailure> failures) {
+    }
+
+    public record RowFailure(PriceUploadDTO row, Throwable cause) {
+    }
+
+    private record PendingRow(PriceUploadDTO row, Price price) {
+    }
+
+    private record Deduplicated(List<PendingRow> rows, int replayed) {
+    }
+}
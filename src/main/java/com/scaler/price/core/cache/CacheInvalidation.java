@@ -0,0 +1,42 @@
+package com.scaler.price.core.cache;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Invalidation broadcast to every node after a write. Keys travel as strings together
+ * with their {@link KeyType}, so the receiving node evicts exactly the key objects the
+ * {@code @Cacheable} methods stored. An empty key list drops the whole cache.
+ *
+ * <p>{@code sequence} increases per origin node, which lets receivers drop duplicates
+ * and redeliveries; {@code schemaVersion} lets old nodes skip messages they cannot read
+ * during a rolling deployment.
+ */
+public record CacheInvalidation(
+        int schemaVersion,
+        String origin,
+        long sequence,
+        String cacheName,
+        KeyType keyType,
+        List<String> keys,
+        Instant issuedAt) {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    public enum KeyType {
+        STRING,
+        LONG;
+
+        Object parse(String key) {
+            return this == LONG ? Long.valueOf(key) : key;
+        }
+    }
+
+    public boolean allEntries() {
+        return keys == null || keys.isEmpty();
+    }
+
+    public List<Object> typedKeys() {
+        return keys.stream().map(keyType::parse).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package com.scaler.price.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts cache entries on every node. The writing node evicts both tiers and broadcasts
+ * a {@link CacheInvalidation}; the other nodes evict their local tier only, then publish
+ * the invalidation as an application event for in-memory views built from the same data.
+ *
+ * <p>Inside a transaction both steps wait for the commit, so no node reloads the old
+ * value between the eviction and the commit.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+    private final CacheManager cacheManager;
+    private final CacheInvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> lastSequenceByOrigin = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager, CacheInvalidationTransport transport,
+                                ApplicationEventPublisher eventPublisher) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        transport.subscribe(this::receive);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void invalidate(String cacheName, String... keys) {
+        publish(cacheName, CacheInvalidation.KeyType.STRING, List.of(keys));
+    }
+
+    public void invalidate(String cacheName, Long... keys) {
+        publish(cacheName, CacheInvalidation.KeyType.LONG,
+                Arrays.stream(keys).map(String::valueOf).toList());
+    }
+
+    public void invalidateAll(String cacheName) {
+        publish(cacheName, CacheInvalidation.KeyType.STRING, List.of());
+    }
+
+    private void publish(String cacheName, CacheInvalidation.KeyType keyType, List<String> keys) {
+        Runnable action = () -> {
+            CacheInvalidation invalidation = new CacheInvalidation(CacheInvalidation.SCHEMA_VERSION, nodeId,
+                    sequence.incrementAndGet(), cacheName, keyType, keys, Instant.now());
+            apply(invalidation, false);
+            try {
+                transport.send(invalidation);
+            } catch (Exception e) {
+                log.error("Failed to broadcast invalidation of cache {}: {}", cacheName, e.getMessage(), e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void receive(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.schemaVersion() > CacheInvalidation.SCHEMA_VERSION) {
+            log.warn("Skipping invalidation of cache {} with unsupported schema version {}",
+                    invalidation.cacheName(), invalidation.schemaVersion());
+            return;
+        }
+        // Evictions are idempotent, so only messages overtaken by a newer one are dropped
+        if (lastSequenceByOrigin.merge(invalidation.origin(), invalidation.sequence(), Math::max)
+                != invalidation.sequence()) {
+            log.debug("Skipping redelivered invalidation {} from {}", invalidation.sequence(), invalidation.origin());
+            return;
+        }
+        try {
+            apply(invalidation, true);
+            eventPublisher.publishEvent(invalidation);
+        } catch (Exception e) {
+            log.error("Failed to apply invalidation of cache {}: {}", invalidation.cacheName(), e.getMessage(), e);
+        }
+    }
+
+    private void apply(CacheInvalidation invalidation, boolean localOnly) {
+        Cache cache = cacheManager.getCache(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        boolean tiered = localOnly && cache instanceof TieredCache;
+        if (invalidation.allEntries()) {
+            if (tiered) {
+                ((TieredCache) cache).clearLocal();
+            } else {
+                cache.clear();
+            }
+            return;
+        }
+        for (Object key : invalidation.typedKeys()) {
+            if (tiered) {
+                ((TieredCache) cache).evictLocal(key);
+            } else {
+                cache.evict(key);
+            }
+        }
+        log.debug("Evicted {} from cache {}", invalidation.keys(), invalidation.cacheName());
+    }
+}
@@ -0,0 +1,14 @@
+package com.scaler.price.core.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidation}s between nodes. Every node receives every message,
+ * including its own.
+ */
+public interface CacheInvalidationTransport {
+
+    void send(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> receiver);
+}
@@ -0,0 +1,24 @@
+package com.scaler.price.core.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport for tests and single-node runs. Messages are delivered
+ * synchronously to every subscriber, so several buses sharing one instance behave like
+ * nodes of a cluster.
+ */
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(CacheInvalidation invalidation) {
+        receivers.forEach(receiver -> receiver.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+}
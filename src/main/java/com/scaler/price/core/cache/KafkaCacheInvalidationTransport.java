@@ -0,0 +1,76 @@
+package com.scaler.price.core.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Kafka transport. Messages are keyed by their origin node so each node's invalidations
+ * stay in order on one partition. Every node listens in a consumer group of its own,
+ * starting from the latest offset: a node that starts later has empty caches anyway.
+ */
+@Slf4j
+public class KafkaCacheInvalidationTransport implements CacheInvalidationTransport {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final String groupId = "cache-invalidation-" + UUID.randomUUID();
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    public KafkaCacheInvalidationTransport(KafkaTemplate<String, String> kafkaTemplate,
+                                           ObjectMapper objectMapper, String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @Override
+    public void send(CacheInvalidation invalidation) {
+        try {
+            kafkaTemplate.send(topic, invalidation.origin(), objectMapper.writeValueAsString(invalidation))
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to publish invalidation of cache {}: {}",
+                                    invalidation.cacheName(), ex.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+
+    @KafkaListener(
+            topics = "#{__listener.topic}",
+            groupId = "#{__listener.groupId}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(payload, CacheInvalidation.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable cache invalidation: {}", e.getMessage());
+            return;
+        }
+        receivers.forEach(receiver -> receiver.accept(invalidation));
+    }
+}
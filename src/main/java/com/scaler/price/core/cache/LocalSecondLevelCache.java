@@ -0,0 +1,36 @@
+package com.scaler.price.core.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for the second tier, for tests and single-node runs. It has the
+ * same semantics as a shared store, only without sharing.
+ */
+public class LocalSecondLevelCache implements SecondLevelCache {
+    private final Map<String, Map<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        Map<Object, Object> cache = caches.get(cacheName);
+        return cache != null ? cache.get(key) : null;
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>()).put(key, value);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        Map<Object, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        caches.remove(cacheName);
+    }
+}
@@ -0,0 +1,21 @@
+package com.scaler.price.core.cache;
+
+/**
+ * Shared cache tier behind the per-node Caffeine caches. In a multi-node deployment it
+ * is backed by a store every node can reach, so a value computed on one node is served
+ * to the others without recomputing it. Values are stored in their cache form, which
+ * includes Spring's null placeholder.
+ */
+public interface SecondLevelCache {
+
+    /**
+     * @return the stored value, or null if there is none
+     */
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+}
@@ -0,0 +1,129 @@
+package com.scaler.price.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Spring cache backed by a bounded Caffeine cache on this node and, optionally, a
+ * {@link SecondLevelCache} shared between nodes. Reads try the local tier first and
+ * then the shared tier, copying shared hits into the local tier; writes and evictions
+ * go to both.
+ */
+public class TieredCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final SecondLevelCache shared;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    TieredCache(String name, Cache<Object, Object> local, SecondLevelCache shared, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.sharedHits = meterRegistry.counter("cache.tier2.gets", "cache", name, "result", "hit");
+        this.sharedMisses = meterRegistry.counter("cache.tier2.gets", "cache", name, "result", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            value = lookupShared(key);
+            if (value != null) {
+                local.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(key, k -> {
+            Object value = lookupShared(k);
+            if (value != null) {
+                return value;
+            }
+            try {
+                value = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            if (shared != null) {
+                shared.put(name, k, value);
+            }
+            return value;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(key, storeValue);
+        if (shared != null) {
+            shared.put(name, key, storeValue);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = lookup(key);
+        if (existing != null) {
+            return toValueWrapper(existing);
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        if (shared != null) {
+            shared.evict(name, key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (shared != null) {
+            shared.clear(name);
+        }
+    }
+
+    /**
+     * Drops the entry from this node only, for invalidations another node has already
+     * applied to the shared tier.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Object lookupShared(Object key) {
+        if (shared == null) {
+            return null;
+        }
+        Object value = shared.get(name, key);
+        (value != null ? sharedHits : sharedMisses).increment();
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+package com.scaler.price.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cache manager for {@link TieredCache}s. Each cache gets its own Caffeine spec, falling
+ * back to the default spec for caches that are only named by a {@code @Cacheable}.
+ * Statistics are always recorded and every cache is bound to Micrometer under its name.
+ *
+ * <p>{@code refreshAfterWrite} reloads an entry from the shared tier, so it only takes
+ * effect when a {@link SecondLevelCache} is configured.
+ */
+@Slf4j
+public class TieredCacheManager extends AbstractCacheManager {
+    private final String defaultSpec;
+    private final Map<String, String> specs;
+    private final SecondLevelCache shared;
+    private final MeterRegistry meterRegistry;
+
+    public TieredCacheManager(String defaultSpec, Map<String, String> specs,
+                              SecondLevelCache shared, MeterRegistry meterRegistry) {
+        this.defaultSpec = defaultSpec;
+        this.specs = Map.copyOf(specs);
+        this.shared = shared;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<TieredCache> loadCaches() {
+        List<TieredCache> caches = new ArrayList<>(specs.size());
+        specs.forEach((name, spec) -> caches.add(createCache(name, spec)));
+        return caches;
+    }
+
+    @Override
+    protected TieredCache getMissingCache(String name) {
+        log.debug("Creating cache {} with the default spec", name);
+        return createCache(name, defaultSpec);
+    }
+
+    private TieredCache createCache(String name, String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(effectiveSpec(name, spec));
+        Cache<Object, Object> local = shared != null && spec.contains("refreshAfterWrite")
+                ? builder.build(key -> shared.get(name, key))
+                : builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        return new TieredCache(name, local, shared, meterRegistry);
+    }
+
+    private String effectiveSpec(String name, String spec) {
+        List<String> options = Arrays.stream(spec.split(","))
+                .map(String::trim)
+                .filter(option -> !option.isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (shared == null && options.removeIf(option -> option.startsWith("refreshAfterWrite"))) {
+            log.warn("Ignoring refreshAfterWrite for cache {}: there is no second tier to refresh from", name);
+        }
+        if (!options.contains("recordStats")) {
+            options.add("recordStats");
+        }
+        return String.join(",", options);
+    }
+}
@@ -0,0 +1,24 @@
+package com.scaler.price.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing and freshness of the in-memory product attribute snapshots.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.attribute-snapshots")
+@Data
+public class AttributeSnapshotProperties {
+    /** Topic of {@code AttributeEvent}s published on every attribute change */
+    private String topic = "attribute-events";
+    private boolean listenerEnabled = true;
+    /** Snapshots are reloaded once older, bounding the effect of a missed event */
+    private Duration maxAge = Duration.ofMinutes(10);
+    private int maxProducts = 200_000;
+    /** Products per bulk query */
+    private int batchSize = 500;
+}
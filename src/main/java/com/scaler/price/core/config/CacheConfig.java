@@ -1,27 +1,69 @@
 package com.scaler.price.core.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.cache.CacheInvalidationBus;
+import com.scaler.price.core.cache.CacheInvalidationTransport;
+import com.scaler.price.core.cache.InMemoryCacheInvalidationTransport;
+import com.scaler.price.core.cache.KafkaCacheInvalidationTransport;
+import com.scaler.price.core.cache.LocalSecondLevelCache;
+import com.scaler.price.core.cache.SecondLevelCache;
+import com.scaler.price.core.cache.TieredCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
-import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.util.Arrays;
+import org.springframework.kafka.core.KafkaTemplate;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Stand-in second tier; a deployment that shares caches between nodes registers its
+     * own {@link SecondLevelCache} bean instead.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.second-tier", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingBean(SecondLevelCache.class)
+    public SecondLevelCache secondLevelCache() {
+        return new LocalSecondLevelCache();
+    }
+
+    @Bean
+    public CacheManager cacheManager(TieredCacheProperties cacheProperties,
+                                     ObjectProvider<SecondLevelCache> secondLevelCache,
+                                     MeterRegistry meterRegistry) {
+        SecondLevelCache shared = cacheProperties.getSecondTier().isEnabled()
+                ? secondLevelCache.getIfAvailable()
+                : null;
+        return new TieredCacheManager(cacheProperties.getDefaultSpec(), cacheProperties.getSpecs(),
+                shared, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "kafka", matchIfMissing = true)
+    public CacheInvalidationTransport kafkaCacheInvalidationTransport(TieredCacheProperties cacheProperties,
+                                                                      KafkaTemplate<String, String> kafkaTemplate,
+                                                                      ObjectMapper objectMapper) {
+        return new KafkaCacheInvalidationTransport(kafkaTemplate, objectMapper,
+                cacheProperties.getInvalidation().getTopic());
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(Arrays.asList(
-                new ConcurrentMapCache("sellerStatus"),
-                new ConcurrentMapCache("siteStatus", true),
-                new ConcurrentMapCache("sellerScores")
+    @ConditionalOnProperty(prefix = "app.cache.invalidation", name = "transport", havingValue = "in-memory")
+    public CacheInvalidationTransport inMemoryCacheInvalidationTransport() {
+        return new InMemoryCacheInvalidationTransport();
+    }
 
-        ));
-        return cacheManager;
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheManager cacheManager,
+                                                     CacheInvalidationTransport transport,
+                                                     ApplicationEventPublisher eventPublisher) {
+        return new CacheInvalidationBus(cacheManager, transport, eventPublisher);
     }
-}
\ No newline at end of file
+}
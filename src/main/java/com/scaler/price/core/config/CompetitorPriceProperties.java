@@ -0,0 +1,24 @@
+package com.scaler.price.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ingestion and staleness policy of the competitor price store.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.competitor-prices")
+@Data
+public class CompetitorPriceProperties {
+    /** Compacted topic of price observations keyed by {@code "productId:competitorId"} */
+    private String topic = "competitor-prices";
+    private boolean ingestionEnabled = true;
+    /** Older prices are treated as missing by rule evaluation */
+    private Duration maxAge = Duration.ofHours(24);
+    /** Older prices are dropped from the store */
+    private Duration retention = Duration.ofDays(7);
+    private int stripes = 64;
+}
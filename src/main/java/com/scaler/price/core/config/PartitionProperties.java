@@ -0,0 +1,24 @@
+package com.scaler.price.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintenance of the monthly partitions of the history tables, keyed by table name.
+ * Tables without a retention keep all their partitions.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.partitions")
+@Data
+public class PartitionProperties {
+    /** Off where the tables are not partitioned, such as on H2 */
+    private boolean enabled = true;
+    private int monthsAhead = 3;
+    private String archiveDir = "./data/archive";
+    /** Keyed by table name, written as {@code "[audit_log]"} in YAML to keep the underscore */
+    private Map<String, Integer> retentionMonths = new LinkedHashMap<>();
+}
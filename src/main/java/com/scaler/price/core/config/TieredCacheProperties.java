@@ -0,0 +1,34 @@
+package com.scaler.price.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specs of the application caches, keyed by cache name. Caches without an
+ * entry use {@code defaultSpec}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class TieredCacheProperties {
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=1h";
+    private Map<String, String> specs = new LinkedHashMap<>();
+    private SecondTier secondTier = new SecondTier();
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class SecondTier {
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Invalidation {
+        /** {@code kafka} or {@code in-memory} */
+        private String transport = "kafka";
+        private String topic = "price-cache-invalidations";
+    }
+}
@@ -0,0 +1,53 @@
+package com.scaler.price.core.management.buybox.events;
+
+import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.cache.CacheInvalidationBus;
+import com.scaler.price.core.management.domain.SellerMetrics;
+import com.scaler.price.rule.domain.SellerLimits;
+import com.scaler.price.rule.domain.Site;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Price}, {@link SellerMetrics}, {@link SellerLimits} and
+ * {@link Site} that turns every write into a buybox change event, whichever path made it:
+ * the price API, bulk upload batches or a metrics import. Listeners consume the events
+ * after commit.
+ *
+ * <p>Seller and site writes also invalidate the cached statuses on every node, so the
+ * other nodes hear about them as invalidations of the {@code sellerStatus} and
+ * {@code siteStatus} caches. JPA test slices have no bus and skip that step.
+ */
+@Component
+@RequiredArgsConstructor
+public class BuyboxEntityListener {
+    public static final String SELLER_STATUS_CACHE = "sellerStatus";
+    public static final String SITE_STATUS_CACHE = "siteStatus";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (entity instanceof Price price) {
+            eventPublisher.publishEvent(new PriceChangedEvent(price.getProductId(), price.getSellerId(), price.getSiteId(),
+                    price.getEffectiveFrom(), price.getEffectiveTo()));
+        } else if (entity instanceof SellerMetrics metrics) {
+            eventPublisher.publishEvent(new SellerMetricsChangedEvent(metrics.getSellerId()));
+        } else if (entity instanceof SellerLimits seller) {
+            // SellerService.isSellerActive looks sellers up by this id
+            cacheInvalidationBus.ifAvailable(bus -> bus.invalidate(SELLER_STATUS_CACHE, seller.getId()));
+            eventPublisher.publishEvent(new SellerStatusChangedEvent(seller.getId()));
+        } else if (entity instanceof Site site) {
+            cacheInvalidationBus.ifAvailable(bus -> bus.invalidate(SITE_STATUS_CACHE, site.getId()));
+            eventPublisher.publishEvent(new SiteStatusChangedEvent(site.getId()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.scaler.price.core.management.buybox.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * A price of a seller for the given product on the given site was created, updated or
+ * removed. Carries the price's effective window so its boundaries can be scheduled.
+ */
+public record PriceChangedEvent(
+        Long productId,
+        Long sellerId,
+        Long siteId,
+        LocalDateTime effectiveFrom,
+        LocalDateTime effectiveTo) {
+}
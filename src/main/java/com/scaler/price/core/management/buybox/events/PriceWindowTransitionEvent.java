@@ -0,0 +1,14 @@
+package com.scaler.price.core.management.buybox.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * The effective window of a price of a seller for the given product on the given site
+ * opened or closed at {@code boundary}, so the set of active prices just changed.
+ */
+public record PriceWindowTransitionEvent(
+        Long productId,
+        Long sellerId,
+        Long siteId,
+        LocalDateTime boundary) {
+}
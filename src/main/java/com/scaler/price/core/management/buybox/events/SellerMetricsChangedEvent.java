@@ -0,0 +1,8 @@
+package com.scaler.price.core.management.buybox.events;
+
+/**
+ * The {@link com.scaler.price.core.management.domain.SellerMetrics} of a seller changed,
+ * so every buybox the seller competes in may have a different winner.
+ */
+public record SellerMetricsChangedEvent(Long sellerId) {
+}
@@ -0,0 +1,8 @@
+package com.scaler.price.core.management.buybox.events;
+
+/**
+ * The {@link com.scaler.price.rule.domain.SellerLimits} of a seller were written, so the
+ * seller may have been activated or deactivated in every buybox it competes in.
+ */
+public record SellerStatusChangedEvent(Long sellerId) {
+}
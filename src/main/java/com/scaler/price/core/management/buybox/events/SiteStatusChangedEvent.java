@@ -0,0 +1,8 @@
+package com.scaler.price.core.management.buybox.events;
+
+/**
+ * A {@link com.scaler.price.rule.domain.Site} was written, so it may have been activated
+ * or deactivated together with every buybox on it.
+ */
+public record SiteStatusChangedEvent(Long siteId) {
+}
@@ -1,27 +1,56 @@
 package com.scaler.price.core.management.buybox.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scaler.price.core.cache.CacheInvalidation;
+import com.scaler.price.core.management.buybox.events.BuyboxEntityListener;
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
+import com.scaler.price.core.management.buybox.events.SellerMetricsChangedEvent;
+import com.scaler.price.core.management.buybox.events.SellerStatusChangedEvent;
+import com.scaler.price.core.management.buybox.events.SiteStatusChangedEvent;
 import com.scaler.price.core.management.buybox.service.BuyboxService;
 import com.scaler.price.core.management.domain.Price;
 import com.scaler.price.core.management.repository.PriceRepository;
 import com.scaler.price.core.management.service.SellerScoreService;
-import lombok.RequiredArgsConstructor;
+import com.scaler.price.rule.service.SellerService;
+import com.scaler.price.rule.service.SiteService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Buybox winners are materialised: one precomputed winner per (productId, siteId) is kept
+ * in a bounded cache, so a read is a single lookup. An entry is dropped when a price of
+ * its product and site changes, when one of their effective windows opens or closes, when
+ * the metrics or the status of a competing seller change, or when its site is activated or
+ * deactivated. The next read after that recomputes it. Status changes made on other nodes
+ * arrive as invalidations of the {@code sellerStatus} and {@code siteStatus} caches.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class BuyboxServiceImpl implements BuyboxService {
     private final PriceRepository priceRepository;
     private final SellerScoreService sellerScoreService;  // For seller metrics
+    private final SellerService sellerService;
+    private final SiteService siteService;
+
+    // Loading holds the key while a winner is computed, so an invalidation arriving
+    // meanwhile waits for it and then drops the possibly stale result
+    private final Cache<BuyboxKey, BuyboxWinner> winners;
 
     @Value("${buybox.weights.price}")
     private double priceWeight;
@@ -34,18 +63,100 @@ public class BuyboxServiceImpl implements BuyboxService {
 
     @Value("${buybox.weights.stock}")
     private double stockWeight;
-    
+
+    public BuyboxServiceImpl(
+            PriceRepository priceRepository,
+            SellerScoreService sellerScoreService,
+            SellerService sellerService,
+            SiteService siteService,
+            @Value("${buybox.cache:maximumSize=100000,expireAfterWrite=10m}") String winnersSpec) {
+        this.priceRepository = priceRepository;
+        this.sellerScoreService = sellerScoreService;
+        this.sellerService = sellerService;
+        this.siteService = siteService;
+        this.winners = Caffeine.from(winnersSpec).build();
+    }
+
     @Override
     public Optional<Price> getWinningPrice(Long productId, Long siteId) {
-        log.debug("Finding winning price for product: {}, site: {}", productId, siteId);
-        
-        List<Price> eligiblePrices = getEligiblePrices(productId, siteId);
-        if (eligiblePrices.isEmpty()) {
-            log.debug("No eligible prices found for product: {}", productId);
-            return Optional.empty();
+        BuyboxWinner winner = winners.get(new BuyboxKey(productId, siteId), this::computeWinner);
+        return Optional.ofNullable(winner.price());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        winners.invalidate(new BuyboxKey(event.productId(), event.siteId()));
+    }
+
+    @EventListener
+    public void onPriceWindowTransition(PriceWindowTransitionEvent event) {
+        winners.invalidate(new BuyboxKey(event.productId(), event.siteId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSellerMetricsChanged(SellerMetricsChangedEvent event) {
+        sellerScoreService.evictSellerRating(event.sellerId());
+        evictSeller(event.sellerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSellerStatusChanged(SellerStatusChangedEvent event) {
+        evictSeller(event.sellerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSiteStatusChanged(SiteStatusChangedEvent event) {
+        evictSite(event.siteId());
+    }
+
+    /**
+     * Seller and site status changes made on other nodes.
+     */
+    @EventListener(condition = "#invalidation.cacheName() == 'sellerStatus' or #invalidation.cacheName() == 'siteStatus'")
+    public void onRemoteStatusInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.allEntries()) {
+            winners.invalidateAll();
+            return;
         }
-        
-        return determineBuyboxWinner(eligiblePrices);
+        boolean sellers = BuyboxEntityListener.SELLER_STATUS_CACHE.equals(invalidation.cacheName());
+        invalidation.typedKeys().forEach(id -> {
+            if (sellers) {
+                evictSeller((Long) id);
+            } else {
+                evictSite((Long) id);
+            }
+        });
+    }
+
+    private void evictSeller(Long sellerId) {
+        winners.asMap().values().removeIf(winner -> winner.sellerIds().contains(sellerId));
+    }
+
+    private void evictSite(Long siteId) {
+        winners.asMap().keySet().removeIf(key -> key.siteId().equals(siteId));
+    }
+
+    private BuyboxWinner computeWinner(BuyboxKey key) {
+        log.debug("Computing buybox winner for product: {}, site: {}", key.productId(), key.siteId());
+
+        // The status flags on the prices are copied when a price is written, so check the live ones
+        List<Price> prices = siteService.isSiteActive(key.siteId())
+                ? getEligiblePrices(key.productId(), key.siteId())
+                : List.of();
+        if (prices.isEmpty()) {
+            log.debug("No eligible prices found for product: {}", key.productId());
+        }
+        // Deactivated sellers still count as competing, so reactivating one drops the entry
+        Set<Long> sellerIds = new HashSet<>();
+        List<Price> eligiblePrices = new ArrayList<>();
+        for (Price price : prices) {
+            sellerIds.add(price.getSellerId());
+            if (sellerService.isSellerActive(price.getSellerId())) {
+                eligiblePrices.add(price);
+            }
+        }
+        Price winner = determineBuyboxWinner(eligiblePrices).orElse(null);
+        return new BuyboxWinner(winner, Set.copyOf(sellerIds));
     }
 
 
@@ -123,6 +234,16 @@ public class BuyboxServiceImpl implements BuyboxService {
         return 1.0;
     }
     
+    private record BuyboxKey(Long productId, Long siteId) {
+    }
+
+    /**
+     * @param price     the winner, or null when no price is eligible
+     * @param sellerIds sellers that competed for the buybox
+     */
+    private record BuyboxWinner(Price price, Set<Long> sellerIds) {
+    }
+
     @lombok.Value
     private static class BuyboxScore {
         Price price;
@@ -1,11 +1,15 @@
 package com.scaler.price.core.management.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 @Configuration
 @EnableAsync
 public class AsyncConfig {
@@ -19,4 +23,40 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "ruleEvaluationExecutor")
+    public Executor ruleEvaluationExecutor(
+            @Value("${app.pricing.evaluation.core-pool-size:8}") int corePoolSize,
+            @Value("${app.pricing.evaluation.max-pool-size:16}") int maxPoolSize,
+            @Value("${app.pricing.evaluation.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("RuleEvaluator-");
+        // A full queue slows the submitting request down instead of rejecting work
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Lookups block on I/O for most of their life; a virtual thread each keeps them off the evaluation pool
+    @Bean(name = "evaluationPrefetchExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService evaluationPrefetchExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("InputPrefetch-", 0).factory());
+    }
+
+    @Bean(name = "bulkUploadWorkerExecutor")
+    public Executor bulkUploadWorkerExecutor(
+            @Value("${app.pricing.bulk.worker-pool-size:8}") int poolSize,
+            @Value("${app.pricing.bulk.worker-queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("BulkUploadWorker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -3,6 +3,7 @@ package com.scaler.price.core.management.controller;
 import com.scaler.price.core.management.domain.UploadStatus;
 import com.scaler.price.core.management.dto.BulkUploadResultDTO;
 import com.scaler.price.core.management.dto.PriceDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
 import com.scaler.price.core.management.exceptions.PriceValidationException;
 import com.scaler.price.core.management.service.BulkPriceUploadService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,7 +44,7 @@ public class BulkPriceUploadController {
         try {
             BulkUploadResultDTO result = bulkUploadService.processBulkUpload(file, sellerId, siteId);
             return ResponseEntity.ok(result);
-        } catch (PriceValidationException e) {
+        } catch (PriceValidationException | BulkUploadException e) {
             BulkUploadResultDTO errorResult = BulkUploadResultDTO.builder()
                     .status(UploadStatus.FAILED)
                     .message(e.getMessage())
@@ -100,6 +101,8 @@ public class BulkPriceUploadController {
 
     /**
      * Downloads the error report for a specific bulk upload.
+     * The report is CSV for CSV uploads and XLSX otherwise; Range requests are supported
+     * so large reports can be fetched in parts or resumed.
      *
      * @param uploadId The ID of the bulk upload
      * @return The error report file as a downloadable resource
@@ -107,10 +110,15 @@ public class BulkPriceUploadController {
     @GetMapping("/download/{uploadId}")
     public ResponseEntity<Resource> downloadErrorReport(@PathVariable String uploadId) {
         Resource resource = bulkUploadService.downloadErrorReport(uploadId);
-        
+        boolean csv = resource.getFilename() != null && resource.getFilename().endsWith(".csv");
+        MediaType contentType = csv
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"error_report_" + uploadId + ".xlsx\"")
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"error_report_" + uploadId + (csv ? ".csv" : ".xlsx") + "\"")
                 .body(resource);
     }
 }
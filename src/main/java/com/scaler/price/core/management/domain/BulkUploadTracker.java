@@ -1,5 +1,6 @@
 package com.scaler.price.core.management.domain;
 
+import com.scaler.price.core.bulk.parser.PriceFileFormat;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -45,4 +46,32 @@ public class BulkUploadTracker extends AuditInfo {
     private String errorFilePath;
 
     private String originalFileName;
+
+    // Stored copy of the upload, kept until processing completes so it can be resumed
+    @Column(name = "stored_file_path")
+    private String storedFilePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "file_format")
+    private PriceFileFormat fileFormat;
+
+    // Data rows committed from the start of the file, and the file row number of the last one
+    @Column(name = "checkpoint_records")
+    private Integer checkpointRecords;
+
+    @Column(name = "checkpoint_row")
+    private Integer checkpointRow;
+
+    @Column(name = "checkpoint_success_count")
+    private Integer checkpointSuccessCount;
+
+    @Column(name = "checkpoint_failure_count")
+    private Integer checkpointFailureCount;
+
+    // Last file row handed to the writers; rows up to here may already be in the database
+    @Column(name = "dispatched_row")
+    private Integer dispatchedRow;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
 }
\ No newline at end of file
@@ -41,6 +41,24 @@ public class FailedPrice extends AuditInfo {
     @Column(name = "mrp")
     private BigDecimal mrp;
 
+    @Column(name = "currency")
+    private String currency;
+
+    @Column(name = "effective_from")
+    private String effectiveFrom;
+
+    @Column(name = "effective_to")
+    private String effectiveTo;
+
+    @Column(name = "price_type")
+    private String priceType;
+
+    @Column(name = "row_status")
+    private String status;
+
+    @Column(name = "row_number")
+    private Integer rowNumber;
+
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 }
@@ -1,6 +1,6 @@
 package com.scaler.price.core.management.domain;
 
-
+import com.scaler.price.core.management.buybox.events.BuyboxEntityListener;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(BuyboxEntityListener.class)
 @Table(name = "prices",
         uniqueConstraints = {
                 @UniqueConstraint(
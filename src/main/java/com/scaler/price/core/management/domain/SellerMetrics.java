@@ -1,7 +1,9 @@
 package com.scaler.price.core.management.domain;
 
+import com.scaler.price.core.management.buybox.events.BuyboxEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 
 import jakarta.persistence.Table;
 import lombok.*;
@@ -11,6 +13,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(BuyboxEntityListener.class)
 @Table(name = "seller_metrics")
 @Getter
 @Setter
@@ -0,0 +1,17 @@
+package com.scaler.price.core.management.dto;
+
+import com.scaler.price.core.management.domain.PriceType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of the unique constraint on {@code prices}: a seller can have one price of a
+ * given type per product, site and start time.
+ */
+public record PriceKey(
+        Long productId,
+        Long sellerId,
+        Long siteId,
+        LocalDateTime effectiveFrom,
+        PriceType priceType) {
+}
@@ -0,0 +1,14 @@
+package com.scaler.price.core.management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Effective window of one price, without the rest of the entity.
+ */
+public record PriceWindow(
+        Long productId,
+        Long sellerId,
+        Long siteId,
+        LocalDateTime effectiveFrom,
+        LocalDateTime effectiveTo) {
+}
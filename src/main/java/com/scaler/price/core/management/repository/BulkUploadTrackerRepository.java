@@ -4,9 +4,11 @@ import com.scaler.price.core.management.domain.BulkUploadTracker;
 import com.scaler.price.core.management.domain.UploadStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,16 @@ public interface BulkUploadTrackerRepository extends JpaRepository<BulkUploadTra
     @Query("SELECT bt FROM BulkUploadTracker bt WHERE bt.status = :status AND bt.uploadedAt < :threshold")
     List<BulkUploadTracker> findStuckUploads(UploadStatus status, LocalDateTime threshold);
 
+    @Query("""
+        SELECT bt FROM BulkUploadTracker bt
+        WHERE bt.status IN :statuses
+        AND bt.storedFilePath IS NOT NULL
+        AND (bt.heartbeatAt IS NULL OR bt.heartbeatAt < :threshold)
+        """)
+    List<BulkUploadTracker> findResumableUploads(
+            @Param("statuses") Collection<UploadStatus> statuses,
+            @Param("threshold") LocalDateTime threshold);
+
     @Query("SELECT bt FROM BulkUploadTracker bt WHERE bt.uploadedAt BETWEEN :startDate AND :endDate")
     List<BulkUploadTracker> findUploadsInDateRange(LocalDateTime startDate, LocalDateTime endDate);
 }
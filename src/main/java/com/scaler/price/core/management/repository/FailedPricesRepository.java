@@ -1,12 +1,41 @@
 package com.scaler.price.core.management.repository;
 
 import com.scaler.price.core.management.domain.FailedPrice;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface FailedPricesRepository extends JpaRepository<FailedPrice, Long> {
     List<FailedPrice> findByUploadId(String uploadId);
+
+    long countByUploadId(String uploadId);
+
+    /**
+     * Keyset page of the failures of an upload in file row order, starting after the
+     * given (rowNumber, id) position.
+     */
+    @Query("""
+        SELECT fp FROM FailedPrice fp
+        WHERE fp.uploadId = :uploadId
+        AND (COALESCE(fp.rowNumber, 0) > :afterRow
+             OR (COALESCE(fp.rowNumber, 0) = :afterRow AND fp.id > :afterId))
+        ORDER BY COALESCE(fp.rowNumber, 0), fp.id
+        """)
+    List<FailedPrice> findPageAfter(
+            @Param("uploadId") String uploadId,
+            @Param("afterRow") int afterRow,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FailedPrice fp WHERE fp.uploadId = :uploadId AND (fp.rowNumber IS NULL OR fp.rowNumber > :rowNumber)")
+    int deleteAfterRow(@Param("uploadId") String uploadId, @Param("rowNumber") Integer rowNumber);
 }
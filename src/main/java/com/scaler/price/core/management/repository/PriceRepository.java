@@ -1,6 +1,7 @@
 package com.scaler.price.core.management.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.management.dto.PriceKey;
+import com.scaler.price.core.management.dto.PriceWindow;
 
 @Repository
 public interface PriceRepository extends JpaRepository<Price, Long> {
@@ -37,6 +40,20 @@ public interface PriceRepository extends JpaRepository<Price, Long> {
 
     List<Price> findBySellerIdAndSiteId(Long sellerId, Long siteId);
 
+    @Query("""
+        SELECT new com.scaler.price.core.management.dto.PriceKey(
+            p.productId, p.sellerId, p.siteId, p.effectiveFrom, p.priceType)
+        FROM Price p
+        WHERE p.productId IN :productIds
+        AND p.sellerId IN :sellerIds
+        AND p.siteId IN :siteIds
+        """)
+    List<PriceKey> findKeys(
+            @Param("productIds") Collection<Long> productIds,
+            @Param("sellerIds") Collection<Long> sellerIds,
+            @Param("siteIds") Collection<Long> siteIds
+    );
+
     @Query("""
         SELECT p FROM Price p 
         WHERE p.sellerId = :sellerId 
@@ -51,6 +68,23 @@ public interface PriceRepository extends JpaRepository<Price, Long> {
             LocalDateTime endDate
     );
 
+    /**
+     * Windows of active prices that open or close in {@code (startDate, endDate]}; the
+     * all-sellers counterpart of {@link #findUpcomingPriceChanges}.
+     */
+    @Query("""
+        SELECT new com.scaler.price.core.management.dto.PriceWindow(
+            p.productId, p.sellerId, p.siteId, p.effectiveFrom, p.effectiveTo)
+        FROM Price p
+        WHERE p.isActive = true
+        AND ((p.effectiveFrom > :startDate AND p.effectiveFrom <= :endDate)
+             OR (p.effectiveTo > :startDate AND p.effectiveTo <= :endDate))
+        """)
+    List<PriceWindow> findWindowsChangingBetween(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
     @Query("SELECT p FROM Price p " +
            "WHERE p.productId = :productId " +
            "AND p.siteId = :siteId " +
@@ -79,4 +113,4 @@ public interface PriceRepository extends JpaRepository<Price, Long> {
             @Param("isSellerActive") boolean isSellerActive,
             @Param("isSiteActive") boolean isSiteActive
     );
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.scaler.price.core.management.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.cache.CacheInvalidationBus;
 import com.scaler.price.core.management.domain.Configuration;
 import com.scaler.price.core.management.exceptions.ConfigurationNotFoundException;
 import com.scaler.price.core.management.exceptions.ConfigurationUpdateException;
@@ -9,7 +10,6 @@ import com.scaler.price.core.management.repository.ConfigurationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +32,7 @@ public class ConfigurationService {
     private final EncryptionService encryptionService;
     private final ObjectMapper objectMapper;
     private final ConfigurationRepository configurationRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Cacheable(key = "#key + '_' + #siteId")
     public String getValue(String key, String siteId) {
@@ -98,7 +99,6 @@ public class ConfigurationService {
         }
     }
 
-    @CacheEvict(key = "#key + '_' + #siteId")
     @Transactional
     public void setValue(String key, String value, String siteId) {
         try {
@@ -129,6 +129,11 @@ public class ConfigurationService {
                         "Failed to update configuration: " + key
                 );
             }
+
+            // Drop the raw value and every typed view of it, on all nodes
+            String cacheKey = key + "_" + siteId;
+            cacheInvalidationBus.invalidate("configurations",
+                    cacheKey, cacheKey + "_int", cacheKey + "_decimal", cacheKey + "_bool", cacheKey + "_json");
         } catch (ConfigurationException e) {
             throw new ConfigurationUpdateException(e.getMessage(), e);
         }
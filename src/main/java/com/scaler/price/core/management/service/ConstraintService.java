@@ -9,8 +9,10 @@ import com.scaler.price.rule.dto.CategoryAttributes;
 import com.scaler.price.validation.helper.ActionParameters;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service interface for managing and validating pricing rule constraints.
@@ -55,6 +57,42 @@ public interface ConstraintService {
                                           BigDecimal newDiscount,
                                           ActionParameters parameters);
 
+    /**
+     * Validates a price against the effective price bounds of a category on a site,
+     * including the bounds inherited from its parent categories
+     *
+     * @param categoryId Category identifier
+     * @param siteId Site identifier, or null for bounds that apply on any site
+     * @param price The price to validate
+     * @return List of constraint violations
+     */
+    List<String> validatePriceBounds(Long categoryId, Long siteId, BigDecimal price);
+
+    /**
+     * Validates a margin percentage against the effective margin bounds of a category on a site
+     *
+     * @param categoryId Category identifier
+     * @param siteId Site identifier, or null for bounds that apply on any site
+     * @param marginPercentage The margin percentage to validate
+     * @return List of constraint violations
+     */
+    List<String> validateMarginBounds(Long categoryId, Long siteId, BigDecimal marginPercentage);
+
+    /**
+     * Validates the stacked discount percentage against the effective discount bounds of
+     * a category on a site
+     *
+     * @param categoryId Category identifier
+     * @param siteId Site identifier, or null for bounds that apply on any site
+     * @param existingDiscounts Discount percentages already applied
+     * @param newDiscount Discount percentage to be applied
+     * @return List of constraint violations
+     */
+    List<String> validateDiscountStacking(Long categoryId,
+                                          Long siteId,
+                                          List<BigDecimal> existingDiscounts,
+                                          BigDecimal newDiscount);
+
     /**
      * Checks if a rule can be applied based on time constraints
      *
@@ -63,6 +101,25 @@ public interface ConstraintService {
      */
     boolean isTimeConstraintSatisfied(PricingRule rule);
 
+    /**
+     * Checks the time constraints of a category at an instant
+     *
+     * @param categoryId Category identifier
+     * @param at The instant to check
+     * @return true if the category's time constraints allow rules to apply, or it has none
+     */
+    boolean isTimeConstraintSatisfied(Long categoryId, Instant at);
+
+    /**
+     * Finds when the time constraints of a category next open or close, for schedulers
+     *
+     * @param categoryId Category identifier
+     * @param from The instant to search from
+     * @return The next instant within a year at which the result of
+     * {@link #isTimeConstraintSatisfied(Long, Instant)} changes, if any
+     */
+    Optional<Instant> findNextTimeTransition(Long categoryId, Instant from);
+
     /**
      * Validates inventory-related constraints
      *
@@ -0,0 +1,279 @@
+package com.scaler.price.core.management.service;
+
+import com.scaler.price.rule.domain.constraint.TimeCalendar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Immutable table of the effective price, discount and margin bounds of every
+ * (category, site) pair, flattened from the active constraints and the category tree.
+ *
+ * <p>Rows are sorted by category and site and held in parallel primitive arrays, so a
+ * lookup is a binary search and a bound check compares two longs. Amounts and
+ * percentages are stored in hundredths, the scale of the constraint columns. A row for
+ * {@link #ANY_SITE} holds the bounds that apply on sites without a row of their own.
+ *
+ * <p>Each bound is resolved independently: the category's own limits win, otherwise
+ * the nearest ancestor that sets it. At the same level a site-specific limit wins over
+ * one for any site.
+ *
+ * <p>The snapshot also holds the compiled {@link TimeCalendar} of each category with
+ * time constraints, so both are swapped together.
+ */
+public final class ConstraintSnapshot {
+    public static final long ANY_SITE = 0L;
+    public static final int SCALE = 2;
+
+    /** Marks a bound that no constraint sets */
+    static final long UNSET = Long.MIN_VALUE;
+
+    private static final int MAX_DEPTH = 64;
+
+    public static final ConstraintSnapshot EMPTY = new Builder().build();
+
+    public enum Bound {
+        MIN_PRICE,
+        MAX_PRICE,
+        MIN_DISCOUNT,
+        MAX_DISCOUNT,
+        MIN_MARGIN,
+        MAX_MARGIN;
+
+        private static final int COUNT = values().length;
+
+        boolean isLower() {
+            return this == MIN_PRICE || this == MIN_DISCOUNT || this == MIN_MARGIN;
+        }
+    }
+
+    private final long[] categoryIds;
+    private final long[] siteIds;
+    /** {@link Bound#COUNT} values per row */
+    private final long[] bounds;
+    private final int categories;
+    private final Map<Long, TimeCalendar> calendars;
+
+    private ConstraintSnapshot(long[] categoryIds, long[] siteIds, long[] bounds, int categories,
+                               Map<Long, TimeCalendar> calendars) {
+        this.categoryIds = categoryIds;
+        this.siteIds = siteIds;
+        this.bounds = bounds;
+        this.categories = categories;
+        this.calendars = calendars;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return categoryIds.length;
+    }
+
+    public int categoryCount() {
+        return categories;
+    }
+
+    /**
+     * @return the compiled time constraints of the category, or {@link TimeCalendar#ALWAYS}
+     * if it has none
+     */
+    public TimeCalendar calendar(long categoryId) {
+        return calendars.getOrDefault(categoryId, TimeCalendar.ALWAYS);
+    }
+
+    /**
+     * @return the row holding the bounds of the category on the site, falling back to
+     * its row for any site, or -1 if no constraint reaches the category
+     */
+    public int find(long categoryId, long siteId) {
+        int row = search(categoryId, siteId);
+        if (row < 0 && siteId != ANY_SITE) {
+            row = search(categoryId, ANY_SITE);
+        }
+        return row;
+    }
+
+    public boolean isSet(int row, Bound bound) {
+        return row >= 0 && bounds[row * Bound.COUNT + bound.ordinal()] != UNSET;
+    }
+
+    /**
+     * @return the bound, or null if it is not set for the row
+     */
+    public BigDecimal get(int row, Bound bound) {
+        return isSet(row, bound)
+                ? BigDecimal.valueOf(bounds[row * Bound.COUNT + bound.ordinal()], SCALE)
+                : null;
+    }
+
+    /**
+     * @return whether {@code value} is below the lower bound set for the row
+     */
+    public boolean isBelow(int row, Bound bound, BigDecimal value) {
+        if (!isSet(row, bound)) {
+            return false;
+        }
+        // Rounding down keeps the comparison exact for values with more decimals
+        return scale(value, RoundingMode.FLOOR) < bounds[row * Bound.COUNT + bound.ordinal()];
+    }
+
+    /**
+     * @return whether {@code value} is above the upper bound set for the row
+     */
+    public boolean isAbove(int row, Bound bound, BigDecimal value) {
+        if (!isSet(row, bound)) {
+            return false;
+        }
+        return scale(value, RoundingMode.CEILING) > bounds[row * Bound.COUNT + bound.ordinal()];
+    }
+
+    private int search(long categoryId, long siteId) {
+        int low = 0;
+        int high = categoryIds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = categoryIds[mid] != categoryId
+                    ? Long.compare(categoryIds[mid], categoryId)
+                    : Long.compare(siteIds[mid], siteId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static long scale(BigDecimal value, RoundingMode mode) {
+        BigDecimal scaled = value.setScale(SCALE, mode);
+        if (scaled.precision() - scaled.scale() > 16) {
+            // Beyond any stored bound; the sentinel stays out of reach
+            return scaled.signum() < 0 ? Long.MIN_VALUE + 1 : Long.MAX_VALUE;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    /**
+     * Collects the limits set at each level of the category tree. Limits are added in
+     * precedence order: the first one set for a (category, site, bound) is kept.
+     */
+    public static final class Builder {
+        private final Map<Long, Long> parents = new HashMap<>();
+        private final Map<Long, Map<Long, long[]>> limits = new HashMap<>();
+        private final Map<Long, TimeCalendar> calendars = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder category(long categoryId, Long parentCategoryId) {
+            parents.put(categoryId, parentCategoryId);
+            return this;
+        }
+
+        public Builder limit(long categoryId, long siteId, Bound bound, BigDecimal value) {
+            if (value == null) {
+                return this;
+            }
+            long[] own = limits.computeIfAbsent(categoryId, id -> new HashMap<>())
+                    .computeIfAbsent(siteId, id -> newRow());
+            if (own[bound.ordinal()] == UNSET) {
+                // Round outwards so a bound never rejects a value its column accepts
+                own[bound.ordinal()] = scale(value, bound.isLower() ? RoundingMode.FLOOR : RoundingMode.CEILING);
+            }
+            return this;
+        }
+
+        /**
+         * Keeps the first calendar added for a category
+         */
+        public Builder calendar(long categoryId, TimeCalendar calendar) {
+            calendars.putIfAbsent(categoryId, calendar);
+            return this;
+        }
+
+        public ConstraintSnapshot build() {
+            Set<Long> categories = new TreeSet<>(parents.keySet());
+            categories.addAll(limits.keySet());
+
+            List<long[]> rows = new ArrayList<>();
+            List<Long> rowCategories = new ArrayList<>();
+            List<Long> rowSites = new ArrayList<>();
+            int reached = 0;
+            for (long categoryId : categories) {
+                List<Long> chain = chain(categoryId);
+                SortedSet<Long> sites = new TreeSet<>();
+                for (Long ancestor : chain) {
+                    sites.addAll(limits.getOrDefault(ancestor, Map.of()).keySet());
+                }
+                if (sites.isEmpty()) {
+                    continue;
+                }
+                sites.add(ANY_SITE);
+                reached++;
+                for (long siteId : sites) {
+                    rows.add(resolve(chain, siteId));
+                    rowCategories.add(categoryId);
+                    rowSites.add(siteId);
+                }
+            }
+
+            long[] categoryIds = new long[rows.size()];
+            long[] siteIds = new long[rows.size()];
+            long[] bounds = new long[rows.size() * Bound.COUNT];
+            for (int i = 0; i < rows.size(); i++) {
+                categoryIds[i] = rowCategories.get(i);
+                siteIds[i] = rowSites.get(i);
+                System.arraycopy(rows.get(i), 0, bounds, i * Bound.COUNT, Bound.COUNT);
+            }
+            return new ConstraintSnapshot(categoryIds, siteIds, bounds, reached, Map.copyOf(calendars));
+        }
+
+        private long[] resolve(List<Long> chain, long siteId) {
+            long[] row = newRow();
+            for (Long ancestor : chain) {
+                Map<Long, long[]> bySite = limits.getOrDefault(ancestor, Map.of());
+                fill(row, bySite.get(siteId));
+                if (siteId != ANY_SITE) {
+                    fill(row, bySite.get(ANY_SITE));
+                }
+            }
+            return row;
+        }
+
+        /**
+         * The category followed by its ancestors, stopping at a cycle or an unknown parent
+         */
+        private List<Long> chain(long categoryId) {
+            List<Long> chain = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            Long current = categoryId;
+            while (current != null && seen.add(current) && chain.size() < MAX_DEPTH) {
+                chain.add(current);
+                current = parents.get(current);
+            }
+            return chain;
+        }
+
+        private static void fill(long[] row, long[] limits) {
+            if (limits == null) {
+                return;
+            }
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] == UNSET) {
+                    row[i] = limits[i];
+                }
+            }
+        }
+
+        private static long[] newRow() {
+            long[] row = new long[Bound.COUNT];
+            Arrays.fill(row, UNSET);
+            return row;
+        }
+    }
+}
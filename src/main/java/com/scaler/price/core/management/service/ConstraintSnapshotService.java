@@ -0,0 +1,211 @@
+package com.scaler.price.core.management.service;
+
+import com.scaler.price.core.cache.CacheInvalidation;
+import com.scaler.price.core.management.repository.CategoryAttributesRepository;
+import com.scaler.price.core.management.repository.MarginConstraintsRepository;
+import com.scaler.price.core.management.repository.PriceConstraintsRepository;
+import com.scaler.price.core.management.repository.TimeConstraintsRepository;
+import com.scaler.price.core.management.service.ConstraintSnapshot.Bound;
+import com.scaler.price.rule.domain.Category;
+import com.scaler.price.rule.domain.constraint.CategoryLimit;
+import com.scaler.price.rule.domain.constraint.MarginConstraints;
+import com.scaler.price.rule.domain.constraint.PriceConstraints;
+import com.scaler.price.rule.domain.constraint.RuleConstraints;
+import com.scaler.price.rule.domain.constraint.TimeConstraints;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the current {@link ConstraintSnapshot}. Validations read it without locking;
+ * a rebuild loads the active price, margin and time constraints and the category tree,
+ * builds a new snapshot and swaps the reference.
+ *
+ * <p>The snapshot is built on startup, after every constraint change on this node, when
+ * another node invalidates the {@code categoryConstraints} cache, and periodically so
+ * that price and margin constraints entering or leaving their effective window are
+ * picked up; time constraints carry their window in their calendar. Until the first
+ * build every lookup misses and no bound or schedule is enforced.
+ */
+@Slf4j
+@Service
+public class ConstraintSnapshotService {
+    public static final String CACHE_NAME = "categoryConstraints";
+
+    // Newest first, so the latest constraint of a category wins over older duplicates
+    private static final Comparator<RuleConstraints> NEWEST_FIRST = Comparator.comparing(
+            RuleConstraints::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final PriceConstraintsRepository priceConstraintsRepository;
+    private final MarginConstraintsRepository marginConstraintsRepository;
+    private final CategoryAttributesRepository categoryAttributesRepository;
+    private final TimeConstraintsRepository timeConstraintsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile ConstraintSnapshot snapshot = ConstraintSnapshot.EMPTY;
+
+    public ConstraintSnapshotService(PriceConstraintsRepository priceConstraintsRepository,
+                                     MarginConstraintsRepository marginConstraintsRepository,
+                                     CategoryAttributesRepository categoryAttributesRepository,
+                                     TimeConstraintsRepository timeConstraintsRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.priceConstraintsRepository = priceConstraintsRepository;
+        this.marginConstraintsRepository = marginConstraintsRepository;
+        this.categoryAttributesRepository = categoryAttributesRepository;
+        this.timeConstraintsRepository = timeConstraintsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Also runs from afterCommit, where joining the finished transaction is not an option
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public ConstraintSnapshot current() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.constraints.snapshot-refresh-ms:300000}",
+            initialDelayString = "${app.pricing.constraints.snapshot-refresh-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Constraint changes made on other nodes arrive as invalidations of the
+     * {@code categoryConstraints} cache.
+     */
+    @EventListener(condition = "#invalidation.cacheName() == 'categoryConstraints'")
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds once the current transaction commits, or right away outside of one.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds are serialized so an older load never replaces a newer one.
+     */
+    public synchronized void rebuild() {
+        try {
+            long started = System.nanoTime();
+            ConstraintSnapshot built = transactionTemplate.execute(status -> load(LocalDateTime.now()));
+            snapshot = Objects.requireNonNull(built);
+            log.info("Constraint snapshot rebuilt with {} rows for {} categories in {} ms",
+                    built.size(), built.categoryCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to rebuild constraint snapshot, keeping the previous one: {}", e.getMessage(), e);
+        }
+    }
+
+    private ConstraintSnapshot load(LocalDateTime now) {
+        ConstraintSnapshot.Builder builder = ConstraintSnapshot.builder();
+        for (Category category : categoryAttributesRepository.findAll()) {
+            builder.category(category.getId(), category.getParentCategoryId());
+        }
+
+        List<PriceConstraints> prices = priceConstraintsRepository.findByIsActiveTrue().stream()
+                .filter(constraints -> isEffective(constraints, now))
+                .sorted(NEWEST_FIRST)
+                .toList();
+        // Category limits are the most specific price bounds, so they go in first
+        for (PriceConstraints constraints : prices) {
+            for (CategoryLimit limit : constraints.getCategoryLimits()) {
+                Long categoryId = parseId(limit.getCategoryId());
+                if (categoryId == null) {
+                    continue;
+                }
+                builder.limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MIN_PRICE, limit.getMinPrice())
+                        .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, limit.getMaxPrice())
+                        .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MIN_DISCOUNT, limit.getMinDiscountPercentage())
+                        .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MAX_DISCOUNT, limit.getMaxDiscountPercentage());
+            }
+        }
+        for (PriceConstraints constraints : prices) {
+            Long categoryId = constraints.getCategoryId();
+            if (categoryId == null) {
+                continue;
+            }
+            builder.limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MIN_PRICE, constraints.getMinimumPrice())
+                    .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, constraints.getMaximumPrice())
+                    .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MIN_DISCOUNT, constraints.getMinDiscountPercentage())
+                    .limit(categoryId, ConstraintSnapshot.ANY_SITE, Bound.MAX_DISCOUNT, constraints.getMaxDiscountPercentage());
+        }
+
+        List<MarginConstraints> margins = marginConstraintsRepository.findByIsActiveTrue().stream()
+                .filter(constraints -> isEffective(constraints, now))
+                .sorted(NEWEST_FIRST)
+                .toList();
+        for (MarginConstraints constraints : margins) {
+            Long categoryId = constraints.getCategoryId();
+            if (categoryId == null) {
+                continue;
+            }
+            Long siteId = parseId(constraints.getSiteId());
+            long site = siteId != null ? siteId : ConstraintSnapshot.ANY_SITE;
+            builder.limit(categoryId, site, Bound.MIN_MARGIN, firstNonNull(
+                            constraints.getMinMarginPercentage(), constraints.getMinimumMargin()))
+                    .limit(categoryId, site, Bound.MAX_MARGIN, firstNonNull(
+                            constraints.getMaxMarginPercentage(), constraints.getMaximumMargin()));
+        }
+
+        List<TimeConstraints> times = timeConstraintsRepository.findByIsActiveTrue().stream()
+                .filter(constraints -> constraints.getCategoryId() != null)
+                .sorted(NEWEST_FIRST)
+                .toList();
+        for (TimeConstraints constraints : times) {
+            // Compiled here, while the lazy collections can still be loaded
+            builder.calendar(constraints.getCategoryId(), constraints.getCalendar());
+        }
+        return builder.build();
+    }
+
+    private static boolean isEffective(RuleConstraints constraints, LocalDateTime now) {
+        return (constraints.getEffectiveFrom() == null || !constraints.getEffectiveFrom().isAfter(now))
+                && (constraints.getEffectiveTo() == null || constraints.getEffectiveTo().isAfter(now));
+    }
+
+    private static <T> T firstNonNull(T first, T second) {
+        return first != null ? first : second;
+    }
+
+    private static Long parseId(String id) {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring constraint with non-numeric id {}", id);
+            return null;
+        }
+    }
+}
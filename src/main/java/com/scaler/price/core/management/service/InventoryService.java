@@ -4,6 +4,10 @@ import org.springframework.stereotype.Service;
 
 import com.scaler.price.core.management.utils.PriceUpdateCommand;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 
 @Service
 public class InventoryService {
@@ -15,4 +19,18 @@ public class InventoryService {
         
         return null;
     }
+
+    /**
+     * Bulk variant of {@link #getInventoryLevel}; products without a known level are omitted.
+     */
+    public Map<Long, Integer> getInventoryLevels(Collection<Long> productIds, Long sellerId, Long siteId) {
+        Map<Long, Integer> levels = new HashMap<>();
+        for (Long productId : productIds) {
+            Integer level = getInventoryLevel(productId, sellerId, siteId);
+            if (level != null) {
+                levels.put(productId, level);
+            }
+        }
+        return levels;
+    }
 }
@@ -7,4 +7,10 @@ public interface SellerScoreService {
      * @return Normalized rating between 0 and 1
      */
     double getSellerRating(Long sellerId);
+
+    /**
+     * Drops the cached rating of a seller after its metrics changed
+     * @param sellerId The seller whose metrics changed
+     */
+    void evictSellerRating(Long sellerId);
 } 
\ No newline at end of file
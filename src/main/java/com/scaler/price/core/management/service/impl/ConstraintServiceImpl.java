@@ -1,11 +1,15 @@
 package com.scaler.price.core.management.service.impl;
 
 import com.scaler.price.audit.AuditEventPublisher;
+import com.scaler.price.core.cache.CacheInvalidationBus;
 import com.scaler.price.core.management.repository.CategoryAttributesRepository;
 import com.scaler.price.core.management.repository.MarginConstraintsRepository;
 import com.scaler.price.core.management.repository.PriceConstraintsRepository;
 import com.scaler.price.core.management.repository.TimeConstraintsRepository;
 import com.scaler.price.core.management.service.ConstraintService;
+import com.scaler.price.core.management.service.ConstraintSnapshot;
+import com.scaler.price.core.management.service.ConstraintSnapshot.Bound;
+import com.scaler.price.core.management.service.ConstraintSnapshotService;
 import com.scaler.price.rule.domain.Category;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.constraint.MarginConstraints;
@@ -15,6 +19,7 @@ import com.scaler.price.rule.domain.constraint.TimeConstraints;
 import com.scaler.price.rule.dto.CategoryAttributes;
 import com.scaler.price.rule.mapper.CategoryMapper;
 import com.scaler.price.rule.repository.RuleRepository;
+import com.scaler.price.rule.service.CompetitorPriceService;
 import com.scaler.price.validation.helper.ActionParameters;
 import com.scaler.price.validation.services.TimeValidator;
 import jakarta.persistence.EntityNotFoundException;
@@ -27,6 +32,7 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -41,11 +47,14 @@ public class ConstraintServiceImpl implements ConstraintService {
     private final RuleRepository ruleRepository;
     private final TimeValidator timeValidator;
     private static final BigDecimal HUNDRED = new BigDecimal("100");
-    private TimeConstraintsRepository timeConstraintsRepository;
-    private AuditEventPublisher auditEventPublisher;
-    private PriceConstraintsRepository priceConstraintsRepository;
-    private MarginConstraintsRepository marginConstraintsRepository;
-    private CategoryAttributesRepository categoryAttributesRepository;
+    private final TimeConstraintsRepository timeConstraintsRepository;
+    private final AuditEventPublisher auditEventPublisher;
+    private final PriceConstraintsRepository priceConstraintsRepository;
+    private final MarginConstraintsRepository marginConstraintsRepository;
+    private final CategoryAttributesRepository categoryAttributesRepository;
+    private final ConstraintSnapshotService constraintSnapshotService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CompetitorPriceService competitorPriceService;
     private CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
 
 
@@ -157,10 +166,127 @@ public class ConstraintServiceImpl implements ConstraintService {
         return violations;
     }
 
+    @Override
+    public List<String> validatePriceBounds(Long categoryId, Long siteId, BigDecimal price) {
+        List<String> violations = new ArrayList<>();
+
+        if (price == null) {
+            violations.add("Price cannot be null");
+            return violations;
+        }
+
+        ConstraintSnapshot snapshot = constraintSnapshotService.current();
+        int row = findBounds(snapshot, categoryId, siteId);
+        if (snapshot.isBelow(row, Bound.MIN_PRICE, price)) {
+            violations.add("Price is below minimum price " + snapshot.get(row, Bound.MIN_PRICE)
+                    + " for category " + categoryId);
+        }
+        if (snapshot.isAbove(row, Bound.MAX_PRICE, price)) {
+            violations.add("Price exceeds maximum price " + snapshot.get(row, Bound.MAX_PRICE)
+                    + " for category " + categoryId);
+        }
+
+        return violations;
+    }
+
+    @Override
+    public List<String> validateMarginBounds(Long categoryId, Long siteId, BigDecimal marginPercentage) {
+        List<String> violations = new ArrayList<>();
+
+        if (marginPercentage == null) {
+            violations.add("Margin cannot be null");
+            return violations;
+        }
+
+        ConstraintSnapshot snapshot = constraintSnapshotService.current();
+        int row = findBounds(snapshot, categoryId, siteId);
+        if (snapshot.isBelow(row, Bound.MIN_MARGIN, marginPercentage)) {
+            violations.add("Margin is below minimum margin " + snapshot.get(row, Bound.MIN_MARGIN)
+                    + "% for category " + categoryId);
+        }
+        if (snapshot.isAbove(row, Bound.MAX_MARGIN, marginPercentage)) {
+            violations.add("Margin exceeds maximum margin " + snapshot.get(row, Bound.MAX_MARGIN)
+                    + "% for category " + categoryId);
+        }
+
+        return violations;
+    }
+
+    @Override
+    public List<String> validateDiscountStacking(Long categoryId,
+                                                 Long siteId,
+                                                 List<BigDecimal> existingDiscounts,
+                                                 BigDecimal newDiscount) {
+        List<String> violations = new ArrayList<>();
+
+        if (newDiscount == null) {
+            violations.add("New discount cannot be null");
+            return violations;
+        }
+
+        BigDecimal totalDiscount = newDiscount;
+        if (existingDiscounts != null) {
+            for (BigDecimal discount : existingDiscounts) {
+                if (discount != null) {
+                    totalDiscount = totalDiscount.add(discount);
+                }
+            }
+        }
+
+        ConstraintSnapshot snapshot = constraintSnapshotService.current();
+        int row = findBounds(snapshot, categoryId, siteId);
+        if (snapshot.isBelow(row, Bound.MIN_DISCOUNT, totalDiscount)) {
+            violations.add("Total discount is below minimum discount " + snapshot.get(row, Bound.MIN_DISCOUNT)
+                    + "% for category " + categoryId);
+        }
+        if (snapshot.isAbove(row, Bound.MAX_DISCOUNT, totalDiscount)) {
+            violations.add("Total discount exceeds maximum discount " + snapshot.get(row, Bound.MAX_DISCOUNT)
+                    + "% for category " + categoryId);
+        }
+
+        return violations;
+    }
+
+    private static int findBounds(ConstraintSnapshot snapshot, Long categoryId, Long siteId) {
+        if (categoryId == null) {
+            return -1;
+        }
+        return snapshot.find(categoryId, siteId != null ? siteId : ConstraintSnapshot.ANY_SITE);
+    }
+
     @Override
     public boolean isTimeConstraintSatisfied(PricingRule rule) {
         LocalDateTime now = LocalDateTime.now();
-        return timeValidator.isValidTime(rule.getStartDate(), rule.getEndDate(), now);
+        if (rule.getStartDate() != null && rule.getEndDate() != null
+                && !timeValidator.isValidTime(rule.getStartDate(), rule.getEndDate(), now)) {
+            return false;
+        }
+
+        // Every category the rule targets must be within its schedule
+        Instant instant = Instant.now();
+        ConstraintSnapshot snapshot = constraintSnapshotService.current();
+        for (Long categoryId : rule.getAllowedCategories()) {
+            if (categoryId != null && !snapshot.calendar(categoryId).isActive(instant)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTimeConstraintSatisfied(Long categoryId, Instant at) {
+        if (categoryId == null || at == null) {
+            throw new IllegalArgumentException("Category ID and instant are required");
+        }
+        return constraintSnapshotService.current().calendar(categoryId).isActive(at);
+    }
+
+    @Override
+    public Optional<Instant> findNextTimeTransition(Long categoryId, Instant from) {
+        if (categoryId == null || from == null) {
+            throw new IllegalArgumentException("Category ID and instant are required");
+        }
+        return constraintSnapshotService.current().calendar(categoryId).nextTransition(from);
     }
 
     @Override
@@ -359,7 +485,8 @@ public class ConstraintServiceImpl implements ConstraintService {
 
         // Validate competitor price constraints
         if (parameters.getCompetitor() != null) {
-            BigDecimal competitorPrice = getCompetitorPrice(productId, parameters.getCompetitor());
+            BigDecimal competitorPrice = competitorPriceService.getCompetitorPrice(
+                    parameters.getCompetitor(), productId);
             if (competitorPrice != null) {
                 if (parameters.getBeatPercentage() != null) {
                     BigDecimal minPrice = competitorPrice.multiply(
@@ -388,12 +515,6 @@ public class ConstraintServiceImpl implements ConstraintService {
         return "REGULAR";
     }
 
-    private BigDecimal getCompetitorPrice(Long productId, Long competitor) {
-        // Implementation to fetch competitor price
-        // This should be replaced with actual competitor price fetching logic
-        return BigDecimal.ZERO;
-    }
-
 
     @Override
     @Transactional
@@ -437,6 +558,9 @@ public class ConstraintServiceImpl implements ConstraintService {
             );
         }
 
+        constraintSnapshotService.rebuildAfterCommit();
+        cacheInvalidationBus.invalidateAll(ConstraintSnapshotService.CACHE_NAME);
+
         log.info("Successfully set margin constraints for category {}: {}",
                 constraints.getId(), savedConstraints);
         return savedConstraints;
@@ -485,6 +609,9 @@ public class ConstraintServiceImpl implements ConstraintService {
             );
         }
 
+        constraintSnapshotService.rebuildAfterCommit();
+        cacheInvalidationBus.invalidateAll(ConstraintSnapshotService.CACHE_NAME);
+
         log.info("Successfully set price constraints for category {}: {}",
                 constraints.getId(), savedConstraints);
         return savedConstraints;
@@ -531,6 +658,9 @@ public class ConstraintServiceImpl implements ConstraintService {
             );
         }
 
+        constraintSnapshotService.rebuildAfterCommit();
+        cacheInvalidationBus.invalidateAll(ConstraintSnapshotService.CACHE_NAME);
+
         log.info("Successfully set time constraints for category {}: {}",
                 constraints.getCategoryId(), savedConstraints);
         return savedConstraints;
@@ -10,8 +10,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -71,11 +73,23 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Writes an error report straight to its file, so callers can stream rows into it
+     * instead of building the report in memory first.
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     public String saveErrorReport(Workbook workbook, String uploadId) {
         if (workbook == null) {
             throw new FileStorageException("Workbook cannot be null");
         }
-        
+        return saveErrorReport(uploadId, "xlsx", workbook::write);
+    }
+
+    public String saveErrorReport(String uploadId, String extension, ReportWriter reportWriter) {
         try {
             // Create date-based directory structure for error reports
             LocalDate today = LocalDate.now();
@@ -92,18 +106,20 @@ public class FileStorageService {
             }
 
             // Generate error report filename with timestamp to avoid conflicts
-            String errorFileName = String.format("%s_errors_%s.xlsx", 
+            String errorFileName = String.format("%s_errors_%s.%s", 
                 uploadId, 
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
+                extension);
             Path errorFilePath = dateBasedDir.resolve(errorFileName);
 
-            // Write workbook to file
-            try (FileOutputStream fos = new FileOutputStream(errorFilePath.toFile())) {
-                workbook.write(fos);
+            // Stream the report to file
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(errorFilePath))) {
+                reportWriter.writeTo(out);
                 log.info("Successfully saved error report: {}", errorFilePath);
                 return errorFilePath.toString();
             } catch (IOException e) {
                 log.error("Failed to write error report to file: {}", errorFilePath);
+                Files.deleteIfExists(errorFilePath);
                 throw new FileStorageException("Could not write error report to file", e);
             }
         } catch (Exception ex) {
@@ -1,6 +1,10 @@
 // com.scaler.price.core.management.service.impl.PriceServiceImpl.java
 package com.scaler.price.core.management.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
 import com.scaler.price.core.management.buybox.service.BuyboxService;
 import com.scaler.price.core.management.domain.Price;
 import com.scaler.price.core.management.dto.PriceDTO;
@@ -12,17 +16,19 @@ import com.scaler.price.core.management.service.PriceService;
 import com.scaler.price.core.management.service.PriceValidationService;
 import com.scaler.price.rule.service.SellerService;
 import com.scaler.price.rule.service.SiteService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class PriceServiceImpl implements PriceService {
     private final PriceRepository priceRepository;
     private final PriceValidationService validationService;
@@ -31,6 +37,27 @@ public class PriceServiceImpl implements PriceService {
     private final SiteService siteService;
     private final BuyboxService buyboxService;
 
+    // Active price per (product, seller, site); dropped when one of its prices changes or
+    // when one of their effective windows opens or closes. Misses are not cached.
+    private final Cache<ActivePriceKey, Price> activePrices;
+
+    public PriceServiceImpl(
+            PriceRepository priceRepository,
+            PriceValidationService validationService,
+            PriceMapper priceMapper,
+            SellerService sellerService,
+            SiteService siteService,
+            BuyboxService buyboxService,
+            @Value("${app.pricing.cache.active-prices:maximumSize=100000,expireAfterWrite=10m}") String activePricesSpec) {
+        this.priceRepository = priceRepository;
+        this.validationService = validationService;
+        this.priceMapper = priceMapper;
+        this.sellerService = sellerService;
+        this.siteService = siteService;
+        this.buyboxService = buyboxService;
+        this.activePrices = Caffeine.from(activePricesSpec).build();
+    }
+
     @Override
     @Transactional
     public PriceDTO createPrice(PriceDTO priceDTO) throws PriceValidationException {
@@ -92,10 +119,12 @@ public class PriceServiceImpl implements PriceService {
 
     @Override
     public PriceDTO getActivePrice(Long productId, Long sellerId, Long siteId) {
-        Price price = priceRepository.findActivePrice(productId, sellerId, siteId, LocalDateTime.now())
-                .orElseThrow(() -> new PriceNotFoundException(
-                        String.format("No active price found for product: %d, seller: %d, site: %d",
-                                productId, sellerId, siteId)));
+        Price price = activePrices.get(new ActivePriceKey(productId, sellerId, siteId),
+                key -> priceRepository.findActivePrice(productId, sellerId, siteId, LocalDateTime.now()).orElse(null));
+        if (price == null) {
+            throw new PriceNotFoundException(String.format("No active price found for product: %d, seller: %d, site: %d",
+                    productId, sellerId, siteId));
+        }
         return priceMapper.toDTO(price);
     }
 
@@ -110,4 +139,17 @@ public class PriceServiceImpl implements PriceService {
             throw new PriceNotFoundException("No active price found for product: " + productId + " and site: " + siteId);
         }
     }
-}
\ No newline at end of file
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        activePrices.invalidate(new ActivePriceKey(event.productId(), event.sellerId(), event.siteId()));
+    }
+
+    @EventListener
+    public void onPriceWindowTransition(PriceWindowTransitionEvent event) {
+        activePrices.invalidate(new ActivePriceKey(event.productId(), event.sellerId(), event.siteId()));
+    }
+
+    private record ActivePriceKey(Long productId, Long sellerId, Long siteId) {
+    }
+}
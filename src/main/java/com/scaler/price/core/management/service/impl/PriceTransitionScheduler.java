@@ -0,0 +1,151 @@
+package com.scaler.price.core.management.service.impl;
+
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
+import com.scaler.price.core.management.dto.PriceWindow;
+import com.scaler.price.core.management.repository.PriceRepository;
+import com.scaler.price.core.management.utils.HierarchicalTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link PriceWindowTransitionEvent} when a price's effective window opens or
+ * closes, so caches of active prices can be refreshed at the boundary instead of
+ * comparing against {@code now()} on every read.
+ *
+ * <p>Boundaries within the next {@code horizon} are held in a
+ * {@link HierarchicalTimingWheel} advanced by a single ticker thread. The horizon is
+ * reloaded from {@link PriceRepository} before it runs out, and prices written in the
+ * meantime are added from their {@link PriceChangedEvent}s.
+ */
+@Service
+@Slf4j
+public class PriceTransitionScheduler {
+    private final PriceRepository priceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long tickMs;
+    private final int wheelSize;
+    private final Duration horizon;
+
+    private final Set<PriceWindowTransitionEvent> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile HierarchicalTimingWheel<PriceWindowTransitionEvent> wheel;
+    private volatile LocalDateTime loadedUntil;
+    private ScheduledExecutorService ticker;
+
+    public PriceTransitionScheduler(
+            PriceRepository priceRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.pricing.transitions.tick-ms:1000}") long tickMs,
+            @Value("${app.pricing.transitions.wheel-size:60}") int wheelSize,
+            @Value("${app.pricing.transitions.horizon-minutes:60}") long horizonMinutes) {
+        this.priceRepository = priceRepository;
+        this.eventPublisher = eventPublisher;
+        this.tickMs = Math.max(1, tickMs);
+        this.wheelSize = Math.max(2, wheelSize);
+        this.horizon = Duration.ofMinutes(Math.max(1, horizonMinutes));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        LocalDateTime now = LocalDateTime.now();
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, toMillis(now));
+        loadedUntil = now;
+        loadUntil(now.plus(horizon));
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PriceTransitionTicker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Price transition scheduler started with {} boundaries in the next {}", wheel.size(), horizon);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(PriceChangedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = loadedUntil;
+        // Boundaries past the horizon are picked up by the next reload
+        for (LocalDateTime boundary : new LocalDateTime[]{event.effectiveFrom(), event.effectiveTo()}) {
+            if (boundary != null && boundary.isAfter(now) && !boundary.isAfter(until)) {
+                schedule(new PriceWindowTransitionEvent(event.productId(), event.sellerId(), event.siteId(), boundary));
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (PriceWindowTransitionEvent transition : wheel.advanceTo(toMillis(now))) {
+                fire(transition);
+            }
+            // Reload halfway through the horizon so boundaries are in the wheel well before they are due
+            if (now.plus(horizon.dividedBy(2)).isAfter(loadedUntil)) {
+                loadUntil(now.plus(horizon));
+            }
+        } catch (Exception e) {
+            log.error("Price transition tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void loadUntil(LocalDateTime until) {
+        LocalDateTime from = loadedUntil;
+        for (PriceWindow window : priceRepository.findWindowsChangingBetween(from, until)) {
+            for (LocalDateTime boundary : new LocalDateTime[]{window.effectiveFrom(), window.effectiveTo()}) {
+                if (boundary != null && boundary.isAfter(from) && !boundary.isAfter(until)) {
+                    schedule(new PriceWindowTransitionEvent(window.productId(), window.sellerId(), window.siteId(), boundary));
+                }
+            }
+        }
+        loadedUntil = until;
+        log.debug("Loaded price transitions up to {}, {} pending", until, wheel.size());
+    }
+
+    private void schedule(PriceWindowTransitionEvent transition) {
+        if (!scheduled.add(transition)) {
+            return;
+        }
+        if (!wheel.schedule(toMillis(transition.boundary()), transition)) {
+            fire(transition);
+        }
+    }
+
+    private void fire(PriceWindowTransitionEvent transition) {
+        scheduled.remove(transition);
+        try {
+            eventPublisher.publishEvent(transition);
+        } catch (Exception e) {
+            log.error("Failed to publish price transition {}: {}", transition, e.getMessage(), e);
+        }
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -5,6 +5,7 @@ import com.scaler.price.core.management.repository.SellerMetricsRepository;
 import com.scaler.price.core.management.service.SellerScoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +30,12 @@ public class SellerScoreServiceImpl implements SellerScoreService {
                 
         return calculateNormalizedScore(metrics);
     }
+
+    @Override
+    @CacheEvict(value = "sellerScores", key = "#sellerId")
+    public void evictSellerRating(Long sellerId) {
+        log.debug("Evicting cached seller score for seller: {}", sellerId);
+    }
     
     private double calculateNormalizedScore(SellerMetrics metrics) {
         double score = 0.0;
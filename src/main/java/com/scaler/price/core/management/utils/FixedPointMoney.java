@@ -0,0 +1,105 @@
+package com.scaler.price.core.management.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money arithmetic on unscaled {@code long}s: prices in minor units at
+ * {@link #PRICE_SCALE}, percentages at {@link #PERCENT_SCALE}. Every operation rounds
+ * HALF_UP, away from zero on ties, exactly like {@code BigDecimal.divide(.., HALF_UP)}
+ * on the same operands, so a result converted back with {@link #toBigDecimal} equals
+ * the one the BigDecimal code computes.
+ *
+ * <p>Values that are not exact at the scale, or do not fit, convert to
+ * {@link #UNREPRESENTABLE}; callers then stay on BigDecimal. Operations throw
+ * {@link ArithmeticException} on overflow.
+ */
+public final class FixedPointMoney {
+    public static final int PRICE_SCALE = 2;
+    public static final int PERCENT_SCALE = 4;
+    public static final long UNREPRESENTABLE = Long.MIN_VALUE;
+
+    /** One hundred percent at {@link #PERCENT_SCALE} */
+    public static final long HUNDRED_PERCENT = 1_000_000L;
+
+    private FixedPointMoney() {
+    }
+
+    /**
+     * @return the value unscaled at {@code scale}, or {@link #UNREPRESENTABLE} if that
+     * would need rounding or does not fit in a long
+     */
+    public static long toUnscaled(BigDecimal value, int scale) {
+        if (value == null) {
+            return UNREPRESENTABLE;
+        }
+        if (value.scale() > scale) {
+            value = value.stripTrailingZeros();
+            if (value.scale() > scale) {
+                return UNREPRESENTABLE;
+            }
+        }
+        return exact(value.movePointRight(scale));
+    }
+
+    /**
+     * Same as {@code value.setScale(scale, HALF_UP)}, unscaled.
+     *
+     * @return the rounded value, or {@link #UNREPRESENTABLE} if it does not fit in a long
+     */
+    public static long toUnscaledRounded(BigDecimal value, int scale) {
+        if (value == null) {
+            return UNREPRESENTABLE;
+        }
+        return exact(value.setScale(scale, RoundingMode.HALF_UP).movePointRight(scale));
+    }
+
+    public static BigDecimal toBigDecimal(long unscaled, int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * @return {@code amount * percent / 100}, rounded HALF_UP at the scale of {@code amount}
+     */
+    public static long percentOf(long amount, long percent) {
+        return multiplyDivide(amount, percent, HUNDRED_PERCENT);
+    }
+
+    /**
+     * @return {@code a * b / divisor}, rounded HALF_UP
+     * @throws ArithmeticException if the product overflows or the divisor is zero
+     */
+    public static long multiplyDivide(long a, long b, long divisor) {
+        return divide(Math.multiplyExact(a, b), divisor);
+    }
+
+    /**
+     * @return {@code dividend / divisor}, rounded HALF_UP
+     * @throws ArithmeticException if the divisor is zero
+     */
+    public static long divide(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // Compare twice the remainder to the divisor without overflowing either
+        long absRemainder = Math.abs(remainder);
+        long halfDivisor = Math.abs(divisor / 2);
+        boolean roundAway = absRemainder > halfDivisor
+                || (absRemainder == halfDivisor && (divisor & 1) == 0);
+        if (!roundAway) {
+            return quotient;
+        }
+        return (dividend < 0) == (divisor < 0) ? quotient + 1 : quotient - 1;
+    }
+
+    // Long.MIN_VALUE itself doubles as UNREPRESENTABLE
+    private static long exact(BigDecimal integral) {
+        try {
+            return integral.longValueExact();
+        } catch (ArithmeticException e) {
+            return UNREPRESENTABLE;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.scaler.price.core.management.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. The first level has {@code wheelSize} buckets of
+ * {@code tickMs} each; every further level has buckets as wide as the whole level below
+ * it and is only created once a task lies beyond the range of the existing levels. When
+ * the clock reaches the start of a higher level bucket, its tasks are cascaded into the
+ * finer levels, so scheduling and firing are O(1) per task however far ahead it lies.
+ *
+ * <p>A task is returned by {@link #advanceTo} once the clock is past its expiration,
+ * at most one tick late and never early. The wheel does not keep time itself; the owner
+ * advances it, typically once per tick. All methods are synchronized.
+ */
+public class HierarchicalTimingWheel<T> {
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs));
+    }
+
+    /**
+     * @return false if the task is already due, in which case it is not scheduled and the
+     * caller should run it right away
+     */
+    public synchronized boolean schedule(long expirationMs, T task) {
+        if (!place(new Timed<>(expirationMs, task))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the clock forward and returns the tasks that expired on the way, in no
+     * particular order.
+     */
+    public synchronized List<T> advanceTo(long nowMs) {
+        List<T> due = new ArrayList<>();
+        Level<T> first = levels.get(0);
+        while (first.currentTime + tickMs <= nowMs) {
+            // Everything in the bucket that just ended has expired
+            for (Timed<T> timed : first.drain(first.currentTime)) {
+                due.add(timed.task());
+            }
+            long time = first.currentTime + tickMs;
+            first.currentTime = time;
+
+            for (int i = 1; i < levels.size(); i++) {
+                Level<T> level = levels.get(i);
+                if (time % level.tickMs != 0) {
+                    break;
+                }
+                level.currentTime = time;
+                // The bucket starting now fits into the finer levels
+                for (Timed<T> timed : level.drain(time)) {
+                    if (!place(timed)) {
+                        due.add(timed.task());
+                    }
+                }
+            }
+        }
+        size -= due.size();
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean place(Timed<T> timed) {
+        // Expirations inside the current tick go to its bucket, which fires once the tick ends
+        if (timed.expirationMs() < levels.get(0).currentTime) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                levels.add(new Level<>(below.interval, wheelSize, below.currentTime));
+            }
+            Level<T> level = levels.get(i);
+            if (timed.expirationMs() < level.currentTime + level.interval) {
+                level.add(timed);
+                return true;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final long interval;
+        private final ArrayDeque<Timed<T>>[] buckets;
+        private long currentTime;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        private void add(Timed<T> timed) {
+            buckets[index(timed.expirationMs())].add(timed);
+        }
+
+        private List<Timed<T>> drain(long bucketStart) {
+            ArrayDeque<Timed<T>> bucket = buckets[index(bucketStart)];
+            List<Timed<T>> drained = new ArrayList<>(bucket);
+            bucket.clear();
+            return drained;
+        }
+
+        private int index(long timeMs) {
+            return (int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) buckets.length);
+        }
+    }
+
+    private record Timed<T>(long expirationMs, T task) {
+    }
+}
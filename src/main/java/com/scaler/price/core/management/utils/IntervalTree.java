@@ -0,0 +1,187 @@
+package com.scaler.price.core.management.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Interval tree over closed intervals {@code [start, end]}, built as a treap ordered by
+ * start and augmented with the largest end of each subtree. Insert and remove take
+ * O(log n) expected time; finding the k intervals that overlap a query takes
+ * O(log n + k), because subtrees whose largest end lies before the query are skipped.
+ *
+ * <p>Intervals are identified by their start and an id, so several values may share a
+ * start. Not thread safe; the owner guards access.
+ */
+public class IntervalTree<T> {
+    private Node<T> root;
+    private int size;
+
+    public void insert(long start, long end, long id, T value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval ends before it starts: [" + start + ", " + end + "]");
+        }
+        root = insert(root, new Node<>(start, end, id, value));
+        size++;
+    }
+
+    /**
+     * @return false if there was no interval with this start and id
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Passes every value whose interval overlaps {@code [start, end]} to the consumer.
+     */
+    public void query(long start, long end, Consumer<T> consumer) {
+        query(root, start, end, consumer);
+    }
+
+    /**
+     * Passes every value to the consumer in order of interval start.
+     */
+    public void forEachInOrder(Consumer<T> consumer) {
+        forEachInOrder(root, consumer);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private void query(Node<T> node, long start, long end, Consumer<T> consumer) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        query(node.left, start, end, consumer);
+        if (node.start > end) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end >= start) {
+            consumer.accept(node.value);
+        }
+        query(node.right, start, end, consumer);
+    }
+
+    private void forEachInOrder(Node<T> node, Consumer<T> consumer) {
+        if (node == null) {
+            return;
+        }
+        forEachInOrder(node.left, consumer);
+        consumer.accept(node.value);
+        forEachInOrder(node.right, consumer);
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private int compare(long start, long id, Node<T> node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private static final class Node<T> {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final T value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.scaler.price.core.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The partition of {@code table} holding the rows of one month, named
+ * {@code <table>_YYYYMM} as created by {@code create_monthly_partition}.
+ */
+public record MonthlyPartition(String table, YearMonth month) {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern NAME = Pattern.compile("^(.+)_(\\d{6})$");
+
+    public String name() {
+        return table + "_" + month.format(SUFFIX);
+    }
+
+    /**
+     * Inclusive lower bound of the partition key
+     */
+    public LocalDateTime start() {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Exclusive upper bound of the partition key
+     */
+    public LocalDateTime end() {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * @return empty if {@code name} is not a monthly partition of {@code table}
+     */
+    public static Optional<MonthlyPartition> parse(String table, String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches() || !matcher.group(1).equals(table)) {
+            return Optional.empty();
+        }
+        int month = Integer.parseInt(matcher.group(2).substring(4));
+        if (month < 1 || month > 12) {
+            return Optional.empty();
+        }
+        return Optional.of(new MonthlyPartition(table,
+                YearMonth.of(Integer.parseInt(matcher.group(2).substring(0, 4)), month)));
+    }
+
+    public static MonthlyPartition containing(String table, LocalDateTime time) {
+        return new MonthlyPartition(table, YearMonth.from(time));
+    }
+}
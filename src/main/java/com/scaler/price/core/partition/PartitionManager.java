@@ -0,0 +1,210 @@
+package com.scaler.price.core.partition;
+
+import com.scaler.price.core.config.PartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of the history tables set up by the
+ * {@code V3__partition_history_tables} migration. Every night, and on startup, it
+ * creates the partitions of the next {@code months-ahead} months and retires the
+ * partitions older than the table's retention.
+ *
+ * <p>Retiring a partition detaches it from its table, which only touches the catalog,
+ * then copies it into {@code <archive-dir>/<table>/<partition>.csv.gz} and drops it.
+ * The copy runs against the detached table, so writers to the parent are never blocked
+ * by it. A partition detached but not yet dropped when the node stopped is picked up by
+ * the next run.
+ */
+@Slf4j
+@Service
+public class PartitionManager {
+    public static final String AUDIT_LOG = "audit_log";
+    public static final String RULE_HISTORY = "rule_history";
+    public static final String FAILED_PRICES = "failed_prices";
+    private static final List<String> TABLES = List.of(AUDIT_LOG, RULE_HISTORY, FAILED_PRICES);
+
+    // Stand-ins for an unbounded range where the tables are not partitioned
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties properties;
+
+    public PartitionManager(JdbcTemplate jdbcTemplate, PartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 15 1 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (String table : TABLES) {
+            try {
+                createUpcoming(table, current);
+            } catch (Exception e) {
+                log.error("Failed to create upcoming partitions of {}: {}", table, e.getMessage(), e);
+            }
+        }
+        for (Map.Entry<String, Integer> retention : properties.getRetentionMonths().entrySet()) {
+            if (!TABLES.contains(retention.getKey()) || retention.getValue() == null || retention.getValue() <= 0) {
+                continue;
+            }
+            try {
+                retireBefore(retention.getKey(), current.minusMonths(retention.getValue()));
+            } catch (Exception e) {
+                log.error("Failed to retire old partitions of {}: {}", retention.getKey(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Archives and drops the partitions of {@code table} for the months before
+     * {@code month}.
+     *
+     * @return the number of rows archived
+     */
+    public long retireBefore(String table, YearMonth month) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long rows = 0;
+        for (PartitionState state : partitions(table)) {
+            if (!state.partition().month().isBefore(month)) {
+                break;
+            }
+            rows += retire(state);
+        }
+        return rows;
+    }
+
+    /**
+     * Runs {@code lookup} over the bounds of one partition at a time, newest month
+     * first, and returns its first result. Each call can then be answered from a single
+     * partition, where an unbounded "latest" query would have to probe all of them. Rows
+     * are expected to be stamped at write time, so months after the current one are
+     * skipped.
+     */
+    public <T> Optional<T> findNewestFirst(String table, BiFunction<LocalDateTime, LocalDateTime, Optional<T>> lookup) {
+        if (!properties.isEnabled()) {
+            return lookup.apply(EARLIEST, LATEST);
+        }
+        List<PartitionState> partitions = partitions(table);
+        YearMonth current = YearMonth.now();
+        for (int i = partitions.size() - 1; i >= 0; i--) {
+            MonthlyPartition partition = partitions.get(i).partition();
+            if (!partitions.get(i).attached() || partition.month().isAfter(current)) {
+                continue;
+            }
+            Optional<T> found = lookup.apply(partition.start(), partition.end());
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void createUpcoming(String table, YearMonth current) {
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                    table, current.plusMonths(i).atDay(1));
+        }
+    }
+
+    private long retire(PartitionState state) {
+        MonthlyPartition partition = state.partition();
+        if (state.attached()) {
+            jdbcTemplate.execute("ALTER TABLE " + quote(partition.table())
+                    + " DETACH PARTITION " + quote(partition.name()));
+        }
+        long rows = archive(partition);
+        jdbcTemplate.execute("DROP TABLE " + quote(partition.name()));
+        log.info("Retired partition {} with {} rows", partition.name(), rows);
+        return rows;
+    }
+
+    private long archive(MonthlyPartition partition) {
+        Path target = Path.of(properties.getArchiveDir(), partition.table(), partition.name() + ".csv.gz");
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(
+                            "COPY " + quote(partition.name()) + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // Only a complete archive gets its final name
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows != null ? rows : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + partition.name(), e);
+        }
+    }
+
+    /**
+     * Monthly partitions of the table in month order, including detached ones left
+     * behind by an interrupted retirement
+     */
+    private List<PartitionState> partitions(String table) {
+        return jdbcTemplate.query("""
+                        SELECT c.relname, c.relispartition
+                        FROM pg_class c
+                        WHERE c.relnamespace = current_schema()::regnamespace
+                          AND c.relkind = 'r'
+                          AND c.relname ~ ?
+                        ORDER BY c.relname
+                        """,
+                        (rs, rowNum) -> {
+                            boolean attached = rs.getBoolean(2);
+                            return MonthlyPartition.parse(table, rs.getString(1))
+                                    .map(partition -> new PartitionState(partition, attached));
+                        },
+                        "^" + table + "_[0-9]{6}$")
+                .stream()
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private record PartitionState(MonthlyPartition partition, boolean attached) {
+    }
+}
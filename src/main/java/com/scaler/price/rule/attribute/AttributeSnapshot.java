@@ -0,0 +1,139 @@
+package com.scaler.price.rule.attribute;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.domain.ProductAttribute;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable attribute table of one product: attribute keys sorted in a primitive array,
+ * with the raw and typed value of each key at the same index. Lookups are a binary
+ * search; changes copy the table, which stays small.
+ */
+public final class AttributeSnapshot {
+    private static final long[] NO_KEYS = new long[0];
+    private static final String[] NO_VALUES = new String[0];
+    private static final Object[] NO_TYPED_VALUES = new Object[0];
+
+    private final long[] keys;
+    private final String[] values;
+    private final Object[] typedValues;
+    private final long loadedAtMillis;
+
+    private AttributeSnapshot(long[] keys, String[] values, Object[] typedValues, long loadedAtMillis) {
+        this.keys = keys;
+        this.values = values;
+        this.typedValues = typedValues;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    /**
+     * Builds the table from the attribute rows of one product; of duplicate keys the last wins.
+     */
+    public static AttributeSnapshot of(List<ProductAttribute> attributes, ObjectMapper objectMapper, long loadedAtMillis) {
+        if (attributes.isEmpty()) {
+            return new AttributeSnapshot(NO_KEYS, NO_VALUES, NO_TYPED_VALUES, loadedAtMillis);
+        }
+        TreeMap<Long, ProductAttribute> byKey = new TreeMap<>();
+        for (ProductAttribute attribute : attributes) {
+            if (attribute.getAttributeKey() != null) {
+                byKey.put(attribute.getAttributeKey(), attribute);
+            }
+        }
+        long[] keys = new long[byKey.size()];
+        String[] values = new String[keys.length];
+        Object[] typedValues = new Object[keys.length];
+        int index = 0;
+        for (ProductAttribute attribute : byKey.values()) {
+            keys[index] = attribute.getAttributeKey();
+            values[index] = attribute.getAttributeValue();
+            typedValues[index] = AttributeValues.typed(attribute.getAttributeValue(), attribute.getAttributeType(), objectMapper);
+            index++;
+        }
+        return new AttributeSnapshot(keys, values, typedValues, loadedAtMillis);
+    }
+
+    /**
+     * @return the stored value of the attribute, or null if the product does not have it
+     */
+    public String value(long attributeKey) {
+        int index = Arrays.binarySearch(keys, attributeKey);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * @return the value converted to the attribute's type, or null if the product does not have it
+     */
+    public Object typedValue(long attributeKey) {
+        int index = Arrays.binarySearch(keys, attributeKey);
+        return index >= 0 ? typedValues[index] : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isLoadedBefore(long millis) {
+        return loadedAtMillis < millis;
+    }
+
+    /**
+     * @return a copy with the attribute added or replaced; rows without a key are ignored
+     */
+    public AttributeSnapshot with(ProductAttribute attribute, ObjectMapper objectMapper) {
+        if (attribute.getAttributeKey() == null) {
+            return this;
+        }
+        long key = attribute.getAttributeKey();
+        String value = attribute.getAttributeValue();
+        Object typedValue = AttributeValues.typed(value, attribute.getAttributeType(), objectMapper);
+
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            String[] newValues = values.clone();
+            Object[] newTypedValues = typedValues.clone();
+            newValues[index] = value;
+            newTypedValues[index] = typedValue;
+            return new AttributeSnapshot(keys, newValues, newTypedValues, loadedAtMillis);
+        }
+
+        int insertAt = -index - 1;
+        int length = keys.length;
+        long[] newKeys = new long[length + 1];
+        String[] newValues = new String[length + 1];
+        Object[] newTypedValues = new Object[length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(values, 0, newValues, 0, insertAt);
+        System.arraycopy(typedValues, 0, newTypedValues, 0, insertAt);
+        newKeys[insertAt] = key;
+        newValues[insertAt] = value;
+        newTypedValues[insertAt] = typedValue;
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, length - insertAt);
+        System.arraycopy(values, insertAt, newValues, insertAt + 1, length - insertAt);
+        System.arraycopy(typedValues, insertAt, newTypedValues, insertAt + 1, length - insertAt);
+        return new AttributeSnapshot(newKeys, newValues, newTypedValues, loadedAtMillis);
+    }
+
+    /**
+     * @return a copy without the attribute
+     */
+    public AttributeSnapshot without(long attributeKey) {
+        int index = Arrays.binarySearch(keys, attributeKey);
+        if (index < 0) {
+            return this;
+        }
+        int length = keys.length;
+        long[] newKeys = new long[length - 1];
+        String[] newValues = new String[length - 1];
+        Object[] newTypedValues = new Object[length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(typedValues, 0, newTypedValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, length - index - 1);
+        System.arraycopy(typedValues, index + 1, newTypedValues, index, length - index - 1);
+        return new AttributeSnapshot(newKeys, newValues, newTypedValues, loadedAtMillis);
+    }
+}
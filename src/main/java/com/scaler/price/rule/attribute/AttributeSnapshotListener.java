@@ -0,0 +1,65 @@
+package com.scaler.price.rule.attribute;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.AttributeSnapshotProperties;
+import com.scaler.price.rule.events.AttributeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Keeps the {@link AttributeSnapshotStore} current. Changes made on this node are applied
+ * once their transaction commits; changes made on other nodes arrive on the attribute
+ * event topic, which every node reads in a consumer group of its own. A change seen both
+ * ways is applied twice, which leaves the same value.
+ */
+@Slf4j
+@Component
+public class AttributeSnapshotListener {
+    private final AttributeSnapshotStore snapshotStore;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final String groupId = "attribute-snapshots-" + UUID.randomUUID();
+
+    public AttributeSnapshotListener(AttributeSnapshotStore snapshotStore,
+                                     ObjectMapper objectMapper,
+                                     AttributeSnapshotProperties properties) {
+        this.snapshotStore = snapshotStore;
+        this.objectMapper = objectMapper;
+        this.topic = properties.getTopic();
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(AttributeEvent event) {
+        snapshotStore.apply(event);
+    }
+
+    @KafkaListener(
+            topics = "#{__listener.topic}",
+            groupId = "#{__listener.groupId}",
+            autoStartup = "${app.attribute-snapshots.listener-enabled:true}")
+    public void onMessage(String payload) {
+        AttributeEvent event;
+        try {
+            event = objectMapper.readValue(payload, AttributeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable attribute event: {}", e.getMessage());
+            return;
+        }
+        if (event != null) {
+            snapshotStore.apply(event);
+        }
+    }
+}
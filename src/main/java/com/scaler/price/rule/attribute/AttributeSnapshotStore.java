@@ -0,0 +1,193 @@
+package com.scaler.price.rule.attribute;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.AttributeSnapshotProperties;
+import com.scaler.price.rule.domain.ProductAttribute;
+import com.scaler.price.rule.events.AttributeEvent;
+import com.scaler.price.rule.repository.ProductAttributeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory {@link AttributeSnapshot} per product, so attribute conditions are memory
+ * lookups instead of a query per condition per evaluation. Snapshots are loaded in bulk,
+ * one query per {@code batch-size} products, including products without attributes, and
+ * kept current by applying {@link AttributeEvent}s. A snapshot older than
+ * {@code app.attribute-snapshots.max-age} is reloaded, which bounds the effect of a lost
+ * event.
+ *
+ * <p>A load must not install a snapshot read before a concurrent change: every event bumps
+ * the version of its product's stripe, and a load only installs its snapshot if the
+ * stripe version did not move since before its query. Otherwise the result is returned
+ * to the caller but not kept.
+ */
+@Component
+public class AttributeSnapshotStore {
+    private static final int VERSION_STRIPES = 1024;
+
+    private final ProductAttributeRepository attributeRepository;
+    private final ObjectMapper objectMapper;
+    private final AttributeSnapshotProperties properties;
+    private final Map<Long, AttributeSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final Counter hits;
+    private final Counter loads;
+
+    public AttributeSnapshotStore(ProductAttributeRepository attributeRepository,
+                                  ObjectMapper objectMapper,
+                                  AttributeSnapshotProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.attributeRepository = attributeRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.hits = Counter.builder("attribute.snapshots.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.loads = Counter.builder("attribute.snapshots.lookups")
+                .tag("result", "load")
+                .description("Products whose snapshot had to be loaded")
+                .register(meterRegistry);
+        Gauge.builder("attribute.snapshots.size", snapshots, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the stored value of the product's attribute, or null if it has none
+     */
+    public String getValue(Long productId, Long attributeKey) {
+        if (productId == null || attributeKey == null) {
+            return null;
+        }
+        return getSnapshot(productId).value(attributeKey);
+    }
+
+    /**
+     * @return the value converted to the attribute's type, or null if the product has none
+     */
+    public Object getTypedValue(Long productId, Long attributeKey) {
+        if (productId == null || attributeKey == null) {
+            return null;
+        }
+        return getSnapshot(productId).typedValue(attributeKey);
+    }
+
+    public AttributeSnapshot getSnapshot(Long productId) {
+        return getSnapshots(Collections.singletonList(productId)).get(productId);
+    }
+
+    /**
+     * Batch lookup; the products without a fresh snapshot are loaded together.
+     *
+     * @return a snapshot for every product, empty for products without attributes
+     */
+    public Map<Long, AttributeSnapshot> getSnapshots(Collection<Long> productIds) {
+        Map<Long, AttributeSnapshot> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long notBefore = System.currentTimeMillis() - properties.getMaxAge().toMillis();
+        for (Long productId : productIds) {
+            if (productId == null || result.containsKey(productId)) {
+                continue;
+            }
+            AttributeSnapshot snapshot = snapshots.get(productId);
+            if (snapshot != null && !snapshot.isLoadedBefore(notBefore)) {
+                result.put(productId, snapshot);
+            } else {
+                missing.add(productId);
+            }
+        }
+        hits.increment(result.size());
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            load(missing.subList(from, Math.min(from + batchSize, missing.size())), result);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a change to the product's snapshot if one is loaded. Bulk updates only carry
+     * one of their attributes, so they drop the snapshot and the next lookup reloads it.
+     */
+    public void apply(AttributeEvent event) {
+        ProductAttribute attribute = event.getAttribute();
+        if (event.getEventType() == null || attribute == null || attribute.getProductId() == null) {
+            return;
+        }
+        Long productId = attribute.getProductId();
+        stripeVersions.incrementAndGet(stripe(productId));
+        switch (event.getEventType()) {
+            case CREATED, UPDATED -> snapshots.computeIfPresent(productId,
+                    (id, snapshot) -> snapshot.with(attribute, objectMapper));
+            case DELETED -> {
+                if (attribute.getAttributeKey() != null) {
+                    snapshots.computeIfPresent(productId,
+                            (id, snapshot) -> snapshot.without(attribute.getAttributeKey()));
+                }
+            }
+            default -> snapshots.remove(productId);
+        }
+    }
+
+    public void evict(Long productId) {
+        stripeVersions.incrementAndGet(stripe(productId));
+        snapshots.remove(productId);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    private void load(List<Long> productIds, Map<Long, AttributeSnapshot> result) {
+        long[] versions = new long[productIds.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = stripeVersions.get(stripe(productIds.get(i)));
+        }
+
+        Map<Long, List<ProductAttribute>> rows = new HashMap<>();
+        for (ProductAttribute attribute : attributeRepository.findByProductIdIn(productIds)) {
+            rows.computeIfAbsent(attribute.getProductId(), id -> new ArrayList<>()).add(attribute);
+        }
+        loads.increment(productIds.size());
+
+        long now = System.currentTimeMillis();
+        makeRoom(productIds.size(), now);
+        for (int i = 0; i < versions.length; i++) {
+            Long productId = productIds.get(i);
+            long version = versions[i];
+            AttributeSnapshot loaded = AttributeSnapshot.of(rows.getOrDefault(productId, List.of()), objectMapper, now);
+            snapshots.compute(productId, (id, existing) ->
+                    stripeVersions.get(stripe(id)) == version ? loaded : existing);
+            result.put(productId, loaded);
+        }
+    }
+
+    /**
+     * Keeps the store within {@code max-products}: expired snapshots go first, then
+     * arbitrary ones, which are simply loaded again when next needed.
+     */
+    private void makeRoom(int incoming, long now) {
+        int excess = snapshots.size() + incoming - properties.getMaxProducts();
+        if (excess <= 0) {
+            return;
+        }
+        long notBefore = now - properties.getMaxAge().toMillis();
+        snapshots.values().removeIf(snapshot -> snapshot.isLoadedBefore(notBefore));
+        Iterator<Long> productIds = snapshots.keySet().iterator();
+        excess = snapshots.size() + incoming - properties.getMaxProducts();
+        while (excess-- > 0 && productIds.hasNext()) {
+            productIds.next();
+            productIds.remove();
+        }
+    }
+
+    private static int stripe(Long productId) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 54) & (VERSION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.scaler.price.rule.attribute;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.domain.AttributeType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Conversion of stored attribute values to the Java type of their {@link AttributeType}.
+ */
+@Slf4j
+public final class AttributeValues {
+
+    private AttributeValues() {
+    }
+
+    /**
+     * @return the typed value, or the raw value when it does not parse as its type
+     */
+    public static Object typed(String value, String type, ObjectMapper objectMapper) {
+        if (value == null) return null;
+
+        try {
+            return switch (AttributeType.valueOf(type)) {
+                case NUMBER -> Double.parseDouble(value);
+                case BOOLEAN -> Boolean.parseBoolean(value);
+                case JSON -> objectMapper.readValue(value, Map.class);
+                case DATE -> LocalDateTime.parse(value);
+                default -> value;
+            };
+        } catch (Exception e) {
+            log.error("Error converting attribute value: {}", e.getMessage());
+            return value;
+        }
+    }
+}
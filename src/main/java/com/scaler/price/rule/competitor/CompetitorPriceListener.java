@@ -0,0 +1,85 @@
+package com.scaler.price.rule.competitor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.CompetitorPriceProperties;
+import com.scaler.price.rule.service.CompetitorPriceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Feeds the competitor price store from the competitor price topic. A message holds one
+ * {@link CompetitorPriceUpdate} or an array of them. Every node keeps the whole store, so
+ * each listens in a consumer group of its own; it starts from the earliest offset, which
+ * on the compacted topic replays the latest price of every pair into a fresh node.
+ */
+@Slf4j
+@Component
+public class CompetitorPriceListener {
+    private final CompetitorPriceService competitorPriceService;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final String groupId = "competitor-prices-" + UUID.randomUUID();
+
+    public CompetitorPriceListener(CompetitorPriceService competitorPriceService,
+                                   ObjectMapper objectMapper,
+                                   CompetitorPriceProperties properties) {
+        this.competitorPriceService = competitorPriceService;
+        this.objectMapper = objectMapper;
+        this.topic = properties.getTopic();
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @KafkaListener(
+            topics = "#{__listener.topic}",
+            groupId = "#{__listener.groupId}",
+            autoStartup = "${app.competitor-prices.ingestion-enabled:true}",
+            properties = "auto.offset.reset=earliest")
+    public void onMessage(String payload) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable competitor price message: {}", e.getMessage());
+            return;
+        }
+        if (message == null) {
+            return;
+        }
+        if (message.isArray()) {
+            message.forEach(this::ingest);
+        } else {
+            ingest(message);
+        }
+    }
+
+    private void ingest(JsonNode node) {
+        CompetitorPriceUpdate update;
+        try {
+            update = objectMapper.treeToValue(node, CompetitorPriceUpdate.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable competitor price: {}", e.getMessage());
+            return;
+        }
+        if (update == null || !update.isValid()) {
+            log.warn("Skipping incomplete competitor price: {}", node);
+            return;
+        }
+        try {
+            competitorPriceService.record(update);
+        } catch (ArithmeticException e) {
+            log.warn("Skipping out of range competitor price: {}", node);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.scaler.price.rule.competitor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Latest observed price per (product, competitor), keyed by the two primitive ids.
+ *
+ * <p>Entries live in lock-striped open-addressing tables of parallel primitive arrays,
+ * so neither keys nor prices are boxed. Reads are optimistic and only fall back to the
+ * stripe's read lock when they race a write to the same stripe; writes to different
+ * stripes never contend. Prices are kept in hundredths, the scale of the price actions.
+ *
+ * <p>An observation only replaces one that is not newer, so updates delivered out of
+ * order keep the latest price.
+ */
+public final class CompetitorPriceStore {
+    public static final int SCALE = 2;
+    /** Returned by {@link #getPriceMinor} when there is no usable price */
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final int INITIAL_SLOTS = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    public CompetitorPriceStore(int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, 1 << 16)) * 2 - 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        // Stripes take the high bits of the hash, slots the low ones
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    public record Observation(long productId, long competitorId, BigDecimal price, Instant observedAt) {
+    }
+
+    /**
+     * @return whether the price was stored, that is no newer observation was present
+     * @throws ArithmeticException if the price does not fit in a long of hundredths
+     */
+    public boolean put(long productId, long competitorId, BigDecimal price, long observedAtMillis) {
+        return putMinor(productId, competitorId,
+                price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(), observedAtMillis);
+    }
+
+    public boolean putMinor(long productId, long competitorId, long priceMinor, long observedAtMillis) {
+        long hash = hash(productId, competitorId);
+        return stripeFor(hash).put(hash, productId, competitorId, priceMinor, observedAtMillis);
+    }
+
+    /**
+     * @return the price in hundredths observed at or after {@code notBeforeMillis}, or
+     * {@link #NO_PRICE}
+     */
+    public long getPriceMinor(long productId, long competitorId, long notBeforeMillis) {
+        long hash = hash(productId, competitorId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        long price = stripe.find(hash, productId, competitorId, notBeforeMillis);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                price = stripe.find(hash, productId, competitorId, notBeforeMillis);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    /**
+     * @return the price observed at or after {@code notBeforeMillis}, or null
+     */
+    public BigDecimal getPrice(long productId, long competitorId, long notBeforeMillis) {
+        long price = getPriceMinor(productId, competitorId, notBeforeMillis);
+        return price == NO_PRICE ? null : BigDecimal.valueOf(price, SCALE);
+    }
+
+    /**
+     * @return the latest observation regardless of its age
+     */
+    public Optional<Observation> get(long productId, long competitorId) {
+        long hash = hash(productId, competitorId);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.readLock();
+        try {
+            int slot = stripe.slotOf(hash, productId, competitorId);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new Observation(productId, competitorId,
+                    BigDecimal.valueOf(stripe.prices[slot], SCALE), Instant.ofEpochMilli(stripe.observedAt[slot])));
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Drops the observations made before {@code cutoffMillis}
+     *
+     * @return the number of observations dropped
+     */
+    public int purgeOlderThan(long cutoffMillis) {
+        int purged = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                purged += stripe.purge(cutoffMillis);
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+        return purged;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    private static long hash(long productId, long competitorId) {
+        long h = productId * 0x9E3779B97F4A7C15L + competitorId;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Linear-probing table kept at most half full. Optimistic readers may see it while
+     * a writer changes it, so every probe is bounded by the table length and works on
+     * the arrays it started with; the stamp check then discards what it read.
+     */
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        boolean[] used = new boolean[INITIAL_SLOTS];
+        long[] products = new long[INITIAL_SLOTS];
+        long[] competitors = new long[INITIAL_SLOTS];
+        long[] prices = new long[INITIAL_SLOTS];
+        long[] observedAt = new long[INITIAL_SLOTS];
+        int size;
+
+        long find(long hash, long productId, long competitorId, long notBeforeMillis) {
+            boolean[] used = this.used;
+            long[] products = this.products;
+            long[] competitors = this.competitors;
+            long[] prices = this.prices;
+            long[] observedAt = this.observedAt;
+            int mask = used.length - 1;
+            if (products.length != used.length || competitors.length != used.length
+                    || prices.length != used.length || observedAt.length != used.length) {
+                // Caught in the middle of a resize
+                return NO_PRICE;
+            }
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < used.length && used[slot]; probes++) {
+                if (products[slot] == productId && competitors[slot] == competitorId) {
+                    return observedAt[slot] >= notBeforeMillis ? prices[slot] : NO_PRICE;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NO_PRICE;
+        }
+
+        boolean put(long hash, long productId, long competitorId, long price, long observedAtMillis) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(hash, productId, competitorId);
+                if (slot >= 0) {
+                    if (observedAt[slot] > observedAtMillis) {
+                        return false;
+                    }
+                    prices[slot] = price;
+                    observedAt[slot] = observedAtMillis;
+                    return true;
+                }
+                if ((size + 1) * 2 > used.length) {
+                    rehash(used.length * 2, Long.MIN_VALUE);
+                }
+                insert(hash, productId, competitorId, price, observedAtMillis);
+                size++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /** Caller holds a lock */
+        int slotOf(long hash, long productId, long competitorId) {
+            int mask = used.length - 1;
+            int slot = (int) hash & mask;
+            while (used[slot]) {
+                if (products[slot] == productId && competitors[slot] == competitorId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        int purge(long cutoffMillis) {
+            int before = size;
+            int length = used.length;
+            while (length > INITIAL_SLOTS && length / 4 > before) {
+                length /= 2;
+            }
+            rehash(length, cutoffMillis);
+            return before - size;
+        }
+
+        private void rehash(int length, long cutoffMillis) {
+            boolean[] oldUsed = used;
+            long[] oldProducts = products;
+            long[] oldCompetitors = competitors;
+            long[] oldPrices = prices;
+            long[] oldObservedAt = observedAt;
+            used = new boolean[length];
+            products = new long[length];
+            competitors = new long[length];
+            prices = new long[length];
+            observedAt = new long[length];
+            size = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i] && oldObservedAt[i] >= cutoffMillis) {
+                    insert(hash(oldProducts[i], oldCompetitors[i]), oldProducts[i], oldCompetitors[i],
+                            oldPrices[i], oldObservedAt[i]);
+                    size++;
+                }
+            }
+        }
+
+        private void insert(long hash, long productId, long competitorId, long price, long observedAtMillis) {
+            int mask = used.length - 1;
+            int slot = (int) hash & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            products[slot] = productId;
+            competitors[slot] = competitorId;
+            prices[slot] = price;
+            observedAt[slot] = observedAtMillis;
+            used[slot] = true;
+        }
+    }
+}
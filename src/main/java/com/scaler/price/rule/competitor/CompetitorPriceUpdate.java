@@ -0,0 +1,15 @@
+package com.scaler.price.rule.competitor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A competitor price observation as published on the competitor price topic.
+ */
+public record CompetitorPriceUpdate(Long productId, Long competitorId, BigDecimal price, Instant observedAt) {
+
+    public boolean isValid() {
+        return productId != null && competitorId != null && observedAt != null
+                && price != null && price.signum() >= 0;
+    }
+}
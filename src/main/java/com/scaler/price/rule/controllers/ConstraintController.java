@@ -9,10 +9,12 @@ import com.scaler.price.rule.dto.CategoryAttributes;
 import com.scaler.price.validation.helper.ActionParameters;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -89,6 +91,23 @@ public class ConstraintController {
         return ResponseEntity.ok(constraintService.isTimeConstraintSatisfied(rule));
     }
 
+    @GetMapping("/validate/category/{categoryId}/time")
+    public ResponseEntity<Boolean> isCategoryTimeConstraintSatisfied(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        return ResponseEntity.ok(constraintService.isTimeConstraintSatisfied(
+            categoryId, at != null ? at : Instant.now()));
+    }
+
+    @GetMapping("/time/category/{categoryId}/next-transition")
+    public ResponseEntity<Instant> getNextTimeTransition(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from) {
+        return constraintService.findNextTimeTransition(categoryId, from != null ? from : Instant.now())
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.noContent().build());
+    }
+
     @PostMapping("/validate/inventory")
     public ResponseEntity<List<String>> validateInventoryConstraints(
             @RequestParam String productId,
@@ -142,5 +161,32 @@ public class ConstraintController {
         return ResponseEntity.ok(violations);
     }
 
-    
+    @GetMapping("/validate/category/{categoryId}/price")
+    public ResponseEntity<List<String>> validatePriceBounds(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) Long siteId,
+            @RequestParam BigDecimal price) {
+        List<String> violations = constraintService.validatePriceBounds(categoryId, siteId, price);
+        return ResponseEntity.ok(violations);
+    }
+
+    @GetMapping("/validate/category/{categoryId}/margin")
+    public ResponseEntity<List<String>> validateMarginBounds(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) Long siteId,
+            @RequestParam BigDecimal marginPercentage) {
+        List<String> violations = constraintService.validateMarginBounds(categoryId, siteId, marginPercentage);
+        return ResponseEntity.ok(violations);
+    }
+
+    @PostMapping("/validate/category/{categoryId}/discount-stacking")
+    public ResponseEntity<List<String>> validateCategoryDiscountStacking(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) Long siteId,
+            @RequestParam BigDecimal newDiscount,
+            @RequestBody List<BigDecimal> existingDiscounts) {
+        List<String> violations = constraintService.validateDiscountStacking(
+            categoryId, siteId, existingDiscounts, newDiscount);
+        return ResponseEntity.ok(violations);
+    }
 }
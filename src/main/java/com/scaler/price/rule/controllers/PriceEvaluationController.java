@@ -1,6 +1,7 @@
 package com.scaler.price.rule.controllers;
 
 import com.scaler.price.core.management.exceptions.PriceValidationException;
+import com.scaler.price.rule.dto.BatchEvaluationResult;
 import com.scaler.price.rule.dto.RuleDTO;
 import com.scaler.price.rule.dto.RuleEvaluationRequest;
 import com.scaler.price.rule.dto.RuleEvaluationResult;
@@ -8,6 +9,7 @@ import com.scaler.price.rule.exceptions.ActionExecutionException;
 import com.scaler.price.rule.exceptions.ActionRegistrationException;
 import com.scaler.price.rule.exceptions.ProductFetchException;
 import com.scaler.price.rule.exceptions.RuleEvaluationException;
+import com.scaler.price.rule.service.BatchEvaluationService;
 import com.scaler.price.rule.service.RuleEvaluationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,7 +18,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -24,10 +25,13 @@ import java.util.List;
 public class PriceEvaluationController {
 
     private final RuleEvaluationService evaluationService;
+    private final BatchEvaluationService batchEvaluationService;
 
     @Autowired
-    public PriceEvaluationController(RuleEvaluationService evaluationService) {
+    public PriceEvaluationController(RuleEvaluationService evaluationService,
+                                     BatchEvaluationService batchEvaluationService) {
         this.evaluationService = evaluationService;
+        this.batchEvaluationService = batchEvaluationService;
     }
 
     @PostMapping("/evaluate")
@@ -37,12 +41,8 @@ public class PriceEvaluationController {
     }
 
     @PostMapping("/batch-evaluate")
-    public ResponseEntity<List<RuleEvaluationResult>> evaluateBatchPrices(@RequestBody List<RuleEvaluationRequest> requests) throws RuleEvaluationException, ActionExecutionException, ActionRegistrationException, ProductFetchException, PriceValidationException {
-        List<RuleEvaluationResult> results = new ArrayList<>();
-        for (RuleEvaluationRequest request : requests) {
-            results.addAll(evaluationService.evaluateRules(request));
-        }
-        return ResponseEntity.ok(results);
+    public ResponseEntity<List<BatchEvaluationResult>> evaluateBatchPrices(@RequestBody List<RuleEvaluationRequest> requests) {
+        return ResponseEntity.ok(batchEvaluationService.evaluateBatch(requests));
     }
 
     @PostMapping("/preview")
@@ -134,14 +134,17 @@ public class PricingRule extends AuditInfo {
     @Builder.Default
     private Set<SellerSiteConfig> sellerSiteConfigs = new HashSet<>();
 
+    // The getter is read-only, so SellerSiteConfig.setRule links both sides through these
     public void addSellerSiteConfig(SellerSiteConfig config) {
-        sellerSiteConfigs.add(config);
-        config.setRule(this);
+        if (sellerSiteConfigs.add(config)) {
+            config.setRule(this);
+        }
     }
 
     public void removeSellerSiteConfig(SellerSiteConfig config) {
-        sellerSiteConfigs.remove(config);
-        config.setRule(null);
+        if (sellerSiteConfigs.remove(config) && config.getRule() == this) {
+            config.setRule(null);
+        }
     }
 
     public Set<SellerSiteConfig> getSellerSiteConfigs() {
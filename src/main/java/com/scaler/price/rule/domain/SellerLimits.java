@@ -1,5 +1,6 @@
 package com.scaler.price.rule.domain;
 
+import com.scaler.price.core.management.buybox.events.BuyboxEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
+@EntityListeners(BuyboxEntityListener.class)
 @Table(name = "seller_limits")
 @Data
 @NoArgsConstructor
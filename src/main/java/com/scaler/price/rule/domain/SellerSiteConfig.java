@@ -95,12 +95,16 @@ public class SellerSiteConfig extends AuditInfo {
     }
 
     public void setRule(PricingRule rule) {
-        if (this.rule != null && this.rule.getSellerSiteConfigs() != null) {
-            this.rule.getSellerSiteConfigs().remove(this);
+        if (this.rule == rule) {
+            return;
         }
+        PricingRule previous = this.rule;
         this.rule = rule;
-        if (rule != null && rule.getSellerSiteConfigs() != null) {
-            rule.getSellerSiteConfigs().add(this);
+        if (previous != null) {
+            previous.removeSellerSiteConfig(this);
+        }
+        if (rule != null) {
+            rule.addSellerSiteConfig(this);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.scaler.price.rule.domain;
 
+import com.scaler.price.core.management.buybox.events.BuyboxEntityListener;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,6 +13,7 @@ import java.util.Map;
 import java.util.Set;
 
 @Entity
+@EntityListeners(BuyboxEntityListener.class)
 @Table(name = "sites")
 @Getter
 @Setter
@@ -0,0 +1,350 @@
+package com.scaler.price.rule.domain.constraint;
+
+import com.scaler.price.rule.domain.constraint.TimeConstraints.BlackoutPeriod;
+import com.scaler.price.rule.domain.constraint.TimeConstraints.TimeWindow;
+
+import java.time.*;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.*;
+
+/**
+ * {@link TimeConstraints} compiled for repeated "is it active at this instant" checks.
+ *
+ * <p>The weekly schedule becomes a bitmap with one bit per minute of the week, in the
+ * constraint's time zone and starting Monday 00:00. Dates of the date-specific schedule
+ * get a bitmap of their own that replaces the weekly one for that day. Blackout periods
+ * are merged into sorted, disjoint intervals of epoch milliseconds. A check is then a
+ * range test, an offset lookup, a bit test and a binary search over primitive arrays.
+ *
+ * <p>Schedule windows are half-open: a window from 09:00 to 17:00 covers 16:59 but not
+ * 17:00. A window ending before it starts runs overnight into the next day, except in
+ * the date-specific schedule where it ends at midnight. Blackout ends are inclusive, as
+ * in {@link TimeConstraints#isWithinBlackoutPeriod(Instant)}.
+ */
+public final class TimeCalendar {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final Duration DEFAULT_HORIZON = Duration.ofDays(366);
+
+    /** Active at every instant */
+    public static final TimeCalendar ALWAYS = new TimeCalendar(ZoneOffset.UTC, fullWeek(),
+            new long[0], new long[0][], new long[0], new long[0], Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final long[] week;
+    private final long[] overrideDays;
+    private final long[][] overrideMinutes;
+    private final long[] blackoutStarts;
+    private final long[] blackoutEnds;
+    private final long validFrom;
+    private final long validUntil;
+
+    private TimeCalendar(ZoneId zone, long[] week, long[] overrideDays, long[][] overrideMinutes,
+                         long[] blackoutStarts, long[] blackoutEnds, long validFrom, long validUntil) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.week = week;
+        this.overrideDays = overrideDays;
+        this.overrideMinutes = overrideMinutes;
+        this.blackoutStarts = blackoutStarts;
+        this.blackoutEnds = blackoutEnds;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public boolean isActive(Instant instant) {
+        long millis = instant.toEpochMilli();
+        if (millis < validFrom || millis >= validUntil || isInBlackout(millis)) {
+            return false;
+        }
+        long local = instant.getEpochSecond() + rules.getOffset(instant).getTotalSeconds();
+        long day = Math.floorDiv(local, SECONDS_PER_DAY);
+        int minute = (int) (Math.floorMod(local, SECONDS_PER_DAY) / 60);
+        return isScheduled(day, minute);
+    }
+
+    public boolean isInBlackout(Instant instant) {
+        return isInBlackout(instant.toEpochMilli());
+    }
+
+    /**
+     * @return the first instant after {@code from}, within a year, at which
+     * {@link #isActive} changes
+     */
+    public Optional<Instant> nextTransition(Instant from) {
+        return nextTransition(from, from.plus(DEFAULT_HORIZON));
+    }
+
+    /**
+     * @return the first instant after {@code from}, up to and including {@code until},
+     * at which {@link #isActive} changes
+     */
+    public Optional<Instant> nextTransition(Instant from, Instant until) {
+        boolean active = isActive(from);
+        long limit = until.toEpochMilli();
+        long millis = from.toEpochMilli();
+        while (millis < limit) {
+            millis = nextBoundary(millis);
+            if (millis > limit) {
+                break;
+            }
+            Instant candidate = Instant.ofEpochMilli(millis);
+            if (isActive(candidate) != active) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static TimeCalendar compile(TimeConstraints constraints) {
+        ZoneId zone = resolveZone(constraints.getTimezoneId(), constraints.getTimezone());
+
+        Set<DayOfWeek> allowedDays = constraints.getAllowedDays().isEmpty()
+                ? EnumSet.allOf(DayOfWeek.class)
+                : constraints.getAllowedDays();
+        Map<DayOfWeek, List<TimeWindow>> weekly = new EnumMap<>(DayOfWeek.class);
+        for (Map.Entry<String, List<TimeWindow>> entry : safe(constraints.getWeeklySchedule()).entrySet()) {
+            parseDay(entry.getKey()).ifPresent(day -> weekly.put(day, entry.getValue()));
+        }
+        long[] week = new long[words(MINUTES_PER_WEEK)];
+        for (DayOfWeek day : allowedDays) {
+            int base = (day.getValue() - 1) * MINUTES_PER_DAY;
+            List<TimeWindow> windows = weekly.get(day);
+            if (windows == null) {
+                markWeek(week, base, constraints.getMainStartTime(), constraints.getMainEndTime());
+                continue;
+            }
+            for (TimeWindow window : windows) {
+                if (window != null) {
+                    markWeek(week, base, window.getStartTime(), window.getEndTime());
+                }
+            }
+        }
+
+        TreeMap<Long, long[]> overrides = new TreeMap<>();
+        for (Map.Entry<String, List<TimeWindow>> entry : safe(constraints.getDateSpecificSchedule()).entrySet()) {
+            Optional<LocalDate> date = parseDate(entry.getKey());
+            if (date.isEmpty()) {
+                continue;
+            }
+            // A date without windows is closed all day
+            long[] minutes = new long[words(MINUTES_PER_DAY)];
+            for (TimeWindow window : entry.getValue() != null ? entry.getValue() : List.<TimeWindow>of()) {
+                if (window != null) {
+                    markDay(minutes, window.getStartTime(), window.getEndTime());
+                }
+            }
+            overrides.put(date.get().toEpochDay(), minutes);
+        }
+        long[] overrideDays = new long[overrides.size()];
+        long[][] overrideMinutes = new long[overrides.size()][];
+        int i = 0;
+        for (Map.Entry<Long, long[]> entry : overrides.entrySet()) {
+            overrideDays[i] = entry.getKey();
+            overrideMinutes[i++] = entry.getValue();
+        }
+
+        List<long[]> blackouts = new ArrayList<>();
+        List<BlackoutPeriod> periods = new ArrayList<>(constraints.getBlackoutPeriods());
+        periods.addAll(safe(constraints.getBlackoutPeriodMap()).values());
+        for (BlackoutPeriod period : periods) {
+            if (period == null || period.getStartTime() == null) {
+                continue;
+            }
+            long end = period.getEndTime() != null ? period.getEndTime().toEpochMilli() : Long.MAX_VALUE;
+            if (end >= period.getStartTime().toEpochMilli()) {
+                blackouts.add(new long[]{period.getStartTime().toEpochMilli(), end});
+            }
+        }
+        long[][] merged = merge(blackouts);
+
+        long validFrom = Long.MIN_VALUE;
+        long validUntil = Long.MAX_VALUE;
+        if (constraints.getStartDate() != null) {
+            validFrom = constraints.getStartDate().toEpochMilli();
+        }
+        if (constraints.getEffectiveFrom() != null) {
+            validFrom = Math.max(validFrom, constraints.getEffectiveFrom().atZone(zone).toInstant().toEpochMilli());
+        }
+        if (constraints.getEndDate() != null) {
+            validUntil = constraints.getEndDate().toEpochMilli();
+        }
+        if (constraints.getEffectiveTo() != null) {
+            validUntil = Math.min(validUntil, constraints.getEffectiveTo().atZone(zone).toInstant().toEpochMilli());
+        }
+
+        return new TimeCalendar(zone, week, overrideDays, overrideMinutes, merged[0], merged[1], validFrom, validUntil);
+    }
+
+    private boolean isInBlackout(long millis) {
+        int index = Arrays.binarySearch(blackoutStarts, millis);
+        if (index >= 0) {
+            return true;
+        }
+        int before = -index - 2;
+        return before >= 0 && millis <= blackoutEnds[before];
+    }
+
+    private boolean isScheduled(long day, int minute) {
+        int override = Arrays.binarySearch(overrideDays, day);
+        if (override >= 0) {
+            return isSet(overrideMinutes[override], minute);
+        }
+        return isSet(week, dayOfWeek(day) * MINUTES_PER_DAY + minute);
+    }
+
+    /**
+     * The first instant after {@code millis} at which any input of {@link #isActive}
+     * may change. Zone offset transitions are boundaries too, so the offset is constant
+     * up to the returned instant.
+     */
+    private long nextBoundary(long millis) {
+        long next = nextScheduleBoundary(millis);
+        if (validFrom > millis) {
+            next = Math.min(next, validFrom);
+        }
+        if (validUntil > millis) {
+            next = Math.min(next, validUntil);
+        }
+        int index = Arrays.binarySearch(blackoutStarts, millis);
+        int following = index >= 0 ? index + 1 : -index - 1;
+        if (following < blackoutStarts.length) {
+            next = Math.min(next, blackoutStarts[following]);
+        }
+        int covering = following - 1;
+        if (covering >= 0 && blackoutEnds[covering] >= millis && blackoutEnds[covering] != Long.MAX_VALUE) {
+            next = Math.min(next, blackoutEnds[covering] + 1);
+        }
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(millis));
+        if (transition != null) {
+            next = Math.min(next, transition.toEpochSecond() * 1000);
+        }
+        return next;
+    }
+
+    private long nextScheduleBoundary(long millis) {
+        Instant instant = Instant.ofEpochMilli(millis);
+        int offset = rules.getOffset(instant).getTotalSeconds();
+        long local = instant.getEpochSecond() + offset;
+        long day = Math.floorDiv(local, SECONDS_PER_DAY);
+        int minute = (int) (Math.floorMod(local, SECONDS_PER_DAY) / 60);
+
+        int override = Arrays.binarySearch(overrideDays, day);
+        long[] bits = override >= 0 ? overrideMinutes[override] : week;
+        int base = override >= 0 ? 0 : dayOfWeek(day) * MINUTES_PER_DAY;
+        boolean scheduled = isSet(bits, base + minute);
+        int flip = minute + 1;
+        while (flip < MINUTES_PER_DAY && isSet(bits, base + flip) == scheduled) {
+            flip++;
+        }
+        // Without a flip today, the next day may follow another bitmap
+        return (day * SECONDS_PER_DAY + flip * 60L - offset) * 1000;
+    }
+
+    private static void markWeek(long[] week, int dayBase, LocalTime start, LocalTime end) {
+        int from = start != null ? start.toSecondOfDay() / 60 : 0;
+        int to = end != null ? end.toSecondOfDay() / 60 : MINUTES_PER_DAY;
+        // Overnight windows spill into the next day, Sunday into Monday
+        int length = to > from ? to - from : MINUTES_PER_DAY - from + to;
+        for (int i = 0; i < length; i++) {
+            set(week, (dayBase + from + i) % MINUTES_PER_WEEK);
+        }
+    }
+
+    private static void markDay(long[] day, LocalTime start, LocalTime end) {
+        int from = start != null ? start.toSecondOfDay() / 60 : 0;
+        int to = end != null && end.toSecondOfDay() / 60 > from ? end.toSecondOfDay() / 60 : MINUTES_PER_DAY;
+        for (int minute = from; minute < to; minute++) {
+            set(day, minute);
+        }
+    }
+
+    /**
+     * Sorts the intervals and merges overlapping and adjacent ones
+     */
+    private static long[][] merge(List<long[]> intervals) {
+        intervals.sort(Comparator.comparingLong(interval -> interval[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] interval : intervals) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && (last[1] == Long.MAX_VALUE || interval[0] <= last[1] + 1)) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(interval.clone());
+            }
+        }
+        long[] starts = new long[merged.size()];
+        long[] ends = new long[merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            starts[i] = merged.get(i)[0];
+            ends[i] = merged.get(i)[1];
+        }
+        return new long[][]{starts, ends};
+    }
+
+    private static ZoneId resolveZone(String timezoneId, String timezone) {
+        for (String id : new String[]{timezoneId, timezone}) {
+            if (id == null || id.isBlank()) {
+                continue;
+            }
+            try {
+                return ZoneId.of(id.trim());
+            } catch (DateTimeException e) {
+                // Try the next one
+            }
+        }
+        return ZoneId.systemDefault();
+    }
+
+    private static Optional<DayOfWeek> parseDay(String day) {
+        try {
+            return Optional.of(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<LocalDate> parseDate(String date) {
+        try {
+            return Optional.of(LocalDate.parse(date.trim()));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static <K, V> Map<K, V> safe(Map<K, V> map) {
+        return map != null ? map : Map.of();
+    }
+
+    /** Monday is 0; the epoch day 0 was a Thursday */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    private static long[] fullWeek() {
+        long[] week = new long[words(MINUTES_PER_WEEK)];
+        for (int minute = 0; minute < MINUTES_PER_WEEK; minute++) {
+            set(week, minute);
+        }
+        return week;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.scaler.price.rule.domain.constraint;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scaler.price.rule.domain.PriceAdjustment;
@@ -9,6 +10,7 @@ import com.scaler.price.rule.domain.constraint.TimeConstraints.TimeSlot;
 import com.scaler.price.rule.domain.constraint.TimeConstraints.TimeWindow;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -101,6 +103,12 @@ public class TimeConstraints extends RuleConstraints{
     @Builder.Default
     private Set<DayOfWeek> allowedDays = new HashSet<>();
 
+    // Compiled on first use and dropped whenever the schedule is loaded, saved or replaced
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile TimeCalendar calendar;
+
     @PostLoad
     public void loadJsonFields() {
         ObjectMapper mapper = new ObjectMapper();
@@ -138,6 +146,7 @@ public class TimeConstraints extends RuleConstraints{
             blackoutPeriodMap = new HashMap<>();
             specialWindows = new HashMap<>();
         }
+        calendar = null;
     }
 
     @PrePersist
@@ -159,6 +168,22 @@ public class TimeConstraints extends RuleConstraints{
             blackoutPeriodMapJson = "{}";
             specialWindowsJson = "{}";
         }
+        calendar = null;
+    }
+
+    /**
+     * The schedule, blackouts and validity of these constraints compiled into a
+     * {@link TimeCalendar}. Changes made through the setters of the parent class are
+     * picked up after the next load or save.
+     */
+    @JsonIgnore
+    public TimeCalendar getCalendar() {
+        TimeCalendar compiled = calendar;
+        if (compiled == null) {
+            compiled = TimeCalendar.compile(this);
+            calendar = compiled;
+        }
+        return compiled;
     }
 
     // Add getter/setter for specialWindows
@@ -185,6 +210,7 @@ public class TimeConstraints extends RuleConstraints{
 
     public void setWeeklySchedule(Map<String, List<TimeWindow>> weeklySchedule) {
         this.weeklySchedule = weeklySchedule != null ? weeklySchedule : new HashMap<>();
+        this.calendar = null;
     }
 
     public Map<String, List<TimeWindow>> getDateSpecificSchedule() {
@@ -193,6 +219,7 @@ public class TimeConstraints extends RuleConstraints{
 
     public void setDateSpecificSchedule(Map<String, List<TimeWindow>> dateSpecificSchedule) {
         this.dateSpecificSchedule = dateSpecificSchedule != null ? dateSpecificSchedule : new HashMap<>();
+        this.calendar = null;
     }
 
     public Map<String, SpecialTimeWindow> getSpecialSchedules() {
@@ -209,6 +236,7 @@ public class TimeConstraints extends RuleConstraints{
 
     public void setBlackoutPeriodMap(Map<String, BlackoutPeriod> blackoutPeriodMap) {
         this.blackoutPeriodMap = blackoutPeriodMap != null ? blackoutPeriodMap : new HashMap<>();
+        this.calendar = null;
     }
 
     @Column
@@ -392,6 +420,22 @@ public class TimeConstraints extends RuleConstraints{
 
     public void setBlackoutPeriods(List<BlackoutPeriod> blackoutPeriods) {
         this.blackoutPeriods = blackoutPeriods != null ? blackoutPeriods : new ArrayList<>();
+        this.calendar = null;
+    }
+
+    public void setAllowedDays(Set<DayOfWeek> allowedDays) {
+        this.allowedDays = allowedDays;
+        this.calendar = null;
+    }
+
+    public void setTimezoneId(String timezoneId) {
+        this.timezoneId = timezoneId;
+        this.calendar = null;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+        this.calendar = null;
     }
 
     public boolean isTimeWithinConstraints(LocalDateTime dateTime) {
@@ -418,19 +462,26 @@ public class TimeConstraints extends RuleConstraints{
 
     public boolean isWithinBlackoutPeriod(Instant instant) {
         try {
-            if (blackoutPeriods == null || blackoutPeriods.isEmpty()) {
-                return false;
-            }
-
-            return blackoutPeriods.stream()
-                    .anyMatch(period -> 
-                            (!period.startTime.isAfter(instant)) &&
-                            (period.endTime == null || !period.endTime.isBefore(instant)));
+            return getCalendar().isInBlackout(instant);
         } catch (Exception e) {
             throw new IllegalStateException("Error checking blackout period", e);
         }
     }
 
+    /**
+     * @return whether the constraints allow the rule to apply at {@code instant}
+     */
+    public boolean isActiveAt(Instant instant) {
+        return getCalendar().isActive(instant);
+    }
+
+    /**
+     * @return the next instant at which {@link #isActiveAt} changes, within a year
+     */
+    public Optional<Instant> nextTransition(Instant from) {
+        return getCalendar().nextTransition(from);
+    }
+
     public Optional<SpecialTimeWindow> getApplicableSpecialWindow(LocalDateTime dateTime) {
         try {
             return specialWindows.values().stream()
@@ -474,10 +525,12 @@ public class TimeConstraints extends RuleConstraints{
 
     public void setMainStartTime(LocalTime startTime) {
         this.mainStartTime = startTime;
+        this.calendar = null;
     }
 
     public void setMainEndTime(LocalTime endTime) {
         this.mainEndTime = endTime;
+        this.calendar = null;
     }
 
     public String getMinDuration() {
@@ -0,0 +1,20 @@
+package com.scaler.price.rule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEvaluationResult {
+    private int index;
+    private Long productId;
+    private boolean success;
+    private List<RuleEvaluationResult> results;
+    private String errorMessage;
+}
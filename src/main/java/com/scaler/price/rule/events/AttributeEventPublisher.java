@@ -6,6 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,7 +34,7 @@ public class AttributeEventPublisher {
         }
 
         try {
-            publishKafkaEventWithRetry(event);
+            sendToKafka(event);
             publishSpringEvent(event);
             log.info("Successfully published event: {}", event.getEventId());
         } catch (Exception e) {
@@ -66,6 +68,28 @@ public class AttributeEventPublisher {
         events.forEach(this::publishEvent);
     }
 
+    /**
+     * Inside a transaction the event is only sent once it commits: a node that loads the
+     * product after receiving the event must already read the change. A send that fails
+     * then can no longer roll the change back, so it is only logged.
+     */
+    private void sendToKafka(AttributeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishKafkaEventWithRetry(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    publishKafkaEventWithRetry(event);
+                } catch (Exception e) {
+                    log.error("Failed to publish committed event: {}", event.getEventId(), e);
+                }
+            }
+        });
+    }
+
     private void publishKafkaEventWithRetry(AttributeEvent event) {
         int retryCount = 0;
         Exception lastException = null;
@@ -15,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.kafka.common.KafkaException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Async;
@@ -38,6 +39,7 @@ public class RuleEventPublisher {
     private final PriceServiceMetrics metricsService;
     private final FailedEventRepository failedEventRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private static final String RULE_EVENTS_TOPIC = "price-rule-events";
     private static final String RULE_AUDIT_TOPIC = "price-rule-audit";
@@ -94,6 +96,8 @@ public class RuleEventPublisher {
     }
 
     private void publishEvent(RuleEvent event) {
+        publishLocalEvent(event);
+
         try {
             // Send to main events topic
             kafkaTemplate.send(RULE_EVENTS_TOPIC, event.getRuleId().toString(), event)
@@ -120,6 +124,15 @@ public class RuleEventPublisher {
         }
     }
 
+    private void publishLocalEvent(RuleEvent event) {
+        // Local listeners (rule catalog, compiled plans) must not depend on Kafka availability
+        try {
+            applicationEventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.error("Failed to publish local rule event {}: {}", event.getEventId(), e.getMessage(), e);
+        }
+    }
+
     private void handleSuccess(RuleEvent event, SendResult<String, RuleEvent> result) {
         if (result != null && result.getRecordMetadata() != null) {
             log.debug("Published rule event: {} partition: {} offset: {}",
@@ -0,0 +1,44 @@
+package com.scaler.price.rule.plan;
+
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.validation.helper.ActionParameters;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable form of a {@link RuleAction} whose JSON parameters have already been
+ * bound to {@link ActionParameters}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledAction {
+    private final Long actionId;
+    private final ActionType actionType;
+    private final Integer sequence;
+    private final ActionParameters parameters;
+
+    // Kept for custom handlers, which still receive the original action
+    private final RuleAction source;
+
+    // Set when the parameters could not be bound; execution fails with this message
+    private final String compileError;
+
+    // Operands of the fixed-point path, bound only when the parameters are exact at the
+    // scales of FixedPointMoney; actions without them are executed on BigDecimal
+    private final boolean fixedPoint;
+    // Minor units: the price of SET_PRICE, the discount of DISCOUNT_AMOUNT
+    private final long amount;
+    // Percent at PERCENT_SCALE: the discount, beat or margin rate, or the base tier discount
+    private final long percent;
+    private final long percentIncrement;
+    private final int minQuantity;
+    private final Long competitorId;
+
+    public boolean isValid() {
+        return compileError == null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.scaler.price.rule.plan;
+
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.Operator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Immutable, pre-parsed form of a {@link com.scaler.price.rule.domain.RuleCondition}.
+ * All JSON in the condition value is decoded once at compile time so evaluation
+ * only compares already typed bounds.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledCondition {
+    private final Long conditionId;
+    private final ConditionType type;
+    private final Operator operator;
+    private final Long attribute;
+    private final Integer sequence;
+    private final String rawValue;
+
+    // Numeric bounds (price, margin, inventory, sales velocity)
+    private final BigDecimal min;
+    private final BigDecimal max;
+    private final BigDecimal threshold;
+
+    // Date and time windows
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    // Pre-split membership sets for EQUALS / IN operators
+    @Builder.Default
+    private final Set<String> stringValues = Collections.emptySet();
+    @Builder.Default
+    private final Set<Long> idValues = Collections.emptySet();
+
+    private final Long competitorId;
+
+    /**
+     * False when the condition value could not be compiled; such a condition never matches,
+     * which mirrors the previous behaviour of failing the evaluation on a parse error.
+     */
+    @Builder.Default
+    private final boolean valid = true;
+
+    public static CompiledCondition invalid(Long conditionId, ConditionType type, Operator operator, Integer sequence) {
+        return CompiledCondition.builder()
+                .conditionId(conditionId)
+                .type(type)
+                .operator(operator)
+                .sequence(sequence)
+                .valid(false)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.scaler.price.rule.plan;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compiled evaluation plan for a single version of a pricing rule. Conditions and
+ * actions are ordered by their sequence and hold no references to JSON text.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledRulePlan {
+    private final Long ruleId;
+    private final Long version;
+    private final List<CompiledCondition> conditions;
+    private final List<CompiledAction> actions;
+    private final LocalDateTime compiledAt;
+
+    public boolean isVersion(Long ruleVersion) {
+        return version == null ? ruleVersion == null : version.equals(ruleVersion);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -15,6 +16,8 @@ public interface ProductAttributeRepository extends JpaRepository<ProductAttribu
 
     List<ProductAttribute> findByProductId(@Param("productId") Long productId);
 
+    List<ProductAttribute> findByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
     Optional<ProductAttribute> findByProductIdAndAttributeKey(
             @Param("productId") Long productId,
             @Param("attributeKey") Long attributeKey
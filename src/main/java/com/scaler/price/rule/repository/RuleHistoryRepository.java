@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,14 +22,25 @@ public interface RuleHistoryRepository extends JpaRepository<RuleHistory, Long>
     Optional<RuleHistory> findByRuleIdAndVersion(Long ruleId, Integer version);
 
     @Modifying
+    @Transactional
     @Query("DELETE FROM RuleHistory rh WHERE rh.timestamp < :cutoffDate")
     int deleteByTimestampBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    /**
+     * Deletes the records in [from, to), which a range within one month limits to a
+     * single partition
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RuleHistory rh WHERE rh.timestamp >= :from AND rh.timestamp < :to")
+    int deleteByTimestampRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     Page<RuleHistory> findByProductId(Long productId, Pageable pageable);
 
     List<RuleHistory> findByRuleIdAndChangeTypeInOrderByTimestampDesc(Long ruleId, List<String> list);
 
-    Optional<Long> findMaxVersionByRuleId(Long ruleId);
+    Optional<RuleHistory> findFirstByRuleIdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
+            Long ruleId, LocalDateTime from, LocalDateTime to);
 
     Page<RuleHistory> findByUserIdOrderByTimestampDesc(String userId, Pageable pageable);
 
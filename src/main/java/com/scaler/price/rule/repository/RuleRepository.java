@@ -1,6 +1,5 @@
 package com.scaler.price.rule.repository;
 
-import com.scaler.price.core.management.dto.ConflictSummary;
 import com.scaler.price.rule.domain.*;
 import com.scaler.price.rule.dto.RuleSiteSummary;
 import jakarta.persistence.criteria.Join;
@@ -39,7 +38,7 @@ public interface RuleRepository extends JpaRepository<PricingRule, Long> {
     );
 
     @Query("""
-        SELECT r FROM PricingRule r
+        SELECT DISTINCT r FROM PricingRule r
         JOIN r.sellerSiteConfigs config
         WHERE :sellerId MEMBER OF r.sellerIds
         AND config.siteId = :siteId
@@ -303,59 +302,6 @@ public interface RuleRepository extends JpaRepository<PricingRule, Long> {
             @Param("effectiveTo") LocalDateTime effectiveTo
     );
 
-    // Native SQL query example for complex conflict detection
-    @Query(value = """
-        WITH overlapping_rules AS (
-            SELECT pr1.id as rule1_id, 
-                   pr2.id as rule2_id,
-                   pr1.rule_name as rule1_name,
-                   pr2.rule_name as rule2_name,
-                   pr1.priority as rule1_priority,
-                   pr2.priority as rule2_priority
-            FROM pricing_rules pr1
-            CROSS JOIN pricing_rules pr2
-            WHERE pr1.id < pr2.id
-            AND pr1.is_active = true 
-            AND pr2.is_active = true
-            AND EXISTS (
-                SELECT 1 
-                FROM rule_seller_mappings sm1
-                JOIN rule_seller_mappings sm2 
-                ON sm1.seller_id = sm2.seller_id
-                WHERE sm1.rule_id = pr1.id 
-                AND sm2.rule_id = pr2.id
-                AND sm1.seller_id IN :sellerIds
-            )
-            AND EXISTS (
-                SELECT 1 
-                FROM rule_site_mappings site1
-                JOIN rule_site_mappings site2 
-                ON site1.site_id = site2.site_id
-                WHERE site1.rule_id = pr1.id 
-                AND site2.rule_id = pr2.id
-                AND site1.site_id IN :siteIds
-            )
-            AND (
-                (pr1.effective_from <= :effectiveTo AND pr1.effective_to >= :effectiveFrom)
-                OR (pr2.effective_from <= :effectiveTo AND pr2.effective_to >= :effectiveFrom)
-            )
-        )
-        SELECT pr.* 
-        FROM pricing_rules pr
-        WHERE pr.id IN (
-            SELECT rule1_id FROM overlapping_rules
-            UNION
-            SELECT rule2_id FROM overlapping_rules
-        )
-        """,
-            nativeQuery = true)
-    List<PricingRule> findDetailedConflicts(
-            @Param("sellerIds") Set<Long> sellerIds,
-            @Param("siteIds") Set<Long> siteIds,
-            @Param("effectiveFrom") LocalDateTime effectiveFrom,
-            @Param("effectiveTo") LocalDateTime effectiveTo
-    );
-
     // Additional helper queries
     @Query("""
         SELECT COUNT(pr) FROM PricingRule pr
@@ -365,44 +311,6 @@ public interface RuleRepository extends JpaRepository<PricingRule, Long> {
         """)
     long countActiveRulesForSeller(@Param("sellerId") String sellerId);
 
-    @Query("""
-        SELECT new com.scaler.price.core.management.dto.ConflictSummary(
-            pr1.id, pr2.id, pr1.ruleName, pr2.ruleName,
-            CASE 
-                WHEN pr1.priority = pr2.priority THEN 'PRIORITY_CONFLICT'
-                ELSE 'TIME_OVERLAP'
-            END
-        )
-        FROM PricingRule pr1, PricingRule pr2
-        WHERE pr1.id < pr2.id
-        AND EXISTS (
-            SELECT 1 FROM pr1.sellerIds s1
-            WHERE s1 IN :sellerIds
-        )
-        AND EXISTS (
-            SELECT 1 FROM pr2.sellerIds s2
-            WHERE s2 IN :sellerIds
-        )
-        AND EXISTS (
-            SELECT 1 FROM pr1.siteIds site1
-            WHERE site1 IN :siteIds
-        )
-        AND EXISTS (
-            SELECT 1 FROM pr2.siteIds site2
-            WHERE site2 IN :siteIds
-        )
-        AND pr1.isActive = true
-        AND pr2.isActive = true
-        AND (
-            pr1.effectiveFrom <= pr2.effectiveTo
-            AND pr1.effectiveTo >= pr2.effectiveFrom
-        )
-        """)
-    List<ConflictSummary> findConflictSummaries(
-            @Param("sellerIds") Set<Long> sellerIds,
-            @Param("siteIds") Set<Long> siteIds
-    );
-
     /**
      * Find all pricing rules that contain the specified seller ID in their sellerIds collection.
      * This query joins with the rule_seller_mappings table to check for seller ID matches.
@@ -848,6 +756,9 @@ public interface RuleRepository extends JpaRepository<PricingRule, Long> {
         return new ArrayList<>(rulesWithConfigs.values());
     }
 
+    @Query("SELECT pr.id FROM PricingRule pr WHERE pr.isActive = true")
+    List<Long> findActiveRuleIds();
+
     @Query("SELECT pr FROM PricingRule pr WHERE :siteId MEMBER OF pr.siteIds")
     List<PricingRule> findRulesBySite(@Param("siteId") Long siteId);
 }
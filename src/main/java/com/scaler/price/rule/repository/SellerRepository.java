@@ -2,7 +2,11 @@ package com.scaler.price.rule.repository;
 
 import com.scaler.price.rule.domain.SellerLimits;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SellerRepository extends JpaRepository<SellerLimits, Long> {
@@ -11,6 +15,9 @@ public interface SellerRepository extends JpaRepository<SellerLimits, Long> {
 
     boolean findActiveStatusById(Long sellerId);
 
+    @Query("SELECT s.id FROM SellerLimits s WHERE s.id IN :sellerIds AND s.isActive = true")
+    List<Long> findActiveIds(@Param("sellerIds") Collection<Long> sellerIds);
+
 
 
 
@@ -3,7 +3,11 @@ package com.scaler.price.rule.repository;
 import com.scaler.price.rule.domain.Site;
 import com.scaler.price.rule.domain.SiteLimits;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SiteRepository extends JpaRepository<Site, Long> {
@@ -18,4 +22,7 @@ public interface SiteRepository extends JpaRepository<Site, Long> {
 
     // Method to find the limits of a site by its ID
     public Optional<SiteLimits> findLimitsById(Long siteId);
+
+    @Query("SELECT s.id FROM Site s WHERE s.id IN :siteIds AND s.isActive = true")
+    List<Long> findActiveIds(@Param("siteIds") Collection<Long> siteIds);
 }
\ No newline at end of file
@@ -6,8 +6,10 @@ import com.scaler.price.rule.dto.RuleEvaluationResult;
 import com.scaler.price.rule.exceptions.ActionExecutionException;
 import com.scaler.price.rule.exceptions.ActionRegistrationException;
 import com.scaler.price.rule.exceptions.ProductFetchException;
+import com.scaler.price.rule.plan.CompiledAction;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -31,6 +33,20 @@ public interface ActionExecutorService {
             RuleEvaluationContext context,
             BigDecimal currentPrice) throws ActionExecutionException, ActionRegistrationException, ProductFetchException;
 
+    /**
+     * Executes pre-compiled actions in plan order without re-parsing their parameters
+     *
+     * @param actions Compiled actions, already ordered by sequence
+     * @param context The evaluation context containing product and pricing information
+     * @param currentPrice The current price before applying actions
+     * @return Result containing the adjusted price after applying all actions
+     * @throws ActionExecutionException if any action fails to execute
+     */
+    RuleEvaluationResult executeCompiledActions(
+            List<CompiledAction> actions,
+            RuleEvaluationContext context,
+            BigDecimal currentPrice) throws ActionExecutionException, ActionRegistrationException, ProductFetchException;
+
     /**
      * Executes a single rule action
      *
@@ -3,9 +3,13 @@ package com.scaler.price.rule.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.management.utils.FixedPointMoney;
 import com.scaler.price.rule.actions.CustomActionRegistry;
 import com.scaler.price.rule.actions.handler.CustomActionHandler;
+import com.scaler.price.rule.competitor.CompetitorPriceStore;
+import com.scaler.price.rule.domain.ActionType;
 import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.rule.plan.CompiledAction;
 import com.scaler.price.validation.helper.ActionParameters;
 import com.scaler.price.rule.dto.RuleEvaluationContext;
 import com.scaler.price.rule.dto.RuleEvaluationResult;
@@ -13,8 +17,9 @@ import com.scaler.price.rule.exceptions.ActionExecutionException;
 import com.scaler.price.rule.exceptions.ActionRegistrationException;
 import com.scaler.price.rule.exceptions.ProductFetchException;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -24,16 +29,22 @@ import java.util.*;
 
 @Service
 @Slf4j
-
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ActionExecutorServiceImpl implements ActionExecutorService {
+    /** Metadata key of the actions a result left out, each with the reason it was skipped */
+    public static final String SKIPPED_ACTIONS = "skippedActions";
+
     private final ObjectMapper objectMapper;
     private final CompetitorPriceService competitorPriceService;
     private final BundleService bundleService;
     private final CustomActionRegistry customActionRegistry;
 
     private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
-    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_SCALE = FixedPointMoney.PRICE_SCALE;
+
+    // Evaluates compiled actions on long minor units when all their operands allow it
+    @Value("${app.pricing.evaluation.fixed-point:true}")
+    private boolean fixedPoint = true;
 
     @Override
     public RuleEvaluationResult executeActions(
@@ -66,6 +77,125 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
         return result;
     }
 
+    @Override
+    public RuleEvaluationResult executeCompiledActions(
+            List<CompiledAction> actions,
+            RuleEvaluationContext context,
+            BigDecimal currentPrice) throws ActionExecutionException, ActionRegistrationException, ProductFetchException {
+        RuleEvaluationResult result = new RuleEvaluationResult();
+        result.setAdjustedPrice(currentPrice);
+
+        if (actions == null || actions.isEmpty()) {
+            log.warn("No actions to execute");
+            return result;
+        }
+
+        if (fixedPoint && context != null) {
+            RuleEvaluationResult fixed = executeFixedPoint(actions, context, currentPrice);
+            if (fixed != null) {
+                return fixed;
+            }
+        }
+
+        for (CompiledAction action : actions) {
+            if (!action.isValid()) {
+                throw new ActionExecutionException(action.getCompileError() + " for action: " + action.getActionType());
+            }
+            if (context == null) {
+                throw new ActionExecutionException("Context cannot be null");
+            }
+            log.debug("Executing compiled action: {} ({})", action.getActionId(), action.getActionType());
+            applyAction(action.getActionType(), action.getParameters(), action.getSource(), context, result);
+            validateResult(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs the actions on the price in minor units, converting back to BigDecimal once at
+     * the end. Gives up and returns null as soon as an action has no fixed-point operands
+     * or an input is not exact at the price scale, leaving the whole list to the BigDecimal
+     * path, which also reports invalid actions and missing inputs. Results are the ones of
+     * the BigDecimal path, at the price scale.
+     */
+    private RuleEvaluationResult executeFixedPoint(
+            List<CompiledAction> actions,
+            RuleEvaluationContext context,
+            BigDecimal currentPrice) {
+        long price = FixedPointMoney.toUnscaled(currentPrice, PRICE_SCALE);
+        if (price == FixedPointMoney.UNREPRESENTABLE) {
+            return null;
+        }
+        try {
+            for (CompiledAction action : actions) {
+                if (!action.isValid() || !action.isFixedPoint()) {
+                    return null;
+                }
+                price = applyFixedPoint(action, context, price);
+                if (price == FixedPointMoney.UNREPRESENTABLE) {
+                    return null;
+                }
+                if (price < 0) {
+                    log.warn("Action execution resulted in negative price: {}, setting to zero",
+                            FixedPointMoney.toBigDecimal(price, PRICE_SCALE));
+                    price = 0;
+                }
+            }
+        } catch (ArithmeticException e) {
+            log.debug("Fixed-point evaluation overflowed, falling back to BigDecimal: {}", e.getMessage());
+            return null;
+        }
+        RuleEvaluationResult result = new RuleEvaluationResult();
+        result.setAdjustedPrice(FixedPointMoney.toBigDecimal(price, PRICE_SCALE));
+        return result;
+    }
+
+    private long applyFixedPoint(CompiledAction action, RuleEvaluationContext context, long price) {
+        switch (action.getActionType()) {
+            case SET_PRICE:
+                return action.getAmount();
+            case DISCOUNT_PERCENTAGE:
+                return Math.subtractExact(price, FixedPointMoney.percentOf(price, action.getPercent()));
+            case DISCOUNT_AMOUNT:
+                return Math.subtractExact(price, action.getAmount());
+            case MATCH_COMPETITOR_PRICE:
+                return competitorPriceMinor(action, context);
+            case BEAT_COMPETITOR: {
+                long competitorPrice = competitorPriceMinor(action, context);
+                if (competitorPrice == FixedPointMoney.UNREPRESENTABLE) {
+                    return competitorPrice;
+                }
+                return Math.subtractExact(competitorPrice, FixedPointMoney.percentOf(competitorPrice, action.getPercent()));
+            }
+            case SET_MARGIN: {
+                long cost = FixedPointMoney.toUnscaled(context.getCostPrice(), PRICE_SCALE);
+                if (cost == FixedPointMoney.UNREPRESENTABLE) {
+                    return cost;
+                }
+                return FixedPointMoney.multiplyDivide(cost,
+                        FixedPointMoney.HUNDRED_PERCENT + action.getPercent(), FixedPointMoney.HUNDRED_PERCENT);
+            }
+            case QUANTITY_DISCOUNT: {
+                Integer quantity = context.getQuantity();
+                if (quantity == null || quantity < action.getMinQuantity()) {
+                    return price;
+                }
+                int tiers = (quantity - action.getMinQuantity()) / action.getMinQuantity();
+                long discount = Math.addExact(action.getPercent(), Math.multiplyExact(action.getPercentIncrement(), tiers));
+                return Math.subtractExact(price, FixedPointMoney.percentOf(price, discount));
+            }
+            default:
+                return FixedPointMoney.UNREPRESENTABLE;
+        }
+    }
+
+    // The store holds minor units at the price scale; a missing price is skipped by the BigDecimal path
+    private long competitorPriceMinor(CompiledAction action, RuleEvaluationContext context) {
+        long price = competitorPriceService.getCompetitorPriceMinor(action.getCompetitorId(), context.getProductId());
+        return price == CompetitorPriceStore.NO_PRICE ? FixedPointMoney.UNREPRESENTABLE : price;
+    }
+
     @Override
     public RuleEvaluationResult executeAction(
             RuleAction action,
@@ -75,47 +205,56 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
 
         log.debug("Executing action: {}", action);
 
+        applyAction(action.getActionType(), parseParameters(action.getParameters()), action, context, result);
+
+        validateResult(result);
+        log.debug("Action execution completed successfully: {}", result);
+
+        return result;
+    }
+
+    private void applyAction(
+            ActionType actionType,
+            ActionParameters params,
+            RuleAction action,
+            RuleEvaluationContext context,
+            RuleEvaluationResult result) throws ActionExecutionException, ActionRegistrationException, ProductFetchException {
         try {
-            switch (action.getActionType()) {
+            switch (actionType) {
                 case SET_PRICE:
-                    executeSetPrice(action, context, result);
+                    executeSetPrice(params, context, result);
                     break;
                 case DISCOUNT_PERCENTAGE:
-                    executeDiscountPercentage(action, context, result);
+                    executeDiscountPercentage(params, context, result);
                     break;
                 case DISCOUNT_AMOUNT:
-                    executeDiscountAmount(action, context, result);
+                    executeDiscountAmount(params, context, result);
                     break;
                 case MATCH_COMPETITOR_PRICE:
-                    executeMatchCompetitor(action, context, result);
+                    executeMatchCompetitor(params, context, result);
                     break;
                 case SET_MARGIN:
-                    executeSetMargin(action, context, result);
+                    executeSetMargin(params, context, result);
                     break;
                 case BEAT_COMPETITOR:
-                    executeBeatCompetitor(action, context, result);
+                    executeBeatCompetitor(params, context, result);
                     break;
                 case BUNDLE_DISCOUNT:
-                    executeBundleDiscount(action, context, result);
+                    executeBundleDiscount(params, context, result);
                     break;
                 case QUANTITY_DISCOUNT:
-                    executeQuantityDiscount(action, context, result);
+                    executeQuantityDiscount(params, context, result);
                     break;
                 case CUSTOM:
                     executeCustomAction(action, context, result);
                     break;
                 default:
-                    throw new ActionExecutionException("Unsupported action type: " + action.getActionType());
+                    throw new ActionExecutionException("Unsupported action type: " + actionType);
             }
         } catch (Exception e) {
             log.error("Error executing action {}: {}", action, e.getMessage(), e);
-            throw new ActionExecutionException("Failed to execute action: " + action.getActionType(), e);
+            throw new ActionExecutionException("Failed to execute action: " + actionType, e);
         }
-
-        validateResult(result);
-        log.debug("Action execution completed successfully: {}", result);
-
-        return result;
     }
 
     private void validateActionParameters(RuleAction action, RuleEvaluationContext context, RuleEvaluationResult result)
@@ -144,10 +283,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeSetPrice(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         String priceValue = params.getValue();
         BigDecimal newPrice = priceValue != null ? new BigDecimal(priceValue) : null;
         if (newPrice == null) {
@@ -157,10 +295,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeDiscountPercentage(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         BigDecimal discountPercentage = params.getDiscountPercentage();
         if (discountPercentage == null) {
             throw new ActionExecutionException("Discount percentage cannot be null");
@@ -176,10 +313,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeDiscountAmount(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         BigDecimal discountAmount = params.getDiscountAmount();
         if (discountAmount == null) {
             throw new ActionExecutionException("Discount amount cannot be null");
@@ -192,10 +328,9 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeMatchCompetitor(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         Long competitorId = params.getCompetitorId();
         if (competitorId == null) {
             throw new ActionExecutionException("Competitor ID cannot be null or empty");
@@ -204,16 +339,16 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
                 competitorId,
                 context.getProductId());
         if (competitorPrice == null) {
-            throw new ActionExecutionException("Failed to get competitor price for competitor: " + competitorId);
+            skipMissingCompetitorPrice(ActionType.MATCH_COMPETITOR_PRICE, competitorId, context, result);
+            return;
         }
         result.setAdjustedPrice(competitorPrice.setScale(PRICE_SCALE, RoundingMode.HALF_UP));
     }
 
     private void executeSetMargin(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         BigDecimal margin = params.getMinimumMargin();
         BigDecimal costPrice = context.getCostPrice();
         BigDecimal newPrice = calculateMinimumMarginPrice(costPrice, margin);
@@ -221,23 +356,49 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeBeatCompetitor(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
+        Long competitorId = params.getCompetitor();
+        if (competitorId == null) {
+            throw new ActionExecutionException("Competitor ID cannot be null or empty");
+        }
         BigDecimal competitorPrice = competitorPriceService.getCompetitorPrice(
-                params.getCompetitor(),
+                competitorId,
                 context.getProductId());
+        if (competitorPrice == null) {
+            skipMissingCompetitorPrice(ActionType.BEAT_COMPETITOR, competitorId, context, result);
+            return;
+        }
         BigDecimal beatAmount = competitorPrice.multiply(params.getBeatPercentage())
                 .divide(HUNDRED, PRICE_SCALE, RoundingMode.HALF_UP);
         result.setAdjustedPrice(competitorPrice.subtract(beatAmount).setScale(PRICE_SCALE, RoundingMode.HALF_UP));
     }
 
+    /**
+     * Leaves the price as it is. A missing price is expected rather than an error: it is
+     * also what every product looks like right after the node starts, until the competitor
+     * price store has caught up.
+     */
+    @SuppressWarnings("unchecked")
+    private void skipMissingCompetitorPrice(
+            ActionType actionType,
+            Long competitorId,
+            RuleEvaluationContext context,
+            RuleEvaluationResult result) {
+        String reason = actionType + ": no current price from competitor " + competitorId
+                + " for product " + context.getProductId();
+        log.debug("Skipping action, {}", reason);
+        if (result.getMetadata() == null || !(result.getMetadata().get(SKIPPED_ACTIONS) instanceof List)) {
+            result.addMetadata(SKIPPED_ACTIONS, new ArrayList<String>());
+        }
+        ((List<String>) result.getMetadata().get(SKIPPED_ACTIONS)).add(reason);
+    }
+
     private void executeBundleDiscount(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ProductFetchException, ActionExecutionException {
-        ActionParameters params = parseParameters(action.getParameters());
         BundleEligibility eligibility = bundleService.checkEligibility(params.getBundleId(), context.getProductId(), null);
         if (eligibility.isEligible()) {
             BigDecimal currentPrice = result.getAdjustedPrice();
@@ -248,12 +409,10 @@ public class ActionExecutorServiceImpl implements ActionExecutorService {
     }
 
     private void executeQuantityDiscount(
-            RuleAction action,
+            ActionParameters params,
             RuleEvaluationContext context,
             RuleEvaluationResult result) throws ActionExecutionException {
         try {
-            ActionParameters params = parseParameters(action.getParameters());
-
             // Validate params
             if (params == null) {
                 throw new IllegalArgumentException("Action parameters cannot be null");
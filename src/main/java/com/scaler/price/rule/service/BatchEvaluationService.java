@@ -0,0 +1,213 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.core.management.exceptions.PriceValidationException;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.dto.BatchEvaluationResult;
+import com.scaler.price.rule.dto.RuleEvaluationRequest;
+import com.scaler.price.rule.dto.RuleEvaluationResult;
+import com.scaler.price.rule.exceptions.ActionExecutionException;
+import com.scaler.price.rule.exceptions.ActionRegistrationException;
+import com.scaler.price.rule.exceptions.ProductFetchException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates many pricing requests at once. Requests are grouped by
+ * (seller, site, category, brand) so applicable rules are resolved once per group,
+ * external inputs needed by the group's rules are prefetched concurrently, and the groups are
+ * evaluated in parallel. Results keep the input order and failures are reported per item.
+ *
+ * <p>A batch waits at most {@code app.pricing.evaluation.batch-timeout-ms}. Items still
+ * unevaluated by then fail with a timeout, and chunks that have not reached them skip them.
+ */
+@Service
+@Slf4j
+public class BatchEvaluationService {
+    private final RuleEvaluationService evaluationService;
+    private final RuleCatalog ruleCatalog;
+    private final EvaluationInputPrefetcher inputPrefetcher;
+    private final Executor evaluationExecutor;
+    private final int chunkSize;
+    private final Duration timeout;
+
+    public BatchEvaluationService(
+            RuleEvaluationService evaluationService,
+            RuleCatalog ruleCatalog,
+            EvaluationInputPrefetcher inputPrefetcher,
+            @Qualifier("ruleEvaluationExecutor") Executor evaluationExecutor,
+            @Value("${app.pricing.evaluation.batch-chunk-size:64}") int chunkSize,
+            @Value("${app.pricing.evaluation.batch-timeout-ms:30000}") long timeoutMs) {
+        this.evaluationService = evaluationService;
+        this.ruleCatalog = ruleCatalog;
+        this.inputPrefetcher = inputPrefetcher;
+        this.evaluationExecutor = evaluationExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    public List<BatchEvaluationResult> evaluateBatch(List<RuleEvaluationRequest> requests) {
+        BatchEvaluationResult[] results = new BatchEvaluationResult[requests.size()];
+        Map<GroupKey, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            RuleEvaluationRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = failure(i, null, "Request cannot be null");
+                continue;
+            }
+            groups.computeIfAbsent(GroupKey.of(request), key -> new ArrayList<>()).add(i);
+        }
+
+        log.info("Evaluating batch of {} requests in {} groups", requests.size(), groups.size());
+
+        LocalDateTime evaluationTime = LocalDateTime.now();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<?>[] futures = groups.entrySet().stream()
+                .map(group -> evaluateGroup(
+                        group.getKey(), group.getValue(), requests, results, evaluationTime, deadline))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            // Only the timeout gets here, group failures are reported per item
+            log.warn("Batch of {} requests did not complete within {} ms", requests.size(), timeout.toMillis());
+        }
+
+        // Copied, as chunks that overran the timeout may still write into results
+        BatchEvaluationResult[] completed = results.clone();
+        for (int i = 0; i < completed.length; i++) {
+            if (completed[i] == null) {
+                completed[i] = failure(i, requests.get(i).getProductId(),
+                        "Evaluation timed out after " + timeout.toMillis() + " ms");
+            }
+        }
+        return Arrays.asList(completed);
+    }
+
+    private CompletableFuture<Void> evaluateGroup(
+            GroupKey key,
+            List<Integer> indices,
+            List<RuleEvaluationRequest> requests,
+            BatchEvaluationResult[] results,
+            LocalDateTime evaluationTime,
+            long deadline) {
+        return CompletableFuture
+                .supplyAsync(() -> prepareGroup(key, indices, requests, evaluationTime), evaluationExecutor)
+                .thenCompose(group -> CompletableFuture.allOf(partition(indices).stream()
+                        .map(chunk -> CompletableFuture.runAsync(
+                                () -> evaluateChunk(group, chunk, requests, results, deadline), evaluationExecutor))
+                        .toArray(CompletableFuture[]::new)))
+                .exceptionally(ex -> {
+                    log.error("Batch evaluation failed for group {}: {}", key, ex.getMessage(), ex);
+                    for (Integer index : indices) {
+                        if (results[index] == null) {
+                            results[index] = failure(index, requests.get(index).getProductId(),
+                                    "Group evaluation failed: " + rootMessage(ex));
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private PreparedGroup prepareGroup(
+            GroupKey key,
+            List<Integer> indices,
+            List<RuleEvaluationRequest> requests,
+            LocalDateTime evaluationTime) {
+        List<PricingRule> rules = ruleCatalog.findApplicableRules(
+                key.sellerId(), key.siteId(), key.categoryId(), key.brandId(), evaluationTime);
+
+        Map<Long, Map<String, Object>> prefetched = Collections.emptyMap();
+        if (!rules.isEmpty()) {
+            try {
+                Set<Long> productIds = new HashSet<>();
+                for (Integer index : indices) {
+                    productIds.add(requests.get(index).getProductId());
+                }
+                prefetched = inputPrefetcher.prefetch(
+                        rules, key.sellerId(), key.siteId(), key.categoryId(), productIds);
+            } catch (Exception e) {
+                // Conditions fall back to fetching their own inputs
+                log.warn("Prefetch failed for group {}: {}", key, e.getMessage());
+            }
+        }
+        return new PreparedGroup(rules, prefetched);
+    }
+
+    private void evaluateChunk(
+            PreparedGroup group,
+            List<Integer> chunk,
+            List<RuleEvaluationRequest> requests,
+            BatchEvaluationResult[] results,
+            long deadline) {
+        for (Integer index : chunk) {
+            if (System.nanoTime() - deadline > 0) {
+                // The batch has already given up on the rest of the chunk
+                return;
+            }
+            RuleEvaluationRequest request = requests.get(index);
+            try {
+                List<RuleEvaluationResult> evaluated = evaluationService.evaluateRules(
+                        request,
+                        group.rules(),
+                        group.prefetched().getOrDefault(request.getProductId(), Collections.emptyMap()));
+                results[index] = BatchEvaluationResult.builder()
+                        .index(index)
+                        .productId(request.getProductId())
+                        .success(true)
+                        .results(evaluated)
+                        .build();
+            } catch (RuntimeException | ActionExecutionException | ActionRegistrationException
+                     | ProductFetchException | PriceValidationException e) {
+                log.error("Batch item {} for product {} failed: {}", index, request.getProductId(), e.getMessage());
+                results[index] = failure(index, request.getProductId(), e.getMessage());
+            }
+        }
+    }
+
+    private List<List<Integer>> partition(List<Integer> indices) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indices.size(); from += chunkSize) {
+            chunks.add(indices.subList(from, Math.min(from + chunkSize, indices.size())));
+        }
+        return chunks;
+    }
+
+    private BatchEvaluationResult failure(int index, Long productId, String message) {
+        return BatchEvaluationResult.builder()
+                .index(index)
+                .productId(productId)
+                .success(false)
+                .results(Collections.emptyList())
+                .errorMessage(message)
+                .build();
+    }
+
+    private String rootMessage(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private record GroupKey(Long sellerId, Long siteId, Long categoryId, Long brandId) {
+        static GroupKey of(RuleEvaluationRequest request) {
+            return new GroupKey(request.getSellerId(), request.getSiteId(),
+                    request.getCategoryId(), request.getBrandId());
+        }
+    }
+
+    private record PreparedGroup(List<PricingRule> rules, Map<Long, Map<String, Object>> prefetched) {
+    }
+}
@@ -1,14 +1,135 @@
 package com.scaler.price.rule.service;
 
-import java.math.BigDecimal;
+import com.scaler.price.core.config.CompetitorPriceProperties;
+import com.scaler.price.rule.competitor.CompetitorPriceStore;
+import com.scaler.price.rule.competitor.CompetitorPriceStore.Observation;
+import com.scaler.price.rule.competitor.CompetitorPriceUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Competitor prices for rule evaluation, served from the in-memory
+ * {@link CompetitorPriceStore} fed by the ingestion consumer. Lookups never block on
+ * I/O; a price older than {@code app.competitor-prices.max-age} counts as missing, so
+ * rules depending on it do not match rather than act on a stale price.
+ *
+ * <p>The store starts empty on every node. Until the ingestion consumer has replayed the
+ * topic from its earliest offset, most lookups miss: competitor conditions do not match,
+ * and competitor price actions are skipped and listed under
+ * {@link ActionExecutorServiceImpl#SKIPPED_ACTIONS} in the result metadata.
+ */
+@Slf4j
 @Service
 public class CompetitorPriceService {
+    private final CompetitorPriceStore store;
+    private final CompetitorPriceProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CompetitorPriceService(CompetitorPriceProperties properties, MeterRegistry meterRegistry) {
+        this.store = new CompetitorPriceStore(properties.getStripes());
+        this.properties = properties;
+        this.hits = Counter.builder("competitor.prices.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("competitor.prices.lookups")
+                .tag("result", "miss")
+                .description("Lookups finding no price, or only a stale one")
+                .register(meterRegistry);
+        Gauge.builder("competitor.prices.size", store, CompetitorPriceStore::size)
+                .register(meterRegistry);
+    }
 
+    /**
+     * @return the latest price of the product at the competitor, or null if there is
+     * none within the maximum age
+     */
     public BigDecimal getCompetitorPrice(Long competitorId, Long productId) {
-        // TODO: Implement actual competitor price retrieval logic
-        // This is a placeholder implementation
-        return BigDecimal.valueOf(100.00);
+        if (competitorId == null || productId == null) {
+            return null;
+        }
+        return lookup(productId, competitorId, notBefore());
+    }
+
+    /**
+     * Same as {@link #getCompetitorPrice} in minor units, for the fixed-point evaluation path.
+     *
+     * @return the price in minor units, or {@link CompetitorPriceStore#NO_PRICE}
+     */
+    public long getCompetitorPriceMinor(Long competitorId, Long productId) {
+        if (competitorId == null || productId == null) {
+            return CompetitorPriceStore.NO_PRICE;
+        }
+        long price = store.getPriceMinor(productId, competitorId, notBefore());
+        (price != CompetitorPriceStore.NO_PRICE ? hits : misses).increment();
+        return price;
+    }
+
+    /**
+     * Bulk lookup keyed by product id, then competitor id. Missing and stale prices are omitted.
+     */
+    public Map<Long, Map<Long, BigDecimal>> getCompetitorPrices(
+            Collection<Long> productIds,
+            Collection<Long> competitorIds) {
+        Map<Long, Map<Long, BigDecimal>> prices = new HashMap<>();
+        long notBefore = notBefore();
+        for (Long productId : productIds) {
+            for (Long competitorId : competitorIds) {
+                if (productId == null || competitorId == null) {
+                    continue;
+                }
+                BigDecimal price = lookup(productId, competitorId, notBefore);
+                if (price != null) {
+                    prices.computeIfAbsent(productId, id -> new HashMap<>()).put(competitorId, price);
+                }
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * @return the latest observation regardless of its age
+     */
+    public Optional<Observation> getLatest(Long competitorId, Long productId) {
+        return store.get(productId, competitorId);
+    }
+
+    /**
+     * Stores an observation unless a newer one is already present.
+     *
+     * @return whether the observation was stored
+     */
+    public boolean record(CompetitorPriceUpdate update) {
+        return store.put(update.productId(), update.competitorId(), update.price(),
+                update.observedAt().toEpochMilli());
+    }
+
+    @Scheduled(fixedDelayString = "${app.competitor-prices.purge-interval-ms:3600000}",
+            initialDelayString = "${app.competitor-prices.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = store.purgeOlderThan(System.currentTimeMillis() - properties.getRetention().toMillis());
+        if (purged > 0) {
+            log.info("Purged {} competitor prices older than {}", purged, properties.getRetention());
+        }
+    }
+
+    private BigDecimal lookup(long productId, long competitorId, long notBefore) {
+        BigDecimal price = store.getPrice(productId, competitorId, notBefore);
+        (price != null ? hits : misses).increment();
+        return price;
+    }
+
+    private long notBefore() {
+        return System.currentTimeMillis() - properties.getMaxAge().toMillis();
     }
 }
@@ -1,12 +1,10 @@
 package com.scaler.price.rule.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scaler.price.rule.domain.Operator;
 import com.scaler.price.rule.domain.RuleCondition;
 import com.scaler.price.rule.dto.RuleEvaluationContext;
 import com.scaler.price.rule.exceptions.RuleEvaluationException;
+import com.scaler.price.rule.plan.CompiledCondition;
 import com.scaler.price.core.management.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,21 +15,55 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ConditionEvaluatorService {
-    private final ObjectMapper objectMapper;
+    private final RulePlanCompiler planCompiler;
     private final CompetitorPriceService competitorPriceService;
     private final InventoryService inventoryService;
     private final ProductAttributeService productAttributeService;
+    private final ConditionStatistics conditionStatistics;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    public static final String INVENTORY_LEVEL_CACHE_KEY = "inventoryLevel";
+
+    public static String competitorPriceCacheKey(Long competitorId) {
+        return "competitorPrice:" + competitorId;
+    }
+
+    // Attribute values are cached as Optionals so a prefetched missing value is not fetched again
+    public static String productAttributeCacheKey(Long attribute) {
+        return "productAttribute:" + attribute;
+    }
+
+    public static String categoryAttributeCacheKey(Long attribute) {
+        return "categoryAttribute:" + attribute;
+    }
 
     public boolean evaluateConditions(Set<RuleCondition> conditions, RuleEvaluationContext context) throws RuleEvaluationException {
+        return evaluateCompiledConditions(
+                conditions.stream().map(planCompiler::compileCondition).toList(),
+                context);
+    }
+
+    /**
+     * ANDs the conditions, cheapest-to-reject first as estimated by {@link ConditionStatistics},
+     * so a failing in-memory check short-circuits before any lookup. Conditions have no
+     * side effects beyond the context cache, so the order does not change the outcome.
+     */
+    public boolean evaluateCompiledConditions(List<CompiledCondition> conditions, RuleEvaluationContext context) throws RuleEvaluationException {
         try {
-            return conditions.stream().allMatch(condition -> evaluateCondition(condition, context));
+            for (CompiledCondition condition : conditionStatistics.order(conditions)) {
+                if (!evaluateMeasured(condition, context)) {
+                    return false;
+                }
+            }
+            return true;
         } catch (Exception e) {
             log.error("Error evaluating conditions for product {}: {}",
                     context.getProductId(), e.getMessage());
@@ -39,7 +71,21 @@ public class ConditionEvaluatorService {
         }
     }
 
-    private boolean evaluateCondition(RuleCondition condition, RuleEvaluationContext context) {
+    private boolean evaluateMeasured(CompiledCondition condition, RuleEvaluationContext context) {
+        if (!condition.isValid() || !conditionStatistics.shouldSample()) {
+            return evaluateCondition(condition, context);
+        }
+        long start = System.nanoTime();
+        boolean passed = evaluateCondition(condition, context);
+        conditionStatistics.record(condition.getType(), System.nanoTime() - start, passed);
+        return passed;
+    }
+
+    private boolean evaluateCondition(CompiledCondition condition, RuleEvaluationContext context) {
+        if (!condition.isValid()) {
+            log.debug("Skipping condition {} that failed to compile", condition.getConditionId());
+            return false;
+        }
         try {
             return switch (condition.getType()) {
                 case ATTRIBUTE_MATCH -> false;
@@ -52,8 +98,8 @@ public class ConditionEvaluatorService {
                 case CATEGORY_ATTRIBUTE -> evaluateCategoryAttribute(condition, context);
                 case PRODUCT_ATTRIBUTE -> evaluateProductAttribute(condition, context);
                 case TIME_BASED -> evaluateTimeBased(condition, context);
-                case CATEGORY_MATCH -> evaluateCategoryMatch(condition, context);
-                case BRAND_MATCH -> evaluateBrandMatch(condition, context);
+                case CATEGORY_MATCH -> evaluateIdMatch(context.getCategoryId(), condition);
+                case BRAND_MATCH -> evaluateIdMatch(context.getBrandId(), condition);
                 case CUSTOM -> evaluateCustomCondition(condition, context);
                 case MIN_MARGIN_PERCENTAGE -> evaluateMarginRange(condition, context);
                 default -> {
@@ -62,85 +108,44 @@ public class ConditionEvaluatorService {
                 }
             };
         } catch (Exception e) {
-            log.error("Error evaluating condition {}: {}", condition.getId(), e.getMessage());
+            log.error("Error evaluating condition {}: {}", condition.getConditionId(), e.getMessage());
             return false;
         }
     }
 
-    private boolean evaluateDateRange(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
-        Map<String, String> dateRange = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, String>>() {});
-    
-        LocalDateTime startDate = LocalDateTime.parse(dateRange.get("startDate"));
-        LocalDateTime endDate = LocalDateTime.parse(dateRange.get("endDate"));
+    private boolean evaluateDateRange(CompiledCondition condition, RuleEvaluationContext context) {
         LocalDateTime evaluationTime = context.getEvaluationTime();
-    
-        return !evaluationTime.isBefore(startDate) && !evaluationTime.isAfter(endDate);
+        return !evaluationTime.isBefore(condition.getStartDate()) && !evaluationTime.isAfter(condition.getEndDate());
     }
 
-    private boolean evaluateBrandMatch(RuleCondition condition, RuleEvaluationContext context) {
-        Long brandId = context.getBrandId();
-        if (brandId == null) {
+    private boolean evaluateIdMatch(Long id, CompiledCondition condition) {
+        if (id == null) {
             return false;
         }
-    
-        return switch (condition.getOperator()) {
-            case EQUALS -> brandId.equals(condition.getValue());
-            case IN -> {
-                List<String> validBrands = List.of(condition.getValue().split(","));
-                yield validBrands.contains(brandId);
-            }
-            default -> false;
-        };
-    }
 
-    private boolean evaluateCategoryMatch(RuleCondition condition, RuleEvaluationContext context) {
-        Long contextCategoryId = context.getCategoryId();
-        
-        if (contextCategoryId == null) {
-            return false;
-        }
-    
-        String conditionCategoryId = condition.getValue();
-    
         return switch (condition.getOperator()) {
-            case EQUALS -> contextCategoryId.equals(conditionCategoryId);
-            case IN -> {
-                List<String> validCategories = List.of(conditionCategoryId.split(","));
-                yield validCategories.contains(contextCategoryId);
-            }
+            case EQUALS, IN -> condition.getIdValues().contains(id);
             default -> false;
         };
     }
 
-    private boolean evaluateCategoryAttribute(RuleCondition condition, RuleEvaluationContext context) {
+    private boolean evaluateCategoryAttribute(CompiledCondition condition, RuleEvaluationContext context) {
         Long categoryId = context.getCategoryId();
         if (categoryId == null) {
             return false;
         }
 
-        String attributeValue = productAttributeService.getAttributeValue(
+        String attributeValue = cachedAttribute(
+                context,
+                categoryAttributeCacheKey(condition.getAttribute()),
                 categoryId,
                 condition.getAttribute()
         );
 
-        if (attributeValue == null) {
-            return false;
-        }
-
-        return switch (condition.getOperator()) {
-            case EQUALS -> attributeValue.equals(condition.getValue());
-            case CONTAINS -> attributeValue.contains(condition.getValue());
-            case IN -> {
-                List<String> validValues = List.of(condition.getValue().split(","));
-                yield validValues.contains(attributeValue);
-            }
-            default -> false;
-        };
+        return matchAttribute(attributeValue, condition);
     }
 
-    // ... existing code ...
-    private boolean evaluateSalesVelocity(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
+    private boolean evaluateSalesVelocity(CompiledCondition condition, RuleEvaluationContext context) {
         // Retrieve sales velocity data from the context or an external service
         BigDecimal salesVelocity = (BigDecimal) context.getFromCache("salesVelocity");
 
@@ -150,31 +155,24 @@ public class ConditionEvaluatorService {
             context.addToCache("salesVelocity", salesVelocity);
         }
 
-        // Parse the condition value to get the expected sales velocity range or threshold
-        Map<String, BigDecimal> velocityRange = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, BigDecimal>>() {});
-
-        // Evaluate the sales velocity against the condition's operator and value
-        return evaluateNumericCondition(salesVelocity, condition.getOperator(), velocityRange);
+        return evaluateNumericCondition(salesVelocity, condition);
     }
 
-    private boolean evaluatePriceRange(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
+    private boolean evaluatePriceRange(CompiledCondition condition, RuleEvaluationContext context) {
         BigDecimal price = context.getCurrentPrice();
-        Map<String, BigDecimal> range = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, BigDecimal>>() {});
 
         return switch (condition.getOperator()) {
-            case BETWEEN -> price.compareTo(range.get("min")) >= 0 &&
-                    price.compareTo(range.get("max")) <= 0;
-            case GREATER_THAN -> price.compareTo(range.get("value")) > 0;
-            case LESS_THAN -> price.compareTo(range.get("value")) < 0;
-            case GREATER_THAN_EQUALS -> price.compareTo(range.get("value")) >= 0;
-            case LESS_THAN_EQUALS -> price.compareTo(range.get("value")) <= 0;
+            case BETWEEN -> price.compareTo(condition.getMin()) >= 0 &&
+                    price.compareTo(condition.getMax()) <= 0;
+            case GREATER_THAN -> price.compareTo(condition.getThreshold()) > 0;
+            case LESS_THAN -> price.compareTo(condition.getThreshold()) < 0;
+            case GREATER_THAN_EQUALS -> price.compareTo(condition.getThreshold()) >= 0;
+            case LESS_THAN_EQUALS -> price.compareTo(condition.getThreshold()) <= 0;
             default -> false;
         };
     }
 
-    private boolean evaluateMarginRange(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
+    private boolean evaluateMarginRange(CompiledCondition condition, RuleEvaluationContext context) {
         if (context.getCostPrice() == null || context.getCostPrice().equals(BigDecimal.ZERO)) {
             return false;
         }
@@ -184,15 +182,12 @@ public class ConditionEvaluatorService {
                 context.getCostPrice()
         );
 
-        Map<String, BigDecimal> range = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, BigDecimal>>() {});
-
-        return evaluateNumericCondition(margin, condition.getOperator(), range);
+        return evaluateNumericCondition(margin, condition);
     }
 
-    private boolean evaluateInventoryLevel(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
+    private boolean evaluateInventoryLevel(CompiledCondition condition, RuleEvaluationContext context) {
         // Cache inventory check to avoid multiple service calls
-        Integer inventoryLevel = (Integer) context.getFromCache("inventoryLevel");
+        Integer inventoryLevel = (Integer) context.getFromCache(INVENTORY_LEVEL_CACHE_KEY);
 
         if (inventoryLevel == null) {
             inventoryLevel = inventoryService.getInventoryLevel(
@@ -200,28 +195,24 @@ public class ConditionEvaluatorService {
                     context.getSellerId(),
                     context.getSiteId()
             );
-            context.addToCache("inventoryLevel", inventoryLevel);
+            context.addToCache(INVENTORY_LEVEL_CACHE_KEY, inventoryLevel);
         }
 
-        Map<String, Integer> threshold = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, Integer>>() {});
-
-        return evaluateNumericCondition(
-                BigDecimal.valueOf(inventoryLevel),
-                condition.getOperator(),
-                threshold
-        );
+        return evaluateNumericCondition(BigDecimal.valueOf(inventoryLevel), condition);
     }
 
-    private boolean evaluateCompetitorPrice(RuleCondition condition, RuleEvaluationContext context) {
-        BigDecimal competitorPrice = (BigDecimal) context.getFromCache("competitorPrice");
+    private boolean evaluateCompetitorPrice(CompiledCondition condition, RuleEvaluationContext context) {
+        String cacheKey = competitorPriceCacheKey(condition.getCompetitorId());
+        BigDecimal competitorPrice = (BigDecimal) context.getFromCache(cacheKey);
 
         if (competitorPrice == null) {
             competitorPrice = competitorPriceService.getCompetitorPrice(
-                    context.getProductId(),
-                    Long.parseLong(condition.getValue()) // competitor identifier
+                    condition.getCompetitorId(),
+                    context.getProductId()
             );
-            context.addToCache("competitorPrice", competitorPrice);
+            if (competitorPrice != null) {
+                context.addToCache(cacheKey, competitorPrice);
+            }
         }
 
         if (competitorPrice == null) {
@@ -236,42 +227,48 @@ public class ConditionEvaluatorService {
         };
     }
 
-    private boolean evaluateTimeBased(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
-        Map<String, String> timeConfig = objectMapper.readValue(condition.getValue(),
-                new TypeReference<Map<String, String>>() {});
-
-        LocalDateTime now = context.getEvaluationTime();
-        LocalTime currentTime = now.toLocalTime();
-
-        LocalTime startTime = LocalTime.parse(timeConfig.get("startTime"));
-        LocalTime endTime = LocalTime.parse(timeConfig.get("endTime"));
-
-        return currentTime.isAfter(startTime) && currentTime.isBefore(endTime);
+    private boolean evaluateTimeBased(CompiledCondition condition, RuleEvaluationContext context) {
+        LocalTime currentTime = context.getEvaluationTime().toLocalTime();
+        return currentTime.isAfter(condition.getStartTime()) && currentTime.isBefore(condition.getEndTime());
     }
 
-    private boolean evaluateProductAttribute(RuleCondition condition, RuleEvaluationContext context) throws JsonProcessingException {
-        String attributeValue = productAttributeService.getAttributeValue(
+    private boolean evaluateProductAttribute(CompiledCondition condition, RuleEvaluationContext context) {
+        String attributeValue = cachedAttribute(
+                context,
+                productAttributeCacheKey(condition.getAttribute()),
                 context.getProductId(),
                 condition.getAttribute()
         );
 
+        return matchAttribute(attributeValue, condition);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String cachedAttribute(RuleEvaluationContext context, String cacheKey, Long ownerId, Long attribute) {
+        Optional<String> attributeValue = (Optional<String>) context.getFromCache(cacheKey);
+
+        if (attributeValue == null) {
+            attributeValue = Optional.ofNullable(productAttributeService.getAttributeValue(ownerId, attribute));
+            context.addToCache(cacheKey, attributeValue);
+        }
+
+        return attributeValue.orElse(null);
+    }
+
+    private boolean matchAttribute(String attributeValue, CompiledCondition condition) {
         if (attributeValue == null) {
             return false;
         }
 
         return switch (condition.getOperator()) {
-            case EQUALS -> attributeValue.equals(condition.getValue());
-            case CONTAINS -> attributeValue.contains(condition.getValue());
-            case IN -> {
-                List<String> validValues = objectMapper.readValue(condition.getValue(),
-                        new TypeReference<List<String>>() {});
-                yield validValues.contains(attributeValue);
-            }
+            case EQUALS -> attributeValue.equals(condition.getRawValue());
+            case CONTAINS -> attributeValue.contains(condition.getRawValue());
+            case IN -> condition.getStringValues().contains(attributeValue);
             default -> false;
         };
     }
 
-    private boolean evaluateCustomCondition(RuleCondition condition, RuleEvaluationContext context) {
+    private boolean evaluateCustomCondition(CompiledCondition condition, RuleEvaluationContext context) {
         // Implement custom condition logic based on your business requirements
         // This could involve calling external services or implementing complex business rules
         return true;
@@ -284,32 +281,16 @@ public class ConditionEvaluatorService {
 
         return sellingPrice.subtract(costPrice)
                 .divide(costPrice, 4, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("100"));
+                .multiply(HUNDRED);
     }
 
-    private boolean evaluateNumericCondition(
-            BigDecimal value,
-            Operator operator,
-            Map<String, ? extends Number> range) {
-
+    private boolean evaluateNumericCondition(BigDecimal value, CompiledCondition condition) {
+        Operator operator = condition.getOperator();
         return switch (operator) {
-            case BETWEEN -> {
-                BigDecimal min = new BigDecimal(range.get("min").toString());
-                BigDecimal max = new BigDecimal(range.get("max").toString());
-                yield value.compareTo(min) >= 0 && value.compareTo(max) <= 0;
-            }
-            case GREATER_THAN -> {
-                BigDecimal threshold = new BigDecimal(range.get("value").toString());
-                yield value.compareTo(threshold) > 0;
-            }
-            case LESS_THAN -> {
-                BigDecimal threshold = new BigDecimal(range.get("value").toString());
-                yield value.compareTo(threshold) < 0;
-            }
-            case EQUALS -> {
-                BigDecimal target = new BigDecimal(range.get("value").toString());
-                yield value.compareTo(target) == 0;
-            }
+            case BETWEEN -> value.compareTo(condition.getMin()) >= 0 && value.compareTo(condition.getMax()) <= 0;
+            case GREATER_THAN -> value.compareTo(condition.getThreshold()) > 0;
+            case LESS_THAN -> value.compareTo(condition.getThreshold()) < 0;
+            case EQUALS -> value.compareTo(condition.getThreshold()) == 0;
             default -> false;
         };
     }
@@ -0,0 +1,128 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.plan.CompiledCondition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Running latency and pass-rate estimates per {@link ConditionType}, used to order the
+ * conditions of a rule so that the ones most likely to reject it for the least work
+ * run first. Conditions are ANDed, so the expected cost of a rule is smallest when they
+ * are sorted by cost / (1 - pass rate): the cost paid per rejection.
+ *
+ * <p>Estimates are exponentially weighted moving averages seeded with priors that put
+ * lookups (inventory, attributes) behind in-memory checks until measurements say
+ * otherwise. Updates are plain volatile writes; an update lost to a concurrent one only
+ * delays the average slightly, which is cheaper than contending on every evaluation.
+ */
+@Component
+public class ConditionStatistics {
+    private static final double PRIOR_PASS_RATE = 0.5;
+    // Keeps the rank finite for conditions that never reject
+    private static final double MIN_REJECTION_RATE = 0.01;
+    private static final double IN_MEMORY_NANOS = 100;
+    private static final double CACHED_LOOKUP_NANOS = 500;
+    private static final double REMOTE_LOOKUP_NANOS = 1_000_000;
+
+    private final Estimate[] estimates;
+    private final double decay;
+    private final int sampleMask;
+
+    public ConditionStatistics(
+            @Value("${app.pricing.evaluation.condition-stats.decay:0.05}") double decay,
+            @Value("${app.pricing.evaluation.condition-stats.sample-every:8}") int sampleEvery) {
+        this.decay = Math.min(1, Math.max(0.001, decay));
+        // Rounded down to a power of two so sampling is a mask
+        this.sampleMask = Integer.highestOneBit(Math.max(1, sampleEvery)) - 1;
+        ConditionType[] types = ConditionType.values();
+        this.estimates = new Estimate[types.length];
+        for (ConditionType type : types) {
+            estimates[type.ordinal()] = new Estimate(priorNanos(type), PRIOR_PASS_RATE);
+        }
+    }
+
+    /**
+     * @return whether the caller should time this evaluation and {@link #record} it
+     */
+    public boolean shouldSample() {
+        return (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    public void record(ConditionType type, long nanos, boolean passed) {
+        Estimate estimate = estimates[type.ordinal()];
+        estimate.nanos += decay * (nanos - estimate.nanos);
+        estimate.passRate += decay * ((passed ? 1 : 0) - estimate.passRate);
+    }
+
+    public double costNanos(ConditionType type) {
+        return estimates[type.ordinal()].nanos;
+    }
+
+    public double passRate(ConditionType type) {
+        return estimates[type.ordinal()].passRate;
+    }
+
+    /**
+     * Expected cost paid per rejection; conditions with a lower rank run first.
+     * Conditions that failed to compile reject for free.
+     */
+    public double rank(CompiledCondition condition) {
+        if (!condition.isValid()) {
+            return 0;
+        }
+        Estimate estimate = estimates[condition.getType().ordinal()];
+        return estimate.nanos / Math.max(MIN_REJECTION_RATE, 1 - estimate.passRate);
+    }
+
+    /**
+     * @return the conditions by ascending rank; ties keep their sequence order
+     */
+    public List<CompiledCondition> order(List<CompiledCondition> conditions) {
+        int size = conditions.size();
+        if (size < 2) {
+            return conditions;
+        }
+        CompiledCondition[] ordered = conditions.toArray(new CompiledCondition[0]);
+        double[] ranks = new double[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = rank(ordered[i]);
+        }
+        // Rules have a handful of conditions; a stable insertion sort beats a comparator here
+        for (int i = 1; i < size; i++) {
+            CompiledCondition condition = ordered[i];
+            double rank = ranks[i];
+            int j = i - 1;
+            while (j >= 0 && ranks[j] > rank) {
+                ordered[j + 1] = ordered[j];
+                ranks[j + 1] = ranks[j];
+                j--;
+            }
+            ordered[j + 1] = condition;
+            ranks[j + 1] = rank;
+        }
+        return Arrays.asList(ordered);
+    }
+
+    private static double priorNanos(ConditionType type) {
+        return switch (type) {
+            case INVENTORY_LEVEL, PRODUCT_ATTRIBUTE, CATEGORY_ATTRIBUTE, SALES_VELOCITY -> REMOTE_LOOKUP_NANOS;
+            case COMPETITOR_PRICE -> CACHED_LOOKUP_NANOS;
+            default -> IN_MEMORY_NANOS;
+        };
+    }
+
+    private static final class Estimate {
+        volatile double nanos;
+        volatile double passRate;
+
+        Estimate(double nanos, double passRate) {
+            this.nanos = nanos;
+            this.passRate = passRate;
+        }
+    }
+}
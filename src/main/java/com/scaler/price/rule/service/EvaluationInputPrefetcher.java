@@ -0,0 +1,206 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.core.management.service.InventoryService;
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.plan.CompiledCondition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fetches the external inputs the conditions of a rule set will need, before any of
+ * them runs, so a request waits for the slowest lookup rather than for all of them in
+ * turn. The rule plans say which inputs are needed; each kind of input is fetched in
+ * bulk on its own virtual thread, and all of them share one deadline. Nothing outlives
+ * the call: lookups still running at the deadline are cancelled and their results
+ * discarded.
+ *
+ * <p>The results are keyed by product and then by the context cache key the condition
+ * reads, ready to seed {@link com.scaler.price.rule.dto.RuleEvaluationContext}.
+ * Attributes a completed lookup did not find are recorded as missing. The inputs of a
+ * lookup that fails or misses the deadline are left out, and the condition fetches them
+ * itself as it did before prefetching: a slow lookup may make the evaluation slower, but
+ * never changes which rules apply.
+ */
+@Slf4j
+@Component
+public class EvaluationInputPrefetcher {
+    private final RulePlanCache planCache;
+    private final InventoryService inventoryService;
+    private final CompetitorPriceService competitorPriceService;
+    private final ProductAttributeService productAttributeService;
+    private final ExecutorService prefetchExecutor;
+    private final Duration timeout;
+
+    public EvaluationInputPrefetcher(
+            RulePlanCache planCache,
+            InventoryService inventoryService,
+            CompetitorPriceService competitorPriceService,
+            ProductAttributeService productAttributeService,
+            @Qualifier("evaluationPrefetchExecutor") ExecutorService prefetchExecutor,
+            @Value("${app.pricing.evaluation.prefetch-timeout-ms:250}") long timeoutMs) {
+        this.planCache = planCache;
+        this.inventoryService = inventoryService;
+        this.competitorPriceService = competitorPriceService;
+        this.productAttributeService = productAttributeService;
+        this.prefetchExecutor = prefetchExecutor;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * @return the inputs fetched for each product, keyed by context cache key; products
+     * with nothing fetched may be absent
+     */
+    public Map<Long, Map<String, Object>> prefetch(
+            List<PricingRule> rules,
+            Long sellerId,
+            Long siteId,
+            Long categoryId,
+            Collection<Long> productIds) {
+        Inputs inputs = inputsOf(rules);
+        Set<Long> products = new HashSet<>(productIds);
+        products.remove(null);
+        if (inputs.isEmpty() || products.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Map<String, Object>> prefetched = new HashMap<>();
+        Map<String, Object> shared = new HashMap<>();
+        List<Fetch<?>> fetches = new ArrayList<>();
+
+        if (inputs.inventory) {
+            fork(fetches, "inventory levels",
+                    () -> inventoryService.getInventoryLevels(products, sellerId, siteId),
+                    levels -> levels.forEach((productId, level) ->
+                            put(prefetched, productId, ConditionEvaluatorService.INVENTORY_LEVEL_CACHE_KEY, level)));
+        }
+        if (!inputs.competitorIds.isEmpty()) {
+            fork(fetches, "competitor prices",
+                    () -> competitorPriceService.getCompetitorPrices(products, inputs.competitorIds),
+                    prices -> prices.forEach((productId, byCompetitor) -> byCompetitor.forEach(
+                            (competitorId, price) -> put(prefetched, productId,
+                                    ConditionEvaluatorService.competitorPriceCacheKey(competitorId), price))));
+        }
+        if (!inputs.productAttributes.isEmpty()) {
+            fork(fetches, "product attributes",
+                    () -> productAttributeService.getAttributeValues(products, inputs.productAttributes),
+                    values -> products.forEach(productId -> seedAttributes(
+                            prefetched.computeIfAbsent(productId, id -> new HashMap<>()),
+                            inputs.productAttributes,
+                            values.getOrDefault(productId, Collections.emptyMap()),
+                            ConditionEvaluatorService::productAttributeCacheKey)));
+        }
+        if (categoryId != null && !inputs.categoryAttributes.isEmpty()) {
+            fork(fetches, "category attributes",
+                    () -> productAttributeService.getAttributeValues(List.of(categoryId), inputs.categoryAttributes),
+                    values -> seedAttributes(
+                            shared,
+                            inputs.categoryAttributes,
+                            values.getOrDefault(categoryId, Collections.emptyMap()),
+                            ConditionEvaluatorService::categoryAttributeCacheKey));
+        }
+
+        join(fetches);
+
+        if (!shared.isEmpty()) {
+            products.forEach(productId -> prefetched.computeIfAbsent(productId, id -> new HashMap<>()).putAll(shared));
+        }
+        return prefetched;
+    }
+
+    private Inputs inputsOf(List<PricingRule> rules) {
+        Inputs inputs = new Inputs();
+        for (PricingRule rule : rules) {
+            for (CompiledCondition condition : planCache.getPlan(rule).getConditions()) {
+                if (!condition.isValid()) {
+                    continue;
+                }
+                ConditionType type = condition.getType();
+                if (type == ConditionType.INVENTORY_LEVEL) {
+                    inputs.inventory = true;
+                } else if (type == ConditionType.COMPETITOR_PRICE && condition.getCompetitorId() != null) {
+                    inputs.competitorIds.add(condition.getCompetitorId());
+                } else if (type == ConditionType.PRODUCT_ATTRIBUTE && condition.getAttribute() != null) {
+                    inputs.productAttributes.add(condition.getAttribute());
+                } else if (type == ConditionType.CATEGORY_ATTRIBUTE && condition.getAttribute() != null) {
+                    inputs.categoryAttributes.add(condition.getAttribute());
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private <T> void fork(List<Fetch<?>> fetches, String input, Callable<T> lookup, Consumer<T> merge) {
+        try {
+            fetches.add(new Fetch<>(input, prefetchExecutor.submit(lookup), merge));
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not prefetch {}: {}", input, e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for every lookup until the shared deadline and merges the results on the
+     * calling thread, so the lookups never touch the returned maps. Nothing is merged for
+     * a lookup that failed or is still running.
+     */
+    private void join(List<Fetch<?>> fetches) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int timedOut = 0;
+        for (Fetch<?> fetch : fetches) {
+            try {
+                fetch.await(Math.max(0, deadline - System.nanoTime()));
+            } catch (TimeoutException e) {
+                fetch.future.cancel(true);
+                timedOut++;
+            } catch (ExecutionException e) {
+                log.warn("Prefetch of {} failed: {}", fetch.input, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fetch.future.cancel(true);
+            }
+        }
+        if (timedOut > 0) {
+            log.warn("{} of {} input prefetches missed the {} ms deadline", timedOut, fetches.size(), timeout.toMillis());
+        }
+    }
+
+    // Attributes the lookup did not find are seeded as missing so the condition does not look them up
+    private static void seedAttributes(
+            Map<String, Object> inputs,
+            Set<Long> attributes,
+            Map<Long, String> values,
+            Function<Long, String> cacheKey) {
+        for (Long attribute : attributes) {
+            inputs.put(cacheKey.apply(attribute), Optional.ofNullable(values.get(attribute)));
+        }
+    }
+
+    private static void put(Map<Long, Map<String, Object>> prefetched, Long productId, String key, Object value) {
+        prefetched.computeIfAbsent(productId, id -> new HashMap<>()).put(key, value);
+    }
+
+    private static final class Inputs {
+        boolean inventory;
+        final Set<Long> competitorIds = new HashSet<>();
+        final Set<Long> productAttributes = new HashSet<>();
+        final Set<Long> categoryAttributes = new HashSet<>();
+
+        boolean isEmpty() {
+            return !inventory && competitorIds.isEmpty() && productAttributes.isEmpty() && categoryAttributes.isEmpty();
+        }
+    }
+
+    private record Fetch<T>(String input, Future<T> future, Consumer<T> merge) {
+        void await(long timeoutNanos) throws InterruptedException, ExecutionException, TimeoutException {
+            merge.accept(future.get(timeoutNanos, TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.scaler.price.rule.service;
 
 import com.scaler.price.audit.exception.AuditSearchException;
+import com.scaler.price.core.management.dto.ConflictSummary;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.RuleStatus;
 import com.scaler.price.rule.dto.RuleEvaluationRequest;
@@ -23,6 +24,8 @@ public interface PriceRuleService {
 
     RuleSiteSummary getSiteRulesSummary(Long siteId, RuleStatus status);
 
+    List<ConflictSummary> getSiteConflicts(Long siteId);
+
     RuleStatus activateRule(Long ruleId);
     BigDecimal getCurrentPrice(Long productId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.scaler.price.rule.service;
 
+import com.scaler.price.core.management.utils.FixedPointMoney;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.dto.RuleEvaluationContext;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,9 @@ import java.math.RoundingMode;
 @Slf4j
 @RequiredArgsConstructor
 public class PriceValidationService {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    // One at the scale the margin ratio is rounded to
+    private static final long RATIO_ONE = 10_000L;
 
     public BigDecimal validatePriceBounds(
             BigDecimal price,
@@ -36,6 +40,10 @@ public class PriceValidationService {
         // Check minimum margin if cost price is available
         if (context.getCostPrice() != null &&
                 rule.getMinimumMargin() != null) {
+            BigDecimal fixedPointPrice = clampToMarginFixedPoint(price, context.getCostPrice(), rule.getMinimumMargin());
+            if (fixedPointPrice != null) {
+                return fixedPointPrice;
+            }
             BigDecimal currentMargin = calculateMargin(price, context.getCostPrice());
             if (currentMargin.compareTo(rule.getMinimumMargin()) < 0) {
                 BigDecimal adjustedPrice = calculatePriceForMargin(
@@ -50,10 +58,38 @@ public class PriceValidationService {
         return price;
     }
 
+    /**
+     * The minimum margin check on minor units: the margin ratio at four decimals is the
+     * margin percentage at two. Returns null when an operand is not exact at those scales,
+     * or would divide by zero, leaving the check to the BigDecimal methods below.
+     */
+    private BigDecimal clampToMarginFixedPoint(BigDecimal price, BigDecimal costPrice, BigDecimal minimumMargin) {
+        long priceMinor = FixedPointMoney.toUnscaled(price, FixedPointMoney.PRICE_SCALE);
+        long cost = FixedPointMoney.toUnscaled(costPrice, FixedPointMoney.PRICE_SCALE);
+        long targetMargin = FixedPointMoney.toUnscaled(minimumMargin, 2);
+        if (priceMinor == FixedPointMoney.UNREPRESENTABLE || cost == FixedPointMoney.UNREPRESENTABLE
+                || targetMargin == FixedPointMoney.UNREPRESENTABLE
+                || priceMinor == 0 || targetMargin == RATIO_ONE) {
+            return null;
+        }
+        try {
+            long currentMargin = FixedPointMoney.multiplyDivide(Math.subtractExact(priceMinor, cost), RATIO_ONE, priceMinor);
+            if (currentMargin >= targetMargin) {
+                return price;
+            }
+            long adjustedPrice = FixedPointMoney.multiplyDivide(cost, RATIO_ONE, Math.subtractExact(RATIO_ONE, targetMargin));
+            log.debug("Adjusting price to maintain minimum margin: {}",
+                    FixedPointMoney.toBigDecimal(adjustedPrice, FixedPointMoney.PRICE_SCALE));
+            return FixedPointMoney.toBigDecimal(adjustedPrice, FixedPointMoney.PRICE_SCALE);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
     private BigDecimal calculateMargin(BigDecimal price, BigDecimal costPrice) {
         return price.subtract(costPrice)
                 .divide(price, 4, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("100"));
+                .multiply(HUNDRED);
     }
 
     private BigDecimal calculatePriceForMargin(
@@ -61,7 +97,7 @@ public class PriceValidationService {
             BigDecimal targetMargin) {
 
         BigDecimal marginMultiplier = BigDecimal.ONE.subtract(
-                targetMargin.divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP)
+                targetMargin.divide(HUNDRED, 4, RoundingMode.HALF_UP)
         );
 
         return costPrice.divide(marginMultiplier, 2, RoundingMode.HALF_UP);
@@ -1,6 +1,8 @@
 package com.scaler.price.rule.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.attribute.AttributeSnapshotStore;
+import com.scaler.price.rule.attribute.AttributeValues;
 import com.scaler.price.rule.domain.AttributeType;
 import com.scaler.price.rule.domain.ProductAttribute;
 import com.scaler.price.rule.events.AttributeEventPublisher;
@@ -25,6 +27,7 @@ public class ProductAttributeService {
     private final AttributeValidationService validationService;
     private final AttributeEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
+    private final AttributeSnapshotStore snapshotStore;
 
     @Transactional
     public ProductAttribute createAttribute(ProductAttribute attribute) throws AttributeValidationException {
@@ -211,20 +214,7 @@ public class ProductAttributeService {
     }
 
     private Object convertAttributeValue(String value, String type) {
-        if (value == null) return null;
-
-        try {
-            return switch (AttributeType.valueOf(type)) {
-                case NUMBER -> Double.parseDouble(value);
-                case BOOLEAN -> Boolean.parseBoolean(value);
-                case JSON -> objectMapper.readValue(value, Map.class);
-                case DATE -> LocalDateTime.parse(value);
-                default -> value;
-            };
-        } catch (Exception e) {
-            log.error("Error converting attribute value: {}", e.getMessage());
-            return value;
-        }
+        return AttributeValues.typed(value, type, objectMapper);
     }
 
     private ProductAttribute createAttributeFromEntry(
@@ -272,8 +262,23 @@ public class ProductAttributeService {
     }
 
     public String getAttributeValue(Long productId, Long attribute) {
-        return attributeRepository.findByProductIdAndAttributeKey(productId, attribute)
-                .map(ProductAttribute::getAttributeValue)
-                .orElse(null);
+        return snapshotStore.getValue(productId, attribute);
+    }
+
+    /**
+     * Batch variant of {@link #getAttributeValue}, loading the products not yet in memory
+     * together; attributes a product does not have are omitted.
+     */
+    public Map<Long, Map<Long, String>> getAttributeValues(Collection<Long> productIds, Collection<Long> attributes) {
+        Map<Long, Map<Long, String>> values = new HashMap<>();
+        snapshotStore.getSnapshots(productIds).forEach((productId, snapshot) -> {
+            for (Long attribute : attributes) {
+                String value = snapshot.value(attribute);
+                if (value != null) {
+                    values.computeIfAbsent(productId, id -> new HashMap<>()).put(attribute, value);
+                }
+            }
+        });
+        return values;
     }
 }
@@ -0,0 +1,371 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.core.cache.CacheInvalidation;
+import com.scaler.price.core.management.dto.ConflictSummary;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.SellerSiteConfig;
+import com.scaler.price.rule.events.RuleEvent;
+import com.scaler.price.rule.repository.RuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process catalog of all active pricing rules, indexed by seller, site, category
+ * and brand. Each seller-site config of a rule occupies a slot and every dimension maps
+ * an id to the bitset of slots that reference it, so candidate rules are found by
+ * intersecting bitsets.
+ *
+ * <p>Lookups answer exactly what {@link RuleRepository#findApplicableRules} would: the
+ * seller comes from the rule, while site, category and brand must all match one and the
+ * same config of it. A config without categories or brands only matches lookups that
+ * leave the category or brand out. The catalog is loaded once at startup and then maintained incrementally from the
+ * {@link RuleEvent}s published by {@link com.scaler.price.rule.events.RuleEventPublisher}.
+ * Until the initial load succeeds, lookups fall back to {@link RuleRepository}.
+ *
+ * <p>The same rules are also kept in a {@link RuleConflictIndex} for conflict checks.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RuleCatalog {
+    private final RuleRepository ruleRepository;
+    private final RulePlanCache planCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Scope> slots = new ArrayList<>();
+    private final Map<Long, IndexedRule> rulesById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final Map<Long, BitSet> bySeller = new HashMap<>();
+    private final Map<Long, BitSet> bySite = new HashMap<>();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<Long, BitSet> byBrand = new HashMap<>();
+    private final RuleConflictIndex conflicts = new RuleConflictIndex();
+
+    private volatile boolean loaded = false;
+
+    private static final Comparator<PricingRule> PRIORITY_DESC = Comparator.comparing(
+            PricingRule::getPriority, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadAll() {
+        try {
+            List<Long> ruleIds = ruleRepository.findActiveRuleIds();
+            List<PricingRule> rules = ruleIds.isEmpty()
+                    ? Collections.emptyList()
+                    : ruleRepository.findDetailedRules(ruleIds);
+            rules.forEach(this::initializeCollections);
+
+            lock.writeLock().lock();
+            try {
+                clearIndex();
+                rules.forEach(this::index);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rules.forEach(planCache::refresh);
+            log.info("Rule catalog loaded with {} active rules", rules.size());
+        } catch (Exception e) {
+            log.error("Failed to load rule catalog, falling back to repository lookups: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onRuleEvent(RuleEvent event) {
+        if (event.getRuleId() == null || event.getEventType() == null) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case CREATED, UPDATED, ACTIVATED -> reload(event.getRuleId());
+            case DELETED, DEACTIVATED -> remove(event.getRuleId());
+            default -> {
+                // Evaluation and validation events do not change the catalog
+            }
+        }
+    }
+
+    /**
+     * Rule changes made on other nodes arrive as invalidations of the {@code rules} cache.
+     */
+    @EventListener(condition = "#invalidation.cacheName() == 'rules'")
+    @Transactional(readOnly = true)
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.allEntries()) {
+            loadAll();
+            return;
+        }
+        invalidation.typedKeys().forEach(ruleId -> reload((Long) ruleId));
+    }
+
+    public List<PricingRule> findApplicableRules(
+            Long sellerId,
+            Long siteId,
+            Long categoryId,
+            Long brandId,
+            LocalDateTime currentTime) {
+        if (!loaded) {
+            return ruleRepository.findApplicableRules(sellerId, siteId, categoryId, brandId, currentTime);
+        }
+
+        List<PricingRule> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet candidates = intersect(null, bySeller.get(sellerId));
+            candidates = intersect(candidates, bySite.get(siteId));
+            if (categoryId != null) {
+                candidates = intersect(candidates, byCategory.get(categoryId));
+            }
+            if (brandId != null) {
+                candidates = intersect(candidates, byBrand.get(brandId));
+            }
+
+            // Several configs of a rule may match, the rule is still returned once
+            Set<Long> matched = new HashSet<>();
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                PricingRule rule = slots.get(slot).rule();
+                if (matched.add(rule.getId()) && isEffective(rule, currentTime)) {
+                    result.add(rule);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(PRIORITY_DESC);
+        return result;
+    }
+
+    /**
+     * Active rules that conflict with the given one: they share a seller and a site with
+     * it and their effective windows overlap.
+     */
+    public List<PricingRule> findConflictingRules(PricingRule rule) {
+        if (!loaded) {
+            // The stored version of a rule being updated would conflict with itself
+            return ruleRepository.findConflictingRules(rule.getSellerIds(), rule.getSiteIds(),
+                            rule.getEffectiveFrom(), rule.getEffectiveTo())
+                    .stream()
+                    .filter(conflict -> !Objects.equals(conflict.getId(), rule.getId()))
+                    .toList();
+        }
+        lock.readLock().lock();
+        try {
+            return conflicts.findConflicts(copyOf(rule.getSellerIds()), copyOf(rule.getSiteIds()),
+                    rule.getEffectiveFrom(), rule.getEffectiveTo(), rule.getId());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conflict report of a site: every pair of its active rules that share a seller and
+     * have overlapping effective windows.
+     */
+    @Transactional(readOnly = true)
+    public List<ConflictSummary> findSiteConflicts(Long siteId) {
+        if (!loaded) {
+            RuleConflictIndex siteIndex = new RuleConflictIndex();
+            ruleRepository.findRulesBySite(siteId).stream()
+                    .filter(rule -> Boolean.TRUE.equals(rule.getIsActive()))
+                    .forEach(rule -> siteIndex.add(rule, copyOf(rule.getSellerIds()), copyOf(rule.getSiteIds())));
+            return siteIndex.siteConflicts(siteId);
+        }
+        lock.readLock().lock();
+        try {
+            return conflicts.siteConflicts(siteId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rulesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reload(Long ruleId) {
+        Optional<PricingRule> loadedRule = ruleRepository.findRuleWithDetails(ruleId);
+        if (loadedRule.isEmpty() || !Boolean.TRUE.equals(loadedRule.get().getIsActive())) {
+            remove(ruleId);
+            return;
+        }
+
+        PricingRule rule = loadedRule.get();
+        initializeCollections(rule);
+
+        lock.writeLock().lock();
+        try {
+            unindex(ruleId);
+            index(rule);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        planCache.refresh(rule);
+        log.debug("Rule catalog refreshed rule {} version {}", ruleId, rule.getVersion());
+    }
+
+    private void remove(Long ruleId) {
+        lock.writeLock().lock();
+        try {
+            unindex(ruleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        planCache.evict(ruleId);
+        log.debug("Rule catalog removed rule {}", ruleId);
+    }
+
+    private void index(PricingRule rule) {
+        // Keep our own copy of the mapped ids so the rule can be unindexed exactly
+        Set<Long> sellerIds = copyOf(rule.getSellerIds());
+        List<Integer> ruleSlots = new ArrayList<>();
+        for (SellerSiteConfig config : rule.getSellerSiteConfigs()) {
+            Scope scope = new Scope(rule, sellerIds, config.getSiteId(),
+                    copyOf(config.getCategoryIds()), copyOf(config.getBrandIds()));
+            int slot;
+            if (freeSlots.isEmpty()) {
+                slot = slots.size();
+                slots.add(scope);
+            } else {
+                slot = freeSlots.pop();
+                slots.set(slot, scope);
+            }
+            ruleSlots.add(slot);
+
+            setBits(bySeller, sellerIds, slot);
+            if (scope.siteId() != null) {
+                setBits(bySite, Set.of(scope.siteId()), slot);
+            }
+            setBits(byCategory, scope.categoryIds(), slot);
+            setBits(byBrand, scope.brandIds(), slot);
+        }
+
+        IndexedRule entry = new IndexedRule(sellerIds, copyOf(rule.getSiteIds()), ruleSlots);
+        rulesById.put(rule.getId(), entry);
+        conflicts.add(rule, entry.sellerIds(), entry.siteIds());
+    }
+
+    private void unindex(Long ruleId) {
+        IndexedRule entry = rulesById.remove(ruleId);
+        if (entry == null) {
+            return;
+        }
+        conflicts.remove(ruleId);
+        for (int slot : entry.slots()) {
+            Scope scope = slots.get(slot);
+            clearBits(bySeller, scope.sellerIds(), slot);
+            if (scope.siteId() != null) {
+                clearBits(bySite, Set.of(scope.siteId()), slot);
+            }
+            clearBits(byCategory, scope.categoryIds(), slot);
+            clearBits(byBrand, scope.brandIds(), slot);
+            slots.set(slot, null);
+            freeSlots.push(slot);
+        }
+    }
+
+    private void clearIndex() {
+        slots.clear();
+        rulesById.clear();
+        freeSlots.clear();
+        bySeller.clear();
+        bySite.clear();
+        byCategory.clear();
+        byBrand.clear();
+        conflicts.clear();
+    }
+
+    private void setBits(Map<Long, BitSet> index, Set<Long> ids, int slot) {
+        for (Long id : ids) {
+            index.computeIfAbsent(id, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void clearBits(Map<Long, BitSet> index, Set<Long> ids, int slot) {
+        for (Long id : ids) {
+            BitSet bits = index.get(id);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    index.remove(id);
+                }
+            }
+        }
+    }
+
+    private BitSet intersect(BitSet candidates, BitSet bits) {
+        if (bits == null) {
+            return new BitSet();
+        }
+        if (candidates == null) {
+            return (BitSet) bits.clone();
+        }
+        candidates.and(bits);
+        return candidates;
+    }
+
+    private boolean isEffective(PricingRule rule, LocalDateTime currentTime) {
+        return rule.getEffectiveFrom() != null
+                && !rule.getEffectiveFrom().isAfter(currentTime)
+                && (rule.getEffectiveTo() == null || !rule.getEffectiveTo().isBefore(currentTime));
+    }
+
+    private Set<Long> copyOf(Set<Long> ids) {
+        return ids == null ? Collections.emptySet() : new HashSet<>(ids);
+    }
+
+    private void initializeCollections(PricingRule rule) {
+        // Touch lazy collections while the session is open so the cached entity stays usable
+        rule.getSellerIds().size();
+        rule.getSiteIds().size();
+        rule.getCategoryIds().size();
+        rule.getBrandIds().size();
+        rule.getSellerSiteConfigs().forEach(config -> {
+            config.getCategoryIds().size();
+            config.getBrandIds().size();
+        });
+        rule.getConditions().size();
+        rule.getActions().size();
+    }
+
+    /**
+     * The rule-level mappings a rule is checked for conflicts with, and the slots of its configs.
+     */
+    private record IndexedRule(
+            Set<Long> sellerIds,
+            Set<Long> siteIds,
+            List<Integer> slots) {
+    }
+
+    /**
+     * One seller-site config of a rule, together with the sellers of that rule.
+     */
+    private record Scope(
+            PricingRule rule,
+            Set<Long> sellerIds,
+            Long siteId,
+            Set<Long> categoryIds,
+            Set<Long> brandIds) {
+    }
+}
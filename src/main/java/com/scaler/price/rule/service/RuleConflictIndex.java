@@ -0,0 +1,171 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.core.management.dto.ConflictSummary;
+import com.scaler.price.core.management.utils.IntervalTree;
+import com.scaler.price.rule.domain.PricingRule;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Active rules indexed for conflict detection: one {@link IntervalTree} over the
+ * effective window per (site, seller) the rule is mapped to. A missing
+ * {@code effectiveFrom} or {@code effectiveTo} leaves the window open on that side.
+ *
+ * <p>Checking one rule costs O(log n + k) per (seller, site) pair it is mapped to. The
+ * conflict report of a site sweeps each of its trees once in start order. Not thread
+ * safe; {@link RuleCatalog} guards it with its own lock.
+ */
+class RuleConflictIndex {
+    private static final Comparator<PricingRule> BY_END = Comparator.comparingLong(RuleConflictIndex::end);
+
+    private final Map<Long, Map<Long, IntervalTree<PricingRule>>> bySiteAndSeller = new HashMap<>();
+    private final Map<Long, IndexedWindow> windows = new HashMap<>();
+
+    void add(PricingRule rule, Set<Long> sellerIds, Set<Long> siteIds) {
+        remove(rule.getId());
+        if (end(rule) < start(rule)) {
+            // Never effective, so it cannot conflict with anything
+            return;
+        }
+        for (Long siteId : siteIds) {
+            Map<Long, IntervalTree<PricingRule>> bySeller = bySiteAndSeller.computeIfAbsent(siteId, id -> new HashMap<>());
+            for (Long sellerId : sellerIds) {
+                bySeller.computeIfAbsent(sellerId, id -> new IntervalTree<>())
+                        .insert(start(rule), end(rule), rule.getId(), rule);
+            }
+        }
+        windows.put(rule.getId(), new IndexedWindow(start(rule), sellerIds, siteIds));
+    }
+
+    void remove(Long ruleId) {
+        IndexedWindow window = windows.remove(ruleId);
+        if (window == null) {
+            return;
+        }
+        for (Long siteId : window.siteIds()) {
+            Map<Long, IntervalTree<PricingRule>> bySeller = bySiteAndSeller.get(siteId);
+            if (bySeller == null) {
+                continue;
+            }
+            for (Long sellerId : window.sellerIds()) {
+                IntervalTree<PricingRule> tree = bySeller.get(sellerId);
+                if (tree != null) {
+                    tree.remove(window.start(), ruleId);
+                    if (tree.isEmpty()) {
+                        bySeller.remove(sellerId);
+                    }
+                }
+            }
+            if (bySeller.isEmpty()) {
+                bySiteAndSeller.remove(siteId);
+            }
+        }
+    }
+
+    void clear() {
+        bySiteAndSeller.clear();
+        windows.clear();
+    }
+
+    /**
+     * Rules with a priority that share a seller and a site with the given mappings and
+     * whose window overlaps {@code [effectiveFrom, effectiveTo]}, excluding the rule
+     * being checked itself.
+     */
+    List<PricingRule> findConflicts(Set<Long> sellerIds, Set<Long> siteIds,
+                                    LocalDateTime effectiveFrom, LocalDateTime effectiveTo, Long excludedRuleId) {
+        long start = effectiveFrom != null ? toMillis(effectiveFrom) : Long.MIN_VALUE;
+        long end = effectiveTo != null ? toMillis(effectiveTo) : Long.MAX_VALUE;
+        Map<Long, PricingRule> conflicts = new LinkedHashMap<>();
+        for (Long siteId : siteIds) {
+            Map<Long, IntervalTree<PricingRule>> bySeller = bySiteAndSeller.get(siteId);
+            if (bySeller == null) {
+                continue;
+            }
+            for (Long sellerId : sellerIds) {
+                IntervalTree<PricingRule> tree = bySeller.get(sellerId);
+                if (tree != null) {
+                    tree.query(start, end, rule -> {
+                        if (rule.getPriority() != null && !Objects.equals(rule.getId(), excludedRuleId)) {
+                            conflicts.putIfAbsent(rule.getId(), rule);
+                        }
+                    });
+                }
+            }
+        }
+        return new ArrayList<>(conflicts.values());
+    }
+
+    /**
+     * Every pair of rules on the site that share a seller and have overlapping windows,
+     * ordered by rule ids. Pairs with equal priority are reported as
+     * {@code PRIORITY_CONFLICT}, the rest as {@code TIME_OVERLAP}.
+     */
+    List<ConflictSummary> siteConflicts(Long siteId) {
+        Map<Long, IntervalTree<PricingRule>> bySeller = bySiteAndSeller.get(siteId);
+        if (bySeller == null) {
+            return List.of();
+        }
+        Set<RulePair> reportedPairs = new HashSet<>();
+        List<ConflictSummary> conflicts = new ArrayList<>();
+        for (IntervalTree<PricingRule> tree : bySeller.values()) {
+            // Sweep in start order; the open windows all overlap the one starting now
+            PriorityQueue<PricingRule> open = new PriorityQueue<>(BY_END);
+            tree.forEachInOrder(rule -> {
+                long start = start(rule);
+                while (!open.isEmpty() && end(open.peek()) < start) {
+                    open.poll();
+                }
+                for (PricingRule other : open) {
+                    PricingRule first = other.getId() < rule.getId() ? other : rule;
+                    PricingRule second = first == other ? rule : other;
+                    if (reportedPairs.add(new RulePair(first.getId(), second.getId()))) {
+                        conflicts.add(summarize(first, second));
+                    }
+                }
+                open.add(rule);
+            });
+        }
+        conflicts.sort(Comparator.comparing(ConflictSummary::getRuleId1)
+                .thenComparing(ConflictSummary::getRuleId2));
+        return conflicts;
+    }
+
+    private ConflictSummary summarize(PricingRule first, PricingRule second) {
+        String conflictType = Objects.equals(first.getPriority(), second.getPriority())
+                ? "PRIORITY_CONFLICT"
+                : "TIME_OVERLAP";
+        return new ConflictSummary(first.getId(), second.getId(),
+                first.getRuleName(), second.getRuleName(), conflictType);
+    }
+
+    private static long start(PricingRule rule) {
+        return rule.getEffectiveFrom() != null ? toMillis(rule.getEffectiveFrom()) : Long.MIN_VALUE;
+    }
+
+    private static long end(PricingRule rule) {
+        return rule.getEffectiveTo() != null ? toMillis(rule.getEffectiveTo()) : Long.MAX_VALUE;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        // Only the order matters, so any fixed offset will do
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record RulePair(Long first, Long second) {
+    }
+
+    private record IndexedWindow(long start, Set<Long> sellerIds, Set<Long> siteIds) {
+    }
+}
@@ -3,6 +3,7 @@ package com.scaler.price.rule.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scaler.price.core.management.service.ConfigurationService;
+import com.scaler.price.core.management.utils.FixedPointMoney;
 
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.RuleAction;
@@ -33,6 +34,7 @@ public class RuleEngineService {
     private final ActionExecutorService actionExecutorService;
     private final ConfigurationService configService;
 
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
 
     public RuleEvaluationResult evaluate(
             PricingRule rule,
@@ -110,7 +112,7 @@ public class RuleEngineService {
                     BigDecimal currentMargin = request.getBasePrice()
                             .subtract(request.getCostPrice())
                             .divide(request.getBasePrice(), 4, RoundingMode.HALF_UP)
-                            .multiply(new BigDecimal("100"));
+                            .multiply(HUNDRED);
                     return currentMargin.compareTo(minMarginPercent) >= 0;
 
                 case "customer_segment":
@@ -244,8 +246,18 @@ public class RuleEngineService {
             marginPercentage = configService.getMaximumMargin();
         }
 
+        long base = FixedPointMoney.toUnscaled(basePrice, FixedPointMoney.PRICE_SCALE);
+        long percent = FixedPointMoney.toUnscaled(marginPercentage, FixedPointMoney.PERCENT_SCALE);
+        if (base != FixedPointMoney.UNREPRESENTABLE && percent != FixedPointMoney.UNREPRESENTABLE) {
+            try {
+                return FixedPointMoney.toBigDecimal(
+                        FixedPointMoney.percentOf(base, percent), FixedPointMoney.PRICE_SCALE);
+            } catch (ArithmeticException e) {
+                // Overflow, computed on BigDecimal below
+            }
+        }
         return basePrice.multiply(marginPercentage)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
     }
 
     private BigDecimal validatePriceBounds(BigDecimal price, PricingRule rule, BigDecimal costPrice) {
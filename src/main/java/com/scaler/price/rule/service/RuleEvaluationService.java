@@ -6,9 +6,10 @@ import com.scaler.price.rule.exceptions.ActionExecutionException;
 import com.scaler.price.rule.exceptions.ActionRegistrationException;
 import com.scaler.price.rule.exceptions.ProductFetchException;
 import com.scaler.price.rule.exceptions.RuleEvaluationException;
-import com.scaler.price.rule.repository.RuleRepository;
+import com.scaler.price.rule.plan.CompiledRulePlan;
 import com.scaler.price.core.management.exceptions.PriceValidationException;
 import com.scaler.price.core.management.service.PriceValidationService;
+import com.scaler.price.core.management.utils.FixedPointMoney;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,23 +23,49 @@ import java.util.*;
 @Slf4j
 @RequiredArgsConstructor
 public class RuleEvaluationService {
-    private final RuleRepository ruleRepository;
+    private final RuleCatalog ruleCatalog;
     private final ConditionEvaluatorService conditionEvaluator;
     private final ActionExecutorService actionExecutor;
     private final PriceValidationService priceValidator;
     private final BundleService bundleService;
+    private final RulePlanCache planCache;
+    private final EvaluationInputPrefetcher inputPrefetcher;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
 
     public List<RuleEvaluationResult> evaluateRules(RuleEvaluationRequest request) throws RuleEvaluationException, ActionExecutionException, ActionRegistrationException, ProductFetchException, PriceValidationException {
         log.info("Starting rule evaluation for request: {}", request);
 
         List<PricingRule> applicableRules = findApplicableRules(request);
+        Map<String, Object> prefetched = applicableRules.isEmpty() || request.getProductId() == null
+                ? Collections.emptyMap()
+                : inputPrefetcher.prefetch(
+                        applicableRules,
+                        request.getSellerId(),
+                        request.getSiteId(),
+                        request.getCategoryId(),
+                        List.of(request.getProductId()))
+                .getOrDefault(request.getProductId(), Collections.emptyMap());
+
+        return evaluateRules(request, applicableRules, prefetched);
+    }
 
+    /**
+     * Evaluates a request against rules that were already resolved by the caller.
+     * Prefetched inputs are seeded into the evaluation context cache so conditions
+     * do not fetch them again.
+     */
+    public List<RuleEvaluationResult> evaluateRules(
+            RuleEvaluationRequest request,
+            List<PricingRule> applicableRules,
+            Map<String, Object> prefetchedInputs) throws RuleEvaluationException, ActionExecutionException, ActionRegistrationException, ProductFetchException, PriceValidationException {
         if (applicableRules.isEmpty()) {
             log.info("No applicable rules found for request: {}", request);
             return Collections.emptyList();
         }
 
         RuleEvaluationContext context = createEvaluationContext(request);
+        prefetchedInputs.forEach(context::addToCache);
         List<RuleEvaluationResult> results = new ArrayList<>();
         BigDecimal currentPrice = request.getBasePrice();
 
@@ -59,7 +86,7 @@ public class RuleEvaluationService {
     }
 
     private List<PricingRule> findApplicableRules(RuleEvaluationRequest request) {
-        return ruleRepository.findApplicableRules(
+        return ruleCatalog.findApplicableRules(
                 request.getSellerId(),
                 request.getSiteId(),
                 request.getCategoryId(),
@@ -133,13 +160,15 @@ public class RuleEvaluationService {
 
         log.debug("Evaluating rule: {} for context: {}", rule.getId(), context);
 
-        if (!conditionEvaluator.evaluateConditions(rule.getConditions(), context)) {
+        CompiledRulePlan plan = planCache.getPlan(rule);
+
+        if (!conditionEvaluator.evaluateCompiledConditions(plan.getConditions(), context)) {
             log.debug("Rule {} conditions not met", rule.getId());
             return null;
         }
 
-        RuleEvaluationResult result = actionExecutor.executeActions(
-                rule.getActions(),
+        RuleEvaluationResult result = actionExecutor.executeCompiledActions(
+                plan.getActions(),
                 context,
                 currentPrice
         );
@@ -163,18 +192,57 @@ public class RuleEvaluationService {
     private void calculateMetrics(RuleEvaluationResult result, RuleEvaluationContext context) {
         BigDecimal originalPrice = context.getCurrentPrice();
         BigDecimal adjustedPrice = result.getAdjustedPrice();
+        boolean hasCost = context.getCostPrice() != null && !context.getCostPrice().equals(BigDecimal.ZERO);
 
         result.setOriginalPrice(originalPrice);
+        if (calculateMetricsFixedPoint(result, originalPrice, adjustedPrice, hasCost ? context.getCostPrice() : null)) {
+            return;
+        }
         result.setDiscountAmount(originalPrice.subtract(adjustedPrice));
 
-        if (context.getCostPrice() != null && !context.getCostPrice().equals(BigDecimal.ZERO)) {
+        if (hasCost) {
             BigDecimal margin = adjustedPrice.subtract(context.getCostPrice())
                     .divide(adjustedPrice, 2, RoundingMode.HALF_UP)
-                    .multiply(new BigDecimal("100"));
+                    .multiply(HUNDRED);
             result.setMarginPercentage(margin);
         }
     }
 
+    /**
+     * Same metrics on minor units, at the price scale. Returns false, having set nothing,
+     * when a price is not exact at that scale or the adjusted price is zero, so the
+     * BigDecimal path computes them or fails as it always did.
+     */
+    private boolean calculateMetricsFixedPoint(
+            RuleEvaluationResult result,
+            BigDecimal originalPrice,
+            BigDecimal adjustedPrice,
+            BigDecimal costPrice) {
+        long original = FixedPointMoney.toUnscaled(originalPrice, FixedPointMoney.PRICE_SCALE);
+        long adjusted = FixedPointMoney.toUnscaled(adjustedPrice, FixedPointMoney.PRICE_SCALE);
+        long cost = costPrice != null ? FixedPointMoney.toUnscaled(costPrice, FixedPointMoney.PRICE_SCALE) : 0;
+        if (original == FixedPointMoney.UNREPRESENTABLE || adjusted == FixedPointMoney.UNREPRESENTABLE
+                || cost == FixedPointMoney.UNREPRESENTABLE || (costPrice != null && adjusted == 0)) {
+            return false;
+        }
+        try {
+            long discount = Math.subtractExact(original, adjusted);
+            BigDecimal margin = null;
+            if (costPrice != null) {
+                // The margin ratio is rounded to two decimals before it is made a percentage
+                long ratio = FixedPointMoney.multiplyDivide(Math.subtractExact(adjusted, cost), 100, adjusted);
+                margin = FixedPointMoney.toBigDecimal(Math.multiplyExact(ratio, 100), 2);
+            }
+            result.setDiscountAmount(FixedPointMoney.toBigDecimal(discount, FixedPointMoney.PRICE_SCALE));
+            if (margin != null) {
+                result.setMarginPercentage(margin);
+            }
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
     private void enrichResultWithRuleInfo(RuleEvaluationResult result, PricingRule rule) {
         result.setRuleId(rule.getId());
         result.setRuleName(rule.getRuleName());
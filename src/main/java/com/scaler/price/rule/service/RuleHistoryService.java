@@ -94,7 +94,9 @@ public interface RuleHistoryService {
     PricingRule restoreVersion(Long ruleId, Integer version, String userId, String comment);
 
     /**
-     * Archives history records older than the specified date.
+     * Archives history records older than the specified date. Whole months before it are
+     * detached from the table and written to the archive directory; records of the
+     * month the date falls in are deleted.
      *
      * @param cutoffDate Date before which records should be archived
      * @return Number of records archived
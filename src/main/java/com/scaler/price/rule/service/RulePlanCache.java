@@ -0,0 +1,74 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.plan.CompiledRulePlan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the compiled plan of every rule seen by the engine, keyed by rule id and
+ * guarded by the rule version. A plan is compiled when a rule is activated or the
+ * first time a given version is evaluated, and reused until the version changes.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RulePlanCache {
+    private final RulePlanCompiler compiler;
+
+    private final Map<Long, CompiledRulePlan> plans = new ConcurrentHashMap<>();
+
+    public CompiledRulePlan getPlan(PricingRule rule) {
+        if (rule.getId() == null) {
+            // Unsaved rules (e.g. previews) are compiled but never cached
+            return compiler.compile(rule);
+        }
+
+        CompiledRulePlan plan = plans.get(rule.getId());
+        if (plan != null && plan.isVersion(rule.getVersion())) {
+            return plan;
+        }
+
+        if (plan != null && isOlder(rule.getVersion(), plan.getVersion())) {
+            // A stale entity must not replace the plan of a newer version
+            return compiler.compile(rule);
+        }
+
+        return plans.compute(rule.getId(), (id, existing) ->
+                existing != null && existing.isVersion(rule.getVersion())
+                        ? existing
+                        : compiler.compile(rule));
+    }
+
+    public CompiledRulePlan refresh(PricingRule rule) {
+        if (rule.getId() == null) {
+            return compiler.compile(rule);
+        }
+        CompiledRulePlan plan = compiler.compile(rule);
+        plans.put(rule.getId(), plan);
+        log.debug("Refreshed compiled plan for rule {} version {}", rule.getId(), rule.getVersion());
+        return plan;
+    }
+
+    public void evict(Long ruleId) {
+        if (ruleId != null && plans.remove(ruleId) != null) {
+            log.debug("Evicted compiled plan for rule {}", ruleId);
+        }
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    private boolean isOlder(Long version, Long cachedVersion) {
+        return version != null && cachedVersion != null && version < cachedVersion;
+    }
+}
@@ -0,0 +1,238 @@
+package com.scaler.price.rule.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.management.utils.FixedPointMoney;
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.Operator;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.rule.domain.RuleCondition;
+import com.scaler.price.rule.plan.CompiledAction;
+import com.scaler.price.rule.plan.CompiledCondition;
+import com.scaler.price.rule.plan.CompiledRulePlan;
+import com.scaler.price.validation.helper.ActionParameters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Turns {@link RuleCondition}s and {@link RuleAction}s into their compiled, typed form.
+ * A condition or action that fails to compile is kept in the plan as invalid rather
+ * than failing the whole rule.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RulePlanCompiler {
+    private final ObjectMapper objectMapper;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int PRICE_SCALE = FixedPointMoney.PRICE_SCALE;
+    private static final int PERCENT_SCALE = FixedPointMoney.PERCENT_SCALE;
+    private static final Comparator<Integer> SEQUENCE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    public CompiledRulePlan compile(PricingRule rule) {
+        List<CompiledCondition> conditions = new ArrayList<>();
+        if (rule.getConditions() != null) {
+            rule.getConditions().forEach(condition -> conditions.add(compileCondition(condition)));
+        }
+        conditions.sort(Comparator.comparing(CompiledCondition::getSequence, SEQUENCE_ORDER));
+
+        List<CompiledAction> actions = new ArrayList<>();
+        if (rule.getActions() != null) {
+            rule.getActions().forEach(action -> actions.add(compileAction(action)));
+        }
+        actions.sort(Comparator.comparing(CompiledAction::getSequence, SEQUENCE_ORDER));
+
+        log.debug("Compiled plan for rule {} version {}: {} conditions, {} actions",
+                rule.getId(), rule.getVersion(), conditions.size(), actions.size());
+
+        return CompiledRulePlan.builder()
+                .ruleId(rule.getId())
+                .version(rule.getVersion())
+                .conditions(List.copyOf(conditions))
+                .actions(List.copyOf(actions))
+                .compiledAt(LocalDateTime.now())
+                .build();
+    }
+
+    public CompiledCondition compileCondition(RuleCondition condition) {
+        if (condition.getType() == null) {
+            return CompiledCondition.invalid(condition.getId(), null, condition.getOperator(), condition.getSequence());
+        }
+
+        CompiledCondition.CompiledConditionBuilder builder = CompiledCondition.builder()
+                .conditionId(condition.getId())
+                .type(condition.getType())
+                .operator(condition.getOperator())
+                .attribute(condition.getAttribute())
+                .sequence(condition.getSequence())
+                .rawValue(condition.getValue());
+
+        try {
+            switch (condition.getType()) {
+                case PRICE_RANGE, MARGIN_RANGE, MIN_MARGIN_PERCENTAGE, SALES_VELOCITY, INVENTORY_LEVEL -> {
+                    Map<String, BigDecimal> range = objectMapper.readValue(condition.getValue(),
+                            new TypeReference<Map<String, BigDecimal>>() {});
+                    builder.min(range.get("min"))
+                            .max(range.get("max"))
+                            .threshold(range.get("value"));
+                }
+                case DATE_RANGE -> {
+                    Map<String, String> dateRange = readStringMap(condition.getValue());
+                    builder.startDate(LocalDateTime.parse(dateRange.get("startDate")))
+                            .endDate(LocalDateTime.parse(dateRange.get("endDate")));
+                }
+                case TIME_BASED -> {
+                    Map<String, String> timeConfig = readStringMap(condition.getValue());
+                    builder.startTime(LocalTime.parse(timeConfig.get("startTime")))
+                            .endTime(LocalTime.parse(timeConfig.get("endTime")));
+                }
+                case COMPETITOR_PRICE -> builder.competitorId(Long.parseLong(condition.getValue().trim()));
+                case BRAND_MATCH, CATEGORY_MATCH -> builder.idValues(splitIds(condition.getValue()));
+                case CATEGORY_ATTRIBUTE -> builder.stringValues(Set.copyOf(Arrays.asList(condition.getValue().split(","))));
+                case PRODUCT_ATTRIBUTE -> {
+                    if (condition.getOperator() == Operator.IN) {
+                        List<String> values = objectMapper.readValue(condition.getValue(),
+                                new TypeReference<List<String>>() {});
+                        builder.stringValues(Set.copyOf(values));
+                    }
+                }
+                default -> {
+                    // No pre-parsing needed
+                }
+            }
+            return builder.build();
+        } catch (Exception e) {
+            log.warn("Could not compile condition {} of type {}: {}",
+                    condition.getId(), condition.getType(), e.getMessage());
+            return CompiledCondition.invalid(condition.getId(), condition.getType(),
+                    condition.getOperator(), condition.getSequence());
+        }
+    }
+
+    public CompiledAction compileAction(RuleAction action) {
+        CompiledAction.CompiledActionBuilder builder = CompiledAction.builder()
+                .actionId(action.getId())
+                .actionType(action.getActionType())
+                .sequence(action.getSequence())
+                .source(action);
+
+        try {
+            ActionParameters parameters = action.getParameters() != null
+                    ? objectMapper.treeToValue(action.getParameters(), ActionParameters.class)
+                    : new ActionParameters();
+            builder.parameters(parameters);
+            bindFixedPoint(builder, action.getActionType(), parameters);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Could not compile parameters of action {}: {}", action.getId(), e.getMessage());
+            builder.compileError("Failed to parse action parameters");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Binds the operands of the fixed-point path when the parameters are exact at its
+     * scales. Actions whose parameters are missing or invalid are left to the BigDecimal
+     * path, which reports them. Bundle and custom actions call out to other services and
+     * always take the BigDecimal path.
+     */
+    private void bindFixedPoint(CompiledAction.CompiledActionBuilder builder, ActionType type, ActionParameters parameters) {
+        if (type == null) {
+            return;
+        }
+        switch (type) {
+            case SET_PRICE -> {
+                if (parameters.getValue() == null) {
+                    return;
+                }
+                long amount;
+                try {
+                    amount = FixedPointMoney.toUnscaledRounded(new BigDecimal(parameters.getValue()), PRICE_SCALE);
+                } catch (NumberFormatException e) {
+                    return;
+                }
+                bind(builder, amount, 0);
+            }
+            case DISCOUNT_PERCENTAGE -> {
+                BigDecimal discount = parameters.getDiscountPercentage();
+                if (discount != null && discount.compareTo(HUNDRED) > 0) {
+                    log.warn("Discount percentage {} is greater than 100%, capping at 100%", discount);
+                    discount = HUNDRED;
+                }
+                bind(builder, 0, FixedPointMoney.toUnscaled(discount, PERCENT_SCALE));
+            }
+            case DISCOUNT_AMOUNT -> {
+                BigDecimal discount = parameters.getDiscountAmount();
+                if (discount != null && discount.signum() >= 0) {
+                    bind(builder, FixedPointMoney.toUnscaled(discount, PRICE_SCALE), 0);
+                }
+            }
+            case MATCH_COMPETITOR_PRICE -> {
+                if (parameters.getCompetitorId() != null) {
+                    builder.competitorId(parameters.getCompetitorId());
+                    bind(builder, 0, 0);
+                }
+            }
+            case BEAT_COMPETITOR -> {
+                if (parameters.getCompetitor() != null) {
+                    builder.competitorId(parameters.getCompetitor());
+                    bind(builder, 0, FixedPointMoney.toUnscaled(parameters.getBeatPercentage(), PERCENT_SCALE));
+                }
+            }
+            case SET_MARGIN -> {
+                // The margin rate is rounded to two decimals before it is applied
+                BigDecimal margin = parameters.getMinimumMargin();
+                if (margin != null) {
+                    BigDecimal rate = margin.divide(HUNDRED, PRICE_SCALE, RoundingMode.HALF_UP);
+                    bind(builder, 0, FixedPointMoney.toUnscaled(rate.multiply(HUNDRED), PERCENT_SCALE));
+                }
+            }
+            case QUANTITY_DISCOUNT -> {
+                int minQuantity;
+                try {
+                    minQuantity = parameters.getMinQuantity() != null ? Integer.parseInt(parameters.getMinQuantity()) : 0;
+                } catch (NumberFormatException e) {
+                    return;
+                }
+                long increment = FixedPointMoney.toUnscaled(parameters.getTierIncrement(), PERCENT_SCALE);
+                if (minQuantity > 0 && increment != FixedPointMoney.UNREPRESENTABLE) {
+                    builder.minQuantity(minQuantity).percentIncrement(increment);
+                    bind(builder, 0, FixedPointMoney.toUnscaled(parameters.getBaseDiscount(), PERCENT_SCALE));
+                }
+            }
+            default -> {
+                // BigDecimal only
+            }
+        }
+    }
+
+    private static void bind(CompiledAction.CompiledActionBuilder builder, long amount, long percent) {
+        if (amount != FixedPointMoney.UNREPRESENTABLE && percent != FixedPointMoney.UNREPRESENTABLE) {
+            builder.amount(amount).percent(percent).fixedPoint(true);
+        }
+    }
+
+    private Map<String, String> readStringMap(String value) throws JsonProcessingException {
+        return objectMapper.readValue(value, new TypeReference<Map<String, String>>() {});
+    }
+
+    private Set<Long> splitIds(String value) {
+        List<Long> ids = new ArrayList<>();
+        for (String token : value.split(",")) {
+            String trimmed = token.trim();
+            if (!trimmed.isEmpty()) {
+                ids.add(Long.parseLong(trimmed));
+            }
+        }
+        return Set.copyOf(ids);
+    }
+}
@@ -2,6 +2,8 @@ package com.scaler.price.rule.service.impl;
 
 import com.scaler.price.audit.exception.AuditSearchException;
 import com.scaler.price.audit.service.AuditService;
+import com.scaler.price.core.cache.CacheInvalidationBus;
+import com.scaler.price.core.management.dto.ConflictSummary;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.RuleStatus;
 import com.scaler.price.rule.dto.RuleEvaluationRequest;
@@ -31,12 +33,15 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class PriceRuleServiceImpl implements PriceRuleService {
+    private static final String RULES_CACHE = "rules";
 
     private final RuleRepository ruleRepository;
     private final RuleEngineService ruleEngine;
     private final PriceValidationService validationService;
     private final AuditService auditService;
     private final RuleEventPublisher eventPublisher;
+    private final RuleCatalog ruleCatalog;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public List<RuleEvaluationResult> evaluateRules(RuleEvaluationRequest request) throws ActionRegistrationException, ProductFetchException {
@@ -82,7 +87,7 @@ public class PriceRuleServiceImpl implements PriceRuleService {
     private List<PricingRule> findApplicableRules(RuleEvaluationRequest request) {
         LocalDateTime now = LocalDateTime.now();
 
-        return ruleRepository.findApplicableRules(
+        return ruleCatalog.findApplicableRules(
                 request.getSellerId(),
                 request.getSiteId(),
                 request.getCategoryId(),
@@ -103,6 +108,8 @@ public class PriceRuleServiceImpl implements PriceRuleService {
 
         auditService.auditRuleCreation(savedRule);
         eventPublisher.publishRuleCreated(savedRule);
+        // The rule catalog of other nodes only learns about the rule through the broadcast
+        cacheInvalidationBus.invalidate(RULES_CACHE, savedRule.getId());
 
         return savedRule;
     }
@@ -119,6 +126,7 @@ public class PriceRuleServiceImpl implements PriceRuleService {
 
         auditService.auditRuleUpdate(savedRule);
         eventPublisher.publishRuleUpdated(savedRule);
+        cacheInvalidationBus.invalidate(RULES_CACHE, savedRule.getId());
 
         return savedRule;
     }
@@ -187,6 +195,11 @@ public class PriceRuleServiceImpl implements PriceRuleService {
         );
     }
 
+    @Override
+    public List<ConflictSummary> getSiteConflicts(Long siteId) {
+        return ruleCatalog.findSiteConflicts(siteId);
+    }
+
     public RuleStatus activateRule(Long id) {
         PricingRule rule = getRule(id);
         rule.setIsActive(true);
@@ -194,6 +207,7 @@ public class PriceRuleServiceImpl implements PriceRuleService {
     
         PricingRule savedRule = ruleRepository.save(rule);
         eventPublisher.publishRuleActivated(savedRule);
+        cacheInvalidationBus.invalidate(RULES_CACHE, savedRule.getId());
     
         return RuleStatus.ACTIVE; // Or create a method to convert PricingRule to RuleStatus
     }
@@ -204,6 +218,7 @@ public class PriceRuleServiceImpl implements PriceRuleService {
 
         PricingRule savedRule = ruleRepository.save(rule);
         eventPublisher.publishRuleDeactivated(savedRule);
+        cacheInvalidationBus.invalidate(RULES_CACHE, savedRule.getId());
 
         return savedRule;
     }
@@ -1,6 +1,8 @@
 package com.scaler.price.rule.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.partition.MonthlyPartition;
+import com.scaler.price.core.partition.PartitionManager;
 import com.scaler.price.rule.domain.ChangeType;
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.domain.RuleHistory;
@@ -26,6 +28,7 @@ public class RuleHistoryServiceImpl implements RuleHistoryService {
     private final RuleHistoryRepository historyRepository;
     private final RuleRepository ruleRepository;
     private final ObjectMapper objectMapper;
+    private final PartitionManager partitionManager;
 
     @Override
     @Transactional
@@ -126,10 +129,16 @@ public class RuleHistoryServiceImpl implements RuleHistoryService {
     }
 
     @Override
-    @Transactional
     public int archiveOldRecords(LocalDateTime cutoffDate) {
         log.info("Archiving records older than {}", cutoffDate);
-        return historyRepository.deleteByTimestampBefore(cutoffDate);
+        if (!partitionManager.isEnabled()) {
+            return historyRepository.deleteByTimestampBefore(cutoffDate);
+        }
+        // Whole months go as partitions; only the month of the cutoff is deleted row by row
+        MonthlyPartition boundary = MonthlyPartition.containing(PartitionManager.RULE_HISTORY, cutoffDate);
+        long archived = partitionManager.retireBefore(PartitionManager.RULE_HISTORY, boundary.month());
+        int deleted = historyRepository.deleteByTimestampRange(boundary.start(), cutoffDate);
+        return (int) Math.min(Integer.MAX_VALUE, archived + deleted);
     }
 
     @Override
@@ -185,8 +194,11 @@ public class RuleHistoryServiceImpl implements RuleHistoryService {
 
     // Helper methods
     private Long getNextVersion(Long ruleId) {
-        return historyRepository.findMaxVersionByRuleId(ruleId)
-                .map(version -> version + 1)
+        // Versions only grow, so the newest record holds the highest one
+        return partitionManager.findNewestFirst(PartitionManager.RULE_HISTORY, (from, to) -> historyRepository
+                        .findFirstByRuleIdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
+                                ruleId, from, to))
+                .map(history -> history.getRuleVersion() + 1)
                 .orElse(1L);
     }
 
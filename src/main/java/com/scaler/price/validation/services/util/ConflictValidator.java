@@ -2,7 +2,7 @@ package com.scaler.price.validation.services.util;
 
 import com.scaler.price.rule.domain.PricingRule;
 import com.scaler.price.rule.exceptions.RuleValidationException;
-import com.scaler.price.rule.repository.RuleRepository;
+import com.scaler.price.rule.service.RuleCatalog;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -13,7 +13,7 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class ConflictValidator {
-    private final RuleRepository ruleRepository;
+    private final RuleCatalog ruleCatalog;
 
     public void validate(PricingRule rule) throws RuleValidationException{
         List<PricingRule> conflictingRules = findConflictingRules(rule);
@@ -29,11 +29,6 @@ public class ConflictValidator {
     }
 
     private List<PricingRule> findConflictingRules(PricingRule rule) {
-        return ruleRepository.findConflictingRules(
-                rule.getSellerIds(),
-                rule.getSiteIds(),
-                rule.getEffectiveFrom(),
-                rule.getEffectiveTo()
-        );
+        return ruleCatalog.findConflictingRules(rule);
     }
 }
\ No newline at end of file
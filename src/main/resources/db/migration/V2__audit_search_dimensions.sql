@@ -0,0 +1,58 @@
+-- Structured audit search: extracted dimensions with B-tree indexes and the payload as
+-- JSONB with a GIN index, replacing LIKE '%term%' scans over the serialized payload.
+
+-- audit_log used to be created by Hibernate. Flyway runs first, so on a fresh database
+-- the table is created here; Hibernate adds any columns introduced later.
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    created_by  VARCHAR(255),
+    updated_by  VARCHAR(255),
+    version     BIGINT,
+    ruleid      BIGINT       NOT NULL,
+    rulename    VARCHAR(255) NOT NULL,
+    ruletype    VARCHAR(255),
+    action      VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    data        JSONB,
+    event_time  TIMESTAMP(6),
+    changes     JSONB,
+    user_id     VARCHAR(255),
+    source      VARCHAR(255),
+    comment     VARCHAR(255),
+    snapshot    TEXT
+);
+
+ALTER TABLE audit_log ADD COLUMN IF NOT EXISTS product_id BIGINT;
+ALTER TABLE audit_log ADD COLUMN IF NOT EXISTS seller_id BIGINT;
+ALTER TABLE audit_log ADD COLUMN IF NOT EXISTS site_id BIGINT;
+
+-- Older schemas may hold the payload as text; only rewrite the table if they do
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_name = 'audit_log' AND column_name = 'data') <> 'jsonb' THEN
+        ALTER TABLE audit_log ALTER COLUMN data TYPE JSONB USING data::jsonb;
+    END IF;
+END $$;
+
+-- Price events carry their dimensions in the payload
+UPDATE audit_log
+SET product_id = (data ->> 'productId')::BIGINT,
+    seller_id  = (data ->> 'sellerId')::BIGINT,
+    site_id    = (data ->> 'siteId')::BIGINT
+WHERE type = 'PRICE_CREATED'
+  AND product_id IS NULL
+  AND data ?| ARRAY ['productId', 'sellerId', 'siteId'];
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_rule_time ON audit_log (ruleid, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_product_time ON audit_log (product_id, event_time DESC)
+    WHERE product_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_seller_time ON audit_log (seller_id, event_time DESC)
+    WHERE seller_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_site_time ON audit_log (site_id, event_time DESC)
+    WHERE site_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_user_time ON audit_log (user_id, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_type_time ON audit_log (type, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_data ON audit_log USING GIN (data jsonb_path_ops);
@@ -0,0 +1,148 @@
+-- Monthly range partitions for the append-only history tables: audit_log by event_time,
+-- rule_history by timestamp and failed_prices by created_at. Retention detaches and
+-- drops whole partitions instead of deleting rows; see PartitionManager.
+--
+-- Partitions are named <table>_YYYYMM. Each table also gets a <table>_default partition
+-- for rows outside the created months, which create_monthly_partition empties into the
+-- month partition when it is created.
+
+-- Creates the partition of the month starting at month_start if it does not exist
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := parent || '_' || to_char(month_start, 'YYYYMM');
+    month_end      DATE := (month_start + INTERVAL '1 month')::DATE;
+    key_column     TEXT;
+BEGIN
+    -- Serializes nodes creating the same partitions
+    PERFORM pg_advisory_xact_lock(hashtext(parent));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    SELECT a.attname INTO key_column
+    FROM pg_partitioned_table p
+    JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+    WHERE p.partrelid = parent::REGCLASS;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', partition_name, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                   parent || '_default', key_column, month_start, key_column, month_end, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, month_start, month_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Rebuilds an ordinary table as a partitioned one, with partitions from the month of its
+-- oldest row to months_ahead months from now. Rows without a key take their created_at.
+CREATE OR REPLACE FUNCTION convert_to_monthly_partitions(parent TEXT, key_column TEXT, months_ahead INT)
+    RETURNS VOID AS $$
+DECLARE
+    legacy     TEXT := parent || '_unpartitioned';
+    first_row  TIMESTAMP;
+    month      DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = parent::REGCLASS) THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', parent, legacy);
+    EXECUTE format('UPDATE %I SET %I = COALESCE(created_at, now()) WHERE %I IS NULL',
+                   legacy, key_column, key_column);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS) PARTITION BY RANGE (%I)',
+                   parent, legacy, key_column);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I SET NOT NULL', parent, key_column);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+
+    EXECUTE format('SELECT min(%I) FROM %I', key_column, legacy) INTO first_row;
+    month := date_trunc('month', LEAST(COALESCE(first_row, CURRENT_DATE), CURRENT_DATE))::DATE;
+    WHILE month <= last_month LOOP
+        PERFORM create_monthly_partition(parent, month);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+
+    EXECUTE format('INSERT INTO %I SELECT * FROM %I', parent, legacy);
+    -- Also drops foreign keys into the old table; a partitioned table cannot back them
+    EXECUTE format('DROP TABLE %I CASCADE', legacy);
+    -- Unique constraints on a partitioned table must include the partition key
+    EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, %I)', parent, key_column);
+END;
+$$ LANGUAGE plpgsql;
+
+-- rule_history and failed_prices used to be created by Hibernate; create them on a fresh
+-- database so every table goes through the same conversion.
+CREATE TABLE IF NOT EXISTS rule_history (
+    id            BIGINT       NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    created_by    VARCHAR(255),
+    updated_by    VARCHAR(255),
+    version       BIGINT,
+    ruleid        BIGINT       NOT NULL,
+    ruleversion   BIGINT       NOT NULL,
+    changesummary JSONB,
+    rulesnapshot  BYTEA        NOT NULL,
+    userid        VARCHAR(255) NOT NULL,
+    comment       VARCHAR(255) NOT NULL,
+    "timestamp"   TIMESTAMP(6) NOT NULL,
+    cutoffdate    TIMESTAMP(6) NOT NULL,
+    batchid       VARCHAR(255),
+    productid     BIGINT,
+    changetype    VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS failed_prices (
+    id            BIGINT       NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    created_by    VARCHAR(255),
+    updated_by    VARCHAR(255),
+    version       BIGINT,
+    upload_id     VARCHAR(255),
+    product_id    BIGINT,
+    seller_id     BIGINT,
+    site_id       BIGINT,
+    base_price    NUMERIC(38, 2),
+    selling_price NUMERIC(38, 2),
+    mrp           NUMERIC(38, 2),
+    currency      VARCHAR(255),
+    effective_from VARCHAR(255),
+    effective_to  VARCHAR(255),
+    price_type    VARCHAR(255),
+    row_status    VARCHAR(255),
+    row_number    INTEGER,
+    error_message TEXT
+);
+
+SELECT convert_to_monthly_partitions('audit_log', 'event_time', 3);
+SELECT convert_to_monthly_partitions('rule_history', 'timestamp', 3);
+SELECT convert_to_monthly_partitions('failed_prices', 'created_at', 3);
+
+-- rule_history ids came from an identity column, whose sequence went with the old table
+CREATE SEQUENCE IF NOT EXISTS rule_history_id_seq;
+SELECT setval('rule_history_id_seq', COALESCE((SELECT max(id) FROM rule_history), 0) + 1, false);
+ALTER TABLE rule_history ALTER COLUMN id SET DEFAULT nextval('rule_history_id_seq');
+ALTER SEQUENCE rule_history_id_seq OWNED BY rule_history.id;
+
+-- Indexes on the parent are created on every partition, including later ones
+CREATE INDEX IF NOT EXISTS idx_audit_log_rule_time ON audit_log (ruleid, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_product_time ON audit_log (product_id, event_time DESC)
+    WHERE product_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_seller_time ON audit_log (seller_id, event_time DESC)
+    WHERE seller_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_site_time ON audit_log (site_id, event_time DESC)
+    WHERE site_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_audit_log_user_time ON audit_log (user_id, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_type_time ON audit_log (type, event_time DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_log_data ON audit_log USING GIN (data jsonb_path_ops);
+
+CREATE INDEX IF NOT EXISTS idx_rule_history_rule_time ON rule_history (ruleid, "timestamp" DESC);
+CREATE INDEX IF NOT EXISTS idx_rule_history_user_time ON rule_history (userid, "timestamp" DESC);
+CREATE INDEX IF NOT EXISTS idx_rule_history_product_time ON rule_history (productid, "timestamp" DESC)
+    WHERE productid IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_rule_history_batch ON rule_history (batchid)
+    WHERE batchid IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_failed_prices_upload_row ON failed_prices (upload_id, row_number);
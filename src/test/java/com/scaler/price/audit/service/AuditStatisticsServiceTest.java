@@ -0,0 +1,63 @@
+package com.scaler.price.audit.service;
+
+import com.scaler.price.audit.domain.AuditRollupGranularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditStatisticsServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Test
+    void test_coverSpansEveryMinuteInRangeExactlyOnce() {
+        Random random = new Random(3);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime start = BASE.plusSeconds(random.nextInt(60 * 24 * 3600));
+            LocalDateTime end = start.plusSeconds(random.nextInt(40 * 24 * 3600));
+            List<AuditStatisticsService.BucketRange> ranges = AuditStatisticsService.cover(start, end);
+
+            LocalDateTime expectedFrom = AuditRollupGranularity.MINUTE.ceil(start);
+            LocalDateTime expectedTo = AuditRollupGranularity.MINUTE.ceil(end);
+            LocalDateTime cursor = expectedFrom;
+            for (AuditStatisticsService.BucketRange range : ranges) {
+                // Contiguous, non-empty and aligned to the bucket size
+                assertEquals(cursor, range.from());
+                assertTrue(range.from().isBefore(range.to()));
+                assertEquals(range.granularity().floor(range.from()), range.from());
+                assertEquals(range.granularity().floor(range.to()), range.to());
+                cursor = range.to();
+            }
+            if (expectedFrom.isBefore(expectedTo)) {
+                assertEquals(expectedTo, cursor);
+            } else {
+                assertTrue(ranges.isEmpty());
+            }
+            assertTrue(ranges.size() <= 5);
+        }
+    }
+
+    @Test
+    void test_coverUsesDaysForLongRanges() {
+        LocalDateTime start = BASE.plusMinutes(90).plusSeconds(20);
+        LocalDateTime end = BASE.plusDays(31).plusHours(5).plusMinutes(7);
+
+        List<AuditStatisticsService.BucketRange> ranges = AuditStatisticsService.cover(start, end);
+
+        assertEquals(List.of(
+                new AuditStatisticsService.BucketRange(AuditRollupGranularity.MINUTE, BASE.plusMinutes(91), BASE.plusHours(2)),
+                new AuditStatisticsService.BucketRange(AuditRollupGranularity.HOUR, BASE.plusHours(2), BASE.plusDays(1)),
+                new AuditStatisticsService.BucketRange(AuditRollupGranularity.DAY, BASE.plusDays(1), BASE.plusDays(31)),
+                new AuditStatisticsService.BucketRange(AuditRollupGranularity.HOUR, BASE.plusDays(31), BASE.plusDays(31).plusHours(5)),
+                new AuditStatisticsService.BucketRange(AuditRollupGranularity.MINUTE, BASE.plusDays(31).plusHours(5), end)),
+                ranges);
+        assertEquals(Duration.between(BASE.plusMinutes(91), end).toMinutes(),
+                ranges.stream().mapToLong(range -> Duration.between(range.from(), range.to()).toMinutes()).sum());
+    }
+}
@@ -0,0 +1,115 @@
+package com.scaler.price.audit.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_readReturnsRecordsAcrossSegments() throws IOException {
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(directory, 64, false)) {
+            for (int i = 1; i <= 20; i++) {
+                assertEquals(i, log.append("{\"entry\":" + i + "}"));
+            }
+            assertTrue(segmentCount() > 1);
+
+            List<AuditWriteAheadLog.Record> records = log.read(5, 12, 100);
+            assertEquals(8, records.size());
+            assertEquals(5, records.get(0).seq());
+            assertEquals("{\"entry\":12}", records.get(7).payload());
+
+            assertEquals(3, log.read(18, Long.MAX_VALUE, 100).size());
+            assertEquals(List.of(1L, 2L), log.read(1, 20, 2).stream().map(AuditWriteAheadLog.Record::seq).toList());
+        }
+    }
+
+    @Test
+    void test_commitDropsWrittenSegments() throws IOException {
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(directory, 64, false)) {
+            for (int i = 1; i <= 20; i++) {
+                log.append("{\"entry\":" + i + "}");
+            }
+            long segmentsBefore = segmentCount();
+
+            log.commit(15);
+
+            assertTrue(segmentCount() < segmentsBefore);
+            assertEquals(15, log.committedSeq());
+            // Everything after the checkpoint is still readable
+            assertEquals(5, log.read(16, Long.MAX_VALUE, 100).size());
+        }
+    }
+
+    @Test
+    void test_reopenRecoversCheckpointAndSkipsTornRecord() throws IOException {
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(directory, 1024, true)) {
+            for (int i = 1; i <= 5; i++) {
+                log.append("{\"entry\":" + i + "}");
+            }
+            log.commit(2);
+        }
+        // A crash in the middle of an append leaves half a line behind
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.filter(file -> file.getFileName().toString().endsWith(".wal")).findFirst().orElseThrow();
+            Files.writeString(segment, "6\t{\"ent", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(directory, 1024, true)) {
+            assertEquals(2, log.committedSeq());
+            assertEquals(5, log.lastSeq());
+            assertEquals(List.of(3L, 4L, 5L),
+                    log.read(3, Long.MAX_VALUE, 100).stream().map(AuditWriteAheadLog.Record::seq).toList());
+
+            assertEquals(6, log.append("{\"entry\":6}"));
+            assertEquals("{\"entry\":6}", log.read(6, 6, 1).get(0).payload());
+        }
+    }
+
+    @Test
+    void test_concurrentAppendsAreGroupCommitted() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (AuditWriteAheadLog log = new AuditWriteAheadLog(directory, 1024, true)) {
+            List<Future<Long>> appended = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                String payload = "{\"entry\":" + i + "}";
+                appended.add(callers.submit(() -> log.append(payload)));
+            }
+            Set<Long> seqs = new HashSet<>();
+            for (Future<Long> seq : appended) {
+                seqs.add(seq.get());
+            }
+
+            assertEquals(200, seqs.size());
+            assertEquals(200, log.lastSeq());
+            assertEquals(200, log.read(1, Long.MAX_VALUE, 1000).size());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".wal")).count();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.scaler.price.audit.service;
+
+import com.scaler.price.audit.AuditEventPublisher;
+import com.scaler.price.audit.domain.AuditEntry;
+import com.scaler.price.audit.domain.AuditEventType;
+import com.scaler.price.audit.repository.AuditEventRepository;
+import com.scaler.price.rule.domain.AuditAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private final AuditEventRepository auditRepository = mock(AuditEventRepository.class);
+    private final List<String> saved = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private AuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        // Like the real table, rule_id is NOT NULL; the first timeouts.get() saves time out
+        when(auditRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<AuditEntry> entries = invocation.getArgument(0);
+            if (timeouts.getAndDecrement() > 0) {
+                throw new QueryTimeoutException("canceling statement due to statement timeout");
+            }
+            for (AuditEntry entry : entries) {
+                if (entry.getRuleId() == null) {
+                    throw new DataIntegrityViolationException("null value in column \"rule_id\"");
+                }
+            }
+            entries.forEach(entry -> saved.add(entry.getRuleName()));
+            return entries;
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        writer = new AuditWriter(auditRepository, mock(AuditStatisticsService.class), mock(AuditEventPublisher.class),
+                Jackson2ObjectMapperBuilder.json().build(), transactionManager, new SimpleMeterRegistry(),
+                directory.toString(), 1 << 20, false, 100, 50, 10, 10, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.stop();
+    }
+
+    @Test
+    void test_transientFailureRetriesTheBatch() throws Exception {
+        timeouts.set(2);
+        writer.start();
+
+        writer.submit(entry(1L, "first"));
+        writer.submit(entry(2L, "second"));
+
+        awaitSaved(2);
+        assertEquals(List.of("first", "second"), saved);
+        assertFalse(Files.exists(directory.resolve("dead-letters")));
+    }
+
+    @Test
+    void test_entryThatCannotBeWrittenIsSetAside() throws Exception {
+        writer.start();
+
+        writer.submit(entry(1L, "before"));
+        writer.submit(entry(null, "price event"));
+        writer.submit(entry(2L, "after"));
+        awaitSaved(2);
+        writer.submit(entry(3L, "later"));
+
+        awaitSaved(3);
+        assertEquals(List.of("before", "after", "later"), saved);
+        String deadLetters = Files.readString(directory.resolve("dead-letters"));
+        assertTrue(deadLetters.contains("price event"));
+        assertFalse(deadLetters.contains("after"));
+    }
+
+    private void awaitSaved(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (saved.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, saved.size());
+    }
+
+    private AuditEntry entry(Long ruleId, String ruleName) {
+        return AuditEntry.builder()
+                .ruleId(ruleId)
+                .ruleName(ruleName)
+                .action(AuditAction.CREATED)
+                .type(AuditEventType.RULE_CREATED)
+                .eventTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.scaler.price.core.bulk.parser;
+
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingPriceFileParserTest {
+
+    private static final String HEADER = "Product ID*,Seller ID*,Site ID*,Base Price*,Selling Price*,MRP*,"
+            + "Price Type*,Currency*,Effective From*,Effective To,Is Active*,Status";
+
+    @TempDir
+    Path tempDir;
+
+    private StreamingPriceFileParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new StreamingPriceFileParser(new PriceRowMapper());
+    }
+
+    @Test
+    void test_csvRowsAreDeliveredInBoundedChunks() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 1; i <= 5; i++) {
+            csv.append(i).append(",10,20,100,90,120,REGULAR,INR,2024-01-01T00:00,,TRUE,ACTIVE\n");
+        }
+        csv.append(",,,,,,,,,,,\n");
+        Path file = Files.writeString(tempDir.resolve("prices.csv"), csv);
+
+        List<List<PriceUploadDTO>> chunks = new ArrayList<>();
+        int rows = parser.readPrices(file, PriceFileFormat.CSV, 2, chunks::add);
+
+        assertEquals(5, rows);
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+        PriceUploadDTO first = chunks.get(0).get(0);
+        assertEquals(1L, first.getProductId());
+        assertEquals(2, first.getRowNumber());
+        assertEquals(0, new BigDecimal("90").compareTo(first.getSellingPrice()));
+        assertNull(first.getErrorMessage());
+    }
+
+    @Test
+    void test_resumedReadSkipsCheckpointedRows() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 1; i <= 5; i++) {
+            csv.append(i).append(",10,20,100,90,120,REGULAR,INR,2024-01-01T00:00,,TRUE,ACTIVE\n");
+        }
+        Path file = Files.writeString(tempDir.resolve("resume.csv"), csv);
+
+        List<PriceUploadDTO> delivered = new ArrayList<>();
+        int rows = parser.readPrices(file, PriceFileFormat.CSV, 2, 3, delivered::addAll);
+
+        assertEquals(5, rows);
+        assertEquals(List.of(4L, 5L), delivered.stream().map(PriceUploadDTO::getProductId).toList());
+        assertEquals(5, delivered.get(0).getRowNumber());
+    }
+
+    @Test
+    void test_invalidRowsAreMarkedFailed() throws Exception {
+        String csv = HEADER + "\n" + "abc,10,20,100,150,120,\"REG,ULAR\",INR,2024-01-01T00:00,,TRUE,ACTIVE\n";
+        Path file = Files.writeString(tempDir.resolve("prices.csv"), csv);
+
+        List<PriceUploadDTO> prices = new ArrayList<>();
+        parser.readPrices(file, PriceFileFormat.CSV, 10, prices::addAll);
+
+        PriceUploadDTO price = prices.get(0);
+        assertEquals("FAILED", price.getStatus());
+        assertEquals("REG,ULAR", price.getPriceType());
+        assertTrue(price.getErrorMessage().contains("Invalid numeric value for Product ID"));
+        assertTrue(price.getErrorMessage().contains("Selling Price cannot be greater than MRP"));
+    }
+
+    @Test
+    void test_xlsxIsReadThroughEventApi() throws Exception {
+        Path file = tempDir.resolve("prices.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            String[] headers = HEADER.split(",");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(42);
+            row.createCell(1).setCellValue(10);
+            row.createCell(2).setCellValue(20);
+            row.createCell(3).setCellValue(100.5);
+            row.createCell(4).setCellValue(99);
+            row.createCell(5).setCellValue(120);
+            row.createCell(6).setCellValue("REGULAR");
+            row.createCell(7).setCellValue("INR");
+            row.createCell(8).setCellValue("2024-01-01T00:00");
+            row.createCell(10).setCellValue("TRUE");
+            workbook.write(out);
+        }
+
+        List<PriceUploadDTO> prices = new ArrayList<>();
+        int rows = parser.readPrices(file, PriceFileFormat.XLSX, 10, prices::addAll);
+
+        assertEquals(1, rows);
+        PriceUploadDTO price = prices.get(0);
+        assertEquals(42L, price.getProductId());
+        assertEquals(0, new BigDecimal("100.5").compareTo(price.getBasePrice()));
+        assertNull(price.getEffectiveTo());
+        assertTrue(price.getIsActive());
+        assertNull(price.getErrorMessage());
+    }
+
+    @Test
+    void test_missingHeadersAreRejected() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("prices.csv"), "Product ID,Seller ID\n1,2\n");
+
+        assertThrows(BulkUploadException.class, () -> parser.readHeader(file, PriceFileFormat.CSV));
+    }
+}
@@ -0,0 +1,114 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.bulk.parser.PriceFileFormat;
+import com.scaler.price.core.bulk.parser.StreamingPriceFileParser;
+import com.scaler.price.core.management.domain.BulkUploadTracker;
+import com.scaler.price.core.management.domain.UploadStatus;
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.repository.BulkUploadTrackerRepository;
+import com.scaler.price.core.management.repository.FailedPricesRepository;
+import com.scaler.price.core.management.service.impl.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncPriceProcessorTest {
+    private static final String UPLOAD_ID = "upload-1";
+
+    private final BulkUploadTrackerRepository trackerRepository = mock(BulkUploadTrackerRepository.class);
+    private final FailedPricesRepository failedPricesRepository = mock(FailedPricesRepository.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final StreamingPriceFileParser fileParser = mock(StreamingPriceFileParser.class);
+    private final PriceChunkWriter chunkWriter = mock(PriceChunkWriter.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<BulkUploadTracker> saved = new ArrayList<>();
+    private long storedVersion = 0L;
+
+    private AsyncPriceProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        BulkUploadTracker tracker = new BulkUploadTracker();
+        tracker.setUploadId(UPLOAD_ID);
+        tracker.setStoredFilePath("uploads/prices.csv");
+        tracker.setFileFormat(PriceFileFormat.CSV);
+        tracker.setVersion(storedVersion);
+        when(trackerRepository.findByUploadId(UPLOAD_ID)).thenReturn(Optional.of(tracker));
+        // Behaves like merging a detached entity: the argument must carry the stored
+        // version, and the returned copy carries the next one
+        when(trackerRepository.save(any(BulkUploadTracker.class))).thenAnswer(invocation -> {
+            BulkUploadTracker detached = invocation.getArgument(0);
+            if (!Objects.equals(detached.getVersion(), storedVersion)) {
+                throw new ObjectOptimisticLockingFailureException(BulkUploadTracker.class, UPLOAD_ID);
+            }
+            BulkUploadTracker merged = new BulkUploadTracker();
+            BeanUtils.copyProperties(detached, merged);
+            merged.setVersion(++storedVersion);
+            saved.add(merged);
+            return merged;
+        });
+        when(chunkWriter.write(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<PriceUploadDTO> rows = invocation.getArgument(0);
+            return new PriceChunkWriter.ChunkResult(rows.size(), List.of());
+        });
+
+        processor = new AsyncPriceProcessor(chunkWriter, trackerRepository, failedPricesRepository,
+                fileStorageService, fileParser, mock(ErrorReportWriter.class), new SimpleMeterRegistry(),
+                Runnable::run, transactionManager, 2, 2);
+    }
+
+    @Test
+    void test_uploadWithSeveralChunksCheckpointsEachAndCompletes() {
+        when(fileParser.readPrices(any(), eq(PriceFileFormat.CSV), eq(2), eq(0), any())).thenAnswer(invocation -> {
+            Consumer<List<PriceUploadDTO>> chunks = invocation.getArgument(4);
+            chunks.accept(List.of(row(1L, 2), row(2L, 3)));
+            chunks.accept(List.of(row(3L, 4), row(4L, 5)));
+            chunks.accept(List.of(row(5L, 6)));
+            return 5;
+        });
+
+        processor.processUpload(UPLOAD_ID, "uploads/prices.csv", PriceFileFormat.CSV);
+
+        // One checkpoint per chunk, then the final status
+        assertEquals(4, saved.size());
+        assertEquals(6, saved.get(2).getDispatchedRow());
+        assertEquals(5, saved.get(2).getCheckpointRow());
+        BulkUploadTracker last = saved.get(3);
+        assertEquals(UploadStatus.COMPLETED, last.getStatus());
+        assertEquals(5, last.getTotalRecords());
+        assertEquals(5, last.getSuccessCount());
+        verify(fileStorageService).deleteFile("uploads/prices.csv");
+        // The final status commits on its own, not as part of a caller's transaction
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    private PriceUploadDTO row(Long productId, int rowNumber) {
+        PriceUploadDTO row = new PriceUploadDTO();
+        row.setProductId(productId);
+        row.setSellerId(7L);
+        row.setSiteId(3L);
+        row.setRowNumber(rowNumber);
+        return row;
+    }
+}
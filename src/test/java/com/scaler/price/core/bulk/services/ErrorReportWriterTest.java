@@ -0,0 +1,60 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.management.domain.FailedPrice;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ErrorReportWriterTest {
+
+    private final ErrorReportWriter writer = new ErrorReportWriter(null, null, 1000, 2);
+
+    @Test
+    void test_csvReportEscapesFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeCsv(List.of(failure(2, "Selling price, base price \"mismatch\"")).iterator(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(String.join(",", ErrorReportWriter.HEADERS), lines[0]);
+        assertEquals("2,11,\"Selling price, base price \"\"mismatch\"\"\",100.50,90,120,INR,2024-01-01T00:00,,REGULAR,ACTIVE",
+                lines[1]);
+    }
+
+    @Test
+    void test_xlsxReportStreamsAllRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeXlsx(List.of(failure(2, "a"), failure(3, "b"), failure(4, "c"), failure(5, "d")).iterator(), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(4, sheet.getLastRowNum());
+            Row last = sheet.getRow(4);
+            assertEquals(5, (int) last.getCell(0).getNumericCellValue());
+            assertEquals("d", last.getCell(2).getStringCellValue());
+        }
+    }
+
+    private FailedPrice failure(int rowNumber, String errorMessage) {
+        return FailedPrice.builder()
+                .rowNumber(rowNumber)
+                .productId(11L)
+                .errorMessage(errorMessage)
+                .basePrice(new BigDecimal("100.50"))
+                .sellingPrice(new BigDecimal("90"))
+                .mrp(new BigDecimal("120"))
+                .currency("INR")
+                .effectiveFrom("2024-01-01T00:00")
+                .priceType("REGULAR")
+                .status("ACTIVE")
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.scaler.price.core.bulk.services;
+
+import com.scaler.price.core.management.dto.PriceUploadDTO;
+import com.scaler.price.core.management.exceptions.BulkUploadException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedChunkDispatcherTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test_rowsWithSameKeyAreWrittenInFileOrder() {
+        Map<Long, List<Integer>> writtenRows = new ConcurrentHashMap<>();
+        PartitionedChunkDispatcher dispatcher = new PartitionedChunkDispatcher(4, 8, executor, (partition, rows) -> {
+            for (PriceUploadDTO row : rows) {
+                assertEquals(partition, PartitionedChunkDispatcher.partitionOf(row, 4));
+                writtenRows.computeIfAbsent(row.getProductId(), id -> new ArrayList<>()).add(row.getRowNumber());
+            }
+            return new PartitionedChunkDispatcher.BatchOutcome(rows.size(), 0);
+        });
+
+        int rowNumber = 0;
+        for (int chunk = 0; chunk < 20; chunk++) {
+            List<PriceUploadDTO> rows = new ArrayList<>();
+            for (long productId = 1; productId <= 10; productId++) {
+                rows.add(row(productId, ++rowNumber));
+            }
+            dispatcher.dispatch(rows);
+        }
+        dispatcher.awaitCompletion();
+
+        assertEquals(new PartitionedChunkDispatcher.Checkpoint(200, 200, 200, 0), dispatcher.checkpoint());
+        assertEquals(10, writtenRows.size());
+        for (List<Integer> rows : writtenRows.values()) {
+            assertEquals(20, rows.size());
+            for (int i = 1; i < rows.size(); i++) {
+                assertTrue(rows.get(i - 1) < rows.get(i));
+            }
+        }
+    }
+
+    @Test
+    void test_partitionFailureStopsUpload() {
+        AtomicInteger writes = new AtomicInteger();
+        PartitionedChunkDispatcher dispatcher = new PartitionedChunkDispatcher(1, 1, executor, (partition, rows) -> {
+            writes.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        });
+
+        dispatcher.dispatch(List.of(row(1L, 1)));
+        assertThrows(BulkUploadException.class, () -> {
+            dispatcher.dispatch(List.of(row(1L, 2)));
+            dispatcher.awaitCompletion();
+        });
+        assertEquals(1, writes.get());
+        assertEquals(PartitionedChunkDispatcher.Checkpoint.EMPTY, dispatcher.checkpoint());
+    }
+
+    @Test
+    void test_errorInPartitionStopsUploadWithoutLeakingSlots() {
+        AtomicInteger writes = new AtomicInteger();
+        PartitionedChunkDispatcher dispatcher = new PartitionedChunkDispatcher(1, 1, executor, (partition, rows) -> {
+            writes.incrementAndGet();
+            throw new StackOverflowError("too deep");
+        });
+
+        // Each dispatch needs the only slot, so a leaked one would block the next dispatch forever
+        BulkUploadException failure = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(BulkUploadException.class, () -> {
+                    for (int rowNumber = 1; rowNumber <= 5; rowNumber++) {
+                        dispatcher.dispatch(List.of(row(1L, rowNumber)));
+                    }
+                    dispatcher.awaitCompletion();
+                }));
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertEquals(1, writes.get());
+        assertEquals(PartitionedChunkDispatcher.Checkpoint.EMPTY, dispatcher.checkpoint());
+    }
+
+    @Test
+    void test_checkpointOnlyCoversContiguousCompletedChunks() throws Exception {
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        PartitionedChunkDispatcher.Checkpoint resumeFrom = new PartitionedChunkDispatcher.Checkpoint(10, 11, 9, 1);
+        PartitionedChunkDispatcher dispatcher = new PartitionedChunkDispatcher(2, 4, executor, (partition, rows) -> {
+            if (rows.get(0).getRowNumber() == 12) {
+                await(releaseFirst);
+            }
+            return new PartitionedChunkDispatcher.BatchOutcome(rows.size() - 1, 1);
+        }, resumeFrom);
+
+        dispatcher.dispatch(List.of(row(1L, 12)));
+        dispatcher.dispatch(List.of(row(2L, 13), row(2L, 14)));
+        Thread.sleep(100);
+        assertEquals(resumeFrom, dispatcher.checkpoint());
+
+        releaseFirst.countDown();
+        dispatcher.awaitCompletion();
+        assertEquals(new PartitionedChunkDispatcher.Checkpoint(13, 14, 10, 3), dispatcher.checkpoint());
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PriceUploadDTO row(Long productId, int rowNumber) {
+        PriceUploadDTO row = new PriceUploadDTO();
+        row.setProductId(productId);
+        row.setSellerId(7L);
+        row.setSiteId(3L);
+        row.setRowNumber(rowNumber);
+        return row;
+    }
+}
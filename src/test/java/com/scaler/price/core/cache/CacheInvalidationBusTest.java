@@ -0,0 +1,93 @@
+package com.scaler.price.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheInvalidationBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryCacheInvalidationTransport transport = new InMemoryCacheInvalidationTransport();
+
+    @Test
+    void test_invalidationDropsExactKeysOnEveryNode() {
+        Node first = new Node();
+        Node second = new Node();
+        for (Node node : List.of(first, second)) {
+            node.cache("sellerStatus").put(1L, true);
+            node.cache("sellerStatus").put(2L, true);
+            node.cache("configurations").put("margin_1", "5");
+            node.cache("configurations").put("margin_1_int", 5);
+        }
+
+        first.bus.invalidate("sellerStatus", 1L);
+        first.bus.invalidate("configurations", "margin_1", "margin_1_int");
+
+        for (Node node : List.of(first, second)) {
+            assertNull(node.cache("sellerStatus").get(1L));
+            assertNotNull(node.cache("sellerStatus").get(2L));
+            assertNull(node.cache("configurations").get("margin_1"));
+            assertNull(node.cache("configurations").get("margin_1_int"));
+        }
+        // Only the receiving node republishes for its in-memory views
+        assertEquals(0, first.received.size());
+        assertEquals(2, second.received.size());
+    }
+
+    @Test
+    void test_invalidateAllClearsTheCache() {
+        Node first = new Node();
+        Node second = new Node();
+        second.cache("rules").put(7L, "rule");
+        second.cache("rules").put(8L, "rule");
+
+        first.bus.invalidateAll("rules");
+
+        assertNull(second.cache("rules").get(7L));
+        assertNull(second.cache("rules").get(8L));
+    }
+
+    @Test
+    void test_overtakenAndUnsupportedMessagesAreSkipped() {
+        Node node = new Node();
+        node.cache("siteStatus").put(3L, true);
+
+        transport.send(invalidation(CacheInvalidation.SCHEMA_VERSION, 5, "3"));
+        assertNull(node.cache("siteStatus").get(3L));
+
+        node.cache("siteStatus").put(3L, true);
+        transport.send(invalidation(CacheInvalidation.SCHEMA_VERSION, 4, "3"));
+        transport.send(invalidation(CacheInvalidation.SCHEMA_VERSION + 1, 6, "3"));
+        assertNotNull(node.cache("siteStatus").get(3L));
+        assertEquals(1, node.received.size());
+    }
+
+    private CacheInvalidation invalidation(int schemaVersion, long sequence, String key) {
+        return new CacheInvalidation(schemaVersion, "other-node", sequence, "siteStatus",
+                CacheInvalidation.KeyType.LONG, List.of(key), Instant.now());
+    }
+
+    private class Node {
+        private final TieredCacheManager cacheManager;
+        private final CacheInvalidationBus bus;
+        private final List<Object> received = new ArrayList<>();
+
+        private Node() {
+            cacheManager = new TieredCacheManager("maximumSize=100", Map.of(), null, meterRegistry);
+            cacheManager.afterPropertiesSet();
+            bus = new CacheInvalidationBus(cacheManager, transport, received::add);
+        }
+
+        private TieredCache cache(String name) {
+            return (TieredCache) cacheManager.getCache(name);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.scaler.price.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TieredCacheManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void test_localTierIsBoundedAndInstrumented() {
+        TieredCacheManager manager = new TieredCacheManager("maximumSize=10",
+                Map.of("sellerScores", "maximumSize=2,expireAfterWrite=1h"), null, meterRegistry);
+        manager.afterPropertiesSet();
+
+        TieredCache cache = (TieredCache) manager.getCache("sellerScores");
+        for (long sellerId = 1; sellerId <= 50; sellerId++) {
+            cache.put(sellerId, 0.5);
+        }
+        Cache<Object, Object> local = cache.getNativeCache();
+        local.cleanUp();
+
+        assertEquals(2, local.estimatedSize());
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "sellerScores").functionCounter());
+        // Caches only named by @Cacheable are created with the default spec
+        assertNotNull(manager.getCache("productCache"));
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "productCache").functionCounter());
+    }
+
+    @Test
+    void test_secondTierIsSharedBetweenNodes() {
+        SecondLevelCache shared = new LocalSecondLevelCache();
+        TieredCacheManager nodeA = new TieredCacheManager("maximumSize=10", Map.of(), shared, meterRegistry);
+        TieredCacheManager nodeB = new TieredCacheManager("maximumSize=10", Map.of(), shared, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(true, nodeA.getCache("sellerStatus").get(7L, () -> loads.incrementAndGet() > 0));
+        assertEquals(true, nodeB.getCache("sellerStatus").get(7L, () -> loads.incrementAndGet() > 0));
+        assertEquals(1, loads.get());
+
+        nodeA.getCache("siteStatus").put(3L, null);
+        assertNotNull(nodeB.getCache("siteStatus").get(3L));
+        assertNull(nodeB.getCache("siteStatus").get(3L).get());
+
+        nodeB.getCache("sellerStatus").evict(7L);
+        assertNull(shared.get("sellerStatus", 7L));
+        assertEquals(1.0, meterRegistry.get("cache.tier2.gets").tag("cache", "sellerStatus").tag("result", "hit").counter().count());
+    }
+}
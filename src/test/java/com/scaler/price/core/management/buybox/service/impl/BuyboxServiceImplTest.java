@@ -0,0 +1,145 @@
+package com.scaler.price.core.management.buybox.service.impl;
+
+import com.scaler.price.core.cache.CacheInvalidation;
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.SellerStatusChangedEvent;
+import com.scaler.price.core.management.buybox.events.SiteStatusChangedEvent;
+import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.management.repository.PriceRepository;
+import com.scaler.price.core.management.service.SellerScoreService;
+import com.scaler.price.rule.service.SellerService;
+import com.scaler.price.rule.service.SiteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BuyboxServiceImplTest {
+    private static final Long PRODUCT = 10L;
+    private static final Long SITE = 3L;
+    private static final Long OTHER_SITE = 4L;
+
+    private final PriceRepository priceRepository = mock(PriceRepository.class);
+    private final SellerScoreService sellerScoreService = mock(SellerScoreService.class);
+    private final SellerService sellerService = mock(SellerService.class);
+    private final SiteService siteService = mock(SiteService.class);
+    // Seller 1 offers the bigger discount and wins while it is active
+    private final Price cheaper = price(1L, SITE, "80.00");
+    private final Price dearer = price(2L, SITE, "90.00");
+    private final Price otherSite = price(1L, OTHER_SITE, "80.00");
+    private BuyboxServiceImpl buyboxService;
+
+    @BeforeEach
+    void setUp() {
+        when(priceRepository.findActivePricesForBuybox(eq(PRODUCT), eq(SITE), any(), eq(true), eq(true), eq(true)))
+                .thenReturn(List.of(cheaper, dearer));
+        when(priceRepository.findActivePricesForBuybox(eq(PRODUCT), eq(OTHER_SITE), any(), eq(true), eq(true), eq(true)))
+                .thenReturn(List.of(otherSite));
+        when(sellerScoreService.getSellerRating(anyLong())).thenReturn(0.5);
+        when(sellerService.isSellerActive(anyLong())).thenReturn(true);
+        when(siteService.isSiteActive(anyLong())).thenReturn(true);
+
+        buyboxService = new BuyboxServiceImpl(priceRepository, sellerScoreService, sellerService, siteService,
+                "maximumSize=100,expireAfterWrite=10m");
+        ReflectionTestUtils.setField(buyboxService, "priceWeight", 0.4);
+        ReflectionTestUtils.setField(buyboxService, "sellerRatingWeight", 0.3);
+        ReflectionTestUtils.setField(buyboxService, "fulfillmentWeight", 0.2);
+        ReflectionTestUtils.setField(buyboxService, "stockWeight", 0.1);
+    }
+
+    @Test
+    void test_winnerIsComputedOnceUntilOneOfItsPricesChanges() {
+        assertEquals(Optional.of(cheaper), buyboxService.getWinningPrice(PRODUCT, SITE));
+        assertEquals(Optional.of(cheaper), buyboxService.getWinningPrice(PRODUCT, SITE));
+        buyboxService.onPriceChanged(new PriceChangedEvent(PRODUCT, 1L, OTHER_SITE, null, null));
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        verifyComputed(SITE, 1);
+
+        buyboxService.onPriceChanged(new PriceChangedEvent(PRODUCT, 2L, SITE, null, null));
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        verifyComputed(SITE, 2);
+    }
+
+    @Test
+    void test_sellerStatusChangeRecomputesTheBuyboxesItCompetesIn() {
+        assertEquals(Optional.of(cheaper), buyboxService.getWinningPrice(PRODUCT, SITE));
+
+        when(sellerService.isSellerActive(1L)).thenReturn(false);
+        buyboxService.onSellerStatusChanged(new SellerStatusChangedEvent(1L));
+        assertEquals(Optional.of(dearer), buyboxService.getWinningPrice(PRODUCT, SITE));
+
+        // The deactivated seller still competes, so reactivating it drops the entry again
+        when(sellerService.isSellerActive(1L)).thenReturn(true);
+        buyboxService.onSellerStatusChanged(new SellerStatusChangedEvent(1L));
+        assertEquals(Optional.of(cheaper), buyboxService.getWinningPrice(PRODUCT, SITE));
+
+        buyboxService.onSellerStatusChanged(new SellerStatusChangedEvent(99L));
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        verifyComputed(SITE, 3);
+    }
+
+    @Test
+    void test_siteStatusChangeDropsOnlyThatSite() {
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        buyboxService.getWinningPrice(PRODUCT, OTHER_SITE);
+
+        when(siteService.isSiteActive(SITE)).thenReturn(false);
+        buyboxService.onSiteStatusChanged(new SiteStatusChangedEvent(SITE));
+
+        assertEquals(Optional.empty(), buyboxService.getWinningPrice(PRODUCT, SITE));
+        assertEquals(Optional.of(otherSite), buyboxService.getWinningPrice(PRODUCT, OTHER_SITE));
+        verifyComputed(OTHER_SITE, 1);
+    }
+
+    @Test
+    void test_remoteStatusInvalidationsDropTheirBuyboxes() {
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        buyboxService.getWinningPrice(PRODUCT, OTHER_SITE);
+
+        buyboxService.onRemoteStatusInvalidation(invalidation("siteStatus", OTHER_SITE));
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        buyboxService.getWinningPrice(PRODUCT, OTHER_SITE);
+        verifyComputed(SITE, 1);
+        verifyComputed(OTHER_SITE, 2);
+
+        // Seller 2 only competes on the first site
+        buyboxService.onRemoteStatusInvalidation(invalidation("sellerStatus", 2L));
+        buyboxService.getWinningPrice(PRODUCT, SITE);
+        buyboxService.getWinningPrice(PRODUCT, OTHER_SITE);
+        verifyComputed(SITE, 2);
+        verifyComputed(OTHER_SITE, 2);
+    }
+
+    private void verifyComputed(Long siteId, int times) {
+        verify(priceRepository, times(times))
+                .findActivePricesForBuybox(eq(PRODUCT), eq(siteId), any(), eq(true), eq(true), eq(true));
+    }
+
+    private CacheInvalidation invalidation(String cacheName, Long id) {
+        return new CacheInvalidation(CacheInvalidation.SCHEMA_VERSION, "other-node", 1L, cacheName,
+                CacheInvalidation.KeyType.LONG, List.of(String.valueOf(id)), Instant.now());
+    }
+
+    private Price price(Long sellerId, Long siteId, String sellingPrice) {
+        return Price.priceBuilder()
+                .productId(PRODUCT)
+                .sellerId(sellerId)
+                .siteId(siteId)
+                .mrp(new BigDecimal("100.00"))
+                .sellingPrice(new BigDecimal(sellingPrice))
+                .build();
+    }
+}
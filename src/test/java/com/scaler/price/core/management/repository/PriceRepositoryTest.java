@@ -9,6 +9,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +23,8 @@ class PriceRepositoryTest {
     private PriceRepository priceRepository;
 
     private Price testPrice;
-    private final LocalDateTime now = LocalDateTime.now();
+    // At the column precision, so H2 cannot round the stored effectiveFrom past it
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
     @BeforeEach
     void setUp() {
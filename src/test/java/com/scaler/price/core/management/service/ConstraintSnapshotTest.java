@@ -0,0 +1,91 @@
+package com.scaler.price.core.management.service;
+
+import com.scaler.price.core.management.service.ConstraintSnapshot.Bound;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintSnapshotTest {
+
+    @Test
+    void test_childInheritsUnsetBoundsFromAncestors() {
+        ConstraintSnapshot snapshot = ConstraintSnapshot.builder()
+                .category(1L, null)
+                .category(2L, 1L)
+                .category(3L, 2L)
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MIN_PRICE, new BigDecimal("10.00"))
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, new BigDecimal("500.00"))
+                .limit(2L, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, new BigDecimal("200.00"))
+                .build();
+
+        int row = snapshot.find(3L, ConstraintSnapshot.ANY_SITE);
+
+        assertEquals(new BigDecimal("10.00"), snapshot.get(row, Bound.MIN_PRICE));
+        assertEquals(new BigDecimal("200.00"), snapshot.get(row, Bound.MAX_PRICE));
+        assertNull(snapshot.get(row, Bound.MAX_DISCOUNT));
+        assertEquals(3, snapshot.categoryCount());
+    }
+
+    @Test
+    void test_firstLimitAtALevelWins() {
+        ConstraintSnapshot snapshot = ConstraintSnapshot.builder()
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MAX_DISCOUNT, new BigDecimal("30"))
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MAX_DISCOUNT, new BigDecimal("50"))
+                .build();
+
+        assertEquals(new BigDecimal("30.00"), snapshot.get(snapshot.find(1L, ConstraintSnapshot.ANY_SITE), Bound.MAX_DISCOUNT));
+    }
+
+    @Test
+    void test_siteSpecificBoundsFallBackToAnySite() {
+        ConstraintSnapshot snapshot = ConstraintSnapshot.builder()
+                .category(1L, null)
+                .category(2L, 1L)
+                .limit(1L, 7L, Bound.MIN_MARGIN, new BigDecimal("15"))
+                .limit(2L, ConstraintSnapshot.ANY_SITE, Bound.MIN_MARGIN, new BigDecimal("5"))
+                .limit(2L, ConstraintSnapshot.ANY_SITE, Bound.MAX_MARGIN, new BigDecimal("40"))
+                .build();
+
+        int site7 = snapshot.find(2L, 7L);
+        int site8 = snapshot.find(2L, 8L);
+
+        // The category's own limit wins over the parent's site-specific one
+        assertEquals(new BigDecimal("5.00"), snapshot.get(site7, Bound.MIN_MARGIN));
+        assertEquals(new BigDecimal("40.00"), snapshot.get(site7, Bound.MAX_MARGIN));
+        assertEquals(snapshot.find(2L, ConstraintSnapshot.ANY_SITE), site8);
+        assertEquals(new BigDecimal("15.00"), snapshot.get(snapshot.find(1L, 7L), Bound.MIN_MARGIN));
+        assertNull(snapshot.get(snapshot.find(1L, 8L), Bound.MIN_MARGIN));
+    }
+
+    @Test
+    void test_boundChecksAreExactForExtraDecimals() {
+        ConstraintSnapshot snapshot = ConstraintSnapshot.builder()
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MIN_PRICE, new BigDecimal("10.00"))
+                .limit(1L, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, new BigDecimal("20.00"))
+                .build();
+        int row = snapshot.find(1L, ConstraintSnapshot.ANY_SITE);
+
+        assertTrue(snapshot.isBelow(row, Bound.MIN_PRICE, new BigDecimal("9.999")));
+        assertFalse(snapshot.isBelow(row, Bound.MIN_PRICE, new BigDecimal("10")));
+        assertTrue(snapshot.isAbove(row, Bound.MAX_PRICE, new BigDecimal("20.001")));
+        assertFalse(snapshot.isAbove(row, Bound.MAX_PRICE, new BigDecimal("20.00")));
+        assertTrue(snapshot.isAbove(row, Bound.MAX_PRICE, new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void test_unconstrainedCategoriesAndCyclesAreSafe() {
+        ConstraintSnapshot snapshot = ConstraintSnapshot.builder()
+                .category(1L, 2L)
+                .category(2L, 1L)
+                .category(3L, null)
+                .limit(2L, ConstraintSnapshot.ANY_SITE, Bound.MAX_PRICE, new BigDecimal("99"))
+                .build();
+
+        assertEquals(new BigDecimal("99.00"), snapshot.get(snapshot.find(1L, ConstraintSnapshot.ANY_SITE), Bound.MAX_PRICE));
+        assertEquals(-1, snapshot.find(3L, ConstraintSnapshot.ANY_SITE));
+        assertFalse(snapshot.isAbove(-1, Bound.MAX_PRICE, new BigDecimal("1000")));
+        assertEquals(-1, ConstraintSnapshot.EMPTY.find(1L, 5L));
+    }
+}
@@ -0,0 +1,69 @@
+package com.scaler.price.core.management.service.impl;
+
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
+import com.scaler.price.core.management.buybox.service.BuyboxService;
+import com.scaler.price.core.management.domain.Price;
+import com.scaler.price.core.management.dto.PriceDTO;
+import com.scaler.price.core.management.exceptions.PriceNotFoundException;
+import com.scaler.price.core.management.mappers.PriceMapper;
+import com.scaler.price.core.management.repository.PriceRepository;
+import com.scaler.price.core.management.service.PriceValidationService;
+import com.scaler.price.rule.service.SellerService;
+import com.scaler.price.rule.service.SiteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceServiceImplTest {
+
+    private final PriceRepository priceRepository = mock(PriceRepository.class);
+    private final PriceMapper priceMapper = mock(PriceMapper.class);
+    private final Price price = Price.priceBuilder().productId(1L).sellerId(2L).siteId(3L).build();
+    private PriceServiceImpl priceService;
+
+    @BeforeEach
+    void setUp() {
+        when(priceMapper.toDTO(any())).thenReturn(new PriceDTO());
+        priceService = new PriceServiceImpl(priceRepository, mock(PriceValidationService.class), priceMapper,
+                mock(SellerService.class), mock(SiteService.class), mock(BuyboxService.class),
+                "maximumSize=100,expireAfterWrite=10m");
+    }
+
+    @Test
+    void test_activePriceIsCachedUntilItChanges() {
+        when(priceRepository.findActivePrice(eq(1L), eq(2L), eq(3L), any())).thenReturn(Optional.of(price));
+
+        priceService.getActivePrice(1L, 2L, 3L);
+        priceService.getActivePrice(1L, 2L, 3L);
+        verify(priceRepository, times(1)).findActivePrice(eq(1L), eq(2L), eq(3L), any());
+
+        priceService.onPriceChanged(new PriceChangedEvent(1L, 2L, 3L, LocalDateTime.now(), null));
+        priceService.getActivePrice(1L, 2L, 3L);
+        priceService.onPriceWindowTransition(new PriceWindowTransitionEvent(1L, 2L, 3L, LocalDateTime.now()));
+        priceService.getActivePrice(1L, 2L, 3L);
+        verify(priceRepository, times(3)).findActivePrice(eq(1L), eq(2L), eq(3L), any());
+    }
+
+    @Test
+    void test_missingActivePriceIsNotCached() {
+        when(priceRepository.findActivePrice(eq(1L), eq(2L), eq(3L), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(price));
+
+        assertThrows(PriceNotFoundException.class, () -> priceService.getActivePrice(1L, 2L, 3L));
+        priceService.getActivePrice(1L, 2L, 3L);
+
+        verify(priceRepository, times(2)).findActivePrice(eq(1L), eq(2L), eq(3L), any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.scaler.price.core.management.service.impl;
+
+import com.scaler.price.core.management.buybox.events.PriceChangedEvent;
+import com.scaler.price.core.management.buybox.events.PriceWindowTransitionEvent;
+import com.scaler.price.core.management.dto.PriceWindow;
+import com.scaler.price.core.management.repository.PriceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceTransitionSchedulerTest {
+
+    private final PriceRepository priceRepository = mock(PriceRepository.class);
+    private final List<Object> published = Collections.synchronizedList(new ArrayList<>());
+    private final PriceTransitionScheduler scheduler =
+            new PriceTransitionScheduler(priceRepository, published::add, 10, 8, 1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void test_loadedWindowFiresBothBoundariesInOrder() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        PriceWindow window = new PriceWindow(1L, 2L, 3L, now.plusNanos(100_000_000), now.plusNanos(300_000_000));
+        when(priceRepository.findWindowsChangingBetween(any(), any())).thenReturn(List.of(window));
+
+        scheduler.start();
+        assertTrue(published.isEmpty());
+
+        awaitPublished(2);
+        assertEquals(List.of(
+                new PriceWindowTransitionEvent(1L, 2L, 3L, window.effectiveFrom()),
+                new PriceWindowTransitionEvent(1L, 2L, 3L, window.effectiveTo())), published);
+    }
+
+    @Test
+    void test_priceWrittenAfterStartIsScheduledOnce() throws InterruptedException {
+        when(priceRepository.findWindowsChangingBetween(any(), any())).thenReturn(List.of());
+        scheduler.start();
+
+        LocalDateTime from = LocalDateTime.now().plusNanos(100_000_000);
+        // The same boundary reported twice, one in the past and one past the horizon
+        scheduler.onPriceChanged(new PriceChangedEvent(1L, 2L, 3L, from, LocalDateTime.now().plusHours(2)));
+        scheduler.onPriceChanged(new PriceChangedEvent(1L, 2L, 3L, from, LocalDateTime.now().minusMinutes(1)));
+
+        awaitPublished(1);
+        Thread.sleep(200);
+        assertEquals(List.of(new PriceWindowTransitionEvent(1L, 2L, 3L, from)), published);
+    }
+
+    @Test
+    void test_priceChangedBeforeStartIsIgnored() {
+        scheduler.onPriceChanged(new PriceChangedEvent(1L, 2L, 3L, LocalDateTime.now(), null));
+
+        assertTrue(published.isEmpty());
+    }
+
+    private void awaitPublished(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (published.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, published.size());
+    }
+}
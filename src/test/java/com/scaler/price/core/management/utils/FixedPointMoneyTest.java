@@ -0,0 +1,62 @@
+package com.scaler.price.core.management.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointMoneyTest {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Test
+    void test_conversionIsExactOrUnrepresentable() {
+        assertEquals(15000L, FixedPointMoney.toUnscaled(new BigDecimal("150"), 2));
+        assertEquals(15000L, FixedPointMoney.toUnscaled(new BigDecimal("150.0000"), 2));
+        assertEquals(-1L, FixedPointMoney.toUnscaled(new BigDecimal("-0.01"), 2));
+        assertEquals(FixedPointMoney.UNREPRESENTABLE, FixedPointMoney.toUnscaled(new BigDecimal("150.005"), 2));
+        assertEquals(FixedPointMoney.UNREPRESENTABLE, FixedPointMoney.toUnscaled(new BigDecimal("1E+30"), 2));
+        assertEquals(FixedPointMoney.UNREPRESENTABLE, FixedPointMoney.toUnscaled(null, 2));
+
+        assertEquals(15001L, FixedPointMoney.toUnscaledRounded(new BigDecimal("150.005"), 2));
+        assertEquals(-15001L, FixedPointMoney.toUnscaledRounded(new BigDecimal("-150.005"), 2));
+        assertEquals(new BigDecimal("150.01"), FixedPointMoney.toBigDecimal(15001L, 2));
+    }
+
+    @Test
+    void test_divideRoundsHalfUpLikeBigDecimal() {
+        long[] divisors = {1, 2, 3, 7, 10, 100, -3, -10};
+        for (long dividend = -250; dividend <= 250; dividend++) {
+            for (long divisor : divisors) {
+                long expected = BigDecimal.valueOf(dividend)
+                        .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                        .longValueExact();
+                assertEquals(expected, FixedPointMoney.divide(dividend, divisor));
+            }
+        }
+    }
+
+    @Test
+    void test_percentOfMatchesDiscountOnBigDecimal() {
+        String[] prices = {"0.01", "0.05", "19.99", "150.00", "999999.99", "-42.15"};
+        String[] percents = {"0", "0.5", "12.5", "33.3333", "50", "99.9999", "100"};
+        for (String price : prices) {
+            for (String percent : percents) {
+                BigDecimal expected = new BigDecimal(price).multiply(new BigDecimal(percent))
+                        .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+                long actual = FixedPointMoney.percentOf(
+                        FixedPointMoney.toUnscaled(new BigDecimal(price), FixedPointMoney.PRICE_SCALE),
+                        FixedPointMoney.toUnscaled(new BigDecimal(percent), FixedPointMoney.PERCENT_SCALE));
+                assertEquals(expected, FixedPointMoney.toBigDecimal(actual, FixedPointMoney.PRICE_SCALE));
+            }
+        }
+    }
+
+    @Test
+    void test_overflowThrows() {
+        assertThrows(ArithmeticException.class,
+                () -> FixedPointMoney.multiplyDivide(Long.MAX_VALUE / 2, 3, 1));
+        assertThrows(ArithmeticException.class, () -> FixedPointMoney.divide(1, 0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.scaler.price.core.management.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void test_tasksFireWithinOneTickAfterExpiration() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 1_000);
+        // Spread over the first level and three overflow levels
+        long[] expirations = {1_005, 1_010, 1_039, 1_040, 1_155, 1_160, 1_641, 3_333, 9_999};
+        for (long expiration : expirations) {
+            assertTrue(wheel.schedule(expiration, expiration));
+        }
+        assertEquals(expirations.length, wheel.size());
+
+        Map<Long, Long> firedAt = new TreeMap<>();
+        for (long now = 1_000; now <= 10_020; now += 3) {
+            for (Long task : wheel.advanceTo(now)) {
+                firedAt.put(task, now);
+            }
+        }
+
+        assertEquals(expirations.length, firedAt.size());
+        for (long expiration : expirations) {
+            long fired = firedAt.get(expiration);
+            assertTrue(fired > expiration, "fired early: " + expiration + " at " + fired);
+            assertTrue(fired <= expiration + 10 + 3, "fired late: " + expiration + " at " + fired);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void test_pastExpirationIsRejected() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 60, 120_500);
+
+        assertFalse(wheel.schedule(119_999, "past"));
+        assertTrue(wheel.schedule(120_200, "current tick"));
+        assertEquals(List.of(), wheel.advanceTo(120_900));
+        assertEquals(List.of("current tick"), wheel.advanceTo(121_000));
+    }
+
+    @Test
+    void test_largeJumpFiresEverythingDue() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 8, 0);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i += 7) {
+            wheel.schedule(i, i);
+            expected.add(i);
+        }
+
+        List<Integer> fired = new ArrayList<>(wheel.advanceTo(1_000));
+        fired.sort(Integer::compare);
+        assertEquals(expected, fired);
+    }
+}
@@ -0,0 +1,38 @@
+package com.scaler.price.core.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthlyPartitionTest {
+
+    @Test
+    void test_nameRoundTrips() {
+        MonthlyPartition partition = new MonthlyPartition("rule_history", YearMonth.of(2024, 3));
+
+        assertEquals("rule_history_202403", partition.name());
+        assertEquals(Optional.of(partition), MonthlyPartition.parse("rule_history", partition.name()));
+    }
+
+    @Test
+    void test_parseRejectsOtherTablesAndPartitions() {
+        assertTrue(MonthlyPartition.parse("audit_log", "rule_history_202403").isEmpty());
+        assertTrue(MonthlyPartition.parse("audit_log", "audit_log_default").isEmpty());
+        assertTrue(MonthlyPartition.parse("audit_log", "audit_log_202413").isEmpty());
+        // A table whose name extends another one is not its partition
+        assertTrue(MonthlyPartition.parse("audit", "audit_log_202403").isEmpty());
+    }
+
+    @Test
+    void test_boundsCoverTheWholeMonth() {
+        MonthlyPartition partition = MonthlyPartition.containing("audit_log", LocalDateTime.of(2024, 12, 31, 23, 59));
+
+        assertEquals(LocalDateTime.of(2024, 12, 1, 0, 0), partition.start());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), partition.end());
+    }
+}
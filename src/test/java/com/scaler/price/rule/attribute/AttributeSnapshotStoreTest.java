@@ -0,0 +1,121 @@
+package com.scaler.price.rule.attribute;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.AttributeSnapshotProperties;
+import com.scaler.price.rule.domain.AttributeEventType;
+import com.scaler.price.rule.domain.ProductAttribute;
+import com.scaler.price.rule.events.AttributeEvent;
+import com.scaler.price.rule.repository.ProductAttributeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AttributeSnapshotStoreTest {
+    private static final Long COLOUR = 1L;
+    private static final Long WEIGHT = 2L;
+
+    private final List<ProductAttribute> rows = new ArrayList<>();
+    private final List<Collection<?>> queries = new ArrayList<>();
+    private Runnable duringQuery = () -> { };
+    private AttributeSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        ProductAttributeRepository repository = (ProductAttributeRepository) Proxy.newProxyInstance(
+                ProductAttributeRepository.class.getClassLoader(),
+                new Class<?>[]{ProductAttributeRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByProductIdIn")) {
+                        Collection<?> productIds = (Collection<?>) args[0];
+                        queries.add(List.copyOf(productIds));
+                        duringQuery.run();
+                        return rows.stream().filter(row -> productIds.contains(row.getProductId())).toList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        AttributeSnapshotProperties properties = new AttributeSnapshotProperties();
+        properties.setBatchSize(2);
+        store = new AttributeSnapshotStore(repository, new ObjectMapper(), properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void test_snapshotsAreLoadedInBatchesAndServedFromMemory() {
+        rows.add(attribute(10L, COLOUR, "red", "TEXT"));
+        rows.add(attribute(10L, WEIGHT, "1.5", "NUMBER"));
+        rows.add(attribute(11L, COLOUR, "blue", "TEXT"));
+
+        Map<Long, AttributeSnapshot> snapshots = store.getSnapshots(List.of(10L, 11L, 12L));
+
+        assertEquals(2, queries.size());
+        assertEquals(3, snapshots.size());
+        assertEquals(0, snapshots.get(12L).size());
+        assertEquals("red", store.getValue(10L, COLOUR));
+        assertEquals(1.5, store.getTypedValue(10L, WEIGHT));
+        assertEquals("blue", store.getValue(11L, COLOUR));
+        assertNull(store.getValue(12L, COLOUR));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void test_eventsKeepLoadedSnapshotsCurrent() {
+        rows.add(attribute(10L, COLOUR, "red", "TEXT"));
+        rows.add(attribute(10L, WEIGHT, "1.5", "NUMBER"));
+        store.getSnapshot(10L);
+
+        store.apply(event(AttributeEventType.UPDATED, attribute(10L, COLOUR, "green", "TEXT")));
+        store.apply(event(AttributeEventType.DELETED, attribute(10L, WEIGHT, "1.5", "NUMBER")));
+        store.apply(event(AttributeEventType.CREATED, attribute(20L, COLOUR, "black", "TEXT")));
+
+        assertEquals("green", store.getValue(10L, COLOUR));
+        assertNull(store.getValue(10L, WEIGHT));
+        assertEquals(1, store.size());
+        assertEquals(1, queries.size());
+
+        rows.clear();
+        rows.add(attribute(10L, COLOUR, "yellow", "TEXT"));
+        store.apply(event(AttributeEventType.BULK_UPDATED, attribute(10L, COLOUR, "yellow", "TEXT")));
+
+        assertEquals("yellow", store.getValue(10L, COLOUR));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void test_loadRacingAChangeIsNotKept() {
+        rows.add(attribute(10L, COLOUR, "red", "TEXT"));
+        duringQuery = () -> store.apply(event(AttributeEventType.UPDATED, attribute(10L, COLOUR, "green", "TEXT")));
+
+        assertEquals("red", store.getValue(10L, COLOUR));
+        assertEquals(0, store.size());
+
+        duringQuery = () -> { };
+        rows.set(0, attribute(10L, COLOUR, "green", "TEXT"));
+        assertEquals("green", store.getValue(10L, COLOUR));
+        assertEquals(1, store.size());
+    }
+
+    private static ProductAttribute attribute(Long productId, Long key, String value, String type) {
+        return ProductAttribute.builder()
+                .productId(productId)
+                .attributeKey(key)
+                .attributeValue(value)
+                .attributeType(type)
+                .build();
+    }
+
+    private static AttributeEvent event(AttributeEventType type, ProductAttribute attribute) {
+        return AttributeEvent.builder()
+                .eventId(type + ":" + attribute.getProductId())
+                .eventType(type)
+                .attribute(attribute)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.scaler.price.rule.competitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompetitorPriceStoreTest {
+
+    @Test
+    void test_latestObservationWins() {
+        CompetitorPriceStore store = new CompetitorPriceStore(4);
+
+        assertTrue(store.put(1L, 7L, new BigDecimal("99.995"), 2_000L));
+        assertFalse(store.put(1L, 7L, new BigDecimal("120.00"), 1_000L));
+        assertTrue(store.put(1L, 8L, new BigDecimal("80"), 1_000L));
+
+        assertEquals(new BigDecimal("100.00"), store.getPrice(1L, 7L, 0L));
+        assertEquals(new BigDecimal("80.00"), store.getPrice(1L, 8L, 0L));
+        assertNull(store.getPrice(7L, 1L, 0L));
+        assertEquals(Instant.ofEpochMilli(2_000L), store.get(1L, 7L).orElseThrow().observedAt());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void test_stalePricesAreMissingAndPurged() {
+        CompetitorPriceStore store = new CompetitorPriceStore(1);
+        store.put(1L, 1L, BigDecimal.TEN, 1_000L);
+        store.put(2L, 1L, BigDecimal.ONE, 5_000L);
+
+        assertEquals(CompetitorPriceStore.NO_PRICE, store.getPriceMinor(1L, 1L, 1_001L));
+        assertEquals(100L, store.getPriceMinor(2L, 1L, 1_001L));
+        assertTrue(store.get(1L, 1L).isPresent());
+
+        assertEquals(1, store.purgeOlderThan(1_001L));
+        assertTrue(store.get(1L, 1L).isEmpty());
+        assertEquals(100L, store.getPriceMinor(2L, 1L, 0L));
+    }
+
+    @Test
+    void test_growsAndShrinksAcrossManyPairs() {
+        CompetitorPriceStore store = new CompetitorPriceStore(8);
+        for (long product = 0; product < 5_000; product++) {
+            store.putMinor(product, product % 13, product, product);
+        }
+
+        assertEquals(5_000, store.size());
+        for (long product = 0; product < 5_000; product++) {
+            assertEquals(product, store.getPriceMinor(product, product % 13, 0L));
+        }
+        assertEquals(4_990, store.purgeOlderThan(4_990L));
+        assertEquals(4_995L, store.getPriceMinor(4_995L, 4_995L % 13, 0L));
+        assertEquals(CompetitorPriceStore.NO_PRICE, store.getPriceMinor(10L, 10L, 0L));
+    }
+
+    @Test
+    void test_concurrentWritersAndReaders() throws InterruptedException {
+        CompetitorPriceStore store = new CompetitorPriceStore(2);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            long competitor = writer;
+            threads.add(new Thread(() -> {
+                for (long product = 0; product < 2_000; product++) {
+                    store.putMinor(product, competitor, product + competitor, 1L);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (long product = 0; product < 2_000; product++) {
+                    long price = store.getPriceMinor(product, 0L, 0L);
+                    if (price != CompetitorPriceStore.NO_PRICE && price != product) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Read " + price + " for product " + product));
+                        }
+                    }
+                }
+            }
+        }));
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty());
+        assertEquals(8_000, store.size());
+        assertEquals(2_002L, store.getPriceMinor(1_999L, 3L, 0L));
+    }
+}
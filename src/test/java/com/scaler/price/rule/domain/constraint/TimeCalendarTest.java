@@ -0,0 +1,131 @@
+package com.scaler.price.rule.domain.constraint;
+
+import com.scaler.price.rule.domain.constraint.TimeConstraints.BlackoutPeriod;
+import com.scaler.price.rule.domain.constraint.TimeConstraints.TimeWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeCalendarTest {
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+
+    @Test
+    void test_businessHoursOnWeekdaysInTheConstraintZone() {
+        TimeConstraints constraints = businessHours("Asia/Kolkata");
+        TimeCalendar calendar = TimeCalendar.compile(constraints);
+
+        // 2024-06-03 is a Monday
+        assertTrue(calendar.isActive(at(2024, 6, 3, 9, 0, KOLKATA)));
+        assertTrue(calendar.isActive(at(2024, 6, 3, 16, 59, KOLKATA)));
+        assertFalse(calendar.isActive(at(2024, 6, 3, 17, 0, KOLKATA)));
+        assertFalse(calendar.isActive(at(2024, 6, 3, 8, 59, KOLKATA)));
+        assertFalse(calendar.isActive(at(2024, 6, 8, 12, 0, KOLKATA)));
+        // 09:00 UTC is 14:30 in Kolkata
+        assertTrue(calendar.isActive(at(2024, 6, 3, 9, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void test_overnightWindowWrapsFromSundayIntoMonday() {
+        TimeConstraints constraints = new TimeConstraints();
+        constraints.setTimezoneId("UTC");
+        constraints.setAllowedDays(EnumSet.of(DayOfWeek.SUNDAY));
+        constraints.setMainStartTime(LocalTime.of(22, 0));
+        constraints.setMainEndTime(LocalTime.of(2, 0));
+        TimeCalendar calendar = TimeCalendar.compile(constraints);
+
+        assertTrue(calendar.isActive(at(2024, 6, 9, 23, 0, ZoneOffset.UTC)));
+        assertTrue(calendar.isActive(at(2024, 6, 10, 1, 59, ZoneOffset.UTC)));
+        assertFalse(calendar.isActive(at(2024, 6, 10, 2, 0, ZoneOffset.UTC)));
+        assertFalse(calendar.isActive(at(2024, 6, 9, 1, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void test_dateSpecificScheduleAndBlackoutsOverrideTheWeek() {
+        TimeConstraints constraints = businessHours("Asia/Kolkata");
+        constraints.setDateSpecificSchedule(Map.of(
+                "2024-06-04", List.of(window(LocalTime.of(12, 0), LocalTime.of(13, 0))),
+                "2024-06-05", List.of()));
+        constraints.setBlackoutPeriods(List.of(
+                blackout(at(2024, 6, 6, 10, 0, KOLKATA), at(2024, 6, 6, 11, 0, KOLKATA)),
+                blackout(at(2024, 6, 6, 10, 30, KOLKATA), at(2024, 6, 6, 12, 0, KOLKATA))));
+        TimeCalendar calendar = TimeCalendar.compile(constraints);
+
+        assertFalse(calendar.isActive(at(2024, 6, 4, 10, 0, KOLKATA)));
+        assertTrue(calendar.isActive(at(2024, 6, 4, 12, 30, KOLKATA)));
+        assertFalse(calendar.isActive(at(2024, 6, 5, 10, 0, KOLKATA)));
+        // The overlapping blackouts are merged, and their end is inclusive
+        assertFalse(calendar.isActive(at(2024, 6, 6, 11, 30, KOLKATA)));
+        assertTrue(calendar.isInBlackout(at(2024, 6, 6, 12, 0, KOLKATA)));
+        assertTrue(calendar.isActive(at(2024, 6, 6, 12, 1, KOLKATA)));
+    }
+
+    @Test
+    void test_nextTransitionFollowsScheduleBlackoutsAndValidity() {
+        TimeConstraints constraints = businessHours("Asia/Kolkata");
+        constraints.setBlackoutPeriods(List.of(
+                blackout(at(2024, 6, 3, 12, 0, KOLKATA), at(2024, 6, 3, 13, 0, KOLKATA))));
+        constraints.setEndDate(at(2024, 6, 4, 15, 0, KOLKATA));
+        TimeCalendar calendar = TimeCalendar.compile(constraints);
+
+        Instant fridayEvening = at(2024, 5, 31, 18, 0, KOLKATA);
+        assertEquals(Optional.of(at(2024, 6, 3, 9, 0, KOLKATA)), calendar.nextTransition(fridayEvening));
+        assertEquals(Optional.of(at(2024, 6, 3, 12, 0, KOLKATA)),
+                calendar.nextTransition(at(2024, 6, 3, 9, 0, KOLKATA)));
+        assertEquals(Optional.of(at(2024, 6, 3, 13, 0, KOLKATA).plusMillis(1)),
+                calendar.nextTransition(at(2024, 6, 3, 12, 0, KOLKATA)));
+        assertEquals(Optional.of(at(2024, 6, 4, 15, 0, KOLKATA)),
+                calendar.nextTransition(at(2024, 6, 4, 10, 0, KOLKATA)));
+        assertEquals(Optional.empty(), calendar.nextTransition(at(2024, 6, 4, 15, 0, KOLKATA)));
+    }
+
+    @Test
+    void test_scheduleFollowsDaylightSavingTime() {
+        TimeConstraints constraints = businessHours("Europe/Berlin");
+        TimeCalendar calendar = TimeCalendar.compile(constraints);
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+
+        // 2024-03-31 is the switch to summer time; Monday 09:00 is then 07:00 UTC
+        Optional<Instant> next = calendar.nextTransition(at(2024, 3, 29, 18, 0, berlin));
+        assertEquals(Optional.of(Instant.parse("2024-04-01T07:00:00Z")), next);
+        assertEquals(Optional.of(at(2024, 4, 1, 17, 0, berlin)), calendar.nextTransition(next.get()));
+    }
+
+    @Test
+    void test_constraintsWithoutScheduleAreAlwaysActive() {
+        TimeCalendar calendar = TimeCalendar.compile(new TimeConstraints());
+
+        assertTrue(calendar.isActive(Instant.parse("2024-06-03T00:00:00Z")));
+        assertEquals(Optional.empty(), calendar.nextTransition(Instant.parse("2024-06-03T00:00:00Z")));
+        assertTrue(TimeCalendar.ALWAYS.isActive(Instant.parse("2024-06-03T00:00:00Z")));
+    }
+
+    private static TimeConstraints businessHours(String zone) {
+        TimeConstraints constraints = new TimeConstraints();
+        constraints.setTimezoneId(zone);
+        constraints.setAllowedDays(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        constraints.setMainStartTime(LocalTime.of(9, 0));
+        constraints.setMainEndTime(LocalTime.of(17, 0));
+        return constraints;
+    }
+
+    private static TimeWindow window(LocalTime start, LocalTime end) {
+        TimeWindow window = new TimeWindow();
+        window.setStartTime(start);
+        window.setEndTime(end);
+        return window;
+    }
+
+    private static BlackoutPeriod blackout(Instant start, Instant end) {
+        return BlackoutPeriod.builder().startTime(start).endTime(end).build();
+    }
+
+    private static Instant at(int year, int month, int day, int hour, int minute, ZoneId zone) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(zone).toInstant();
+    }
+}
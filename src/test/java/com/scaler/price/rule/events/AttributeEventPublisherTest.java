@@ -0,0 +1,68 @@
+package com.scaler.price.rule.events;
+
+import com.scaler.price.rule.domain.ProductAttribute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttributeEventPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, AttributeEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final AttributeEventPublisher publisher = new AttributeEventPublisher(kafkaTemplate, eventPublisher);
+    private final ProductAttribute attribute = ProductAttribute.builder().productId(1L).attributeKey(2L).build();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void test_eventIsSentToOtherNodesOnlyAfterCommit() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishAttributeUpdated(attribute);
+        verify(eventPublisher).publishEvent(any(AttributeEvent.class));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(kafkaTemplate).send(eq("attribute-events"), anyString(), any());
+    }
+
+    @Test
+    void test_rolledBackChangeIsNeverSent() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishAttributeUpdated(attribute);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void test_eventOutsideOfTransactionIsSentRightAway() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        publisher.publishAttributeUpdated(attribute);
+
+        verify(kafkaTemplate).send(eq("attribute-events"), anyString(), any());
+    }
+}
@@ -0,0 +1,82 @@
+package com.scaler.price.rule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.CompetitorPriceProperties;
+import com.scaler.price.rule.actions.CustomActionRegistry;
+import com.scaler.price.rule.competitor.CompetitorPriceUpdate;
+import com.scaler.price.rule.domain.ActionType;
+import com.scaler.price.rule.domain.RuleAction;
+import com.scaler.price.rule.dto.RuleEvaluationContext;
+import com.scaler.price.rule.dto.RuleEvaluationResult;
+import com.scaler.price.rule.plan.CompiledAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class ActionExecutorServiceImplTest {
+    private static final long PRODUCT = 10L;
+    private static final long COMPETITOR = 5L;
+    private static final BigDecimal PRICE = new BigDecimal("150.00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RulePlanCompiler compiler = new RulePlanCompiler(objectMapper);
+    // Empty, as on a node that has just started
+    private final CompetitorPriceService competitorPrices =
+            new CompetitorPriceService(new CompetitorPriceProperties(), new SimpleMeterRegistry());
+    private final ActionExecutorServiceImpl executor = new ActionExecutorServiceImpl(
+            objectMapper, competitorPrices, mock(BundleService.class), new CustomActionRegistry());
+
+    @Test
+    void test_competitorActionsWithoutPriceAreSkippedWithReason() throws Throwable {
+        List<CompiledAction> actions = List.of(
+                action(ActionType.MATCH_COMPETITOR_PRICE, "{\"competitor\": " + COMPETITOR + "}", 1),
+                action(ActionType.BEAT_COMPETITOR, "{\"competitor\": " + COMPETITOR + ", \"beatPercentage\": 2}", 2),
+                action(ActionType.DISCOUNT_PERCENTAGE, "{\"discountPercentage\": 10}", 3));
+
+        RuleEvaluationResult result = executor.executeCompiledActions(actions, context(), PRICE);
+
+        assertEquals(new BigDecimal("135.00"), result.getAdjustedPrice());
+        assertEquals(List.of(
+                "MATCH_COMPETITOR_PRICE: no current price from competitor 5 for product 10",
+                "BEAT_COMPETITOR: no current price from competitor 5 for product 10"),
+                result.getMetadata().get(ActionExecutorServiceImpl.SKIPPED_ACTIONS));
+    }
+
+    @Test
+    void test_competitorActionAppliesOnceThePriceArrives() throws Throwable {
+        List<CompiledAction> actions = List.of(
+                action(ActionType.MATCH_COMPETITOR_PRICE, "{\"competitor\": " + COMPETITOR + "}", 1));
+        competitorPrices.record(new CompetitorPriceUpdate(PRODUCT, COMPETITOR, new BigDecimal("120.00"), Instant.now()));
+
+        RuleEvaluationResult result = executor.executeCompiledActions(actions, context(), PRICE);
+
+        assertEquals(new BigDecimal("120.00"), result.getAdjustedPrice());
+        assertNull(result.getMetadata());
+    }
+
+    private CompiledAction action(ActionType type, String parameters, int sequence) throws Exception {
+        return compiler.compileAction(RuleAction.builder()
+                .id((long) sequence)
+                .actionType(type)
+                .parameters(objectMapper.readTree(parameters))
+                .sequence(sequence)
+                .build());
+    }
+
+    private RuleEvaluationContext context() {
+        return RuleEvaluationContext.builder()
+                .productId(PRODUCT)
+                .sellerId(1L)
+                .siteId(1L)
+                .basePrice(PRICE)
+                .currentPrice(PRICE)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.dto.BatchEvaluationResult;
+import com.scaler.price.rule.dto.RuleEvaluationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchEvaluationServiceTest {
+
+    private final RuleEvaluationService evaluationService = mock(RuleEvaluationService.class);
+    private final RuleCatalog ruleCatalog = mock(RuleCatalog.class);
+    private final List<PricingRule> rules = List.of(PricingRule.builder().id(1L).build());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        when(ruleCatalog.findApplicableRules(any(), any(), any(), any(), any())).thenReturn(rules);
+        when(evaluationService.evaluateRules(any(), eq(rules), anyMap())).thenReturn(List.of());
+        when(evaluationService.evaluateRules(argThat(request -> request.getProductId() == 1L), eq(rules), anyMap()))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return List.of();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test_slowGroupTimesOutWithoutHoldingBackTheOthers() {
+        long start = System.nanoTime();
+        List<BatchEvaluationResult> results = service(2).evaluateBatch(List.of(request(1L, 1L), request(3L, 2L)));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("Evaluation timed out after 200 ms", results.get(0).getErrorMessage());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    void test_chunksReachedAfterTheTimeoutAreSkipped() throws Throwable {
+        List<BatchEvaluationResult> results = service(1).evaluateBatch(List.of(request(1L, 1L), request(2L, 1L)));
+        assertFalse(results.get(1).isSuccess());
+
+        // The stuck chunk finishing late leaves the returned results alone
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(results.get(0).isSuccess());
+        verify(evaluationService, never())
+                .evaluateRules(argThat(request -> request.getProductId() == 2L), any(), anyMap());
+    }
+
+    // One item per chunk, so every item after the stuck one waits in the executor queue
+    private BatchEvaluationService service(int threads) {
+        executor = Executors.newFixedThreadPool(threads);
+        return new BatchEvaluationService(
+                evaluationService, ruleCatalog, mock(EvaluationInputPrefetcher.class), executor, 1, 200);
+    }
+
+    private RuleEvaluationRequest request(Long productId, Long sellerId) {
+        return RuleEvaluationRequest.builder()
+                .productId(productId)
+                .sellerId(sellerId)
+                .siteId(1L)
+                .build();
+    }
+}
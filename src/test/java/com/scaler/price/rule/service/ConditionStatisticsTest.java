@@ -0,0 +1,65 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.Operator;
+import com.scaler.price.rule.plan.CompiledCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionStatisticsTest {
+
+    @Test
+    void test_priorsRunInMemoryChecksBeforeLookups() {
+        ConditionStatistics statistics = new ConditionStatistics(0.05, 1);
+        CompiledCondition inventory = condition(1L, ConditionType.INVENTORY_LEVEL);
+        CompiledCondition attribute = condition(2L, ConditionType.PRODUCT_ATTRIBUTE);
+        CompiledCondition price = condition(3L, ConditionType.PRICE_RANGE);
+        CompiledCondition invalid = CompiledCondition.invalid(4L, ConditionType.DATE_RANGE, Operator.BETWEEN, 4);
+
+        List<CompiledCondition> ordered = statistics.order(List.of(inventory, attribute, price, invalid));
+
+        assertEquals(List.of(invalid, price, inventory, attribute), ordered);
+    }
+
+    @Test
+    void test_orderAdaptsToMeasuredCostAndSelectivity() {
+        ConditionStatistics statistics = new ConditionStatistics(0.2, 1);
+        CompiledCondition price = condition(1L, ConditionType.PRICE_RANGE);
+        CompiledCondition inventory = condition(2L, ConditionType.INVENTORY_LEVEL);
+        assertEquals(List.of(price, inventory), statistics.order(List.of(inventory, price)));
+
+        // Inventory served from the context cache and rejecting almost everything,
+        // price ranges that always pass
+        for (int i = 0; i < 200; i++) {
+            statistics.record(ConditionType.INVENTORY_LEVEL, 150, false);
+            statistics.record(ConditionType.PRICE_RANGE, 100, true);
+        }
+
+        assertTrue(statistics.costNanos(ConditionType.INVENTORY_LEVEL) < 1_000);
+        assertTrue(statistics.passRate(ConditionType.PRICE_RANGE) > 0.99);
+        assertEquals(List.of(inventory, price), statistics.order(List.of(price, inventory)));
+    }
+
+    @Test
+    void test_tiesKeepSequenceOrder() {
+        ConditionStatistics statistics = new ConditionStatistics(0.05, 1);
+        CompiledCondition first = condition(1L, ConditionType.CATEGORY_MATCH);
+        CompiledCondition second = condition(2L, ConditionType.BRAND_MATCH);
+        CompiledCondition third = condition(3L, ConditionType.CATEGORY_MATCH);
+
+        assertEquals(List.of(first, second, third), statistics.order(List.of(first, second, third)));
+        assertTrue(statistics.shouldSample());
+    }
+
+    private static CompiledCondition condition(Long id, ConditionType type) {
+        return CompiledCondition.builder()
+                .conditionId(id)
+                .type(type)
+                .operator(Operator.EQUALS)
+                .sequence(id.intValue())
+                .build();
+    }
+}
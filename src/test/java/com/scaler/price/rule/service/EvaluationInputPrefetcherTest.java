@@ -0,0 +1,162 @@
+package com.scaler.price.rule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.core.config.CompetitorPriceProperties;
+import com.scaler.price.core.management.service.InventoryService;
+import com.scaler.price.rule.competitor.CompetitorPriceUpdate;
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.Operator;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.RuleCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationInputPrefetcherTest {
+    private static final Long SELLER_ID = 1L;
+    private static final Long SITE_ID = 2L;
+    private static final Long CATEGORY_ID = 3L;
+    private static final Long COMPETITOR_ID = 7L;
+
+    private ExecutorService executor;
+    private RulePlanCache planCache;
+    private CompetitorPriceService competitorPrices;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        planCache = new RulePlanCache(new RulePlanCompiler(new ObjectMapper()));
+        competitorPrices = new CompetitorPriceService(new CompetitorPriceProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test_inputsAreFetchedConcurrently() {
+        competitorPrices.record(new CompetitorPriceUpdate(10L, COMPETITOR_ID, new BigDecimal("99.00"), Instant.now()));
+        EvaluationInputPrefetcher prefetcher = prefetcher(200, 2_000);
+
+        long start = System.nanoTime();
+        Map<Long, Map<String, Object>> prefetched = prefetcher.prefetch(
+                List.of(rule(ConditionType.INVENTORY_LEVEL, ConditionType.PRODUCT_ATTRIBUTE),
+                        rule(ConditionType.CATEGORY_ATTRIBUTE, ConditionType.COMPETITOR_PRICE)),
+                SELLER_ID, SITE_ID, CATEGORY_ID, List.of(10L, 11L));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Inventory, product attributes and category attributes, each taking 200 ms
+        assertEquals(3, lookups.get());
+        assertTrue(elapsedMs < 500, "lookups ran serially: " + elapsedMs + " ms");
+        Map<String, Object> inputs = prefetched.get(10L);
+        assertEquals(42, inputs.get(ConditionEvaluatorService.INVENTORY_LEVEL_CACHE_KEY));
+        assertEquals(Optional.of("10:1"), inputs.get(ConditionEvaluatorService.productAttributeCacheKey(1L)));
+        assertEquals(Optional.of("3:1"), inputs.get(ConditionEvaluatorService.categoryAttributeCacheKey(1L)));
+        assertEquals(0, new BigDecimal("99.00").compareTo(
+                (BigDecimal) inputs.get(ConditionEvaluatorService.competitorPriceCacheKey(COMPETITOR_ID))));
+        assertFalse(prefetched.get(11L).containsKey(ConditionEvaluatorService.competitorPriceCacheKey(COMPETITOR_ID)));
+    }
+
+    @Test
+    void test_missedDeadlineLeavesInputsToTheConditions() {
+        EvaluationInputPrefetcher prefetcher = prefetcher(5_000, 100);
+
+        long start = System.nanoTime();
+        Map<Long, Map<String, Object>> prefetched = prefetcher.prefetch(
+                List.of(rule(ConditionType.INVENTORY_LEVEL, ConditionType.PRODUCT_ATTRIBUTE)),
+                SELLER_ID, SITE_ID, CATEGORY_ID, List.of(10L));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "waited past the deadline: " + elapsedMs + " ms");
+        // Nothing is recorded, not even as missing, so the conditions fetch both themselves
+        assertTrue(prefetched.isEmpty(), "seeded after the deadline: " + prefetched);
+    }
+
+    @Test
+    void test_rulesWithoutExternalInputsFetchNothing() {
+        EvaluationInputPrefetcher prefetcher = prefetcher(0, 100);
+
+        Map<Long, Map<String, Object>> prefetched = prefetcher.prefetch(
+                List.of(rule(ConditionType.PRICE_RANGE)), SELLER_ID, SITE_ID, CATEGORY_ID, List.of(10L));
+
+        assertTrue(prefetched.isEmpty());
+        assertEquals(0, lookups.get());
+    }
+
+    private EvaluationInputPrefetcher prefetcher(long lookupMs, long timeoutMs) {
+        InventoryService inventory = new InventoryService() {
+            @Override
+            public Map<Long, Integer> getInventoryLevels(Collection<Long> productIds, Long sellerId, Long siteId) {
+                pause(lookupMs);
+                Map<Long, Integer> levels = new HashMap<>();
+                productIds.forEach(productId -> levels.put(productId, 42));
+                return levels;
+            }
+        };
+        ProductAttributeService attributes = new ProductAttributeService(null, null, null, null, null, null) {
+            @Override
+            public Map<Long, Map<Long, String>> getAttributeValues(Collection<Long> ownerIds, Collection<Long> attributeKeys) {
+                pause(lookupMs);
+                Map<Long, Map<Long, String>> values = new HashMap<>();
+                for (Long ownerId : ownerIds) {
+                    for (Long attribute : attributeKeys) {
+                        values.computeIfAbsent(ownerId, id -> new HashMap<>()).put(attribute, ownerId + ":" + attribute);
+                    }
+                }
+                return values;
+            }
+        };
+        return new EvaluationInputPrefetcher(planCache, inventory, competitorPrices, attributes, executor, timeoutMs);
+    }
+
+    private void pause(long millis) {
+        lookups.incrementAndGet();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PricingRule rule(ConditionType... types) {
+        Set<RuleCondition> conditions = new HashSet<>();
+        for (ConditionType type : types) {
+            conditions.add(RuleCondition.builder()
+                    .id((long) conditions.size() + 1)
+                    .type(type)
+                    .operator(type == ConditionType.PRODUCT_ATTRIBUTE ? Operator.EQUALS : Operator.GREATER_THAN)
+                    .value(switch (type) {
+                        case COMPETITOR_PRICE -> String.valueOf(COMPETITOR_ID);
+                        case PRODUCT_ATTRIBUTE, CATEGORY_ATTRIBUTE -> "red";
+                        default -> "{\"value\": 10}";
+                    })
+                    .sequence(conditions.size() + 1)
+                    .attribute(1L)
+                    .build());
+        }
+        PricingRule rule = new PricingRule();
+        rule.setConditions(conditions);
+        rule.setActions(new HashSet<>());
+        return rule;
+    }
+}
@@ -0,0 +1,170 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.SellerSiteConfig;
+import com.scaler.price.rule.events.RuleEvent;
+import com.scaler.price.rule.events.RuleEventType;
+import com.scaler.price.rule.repository.RuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RuleCatalogTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final RuleRepository ruleRepository = mock(RuleRepository.class);
+    private final RuleCatalog catalog = new RuleCatalog(ruleRepository, mock(RulePlanCache.class));
+
+    @Test
+    void test_lookupsMatchTheRepositoryQuery() {
+        Random random = new Random(11);
+        List<PricingRule> rules = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            rules.add(randomRule(random, id));
+        }
+        load(rules);
+
+        // Reloaded and removed rules must leave no trace of their old configs
+        for (int i = 0; i < 30; i++) {
+            PricingRule replaced = randomRule(random, rules.get(random.nextInt(rules.size())).getId());
+            rules.replaceAll(rule -> rule.getId().equals(replaced.getId()) ? replaced : rule);
+            when(ruleRepository.findRuleWithDetails(replaced.getId())).thenReturn(Optional.of(replaced));
+            catalog.onRuleEvent(event(RuleEventType.UPDATED, replaced.getId()));
+        }
+        for (int i = 0; i < 30; i++) {
+            PricingRule removed = rules.remove(random.nextInt(rules.size()));
+            catalog.onRuleEvent(event(RuleEventType.DELETED, removed.getId()));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            Long sellerId = 1L + random.nextInt(4);
+            Long siteId = 1L + random.nextInt(4);
+            Long categoryId = random.nextInt(3) == 0 ? null : 1L + random.nextInt(5);
+            Long brandId = random.nextInt(3) == 0 ? null : 1L + random.nextInt(5);
+            LocalDateTime now = BASE.plusHours(random.nextInt(1_000));
+
+            assertEquals(ids(query(rules, sellerId, siteId, categoryId, brandId, now)),
+                    ids(catalog.findApplicableRules(sellerId, siteId, categoryId, brandId, now)));
+        }
+    }
+
+    @Test
+    void test_configWithoutCategoriesOnlyMatchesLookupsWithoutCategory() {
+        PricingRule rule = rule(1, 0, null, Set.of(1L), config(1L, Set.of(), Set.of(5L)));
+        load(List.of(rule));
+
+        assertEquals(List.of(rule), catalog.findApplicableRules(1L, 1L, null, 5L, BASE));
+        assertTrue(catalog.findApplicableRules(1L, 1L, 3L, 5L, BASE).isEmpty());
+    }
+
+    @Test
+    void test_siteCategoryAndBrandMustMatchTheSameConfig() {
+        PricingRule rule = rule(1, 0, null, Set.of(1L),
+                config(1L, Set.of(10L), Set.of(20L)),
+                config(2L, Set.of(11L), Set.of(21L)));
+        load(List.of(rule));
+
+        assertEquals(List.of(rule), catalog.findApplicableRules(1L, 2L, 11L, 21L, BASE));
+        assertTrue(catalog.findApplicableRules(1L, 1L, 11L, null, BASE).isEmpty());
+        assertTrue(catalog.findApplicableRules(1L, 2L, 11L, 20L, BASE).isEmpty());
+    }
+
+    @Test
+    void test_ruleDoesNotConflictWithItselfBeforeTheCatalogLoads() {
+        PricingRule stored = rule(1, 0, null, Set.of(1L), config(1L, Set.of(), Set.of()));
+        PricingRule other = rule(2, 0, null, Set.of(1L), config(1L, Set.of(), Set.of()));
+        PricingRule updated = rule(1, 10, null, Set.of(1L), config(1L, Set.of(), Set.of()));
+        when(ruleRepository.findConflictingRules(any(), any(), any(), any())).thenReturn(List.of(stored, other));
+
+        assertEquals(List.of(other), catalog.findConflictingRules(updated));
+    }
+
+    private void load(List<PricingRule> rules) {
+        when(ruleRepository.findActiveRuleIds()).thenReturn(rules.stream().map(PricingRule::getId).toList());
+        when(ruleRepository.findDetailedRules(any())).thenReturn(rules);
+        catalog.loadAll();
+        assertTrue(catalog.isLoaded());
+    }
+
+    // Mirrors the predicate of RuleRepository.findApplicableRules
+    private List<PricingRule> query(
+            List<PricingRule> rules, Long sellerId, Long siteId, Long categoryId, Long brandId, LocalDateTime now) {
+        return rules.stream()
+                .filter(rule -> rule.getSellerIds().contains(sellerId))
+                .filter(rule -> rule.getSellerSiteConfigs().stream().anyMatch(config ->
+                        config.getSiteId().equals(siteId)
+                                && (categoryId == null || config.getCategoryIds().contains(categoryId))
+                                && (brandId == null || config.getBrandIds().contains(brandId))))
+                .filter(rule -> Boolean.TRUE.equals(rule.getIsActive()))
+                .filter(rule -> !rule.getEffectiveFrom().isAfter(now))
+                .filter(rule -> rule.getEffectiveTo() == null || !rule.getEffectiveTo().isBefore(now))
+                .toList();
+    }
+
+    private List<Long> ids(List<PricingRule> rules) {
+        return rules.stream().map(PricingRule::getId).sorted().toList();
+    }
+
+    private PricingRule randomRule(Random random, long id) {
+        int start = random.nextInt(1_000);
+        Integer end = random.nextInt(10) == 0 ? null : start + random.nextInt(200);
+        int configCount = random.nextInt(3);
+        SellerSiteConfig[] configs = new SellerSiteConfig[configCount];
+        for (int i = 0; i < configCount; i++) {
+            configs[i] = config(1L + random.nextInt(4), randomIds(random, 5), randomIds(random, 5));
+        }
+        return rule(id, start, end, randomIds(random, 4), configs);
+    }
+
+    // May be empty, which the query treats as matching no category or brand
+    private Set<Long> randomIds(Random random, int bound) {
+        Set<Long> ids = new HashSet<>();
+        int count = random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            ids.add(1L + random.nextInt(bound));
+        }
+        return ids;
+    }
+
+    private SellerSiteConfig config(Long siteId, Set<Long> categoryIds, Set<Long> brandIds) {
+        return SellerSiteConfig.builder()
+                .siteId(siteId)
+                .categoryIds(new HashSet<>(categoryIds))
+                .brandIds(new HashSet<>(brandIds))
+                .build();
+    }
+
+    private PricingRule rule(long id, int startHours, Integer endHours, Set<Long> sellerIds,
+                             SellerSiteConfig... configs) {
+        PricingRule rule = PricingRule.builder()
+                .id(id)
+                .ruleName("rule-" + id)
+                .priority((int) (id % 3))
+                .isActive(true)
+                .effectiveFrom(BASE.plusHours(startHours))
+                .effectiveTo(endHours != null ? BASE.plusHours(endHours) : null)
+                .sellerIds(new HashSet<>(sellerIds))
+                .build();
+        for (SellerSiteConfig config : configs) {
+            rule.addSellerSiteConfig(config);
+        }
+        return rule;
+    }
+
+    private RuleEvent event(RuleEventType type, Long ruleId) {
+        return RuleEvent.builder().eventType(type).ruleId(ruleId).build();
+    }
+}
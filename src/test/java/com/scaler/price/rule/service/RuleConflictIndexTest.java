@@ -0,0 +1,136 @@
+package com.scaler.price.rule.service;
+
+import com.scaler.price.core.management.dto.ConflictSummary;
+import com.scaler.price.rule.domain.PricingRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RuleConflictIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void test_findConflictsMatchesPairwiseOverlap() {
+        Random random = new Random(42);
+        RuleConflictIndex index = new RuleConflictIndex();
+        List<PricingRule> rules = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            PricingRule rule = randomRule(random, id);
+            rules.add(rule);
+            index.add(rule, rule.getSellerIds(), rule.getSiteIds());
+        }
+        // Removed rules must disappear from every tree they were added to
+        for (int i = 0; i < 50; i++) {
+            index.remove(rules.remove(random.nextInt(rules.size())).getId());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            PricingRule probe = randomRule(random, 1_000 + i);
+            List<Long> expected = rules.stream()
+                    .filter(rule -> shareMappings(rule, probe) && overlaps(rule, probe))
+                    .map(PricingRule::getId)
+                    .sorted()
+                    .toList();
+            List<Long> actual = index.findConflicts(probe.getSellerIds(), probe.getSiteIds(),
+                            probe.getEffectiveFrom(), probe.getEffectiveTo(), probe.getId())
+                    .stream()
+                    .map(PricingRule::getId)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void test_siteReportListsEachOverlappingPairOnce() {
+        Random random = new Random(7);
+        RuleConflictIndex index = new RuleConflictIndex();
+        List<PricingRule> rules = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            PricingRule rule = randomRule(random, id);
+            rules.add(rule);
+            index.add(rule, rule.getSellerIds(), rule.getSiteIds());
+        }
+
+        long siteId = 2;
+        List<ConflictSummary> expected = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            for (int j = i + 1; j < rules.size(); j++) {
+                PricingRule first = rules.get(i);
+                PricingRule second = rules.get(j);
+                if (first.getSiteIds().contains(siteId) && second.getSiteIds().contains(siteId)
+                        && !disjoint(first.getSellerIds(), second.getSellerIds()) && overlaps(first, second)) {
+                    expected.add(new ConflictSummary(first.getId(), second.getId(), first.getRuleName(),
+                            second.getRuleName(), first.getPriority().equals(second.getPriority())
+                            ? "PRIORITY_CONFLICT" : "TIME_OVERLAP"));
+                }
+            }
+        }
+        expected.sort(Comparator.comparing(ConflictSummary::getRuleId1).thenComparing(ConflictSummary::getRuleId2));
+
+        assertEquals(expected, index.siteConflicts(siteId));
+    }
+
+    @Test
+    void test_openEndedWindowsConflictWithEverythingAfterThem() {
+        RuleConflictIndex index = new RuleConflictIndex();
+        PricingRule openEnded = rule(1, 0, null, Set.of(1L), Set.of(1L));
+        index.add(openEnded, openEnded.getSellerIds(), openEnded.getSiteIds());
+
+        List<PricingRule> conflicts = index.findConflicts(Set.of(1L), Set.of(1L),
+                BASE.plusYears(10), BASE.plusYears(11), null);
+
+        assertEquals(List.of(openEnded), conflicts);
+    }
+
+    private PricingRule randomRule(Random random, long id) {
+        int start = random.nextInt(1_000);
+        Integer end = random.nextInt(10) == 0 ? null : start + random.nextInt(50);
+        return rule(id, start, end, randomIds(random), randomIds(random));
+    }
+
+    private Set<Long> randomIds(Random random) {
+        Set<Long> ids = new HashSet<>();
+        int count = 1 + random.nextInt(2);
+        for (int i = 0; i < count; i++) {
+            ids.add(1L + random.nextInt(4));
+        }
+        return ids;
+    }
+
+    private PricingRule rule(long id, int startHours, Integer endHours, Set<Long> sellerIds, Set<Long> siteIds) {
+        return PricingRule.builder()
+                .id(id)
+                .ruleName("rule-" + id)
+                .priority((int) (id % 3))
+                .effectiveFrom(BASE.plusHours(startHours))
+                .effectiveTo(endHours != null ? BASE.plusHours(endHours) : null)
+                .sellerIds(sellerIds)
+                .siteIds(siteIds)
+                .build();
+    }
+
+    private boolean shareMappings(PricingRule first, PricingRule second) {
+        return !disjoint(first.getSellerIds(), second.getSellerIds())
+                && !disjoint(first.getSiteIds(), second.getSiteIds());
+    }
+
+    private boolean disjoint(Set<Long> first, Set<Long> second) {
+        return first.stream().noneMatch(second::contains);
+    }
+
+    private boolean overlaps(PricingRule first, PricingRule second) {
+        LocalDateTime firstEnd = first.getEffectiveTo() != null ? first.getEffectiveTo() : LocalDateTime.MAX;
+        LocalDateTime secondEnd = second.getEffectiveTo() != null ? second.getEffectiveTo() : LocalDateTime.MAX;
+        return !first.getEffectiveFrom().isAfter(secondEnd) && !second.getEffectiveFrom().isAfter(firstEnd);
+    }
+}
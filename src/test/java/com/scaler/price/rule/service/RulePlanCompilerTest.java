@@ -0,0 +1,92 @@
+package com.scaler.price.rule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaler.price.rule.domain.ConditionType;
+import com.scaler.price.rule.domain.Operator;
+import com.scaler.price.rule.domain.PricingRule;
+import com.scaler.price.rule.domain.RuleCondition;
+import com.scaler.price.rule.plan.CompiledCondition;
+import com.scaler.price.rule.plan.CompiledRulePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RulePlanCompilerTest {
+
+    private RulePlanCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new RulePlanCompiler(new ObjectMapper());
+    }
+
+    @Test
+    void test_compilePriceRangeBounds() {
+        CompiledCondition compiled = compiler.compileCondition(condition(
+                ConditionType.PRICE_RANGE, Operator.BETWEEN, "{\"min\": 10.50, \"max\": 99}", 1));
+
+        assertTrue(compiled.isValid());
+        assertEquals(0, new BigDecimal("10.50").compareTo(compiled.getMin()));
+        assertEquals(0, new BigDecimal("99").compareTo(compiled.getMax()));
+    }
+
+    @Test
+    void test_compileTimeWindowAndIdSet() {
+        CompiledCondition time = compiler.compileCondition(condition(
+                ConditionType.TIME_BASED, Operator.BETWEEN, "{\"startTime\": \"09:00\", \"endTime\": \"17:30\"}", 1));
+        CompiledCondition brands = compiler.compileCondition(condition(
+                ConditionType.BRAND_MATCH, Operator.IN, "12, 112,7", 2));
+
+        assertEquals(LocalTime.of(9, 0), time.getStartTime());
+        assertEquals(LocalTime.of(17, 30), time.getEndTime());
+        assertEquals(Set.of(12L, 112L, 7L), brands.getIdValues());
+    }
+
+    @Test
+    void test_malformedConditionCompilesAsInvalid() {
+        CompiledCondition compiled = compiler.compileCondition(condition(
+                ConditionType.MARGIN_RANGE, Operator.BETWEEN, "not-json", 1));
+
+        assertFalse(compiled.isValid());
+    }
+
+    @Test
+    void test_planCacheReusesPlanUntilVersionChanges() {
+        RulePlanCache cache = new RulePlanCache(compiler);
+        PricingRule rule = new PricingRule();
+        rule.setId(1L);
+        rule.setVersion(1L);
+        rule.setConditions(new HashSet<>(Set.of(condition(
+                ConditionType.PRICE_RANGE, Operator.GREATER_THAN, "{\"value\": 5}", 1))));
+        rule.setActions(new HashSet<>());
+
+        CompiledRulePlan first = cache.getPlan(rule);
+        assertSame(first, cache.getPlan(rule));
+
+        rule.setVersion(2L);
+        CompiledRulePlan second = cache.getPlan(rule);
+        assertNotSame(first, second);
+        assertEquals(2L, second.getVersion());
+    }
+
+    private RuleCondition condition(ConditionType type, Operator operator, String value, int sequence) {
+        return RuleCondition.builder()
+                .id((long) sequence)
+                .type(type)
+                .operator(operator)
+                .value(value)
+                .sequence(sequence)
+                .attribute(1L)
+                .build();
+    }
+}